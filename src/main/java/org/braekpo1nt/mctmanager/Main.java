@@ -13,9 +13,13 @@ import org.braekpo1nt.mctmanager.commands.readyup.UnReadyCommand;
 import org.braekpo1nt.mctmanager.commands.teammsg.TeamMsgCommand;
 import org.braekpo1nt.mctmanager.commands.utils.UtilsCommand;
 import org.braekpo1nt.mctmanager.config.exceptions.ConfigException;
+import org.braekpo1nt.mctmanager.display.ParticleRenderer;
 import org.braekpo1nt.mctmanager.games.GameManager;
 import org.braekpo1nt.mctmanager.games.utils.ParticipantInitializer;
 import org.braekpo1nt.mctmanager.listeners.BlockEffectsListener;
+import org.braekpo1nt.mctmanager.listeners.EventRouter;
+import org.braekpo1nt.mctmanager.ui.timer.TimerWheel;
+import org.braekpo1nt.mctmanager.utils.BlockPlacementQueue;
 import org.braekpo1nt.mctmanager.utils.LogType;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -46,6 +50,23 @@ public class Main extends JavaPlugin {
      */
     public static final Gson GSON_PRETTY = new GsonBuilder().setPrettyPrinting().create();
     private GameManager gameManager;
+    /**
+     * Routes events to the plugin's listeners. All listeners should be registered with this
+     * instead of directly with the {@link org.bukkit.plugin.PluginManager}.
+     */
+    private EventRouter eventRouter;
+    /**
+     * Spreads large block placements across multiple ticks
+     */
+    private BlockPlacementQueue blockPlacementQueue;
+    /**
+     * Advances every running {@link org.braekpo1nt.mctmanager.ui.timer.Timer}
+     */
+    private TimerWheel timerWheel;
+    /**
+     * Draws the particles of every shown {@link org.braekpo1nt.mctmanager.display.Display}
+     */
+    private ParticleRenderer particleRenderer;
     private boolean saveGameStateOnDisable = true;
     public final static PotionEffect NIGHT_VISION = new PotionEffect(PotionEffectType.NIGHT_VISION, 300, 3, true, false, false);
     private MCTCommand mctCommand;
@@ -113,6 +134,10 @@ public class Main extends JavaPlugin {
         
         PacketEvents.getAPI().init();
         
+        eventRouter = new EventRouter(this);
+        blockPlacementQueue = new BlockPlacementQueue(this);
+        timerWheel = new TimerWheel(this);
+        particleRenderer = new ParticleRenderer(this);
         gameManager = initialGameManager(mctScoreboard);
         try {
             gameManager.loadHubConfig();
@@ -146,6 +171,34 @@ public class Main extends JavaPlugin {
         alwaysGiveNightVision();
     }
     
+    /**
+     * @return the router all the plugin's listeners should be registered with
+     */
+    public EventRouter getEventRouter() {
+        return eventRouter;
+    }
+    
+    /**
+     * @return the queue large block placements should be spread across multiple ticks with
+     */
+    public BlockPlacementQueue getBlockPlacementQueue() {
+        return blockPlacementQueue;
+    }
+    
+    /**
+     * @return the wheel which advances every running timer
+     */
+    public TimerWheel getTimerWheel() {
+        return timerWheel;
+    }
+    
+    /**
+     * @return the renderer which draws the particles of every shown display
+     */
+    public ParticleRenderer getParticleRenderer() {
+        return particleRenderer;
+    }
+    
     public MCTCommand getMctCommand() {
         return mctCommand;
     }
@@ -185,6 +238,12 @@ public class Main extends JavaPlugin {
         } else {
             Main.logger().info("[MCTManager] Skipping save game state.");
         }
+        if (blockPlacementQueue != null) {
+            blockPlacementQueue.flush();
+        }
+        if (gameManager != null) {
+            gameManager.shutdownGameStateStorage();
+        }
     }
     
     // Testing methods for mocking components
@@ -54,7 +54,7 @@ public class MCTCommand extends MasterCommandManager {
         addSubCommand(new ScoreCommand(gameManager, "score"));
         addSubCommand(new TimerCommand(gameManager, "timer"));
         addSubCommand(new TabListCommand(gameManager, "tablist"));
-        addSubCommand(new DebugCommand("debug"));
+        addSubCommand(new DebugCommand(plugin, gameManager, "debug"));
         onInit(plugin.getServer().getPluginManager());
     }
     
@@ -1,12 +1,22 @@
 package org.braekpo1nt.mctmanager.commands.mct.debug;
 
+import org.braekpo1nt.mctmanager.Main;
 import org.braekpo1nt.mctmanager.commands.manager.CommandManager;
+import org.braekpo1nt.mctmanager.commands.mct.debug.events.EventsSubCommand;
+import org.braekpo1nt.mctmanager.commands.mct.debug.gamestate.GameStateSubCommand;
 import org.braekpo1nt.mctmanager.commands.mct.debug.log.LogSubCommand;
+import org.braekpo1nt.mctmanager.commands.mct.debug.particles.ParticlesSubCommand;
+import org.braekpo1nt.mctmanager.commands.mct.debug.sidebar.SidebarSubCommand;
+import org.braekpo1nt.mctmanager.games.GameManager;
 import org.jetbrains.annotations.NotNull;
 
 public class DebugCommand extends CommandManager {
-    public DebugCommand(@NotNull String name) {
+    public DebugCommand(@NotNull Main plugin, @NotNull GameManager gameManager, @NotNull String name) {
         super(name);
         addSubCommand(new LogSubCommand("log"));
+        addSubCommand(new GameStateSubCommand(gameManager, "gamestate"));
+        addSubCommand(new EventsSubCommand(plugin.getEventRouter(), "events"));
+        addSubCommand(new SidebarSubCommand(gameManager, "sidebar"));
+        addSubCommand(new ParticlesSubCommand(plugin.getParticleRenderer(), "particles"));
     }
 }
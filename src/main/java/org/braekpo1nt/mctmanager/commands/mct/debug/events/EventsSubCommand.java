@@ -0,0 +1,71 @@
+package org.braekpo1nt.mctmanager.commands.mct.debug.events;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import org.braekpo1nt.mctmanager.commands.CommandUtils;
+import org.braekpo1nt.mctmanager.commands.manager.TabSubCommand;
+import org.braekpo1nt.mctmanager.commands.manager.commandresult.CommandResult;
+import org.braekpo1nt.mctmanager.listeners.EventRouter;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reports the timing counters of the event handlers registered with the {@link EventRouter}
+ */
+public class EventsSubCommand extends TabSubCommand {
+    
+    private static final int TOP_HANDLERS = 10;
+    private static final double NANOS_PER_TICK = 50_000_000.0;
+    
+    private final EventRouter eventRouter;
+    
+    public EventsSubCommand(@NotNull EventRouter eventRouter, @NotNull String name) {
+        super(name);
+        this.eventRouter = eventRouter;
+    }
+    
+    @Override
+    public @NotNull CommandResult onSubCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (args.length > 1 || (args.length == 1 && !args[0].equals("reset"))) {
+            return CommandResult.failure(getUsage().of("[reset]"));
+        }
+        if (args.length == 1) {
+            eventRouter.resetStats();
+            return CommandResult.success(Component.text("Event handler timings reset"));
+        }
+        double ticks = Math.max(1.0, eventRouter.getNanosSinceStatsReset() / NANOS_PER_TICK);
+        List<EventRouter.HandlerStats> stats = eventRouter.getStats();
+        stats.sort(Comparator.comparingLong(EventRouter.HandlerStats::totalNanos).reversed());
+        TextComponent.Builder builder = Component.text()
+                .append(Component.text(String.format("Event handlers (top %d by total time, over %.0f ticks):", TOP_HANDLERS, ticks)));
+        for (int i = 0; i < Math.min(TOP_HANDLERS, stats.size()); i++) {
+            EventRouter.HandlerStats handlerStats = stats.get(i);
+            if (handlerStats.calls() == 0) {
+                break;
+            }
+            builder.append(Component.newline())
+                    .append(Component.text(String.format("%s: %d calls, total %.2fms, %.4fms/tick, avg %.4fms, max %.2fms",
+                            handlerStats.name(),
+                            handlerStats.calls(),
+                            handlerStats.totalMillis(),
+                            handlerStats.totalMillis() / ticks,
+                            handlerStats.totalMillis() / handlerStats.calls(),
+                            handlerStats.maxMillis())));
+        }
+        return CommandResult.success(builder.build());
+    }
+    
+    @Override
+    public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (args.length == 1) {
+            return CommandUtils.partialMatchTabList(List.of("reset"), args[0]);
+        }
+        return Collections.emptyList();
+    }
+}
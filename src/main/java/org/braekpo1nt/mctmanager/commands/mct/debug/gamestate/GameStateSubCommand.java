@@ -0,0 +1,44 @@
+package org.braekpo1nt.mctmanager.commands.mct.debug.gamestate;
+
+import net.kyori.adventure.text.Component;
+import org.braekpo1nt.mctmanager.commands.manager.SubCommand;
+import org.braekpo1nt.mctmanager.commands.manager.commandresult.CommandResult;
+import org.braekpo1nt.mctmanager.games.GameManager;
+import org.braekpo1nt.mctmanager.games.gamestate.GameStateStorageUtil;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Reports statistics about writing the game state to storage
+ */
+public class GameStateSubCommand extends SubCommand {
+    
+    private final GameManager gameManager;
+    
+    public GameStateSubCommand(@NotNull GameManager gameManager, @NotNull String name) {
+        super(name);
+        this.gameManager = gameManager;
+    }
+    
+    @Override
+    public @NotNull CommandResult onSubCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        GameStateStorageUtil.SaveStats stats = gameManager.getGameStateSaveStats();
+        return CommandResult.success(Component.empty()
+                .append(Component.text("Game state saves:"))
+                .append(Component.newline())
+                .append(Component.text("Queue depth: "))
+                .append(Component.text(stats.queueDepth()))
+                .append(Component.newline())
+                .append(Component.text("Completed: "))
+                .append(Component.text(stats.completedSaves()))
+                .append(Component.text(", coalesced: "))
+                .append(Component.text(stats.coalescedSaves()))
+                .append(Component.text(", failed: "))
+                .append(Component.text(stats.failedSaves()))
+                .append(Component.newline())
+                .append(Component.text(String.format("Latency (ms): last %.2f, avg %.2f, max %.2f",
+                        stats.lastSaveMillis(), stats.averageSaveMillis(), stats.maxSaveMillis())))
+        );
+    }
+}
@@ -0,0 +1,72 @@
+package org.braekpo1nt.mctmanager.commands.mct.debug.particles;
+
+import net.kyori.adventure.text.Component;
+import org.braekpo1nt.mctmanager.commands.CommandUtils;
+import org.braekpo1nt.mctmanager.commands.manager.TabSubCommand;
+import org.braekpo1nt.mctmanager.commands.manager.commandresult.CommandResult;
+import org.braekpo1nt.mctmanager.display.ParticleRenderer;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reports and changes how often, and how far from each viewer, the {@link ParticleRenderer} draws displays
+ */
+public class ParticlesSubCommand extends TabSubCommand {
+    
+    private final ParticleRenderer particleRenderer;
+    
+    public ParticlesSubCommand(@NotNull ParticleRenderer particleRenderer, @NotNull String name) {
+        super(name);
+        this.particleRenderer = particleRenderer;
+    }
+    
+    @Override
+    public @NotNull CommandResult onSubCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (args.length == 0) {
+            return CommandResult.success(Component.text(String.format(
+                    "Particles are drawn every %d ticks, up to %.1f blocks from each viewer",
+                    particleRenderer.getRefreshTicks(),
+                    particleRenderer.getViewDistance())));
+        }
+        if (args.length != 2) {
+            return CommandResult.failure(getUsage().of("[refresh|distance]", "<value>"));
+        }
+        switch (args[0]) {
+            case "refresh" -> {
+                if (!CommandUtils.isInteger(args[1])) {
+                    return CommandResult.failure(Component.text(args[1] + " is not an integer"));
+                }
+                int refreshTicks = Integer.parseInt(args[1]);
+                if (refreshTicks < 1) {
+                    return CommandResult.failure(Component.text("refresh must be at least 1 tick"));
+                }
+                particleRenderer.setRefreshTicks(refreshTicks);
+                return CommandResult.success(Component.text("Particles are now drawn every " + refreshTicks + " ticks"));
+            }
+            case "distance" -> {
+                if (!CommandUtils.isDouble(args[1])) {
+                    return CommandResult.failure(Component.text(args[1] + " is not a number"));
+                }
+                double viewDistance = Double.parseDouble(args[1]);
+                particleRenderer.setViewDistance(viewDistance);
+                return CommandResult.success(Component.text("Particles are now drawn up to " + viewDistance + " blocks from each viewer"));
+            }
+            default -> {
+                return CommandResult.failure(getUsage().of("[refresh|distance]", "<value>"));
+            }
+        }
+    }
+    
+    @Override
+    public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (args.length == 1) {
+            return CommandUtils.partialMatchTabList(List.of("refresh", "distance"), args[0]);
+        }
+        return Collections.emptyList();
+    }
+}
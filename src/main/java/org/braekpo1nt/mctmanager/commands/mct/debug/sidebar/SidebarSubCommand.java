@@ -0,0 +1,86 @@
+package org.braekpo1nt.mctmanager.commands.mct.debug.sidebar;
+
+import net.kyori.adventure.text.Component;
+import org.braekpo1nt.mctmanager.commands.CommandUtils;
+import org.braekpo1nt.mctmanager.commands.manager.TabSubCommand;
+import org.braekpo1nt.mctmanager.commands.manager.commandresult.CommandResult;
+import org.braekpo1nt.mctmanager.games.GameManager;
+import org.braekpo1nt.mctmanager.ui.sidebar.SidebarBackend;
+import org.braekpo1nt.mctmanager.ui.sidebar.SidebarFactory;
+import org.braekpo1nt.mctmanager.ui.sidebar.SidebarUpdateBus;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reports the number of sidebar lines and titles sent to players per tick,
+ * and switches the {@link SidebarBackend} of the sidebars created from now on
+ */
+public class SidebarSubCommand extends TabSubCommand {
+    
+    private static final double NANOS_PER_TICK = 50_000_000.0;
+    
+    private final GameManager gameManager;
+    
+    public SidebarSubCommand(@NotNull GameManager gameManager, @NotNull String name) {
+        super(name);
+        this.gameManager = gameManager;
+    }
+    
+    @Override
+    public @NotNull CommandResult onSubCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        SidebarFactory sidebarFactory = gameManager.getSidebarFactory();
+        if (args.length >= 1 && args[0].equals("backend")) {
+            if (args.length == 1) {
+                return CommandResult.success(Component.text("Sidebar backend: " + sidebarFactory.getBackend().getId()));
+            }
+            if (args.length > 2) {
+                return CommandResult.failure(getUsage().of("backend", "[fastboard|packetevents]"));
+            }
+            SidebarBackend backend = SidebarBackend.byId(args[1]);
+            if (backend == null) {
+                return CommandResult.failure(getUsage().of("backend", "[fastboard|packetevents]"));
+            }
+            sidebarFactory.setBackend(backend);
+            return CommandResult.success(Component.text("Sidebars created from now on will use " + backend.getId()));
+        }
+        if (args.length > 1 || (args.length == 1 && !args[0].equals("reset"))) {
+            return CommandResult.failure(getUsage().of("[reset|backend]"));
+        }
+        SidebarUpdateBus updateBus = sidebarFactory.getUpdateBus();
+        if (updateBus == null) {
+            return CommandResult.failure("Sidebars are not flushed per tick, so there are no counters");
+        }
+        if (args.length == 1) {
+            updateBus.resetStats();
+            return CommandResult.success(Component.text("Sidebar counters reset"));
+        }
+        double ticks = Math.max(1.0, updateBus.getNanosSinceStatsReset() / NANOS_PER_TICK);
+        SidebarUpdateBus.SidebarStats stats = updateBus.getStats();
+        return CommandResult.success(Component.text(String.format(
+                "Sidebar lines sent over %.0f ticks: %d total, %.2f/tick, %.2f per flushed tick (%d flushes), max %d, last %d",
+                ticks,
+                stats.packets(),
+                stats.packets() / ticks,
+                stats.flushes() == 0 ? 0.0 : (double) stats.packets() / stats.flushes(),
+                stats.flushes(),
+                stats.maxPackets(),
+                stats.lastPackets())));
+    }
+    
+    @Override
+    public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (args.length == 1) {
+            return CommandUtils.partialMatchTabList(List.of("reset", "backend"), args[0]);
+        }
+        if (args.length == 2 && args[0].equals("backend")) {
+            return CommandUtils.partialMatchTabList(Arrays.stream(SidebarBackend.values()).map(SidebarBackend::getId).toList(), args[1]);
+        }
+        return Collections.emptyList();
+    }
+}
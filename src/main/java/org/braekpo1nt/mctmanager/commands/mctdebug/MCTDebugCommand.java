@@ -3,6 +3,7 @@ package org.braekpo1nt.mctmanager.commands.mctdebug;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.braekpo1nt.mctmanager.Main;
+import org.braekpo1nt.mctmanager.listeners.EventRouter;
 import org.braekpo1nt.mctmanager.ui.UIUtils;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
@@ -27,7 +28,7 @@ public class MCTDebugCommand implements TabExecutor, Listener {
     public MCTDebugCommand(Main plugin) {
         this.plugin = plugin;
         Objects.requireNonNull(this.plugin.getCommand("mctdebug")).setExecutor(this);
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getEventRouter().register(EventRouter.GLOBAL, this);
     }
     
     
@@ -1,17 +1,21 @@
 package org.braekpo1nt.mctmanager.display;
 
 import org.braekpo1nt.mctmanager.Main;
-import org.bukkit.Bukkit;
 import org.bukkit.Color;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
+/**
+ * Points of a single color, and child displays, shown to a viewer as particles.
+ * Drawn by the plugin's {@link ParticleRenderer}.
+ */
 public class Display {
     
     private static final int MAX_TICKS = 60*8*20;
@@ -19,7 +23,10 @@ public class Display {
     private final int maxTicks;
     private @NotNull List<Vector> points;
     private @NotNull Color color;
-    private int taskId;
+    /**
+     * the UUID of the viewer this is shown to, or null if it is hidden
+     */
+    private @Nullable UUID viewerUUID;
     private final @NotNull List<@NotNull Display> children = new ArrayList<>();
     
     public Display(@NotNull Main plugin) {
@@ -65,6 +72,14 @@ public class Display {
         this.color = color;
     }
     
+    public @NotNull List<Vector> getPoints() {
+        return points;
+    }
+    
+    public @NotNull Color getColor() {
+        return color;
+    }
+    
     public void addChild(@NotNull Display child) {
         children.add(child);
     }
@@ -75,38 +90,18 @@ public class Display {
     
     public void show(@NotNull Player viewer, int ticks) {
         hide();
-        if (!points.isEmpty()) {
-            taskId = new BukkitRunnable() {
-                int count = ticks;
-                @Override
-                public void run() {
-                    if (count <= 0) {
-                        this.cancel();
-                        return;
-                    }
-                    displayPoints(viewer);
-                    count--;
-                }
-            }.runTaskTimerAsynchronously(plugin, 0L, 1L).getTaskId();
-        }
+        viewerUUID = viewer.getUniqueId();
+        plugin.getParticleRenderer().show(viewer, this, ticks);
         for (Display child : children) {
             child.show(viewer);
         }
     }
     
-    /**
-     * Used internally to display this Display's points and all children's points for 1 frame
-     * @param viewer the player to show the Display to
-     */
-    private void displayPoints(Player viewer) {
-        DisplayUtils.displayPoints(points, viewer, color);
-        for (Display child : children) {
-            child.displayPoints(viewer);
-        }
-    }
-    
     public void hide() {
-        Bukkit.getScheduler().cancelTask(taskId);
+        if (viewerUUID != null) {
+            plugin.getParticleRenderer().hide(viewerUUID, this);
+            viewerUUID = null;
+        }
         for (Display child : children) {
             child.hide();
         }
@@ -4,7 +4,6 @@ import org.braekpo1nt.mctmanager.Main;
 import org.bukkit.Color;
 import org.bukkit.Particle;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.List;
@@ -19,20 +18,7 @@ public class DisplayUtils {
      * @param duration the duration to display the points for (in ticks)
      */
     public static void display(Main plugin, Player viewer, List<Vector> points, long duration) {
-        long period = 1; // number of ticks per period
-        long periods = duration / period;
-        new BukkitRunnable() {
-            long periodsLeft = periods;
-            @Override
-            public void run() {
-                if (periodsLeft <= 0) {
-                    this.cancel();
-                    return;
-                }
-                displayPoints(points, viewer, 1, 1.0F);
-                periodsLeft--;
-            }
-        }.runTaskTimerAsynchronously(plugin, 0L, period);
+        new Display(plugin, points, (int) duration).show(viewer);
     }
     
     public static void displayPoints(List<Vector> points, Player viewer) {
@@ -48,8 +34,9 @@ public class DisplayUtils {
     }
     
     public static void displayPoints(List<Vector> points, Player viewer, int count, float size, Color color) {
+        Particle.DustOptions dustOptions = new Particle.DustOptions(color, size);
         for (Vector v : points) {
-            viewer.spawnParticle(Particle.DUST, v.getX(), v.getY(), v.getZ(), count, new Particle.DustOptions(color, size));
+            viewer.spawnParticle(Particle.DUST, v.getX(), v.getY(), v.getZ(), count, dustOptions);
         }
     }
     
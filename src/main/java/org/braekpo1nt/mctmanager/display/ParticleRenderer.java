@@ -0,0 +1,286 @@
+package org.braekpo1nt.mctmanager.display;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.protocol.particle.Particle;
+import com.github.retrooper.packetevents.protocol.particle.data.ParticleData;
+import com.github.retrooper.packetevents.protocol.particle.data.ParticleDustData;
+import com.github.retrooper.packetevents.protocol.particle.type.ParticleType;
+import com.github.retrooper.packetevents.protocol.particle.type.ParticleTypes;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.util.Vector3d;
+import com.github.retrooper.packetevents.util.Vector3f;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerParticle;
+import io.github.retrooper.packetevents.util.SpigotConversionUtil;
+import org.braekpo1nt.mctmanager.Main;
+import org.bukkit.Color;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Draws the points of every shown {@link Display} from a single task.
+ * <br>
+ * Each viewer has a scene of the displays shown to them. Every {@link #getRefreshTicks()} ticks,
+ * the points of each scene which are within {@link #getViewDistance()} of the viewer are written
+ * to the viewer as particle packets, and the packets are flushed to the viewer once. The
+ * particle (type and color) of each display is built once, instead of once per point.
+ * <br>
+ * One-off bursts of particles can also be sent with {@link #spawn(Collection, Particle, List, int)},
+ * which writes them the same way without adding them to any scene.
+ */
+public class ParticleRenderer {
+    
+    public static final int DEFAULT_REFRESH_TICKS = 5;
+    public static final double DEFAULT_VIEW_DISTANCE = 64.0;
+    private static final Vector3f NO_OFFSET = new Vector3f(0, 0, 0);
+    /**
+     * the speed of the particles in a burst, the same as {@link com.destroystokyo.paper.ParticleBuilder}'s default
+     */
+    private static final float BURST_SPEED = 1F;
+    
+    /**
+     * A display shown to a viewer
+     */
+    private static class Layer {
+        private final @NotNull Display display;
+        /**
+         * the renderer tick this layer should stop being shown on
+         */
+        private final long expiresAt;
+        private @Nullable Color particleColor;
+        private @Nullable Particle<ParticleDustData> particle;
+        
+        private Layer(@NotNull Display display, long expiresAt) {
+            this.display = display;
+            this.expiresAt = expiresAt;
+        }
+        
+        /**
+         * @return the particle for this layer's display, rebuilt only when the display's color changes
+         */
+        private @NotNull Particle<ParticleDustData> getParticle() {
+            Color color = display.getColor();
+            if (particle == null || !color.equals(particleColor)) {
+                particleColor = color;
+                particle = new Particle<>(ParticleTypes.DUST, new ParticleDustData(
+                        1.0F,
+                        color.getRed() / 255F,
+                        color.getGreen() / 255F,
+                        color.getBlue() / 255F));
+            }
+            return particle;
+        }
+    }
+    
+    private final Plugin plugin;
+    /**
+     * the displays shown to each viewer, by the viewer's UUID
+     */
+    private final Map<UUID, Map<Display, Layer>> scenes = new HashMap<>();
+    private int refreshTicks = DEFAULT_REFRESH_TICKS;
+    private double viewDistance = DEFAULT_VIEW_DISTANCE;
+    /**
+     * the number of ticks since the task was started
+     */
+    private long tick = 0;
+    private @Nullable BukkitTask task;
+    
+    public ParticleRenderer(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Show the given display's points to the given viewer, until it is hidden or the given ticks pass.
+     * If the display is already shown to the viewer, it is shown for the given ticks from now.
+     * @param viewer the viewer
+     * @param display the display. Its points and color are read every time it is drawn.
+     * @param ticks the number of ticks to show the display for
+     */
+    public synchronized void show(@NotNull Player viewer, @NotNull Display display, int ticks) {
+        scenes.computeIfAbsent(viewer.getUniqueId(), k -> new IdentityHashMap<>())
+                .put(display, new Layer(display, tick + ticks));
+        if (task == null) {
+            start();
+        }
+    }
+    
+    /**
+     * Stop showing the given display to the given viewer
+     * @param viewerUUID the UUID of the viewer
+     * @param display the display
+     */
+    public synchronized void hide(@NotNull UUID viewerUUID, @NotNull Display display) {
+        Map<Display, Layer> scene = scenes.get(viewerUUID);
+        if (scene == null) {
+            return;
+        }
+        scene.remove(display);
+        if (scene.isEmpty()) {
+            scenes.remove(viewerUUID);
+        }
+    }
+    
+    /**
+     * Stop showing every display to the given viewer
+     * @param viewerUUID the UUID of the viewer
+     */
+    public synchronized void clear(@NotNull UUID viewerUUID) {
+        scenes.remove(viewerUUID);
+    }
+    
+    public synchronized int getRefreshTicks() {
+        return refreshTicks;
+    }
+    
+    /**
+     * @param refreshTicks the number of ticks between each time the points are drawn. Must be at least 1.
+     */
+    public synchronized void setRefreshTicks(int refreshTicks) {
+        if (refreshTicks < 1) {
+            throw new IllegalArgumentException("refreshTicks must be at least 1");
+        }
+        this.refreshTicks = refreshTicks;
+        if (task != null) {
+            // restart with the new period
+            task.cancel();
+            start();
+        }
+    }
+    
+    public synchronized double getViewDistance() {
+        return viewDistance;
+    }
+    
+    /**
+     * @param viewDistance points further than this many blocks from a viewer aren't drawn for them
+     */
+    public synchronized void setViewDistance(double viewDistance) {
+        this.viewDistance = viewDistance;
+    }
+    
+    /**
+     * Draw the given particle once at each of the given points, for each of the given viewers.
+     * The packets are written to each viewer and flushed to them once.
+     * @param viewers the players to send the particles to
+     * @param particle the particle to draw
+     * @param points the points to draw the particle at
+     * @param count the number of units in each particle group
+     */
+    public void spawn(@NotNull Collection<? extends Player> viewers, @NotNull Particle<?> particle, @NotNull List<Vector> points, int count) {
+        if (points.isEmpty()) {
+            return;
+        }
+        for (Player viewer : viewers) {
+            User user = PacketEvents.getAPI().getPlayerManager().getUser(viewer);
+            if (user == null) {
+                continue;
+            }
+            for (Vector point : points) {
+                user.writePacket(new WrapperPlayServerParticle(
+                        particle,
+                        false,
+                        new Vector3d(point.getX(), point.getY(), point.getZ()),
+                        NO_OFFSET,
+                        BURST_SPEED,
+                        count));
+            }
+            user.flushPackets();
+        }
+    }
+    
+    /**
+     * @param particle a particle which doesn't take any data
+     * @return the packetevents equivalent of the given particle
+     */
+    @SuppressWarnings("unchecked")
+    public static @NotNull Particle<ParticleData> toPacketParticle(@NotNull org.bukkit.Particle particle) {
+        ParticleType<ParticleData> type = (ParticleType<ParticleData>) SpigotConversionUtil.fromBukkitParticle(particle);
+        return new Particle<>(type, new ParticleData());
+    }
+    
+    private void start() {
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                render();
+            }
+        }.runTaskTimer(plugin, 0L, refreshTicks);
+    }
+    
+    private synchronized void render() {
+        Iterator<Map.Entry<UUID, Map<Display, Layer>>> iterator = scenes.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, Map<Display, Layer>> entry = iterator.next();
+            Map<Display, Layer> scene = entry.getValue();
+            scene.values().removeIf(layer -> layer.expiresAt <= tick);
+            Player viewer = plugin.getServer().getPlayer(entry.getKey());
+            if (scene.isEmpty() || viewer == null) {
+                iterator.remove();
+                continue;
+            }
+            try {
+                renderScene(viewer, scene);
+            } catch (Exception e) {
+                Main.logger().log(Level.SEVERE, String.format("Error rendering particles for %s", viewer.getName()), e);
+            }
+        }
+        tick += refreshTicks;
+        if (scenes.isEmpty() && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+    
+    private void renderScene(@NotNull Player viewer, @NotNull Map<Display, Layer> scene) {
+        User user = PacketEvents.getAPI().getPlayerManager().getUser(viewer);
+        if (user == null) {
+            return;
+        }
+        Location location = viewer.getLocation();
+        double viewerX = location.getX();
+        double viewerY = location.getY();
+        double viewerZ = location.getZ();
+        double viewDistanceSquared = viewDistance * viewDistance;
+        boolean written = false;
+        for (Layer layer : scene.values()) {
+            List<Vector> points = layer.display.getPoints();
+            if (points.isEmpty()) {
+                continue;
+            }
+            Particle<ParticleDustData> particle = layer.getParticle();
+            for (Vector point : points) {
+                double dx = point.getX() - viewerX;
+                double dy = point.getY() - viewerY;
+                double dz = point.getZ() - viewerZ;
+                if (dx * dx + dy * dy + dz * dz > viewDistanceSquared) {
+                    continue;
+                }
+                user.writePacket(new WrapperPlayServerParticle(
+                        particle,
+                        false,
+                        new Vector3d(point.getX(), point.getY(), point.getZ()),
+                        NO_OFFSET,
+                        0F,
+                        1));
+                written = true;
+            }
+        }
+        if (written) {
+            user.flushPackets();
+        }
+    }
+}
@@ -5,11 +5,59 @@ import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class GeometryUtils {
     
+    /**
+     * The most point lists kept in each cache. The least recently used lists are dropped first.
+     */
+    private static final int MAX_CACHED = 512;
+    
+    /**
+     * @param box a copy of the box the points were made from, since BoundingBoxes are mutable
+     * @param distance the distance between the points
+     */
+    private record PointsKey(BoundingBox box, double distance) {
+    }
+    
+    private static final Map<PointsKey, List<Vector>> edgePointsCache = createCache();
+    private static final Map<PointsKey, List<Vector>> rectanglePointsCache = createCache();
+    
+    private static Map<PointsKey, List<Vector>> createCache() {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PointsKey, List<Vector>> eldest) {
+                return size() > MAX_CACHED;
+            }
+        };
+    }
+    
+    /**
+     * @param box the box to convert to points
+     * @param distance the distance between points
+     * @return an unmodifiable list of points along the faces of the box. The list is cached,
+     * so the same list is returned for equal boxes and distances.
+     */
     public static List<Vector> toRectanglePoints(BoundingBox box, double distance) {
+        PointsKey key = new PointsKey(box.clone(), distance);
+        synchronized (rectanglePointsCache) {
+            List<Vector> cached = rectanglePointsCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        List<Vector> points = Collections.unmodifiableList(createRectanglePoints(box, distance));
+        synchronized (rectanglePointsCache) {
+            rectanglePointsCache.put(key, points);
+        }
+        return points;
+    }
+    
+    private static List<Vector> createRectanglePoints(BoundingBox box, double distance) {
         List<Rectangle> rects = Rectangle.toRectangles(box);
         List<Vector> points = new ArrayList<>();
         for (Rectangle rect : rects) {
@@ -21,9 +69,25 @@ public class GeometryUtils {
     /**
      * @param box the box to convert to points
      * @param distance the distance between points
-     * @return a list of equidistant points (using the given distance) along the edges of the box
+     * @return an unmodifiable list of equidistant points (using the given distance) along the edges of the box.
+     * The list is cached, so the same list is returned for equal boxes and distances.
      */
     public static List<Vector> toEdgePoints(BoundingBox box, double distance) {
+        PointsKey key = new PointsKey(box.clone(), distance);
+        synchronized (edgePointsCache) {
+            List<Vector> cached = edgePointsCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        List<Vector> points = Collections.unmodifiableList(createEdgePoints(box, distance));
+        synchronized (edgePointsCache) {
+            edgePointsCache.put(key, points);
+        }
+        return points;
+    }
+    
+    private static List<Vector> createEdgePoints(BoundingBox box, double distance) {
         List<Edge> edges = Edge.toEdges(box);
         List<Vector> points = new ArrayList<>();
         for (Edge edge : edges) {
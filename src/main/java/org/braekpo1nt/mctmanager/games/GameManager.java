@@ -29,8 +29,10 @@ import org.braekpo1nt.mctmanager.games.game.parkourpathway.editor.ParkourPathway
 import org.braekpo1nt.mctmanager.games.game.spleef.SpleefGame;
 import org.braekpo1nt.mctmanager.games.gamestate.GameStateStorageUtil;
 import org.braekpo1nt.mctmanager.games.utils.GameManagerUtils;
+import org.braekpo1nt.mctmanager.games.utils.ParticipantRegistry;
 import org.braekpo1nt.mctmanager.games.voting.VoteManager;
 import org.braekpo1nt.mctmanager.hub.HubManager;
+import org.braekpo1nt.mctmanager.listeners.EventRouter;
 import org.braekpo1nt.mctmanager.ui.sidebar.Headerable;
 import org.braekpo1nt.mctmanager.ui.sidebar.Sidebar;
 import org.braekpo1nt.mctmanager.ui.sidebar.SidebarFactory;
@@ -92,20 +94,26 @@ public class GameManager implements Listener {
     /**
      * Contains the list of online participants. Updated when participants are added/removed or quit/join
      */
-    private final List<Player> onlineParticipants = new ArrayList<>();
-    private final List<Player> onlineAdmins = new ArrayList<>();
+    private final ParticipantRegistry onlineParticipants = new ParticipantRegistry();
+    private final ParticipantRegistry onlineAdmins = new ParticipantRegistry();
     private final TabList tabList;
+    /**
+     * Collects score changes so that the score displays are updated at most once per tick
+     */
+    private final ScoreUpdateBus scoreUpdateBus;
     
     public GameManager(Main plugin, Scoreboard mctScoreboard) {
         this.plugin = plugin;
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getEventRouter().register(EventRouter.GLOBAL, this);
+        plugin.getEventRouter().setContextResolver(this::getEventContext);
         this.LOGGER = plugin.getLogger();
         this.mctScoreboard = mctScoreboard;
         this.gameStateStorageUtil = new GameStateStorageUtil(plugin);
         this.voteManager = new VoteManager(this, plugin);
         this.timerManager = new TimerManager(plugin);
         this.tabList = new TabList(plugin);
-        this.sidebarFactory = new SidebarFactory();
+        this.scoreUpdateBus = new ScoreUpdateBus(plugin, this::updateScoreDisplays);
+        this.sidebarFactory = new SidebarFactory(plugin);
         this.hubManager = initializeHubManager(plugin, this);
         this.eventManager = new EventManager(plugin, this, voteManager);
     }
@@ -551,6 +559,21 @@ public class GameManager implements Listener {
         }
     }
     
+    /**
+     * Waits for any queued game state saves to be written, then stops the game state writer thread.
+     * Saves after this are written synchronously. 
+     */
+    public void shutdownGameStateStorage() {
+        gameStateStorageUtil.shutdown();
+    }
+    
+    /**
+     * @return statistics about writing the game state to storage, for monitoring
+     */
+    public @NotNull GameStateStorageUtil.SaveStats getGameStateSaveStats() {
+        return gameStateStorageUtil.getSaveStats();
+    }
+    
     /**
      * For the "/mct game vote" command. Starts the vote with the specified voting pool.
      * @param sender The sender of the command
@@ -588,6 +611,7 @@ public class GameManager implements Listener {
      * Cancel the return to hub if it's in progress
      */
     public void tearDown() {
+        scoreUpdateBus.cancel();
         eventManager.cancelAllTasks();
         hubManager.tearDown();
     }
@@ -727,6 +751,36 @@ public class GameManager implements Listener {
         return activeGame != null;
     }
     
+    /**
+     * Used by the {@link EventRouter} to decide which listeners should receive a player's events.
+     * Games and their components register their listeners with their {@link GameType}, as do editors.
+     * The {@link HubManager} registers its listeners with itself.
+     * @param player the player an event is about
+     * @return the {@link GameType} of the active game if the player is an online participant or admin
+     * and a game is running, the {@link GameType} of the active editor if the player is an online
+     * participant and an editor is running, the {@link HubManager} if the player is an online
+     * participant or admin and neither is running, or null otherwise
+     */
+    private @Nullable Object getEventContext(@NotNull Player player) {
+        boolean onlineMember = onlineParticipants.contains(player) || onlineAdmins.contains(player);
+        if (activeGame != null) {
+            if (onlineMember) {
+                return activeGame.getType();
+            }
+            return null;
+        }
+        if (activeEditor != null) {
+            if (onlineParticipants.contains(player)) {
+                return activeEditor.getType();
+            }
+            return null;
+        }
+        if (onlineMember) {
+            return hubManager;
+        }
+        return null;
+    }
+    
     /**
      * If a game is currently going on, manually stops the game.
      * @throws NullPointerException if no game is currently running. 
@@ -1606,6 +1660,16 @@ public class GameManager implements Listener {
         return new ArrayList<>(gameStateStorageUtil.getTeamIds());
     }
     
+    /**
+     * @return the UUIDs of all the participants in the game state, including the offline ones. 
+     * Unlike {@link #getOfflineParticipants()}, this doesn't look up the OfflinePlayer of each participant.
+     */
+    public List<UUID> getAllParticipantUUIDs() {
+        List<UUID> uniqueIds = new ArrayList<>(gameStateStorageUtil.getPlayerUniqueIds());
+        uniqueIds.addAll(gameStateStorageUtil.getOfflinePlayerUniqueIds());
+        return uniqueIds;
+    }
+    
     /**
      * @return A list of all OfflinePlayers in the game state. These players could
      * be offline or online, have names or not
@@ -1645,8 +1709,6 @@ public class GameManager implements Listener {
     public void addScoreParticipants(Collection<Player> participants, int score) {
         try {
             gameStateStorageUtil.addScorePlayers(participants.stream().map(Entity::getUniqueId).toList(), score);
-            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () ->
-                    gameStateStorageUtil.saveGameState());
             updatePersonalScores(participants);
         } catch (ConfigIOException e) {
             reportGameStateException("adding score to players", e);
@@ -1661,12 +1723,7 @@ public class GameManager implements Listener {
     public void addScore(UUID participantUUID, int score) {
         try {
             gameStateStorageUtil.addScore(participantUUID, score);
-            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () ->
-                    gameStateStorageUtil.saveGameState());
-            Player participant = plugin.getServer().getPlayer(participantUUID);
-            if (participant != null && onlineParticipants.contains(participant)) {
-                updatePersonalScore(participant);
-            }
+            updatePersonalScore(participantUUID);
         } catch (ConfigIOException e) {
             reportGameStateException("adding score to player", e);
         }
@@ -1683,8 +1740,6 @@ public class GameManager implements Listener {
     public void addScoreTeams(Collection<String> teamIds, int score) {
         try {
             gameStateStorageUtil.addScoreTeams(teamIds, score);
-            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () ->
-                    gameStateStorageUtil.saveGameState());
             updateTeamScores(teamIds);
         } catch (ConfigIOException e) {
             reportGameStateException("adding score to teams", e);
@@ -1699,8 +1754,6 @@ public class GameManager implements Listener {
     public void addScore(String teamId, int score) {
         try {
             gameStateStorageUtil.addScore(teamId, score);
-            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () ->
-                    gameStateStorageUtil.saveGameState());
             updateTeamScore(teamId);
         } catch (ConfigIOException e) {
             reportGameStateException("adding score to team", e);
@@ -1719,12 +1772,7 @@ public class GameManager implements Listener {
                 return;
             }
             gameStateStorageUtil.setScore(participantUUID, score);
-            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () ->
-                    gameStateStorageUtil.saveGameState());
-            Player participant = plugin.getServer().getPlayer(participantUUID);
-            if (participant != null && onlineParticipants.contains(participant)) {
-                updatePersonalScore(participant);
-            }
+            updatePersonalScore(participantUUID);
             updateTeamScore(getTeamId(participantUUID));
         } catch (ConfigIOException e) {
             reportGameStateException("setting a player's score", e);
@@ -1743,8 +1791,6 @@ public class GameManager implements Listener {
                 return;
             }
             gameStateStorageUtil.setScore(teamId, score);
-            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () ->
-                    gameStateStorageUtil.saveGameState());
             updateTeamScore(teamId);
         } catch (ConfigIOException e) {
             reportGameStateException("adding score to team", e);
@@ -1762,9 +1808,8 @@ public class GameManager implements Listener {
                 return;
             }
             gameStateStorageUtil.setAllScores(score);
-            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () ->
-                    gameStateStorageUtil.saveGameState());
-            updatePersonalScores(getOnlineParticipants());
+            // offline participants are marked too, so that the hub leaderboards include their new scores
+            scoreUpdateBus.markParticipants(gameStateStorageUtil.getPlayerUniqueIds());
             updateTeamScores(getTeamIds());
         } catch (ConfigIOException e) {
             reportGameStateException("setting all scores", e);
@@ -1951,6 +1996,10 @@ public class GameManager implements Listener {
         this.sidebarFactory = sidebarFactory;
     }
     
+    public SidebarFactory getSidebarFactory() {
+        return sidebarFactory;
+    }
+    
     /**
      * Sets the visibility of the main TabList to the given value for the given player. 
      * This is used to allow players to see the player list as default. 
@@ -1965,72 +2014,70 @@ public class GameManager implements Listener {
      * Update the displays of team scores to reflect the current 
      * {@link org.braekpo1nt.mctmanager.games.gamestate.GameState}
      * <br>
-     * This includes the header of the current active game, the event sidebar in the hub, and the {@link TabList}
+     * This includes the header of the current active game, the event sidebar in the hub, and the {@link TabList}.
+     * The displays are updated on the next tick, along with any other score changes made this tick.
      * @param teamIds the teamIds to update all displays for
      */
     private void updateTeamScores(Collection<String> teamIds) {
-        Map<String, Integer> teamIdsToScores = new HashMap<>(teamIds.size());
-        // perform this check and cast one time instead of for each teamId
-        Headerable headerable = activeGame instanceof Headerable ? (Headerable) activeGame : null;
-        for (String teamId : teamIds) {
-            Component teamDisplayName = getFormattedTeamDisplayName(teamId);
-            int teamScore = getScore(teamId);
-            teamIdsToScores.put(teamId, teamScore);
-            if (headerable != null) {
-                for (Player participant : getOnlinePlayersOnTeam(teamId)) {
-                    headerable.updateTeamScore(participant, Component.empty()
-                            .append(teamDisplayName)
-                            .append(Component.text(": "))
-                            .append(Component.text(teamScore)
-                                    .color(NamedTextColor.GOLD))
-                    );
-                }
-            }
-        }
-        if (eventManager.eventIsActive()) {
-            eventManager.updateTeamScores();
-        }
-        hubManager.updateLeaderboards();
-        // update all the scores at once instead of one at a time for each teamId in the above loop
-        tabList.setScores(teamIdsToScores);
+        scoreUpdateBus.markTeams(teamIds);
     }
     
     /**
      * Update the displays of the given team to reflect the current score.
      * <br>
-     * This includes the header of the current active game, the event sidebar in the hub, and the {@link TabList} 
+     * This includes the header of the current active game, the event sidebar in the hub, and the {@link TabList}.
+     * The displays are updated on the next tick, along with any other score changes made this tick.
      * @param teamId the teamId to update in all displays
      */
     private void updateTeamScore(String teamId) {
-        Component teamDisplayName = getFormattedTeamDisplayName(teamId);
-        int teamScore = getScore(teamId);
-        if (activeGame != null && activeGame instanceof Headerable headerable) {
-            for (Player participant : getOnlinePlayersOnTeam(teamId)) {
-                headerable.updateTeamScore(participant, Component.empty()
-                        .append(teamDisplayName)
-                        .append(Component.text(": "))
-                        .append(Component.text(teamScore)
-                                .color(NamedTextColor.GOLD))
-                );
-            }
-        }
-        if (eventManager.eventIsActive()) {
-            eventManager.updateTeamScores();
-        }
-        hubManager.updateLeaderboards();
-        tabList.setScore(teamId, teamScore);
+        scoreUpdateBus.markTeam(teamId);
     }
     
     /**
      * Update the displays of the given participants to reflect their current scores.
-     * Also updates their team scores.
+     * The displays are updated on the next tick, along with any other score changes made this tick.
      * @param participants the participants to update
      */
     private void updatePersonalScores(Collection<Player> participants) {
+        scoreUpdateBus.markParticipants(participants.stream().map(Entity::getUniqueId).toList());
+    }
+    
+    /**
+     * Update the display of the given participant to reflect their current score.
+     * The displays are updated on the next tick, along with any other score changes made this tick.
+     * @param participant the participant to update
+     */
+    private void updatePersonalScore(Player participant) {
+        updatePersonalScore(participant.getUniqueId());
+    }
+    
+    /**
+     * Update the displays of the participant with the given UUID to reflect their current score.
+     * The participant doesn't need to be online, the hub leaderboards are updated either way.
+     * The displays are updated on the next tick, along with any other score changes made this tick.
+     * @param participantUUID the UUID of the participant to update
+     */
+    private void updatePersonalScore(UUID participantUUID) {
+        scoreUpdateBus.markParticipant(participantUUID);
+    }
+    
+    /**
+     * Rebuild every score display for the teams and participants whose scores changed since the last flush
+     * of the {@link #scoreUpdateBus}. The event sidebar, hub leaderboards, and {@link TabList} are 
+     * updated once for all of them.
+     * @param teamIds the teams whose scores changed. Teams which no longer exist are skipped.
+     * @param participantUUIDs the participants whose scores changed. Only the hub leaderboards are updated for participants who aren't online.
+     */
+    private void updateScoreDisplays(Set<String> teamIds, Set<UUID> participantUUIDs) {
         // perform this check and cast one time instead of for each teamId
         Headerable headerable = activeGame instanceof Headerable ? (Headerable) activeGame : null;
-        for (Player participant : participants) {
-            int score = getScore(participant.getUniqueId());
+        boolean eventIsActive = eventManager.eventIsActive();
+        for (UUID participantUUID : participantUUIDs) {
+            Player participant = plugin.getServer().getPlayer(participantUUID);
+            if (participant == null || !onlineParticipants.contains(participant)) {
+                continue;
+            }
+            int score = getScore(participantUUID);
             Component contents = Component.empty()
                     .append(Component.text("Personal: "))
                     .append(Component.text(score))
@@ -2038,31 +2085,39 @@ public class GameManager implements Listener {
             if (headerable != null) {
                 headerable.updatePersonalScore(participant, contents);
             }
-            if (eventManager.eventIsActive()) {
+            if (eventIsActive) {
                 eventManager.updatePersonalScore(participant, contents);
             }
         }
-        hubManager.updateLeaderboards();
-    }
-    
-    /**
-     * Update the display of the given participant to reflect their current score.
-     * Also updates their team scores.
-     * @param participant the participant to update
-     */
-    private void updatePersonalScore(Player participant) {
-        int score = getScore(participant.getUniqueId());
-        Component contents = Component.empty()
-                .append(Component.text("Personal: "))
-                .append(Component.text(score))
-                .color(NamedTextColor.GOLD);
-        if (activeGame != null && activeGame instanceof Headerable headerable) {
-            headerable.updatePersonalScore(participant, contents);
+        Map<String, Integer> teamIdsToScores = new HashMap<>(teamIds.size());
+        for (String teamId : teamIds) {
+            if (!gameStateStorageUtil.containsTeam(teamId)) {
+                continue;
+            }
+            int teamScore = getScore(teamId);
+            teamIdsToScores.put(teamId, teamScore);
+            if (headerable != null) {
+                Component teamDisplayName = getFormattedTeamDisplayName(teamId);
+                for (Player participant : getOnlinePlayersOnTeam(teamId)) {
+                    headerable.updateTeamScore(participant, Component.empty()
+                            .append(teamDisplayName)
+                            .append(Component.text(": "))
+                            .append(Component.text(teamScore)
+                                    .color(NamedTextColor.GOLD))
+                    );
+                }
+            }
         }
-        if (eventManager.eventIsActive()) {
-            eventManager.updatePersonalScore(participant, contents);
+        if (!teamIdsToScores.isEmpty()) {
+            if (eventIsActive) {
+                eventManager.updateTeamScores();
+            }
+            // update all the scores at once instead of one at a time for each teamId in the above loop
+            tabList.setScores(teamIdsToScores);
+        }
+        if (!participantUUIDs.isEmpty()) {
+            hubManager.updateLeaderboards(participantUUIDs);
         }
-        hubManager.updateLeaderboards();
     }
     
     /**
@@ -0,0 +1,125 @@
+package org.braekpo1nt.mctmanager.games;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Collects the teams and participants whose scores have changed, and flushes them
+ * all at once on the next tick.
+ * <br>
+ * Many score changes can happen in a single tick (e.g. awarding points to each participant
+ * in a loop), and each score display (the game headers, event sidebar, hub leaderboards,
+ * and {@link org.braekpo1nt.mctmanager.ui.tablist.TabList}) is expensive to rebuild.
+ * Marking teams and participants as dirty here instead of updating the displays directly
+ * means every display is rebuilt at most once per tick, no matter how many points were awarded.
+ */
+public class ScoreUpdateBus {
+    
+    private final Plugin plugin;
+    /**
+     * Accepts the dirty teamIds and participant UUIDs when the bus is flushed.
+     * The sets are owned by the consumer and won't be modified afterward.
+     */
+    private final BiConsumer<Set<String>, Set<UUID>> onFlush;
+    private Set<String> dirtyTeamIds = new HashSet<>();
+    private Set<UUID> dirtyParticipantUUIDs = new HashSet<>();
+    private @Nullable BukkitTask flushTask;
+    
+    public ScoreUpdateBus(@NotNull Plugin plugin, @NotNull BiConsumer<Set<String>, Set<UUID>> onFlush) {
+        this.plugin = plugin;
+        this.onFlush = onFlush;
+    }
+    
+    /**
+     * Mark the given team's score as changed
+     * @param teamId the teamId
+     */
+    public void markTeam(@NotNull String teamId) {
+        dirtyTeamIds.add(teamId);
+        scheduleFlush();
+    }
+    
+    /**
+     * Mark the given teams' scores as changed
+     * @param teamIds the teamIds
+     */
+    public void markTeams(@NotNull Collection<String> teamIds) {
+        if (teamIds.isEmpty()) {
+            return;
+        }
+        dirtyTeamIds.addAll(teamIds);
+        scheduleFlush();
+    }
+    
+    /**
+     * Mark the given participant's personal score as changed
+     * @param participantUUID the UUID of the participant
+     */
+    public void markParticipant(@NotNull UUID participantUUID) {
+        dirtyParticipantUUIDs.add(participantUUID);
+        scheduleFlush();
+    }
+    
+    /**
+     * Mark the given participants' personal scores as changed
+     * @param participantUUIDs the UUIDs of the participants
+     */
+    public void markParticipants(@NotNull Collection<UUID> participantUUIDs) {
+        if (participantUUIDs.isEmpty()) {
+            return;
+        }
+        dirtyParticipantUUIDs.addAll(participantUUIDs);
+        scheduleFlush();
+    }
+    
+    /**
+     * Flush on the next tick. If the plugin is disabled (e.g. points awarded while games
+     * are stopped in onDisable), tasks can't be scheduled, so flush immediately instead.
+     */
+    private void scheduleFlush() {
+        if (!plugin.isEnabled()) {
+            flush();
+            return;
+        }
+        if (flushTask != null) {
+            return;
+        }
+        flushTask = plugin.getServer().getScheduler().runTask(plugin, this::flush);
+    }
+    
+    /**
+     * Immediately update the displays for everything marked so far, instead of waiting for the next tick.
+     * If nothing is marked, nothing happens.
+     */
+    public void flush() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        if (dirtyTeamIds.isEmpty() && dirtyParticipantUUIDs.isEmpty()) {
+            return;
+        }
+        Set<String> teamIds = dirtyTeamIds;
+        Set<UUID> participantUUIDs = dirtyParticipantUUIDs;
+        dirtyTeamIds = new HashSet<>();
+        dirtyParticipantUUIDs = new HashSet<>();
+        onFlush.accept(teamIds, participantUUIDs);
+    }
+    
+    /**
+     * Forget everything that was marked, and cancel the pending flush
+     */
+    public void cancel() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        dirtyTeamIds.clear();
+        dirtyParticipantUUIDs.clear();
+    }
+}
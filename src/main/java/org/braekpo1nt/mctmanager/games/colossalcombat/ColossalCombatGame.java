@@ -11,6 +11,8 @@ import org.braekpo1nt.mctmanager.games.colossalcombat.config.ColossalCombatConfi
 import org.braekpo1nt.mctmanager.games.game.interfaces.Configurable;
 import org.braekpo1nt.mctmanager.games.utils.GameManagerUtils;
 import org.braekpo1nt.mctmanager.games.utils.ParticipantInitializer;
+import org.braekpo1nt.mctmanager.games.utils.ParticipantRegistry;
+import org.braekpo1nt.mctmanager.listeners.EventRouter;
 import org.braekpo1nt.mctmanager.ui.sidebar.KeyLine;
 import org.braekpo1nt.mctmanager.ui.sidebar.Sidebar;
 import org.braekpo1nt.mctmanager.ui.timer.Timer;
@@ -23,7 +25,6 @@ import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -39,6 +40,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public class ColossalCombatGame implements Listener, Configurable {
     
@@ -50,8 +52,8 @@ public class ColossalCombatGame implements Listener, Configurable {
     private final ColossalCombatConfigController configController;
     private ColossalCombatConfig config;
     private final Component title = Component.text("Colossal Combat").color(NamedTextColor.BLUE);
-    private List<Player> firstPlaceParticipants = new ArrayList<>();
-    private List<Player> secondPlaceParticipants = new ArrayList<>();
+    private ParticipantRegistry firstPlaceParticipants = new ParticipantRegistry();
+    private ParticipantRegistry secondPlaceParticipants = new ParticipantRegistry();
     private List<Player> spectators = new ArrayList<>();
     private Map<UUID, Integer> killCounts = new HashMap<>();
     private Map<UUID, Integer> deathCounts = new HashMap<>();
@@ -97,14 +99,14 @@ public class ColossalCombatGame implements Listener, Configurable {
         firstPlaceRoundWins = 0;
         secondPlaceRoundWins = 0;
         closeGates();
-        firstPlaceParticipants = new ArrayList<>(newFirstPlaceParticipants.size());
-        secondPlaceParticipants = new ArrayList<>(newSecondPlaceParticipants.size());
+        firstPlaceParticipants = new ParticipantRegistry(newFirstPlaceParticipants.size());
+        secondPlaceParticipants = new ParticipantRegistry(newSecondPlaceParticipants.size());
         spectators = new ArrayList<>(newSpectators.size());
         killCounts = new HashMap<>(newFirstPlaceParticipants.size() + newSecondPlaceParticipants.size());
         deathCounts = new HashMap<>(newFirstPlaceParticipants.size() + newSecondPlaceParticipants.size());
         sidebar = gameManager.createSidebar();
         adminSidebar = gameManager.createSidebar();
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getEventRouter().register(EventRouter.GLOBAL, this);
         gameManager.getTimerManager().register(timerManager);
         int numOfRounds = (config.getRequiredWins() * 2) - 1;
         rounds = new ArrayList<>(numOfRounds);
@@ -275,7 +277,7 @@ public class ColossalCombatGame implements Listener, Configurable {
     public void stop(@Nullable String winningTeam) {
         gameActive = false;
         descriptionShowing = false;
-        HandlerList.unregisterAll(this);
+        plugin.getEventRouter().unregister(this);
         cancelAllTasks();
         if (currentRoundIndex < rounds.size()) {
             ColossalCombatRound currentRound = rounds.get(currentRoundIndex);
@@ -627,61 +629,76 @@ public class ColossalCombatGame implements Listener, Configurable {
         topbar.setDeaths(playerUUID, newDeathCount);
     }
     
-    void closeGates() {
-        closeGate(
+    /**
+     * Close both gates and place the concrete. Run right away if nothing else is being placed.
+     * @return a future which is completed on the main thread once the gates are closed
+     */
+    CompletableFuture<Void> closeGates() {
+        CompletableFuture<Void> firstGate = closeGate(
                 config.getFirstPlaceClearArea(), 
                 config.getFirstPlaceStone(), 
                 config.getFirstPlacePlaceArea(), 
                 gameManager.getTeamPowderColor(firstTeamId)
         );
-        closeGate(
+        CompletableFuture<Void> secondGate = closeGate(
                 config.getSecondPlaceClearArea(), 
                 config.getSecondPlaceStone(), 
                 config.getSecondPlacePlaceArea(), 
                 gameManager.getTeamPowderColor(secondTeamId)
         );
-        placeConcrete();
+        return CompletableFuture.allOf(firstGate, secondGate, placeConcrete());
     }
     
-    void placeConcrete() {
+    CompletableFuture<Void> placeConcrete() {
         if (config.shouldReplaceWithConcrete()) {
-            BlockPlacementUtils.createCubeReplace(
+            List<Runnable> steps = new ArrayList<>(BlockPlacementUtils.createCubeReplaceSteps(
                     config.getWorld(),
                     config.getFirstPlaceFlagReplaceArea(),
                     config.getReplaceBlock(),
-                    gameManager.getTeamConcreteColor(firstTeamId));
-            BlockPlacementUtils.createCubeReplace(
+                    gameManager.getTeamConcreteColor(firstTeamId)));
+            steps.addAll(BlockPlacementUtils.createCubeReplaceSteps(
                     config.getWorld(),
                     config.getSecondPlaceFlagReplaceArea(),
                     config.getReplaceBlock(),
-                    gameManager.getTeamConcreteColor(secondTeamId));
+                    gameManager.getTeamConcreteColor(secondTeamId)));
+            return plugin.getBlockPlacementQueue().runOrSubmit("Colossal Combat concrete", steps);
         }
+        return CompletableFuture.completedFuture(null);
     }
     
     void removeConcrete() {
         if (config.shouldReplaceWithConcrete()) {
-            BlockPlacementUtils.createCubeReplace(
+            List<Runnable> steps = new ArrayList<>(BlockPlacementUtils.createCubeReplaceSteps(
                     config.getWorld(),
                     config.getFirstPlaceFlagReplaceArea(),
                     gameManager.getTeamConcreteColor(firstTeamId),
-                    config.getReplaceBlock());
-            BlockPlacementUtils.createCubeReplace(
+                    config.getReplaceBlock()));
+            steps.addAll(BlockPlacementUtils.createCubeReplaceSteps(
                     config.getWorld(),
                     config.getSecondPlaceFlagReplaceArea(),
                     gameManager.getTeamConcreteColor(secondTeamId),
-                    config.getReplaceBlock());
+                    config.getReplaceBlock()));
+            plugin.getBlockPlacementQueue().submit("Colossal Combat concrete removal", steps);
         }
     }
     
-    private void closeGate(BoundingBox clearArea, BoundingBox stoneArea, BoundingBox placeArea, Material teamPowderColor) {
+    /**
+     * Closes a gate: clears every color of powder from the clear area in a single pass,
+     * places the stone, then fills the air in the place area with the team's powder
+     * @return a future which is completed on the main thread once the gate is closed
+     */
+    private CompletableFuture<Void> closeGate(BoundingBox clearArea, BoundingBox stoneArea, BoundingBox placeArea, Material teamPowderColor) {
         //replace powder with air
+        Map<Material, Material> clearPowder = new EnumMap<>(Material.class);
         for (Material powderColor : ColorMap.getAllConcretePowderColors()) {
-            BlockPlacementUtils.createCubeReplace(config.getWorld(), clearArea, powderColor, Material.AIR);
+            clearPowder.put(powderColor, Material.AIR);
         }
+        List<Runnable> steps = new ArrayList<>(BlockPlacementUtils.createCubeReplaceSteps(config.getWorld(), clearArea, clearPowder));
         //place stone under the powder area
-        BlockPlacementUtils.createCube(config.getWorld(), stoneArea, Material.STONE);
+        steps.addAll(BlockPlacementUtils.createCubeSteps(config.getWorld(), stoneArea, Material.STONE));
         //replace air with team powder color
-        BlockPlacementUtils.createCubeReplace(config.getWorld(), placeArea, Material.AIR, teamPowderColor);
+        steps.addAll(BlockPlacementUtils.createCubeReplaceSteps(config.getWorld(), placeArea, Material.AIR, teamPowderColor));
+        return plugin.getBlockPlacementQueue().runOrSubmit("Colossal Combat gate", steps);
     }
     
     private void setupTeamOptions() {
@@ -7,6 +7,8 @@ import org.braekpo1nt.mctmanager.games.GameManager;
 import org.braekpo1nt.mctmanager.games.colossalcombat.config.ColossalCombatConfig;
 import org.braekpo1nt.mctmanager.games.utils.GameManagerUtils;
 import org.braekpo1nt.mctmanager.games.utils.ParticipantInitializer;
+import org.braekpo1nt.mctmanager.games.utils.ParticipantRegistry;
+import org.braekpo1nt.mctmanager.listeners.EventRouter;
 import org.braekpo1nt.mctmanager.ui.UIUtils;
 import org.braekpo1nt.mctmanager.ui.sidebar.Sidebar;
 import org.braekpo1nt.mctmanager.ui.timer.Timer;
@@ -24,7 +26,6 @@ import org.bukkit.entity.Arrow;
 import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
@@ -36,6 +37,7 @@ import org.bukkit.util.BoundingBox;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public class ColossalCombatRound implements Listener {
     
@@ -51,11 +53,19 @@ public class ColossalCombatRound implements Listener {
     private Map<UUID, Boolean> secondPlaceParticipantsAlive = new HashMap<>();
     private String firstTeamId;
     private String secondTeamId;
-    private List<Player> firstPlaceParticipants = new ArrayList<>();
-    private List<Player> secondPlaceParticipants = new ArrayList<>();
+    private ParticipantRegistry firstPlaceParticipants = new ParticipantRegistry();
+    private ParticipantRegistry secondPlaceParticipants = new ParticipantRegistry();
     private List<Player> spectators = new ArrayList<>();
     private int antiSuffocationTaskId;
     private boolean antiSuffocation = false;
+    /**
+     * completed once the gates have been closed for this round
+     */
+    private CompletableFuture<Void> gatesClosed = CompletableFuture.completedFuture(null);
+    /**
+     * completed once the gates have been opened for this round
+     */
+    private CompletableFuture<Void> gatesOpened = CompletableFuture.completedFuture(null);
     private boolean roundActive = false;
     private boolean roundHasStarted = false;
     private boolean captureTheFlagStarted = false;
@@ -80,18 +90,18 @@ public class ColossalCombatRound implements Listener {
     public void start(List<Player> newFirstPlaceParticipants, List<Player> newSecondPlaceParticipants, List<Player> newSpectators, String firstTeamId, String secondTeamId) {
         this.firstTeamId = firstTeamId;
         this.secondTeamId = secondTeamId;
-        firstPlaceParticipants = new ArrayList<>(newFirstPlaceParticipants.size());
-        secondPlaceParticipants = new ArrayList<>(newSecondPlaceParticipants.size());
+        firstPlaceParticipants = new ParticipantRegistry(newFirstPlaceParticipants.size());
+        secondPlaceParticipants = new ParticipantRegistry(newSecondPlaceParticipants.size());
         firstPlaceParticipantsAlive = new HashMap<>();
         secondPlaceParticipantsAlive = new HashMap<>();
         spectators = new ArrayList<>(newSpectators.size());
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getEventRouter().register(EventRouter.GLOBAL, this);
         gameManager.getTimerManager().register(timerManager);
         antiSuffocation = false;
         captureTheFlagStarted = false;
         flagPosition = null;
         hasFlag = null;
-        colossalCombatGame.closeGates();
+        gatesClosed = colossalCombatGame.closeGates();
         for (Player first : newFirstPlaceParticipants) {
             initializeFirstPlaceParticipant(first);
         }
@@ -105,13 +115,28 @@ public class ColossalCombatRound implements Listener {
         setupTeamOptions();
         roundActive = true;
         roundHasStarted = false;
-        startRoundStartingCountDown();
-        if (shouldStartCaptureTheFlag()) {
-            startCaptureTheFlagCountdown();
-        }
+        startWhenGatesAreClosed();
         Main.logger().info("Starting Colossal Combat round");
     }
     
+    /**
+     * The gates are closed right away unless other blocks are being placed, in which case
+     * the countdown doesn't start until they're closed
+     */
+    private void startWhenGatesAreClosed() {
+        CompletableFuture<Void> closed = gatesClosed;
+        closed.thenRun(() -> {
+            if (!roundActive || closed != gatesClosed) {
+                // the round was stopped while the gates were being closed
+                return;
+            }
+            startRoundStartingCountDown();
+            if (shouldStartCaptureTheFlag()) {
+                startCaptureTheFlagCountdown();
+            }
+        });
+    }
+    
     private void initializeFirstPlaceParticipant(Player first) {
         firstPlaceParticipants.add(first);
         first.teleport(config.getFirstPlaceSpawn());
@@ -177,7 +202,7 @@ public class ColossalCombatRound implements Listener {
     }
     
     public void stop() {
-        HandlerList.unregisterAll(this);
+        plugin.getEventRouter().unregister(this);
         cancelAllTasks();
         roundActive = false;
         antiSuffocation = false;
@@ -505,13 +530,25 @@ public class ColossalCombatRound implements Listener {
         topbar.setMiddle(Component.empty());
     }
     
+    /**
+     * Opens the gates right away, unless other blocks are being placed. The anti-suffocation
+     * period is timed from when the stone is actually removed.
+     */
     private void openGates() {
         antiSuffocation = true;
-        this.antiSuffocationTaskId = Bukkit.getScheduler().runTaskLater(plugin, () -> antiSuffocation = false, config.getAntiSuffocationDuration()).getTaskId();
         //first
-        BlockPlacementUtils.createCube(config.getWorld(), config.getFirstPlaceStone(), Material.AIR);
+        List<Runnable> steps = new ArrayList<>(BlockPlacementUtils.createCubeSteps(config.getWorld(), config.getFirstPlaceStone(), Material.AIR));
         //second
-        BlockPlacementUtils.createCube(config.getWorld(), config.getSecondPlaceStone(), Material.AIR);
+        steps.addAll(BlockPlacementUtils.createCubeSteps(config.getWorld(), config.getSecondPlaceStone(), Material.AIR));
+        CompletableFuture<Void> opened = plugin.getBlockPlacementQueue().runOrSubmit("Colossal Combat gates opening", steps);
+        gatesOpened = opened;
+        opened.thenRun(() -> {
+            if (!roundActive || opened != gatesOpened) {
+                // the round was stopped while the gates were being opened
+                return;
+            }
+            this.antiSuffocationTaskId = Bukkit.getScheduler().runTaskLater(plugin, () -> antiSuffocation = false, config.getAntiSuffocationDuration()).getTaskId();
+        });
     }
     
     @EventHandler
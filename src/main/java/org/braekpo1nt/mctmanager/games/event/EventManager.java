@@ -23,7 +23,6 @@ import org.bukkit.Material;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -157,7 +156,7 @@ public class EventManager implements Listener {
                     .color(NamedTextColor.RED));
             return;
         }
-        HandlerList.unregisterAll(this);
+        plugin.getEventRouter().unregister(this);
         cancelAllTasks();
         this.setState(new OffState(this));
         Component message = Component.text("Ending event. ")
@@ -11,6 +11,7 @@ import org.braekpo1nt.mctmanager.config.exceptions.ConfigException;
 import org.braekpo1nt.mctmanager.games.GameManager;
 import org.braekpo1nt.mctmanager.games.event.EventManager;
 import org.braekpo1nt.mctmanager.games.game.enums.GameType;
+import org.braekpo1nt.mctmanager.listeners.EventRouter;
 import org.braekpo1nt.mctmanager.ui.UIUtils;
 import org.braekpo1nt.mctmanager.ui.sidebar.KeyLine;
 import org.bukkit.command.CommandSender;
@@ -78,7 +79,7 @@ public class OffState implements EventState {
             return;
         }
         
-        context.getPlugin().getServer().getPluginManager().registerEvents(context, context.getPlugin());
+        context.getPlugin().getEventRouter().register(EventRouter.GLOBAL, context);
         context.getGameManager().getTimerManager().register(context.getTimerManager());
         context.setWinningTeam(null);
         context.setMaxGames(numberOfGames);
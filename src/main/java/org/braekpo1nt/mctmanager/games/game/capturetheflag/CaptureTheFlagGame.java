@@ -17,6 +17,7 @@ import org.braekpo1nt.mctmanager.games.game.interfaces.Configurable;
 import org.braekpo1nt.mctmanager.games.game.interfaces.MCTGame;
 import org.braekpo1nt.mctmanager.games.utils.GameManagerUtils;
 import org.braekpo1nt.mctmanager.games.utils.ParticipantInitializer;
+import org.braekpo1nt.mctmanager.games.utils.ParticipantRegistry;
 import org.braekpo1nt.mctmanager.ui.sidebar.Headerable;
 import org.braekpo1nt.mctmanager.ui.sidebar.KeyLine;
 import org.braekpo1nt.mctmanager.ui.sidebar.Sidebar;
@@ -27,7 +28,6 @@ import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.FoodLevelChangeEvent;
@@ -60,7 +60,7 @@ public class CaptureTheFlagGame implements MCTGame, Configurable, Listener, Head
     private Sidebar adminSidebar;
     private CaptureTheFlagConfigController configController;
     private CaptureTheFlagConfig config;
-    private List<Player> participants = new ArrayList<>();
+    private ParticipantRegistry participants = new ParticipantRegistry();
     private List<Player> admins = new ArrayList<>();
     private Map<UUID, Integer> killCount = new HashMap<>();
     private Map<UUID, Integer> deathCount = new HashMap<>();
@@ -105,9 +105,9 @@ public class CaptureTheFlagGame implements MCTGame, Configurable, Listener, Head
     
     @Override
     public void start(List<Player> newParticipants, List<Player> newAdmins) {
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getEventRouter().register(getType(), this);
         gameManager.getTimerManager().register(timerManager);
-        participants = new ArrayList<>(newParticipants.size());
+        participants = new ParticipantRegistry(newParticipants.size());
         sidebar = gameManager.createSidebar();
         adminSidebar = gameManager.createSidebar();
         List<String> teamIds = gameManager.getTeamIds(newParticipants);
@@ -170,7 +170,7 @@ public class CaptureTheFlagGame implements MCTGame, Configurable, Listener, Head
     
     @Override
     public void stop() {
-        HandlerList.unregisterAll(this);
+        plugin.getEventRouter().unregister(this);
         cancelAllTasks();
         if (state != null) {
             state.stop();
@@ -4,12 +4,13 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.braekpo1nt.mctmanager.Main;
 import org.braekpo1nt.mctmanager.games.GameManager;
+import org.braekpo1nt.mctmanager.games.game.enums.GameType;
 import org.braekpo1nt.mctmanager.games.utils.GameManagerUtils;
+import org.braekpo1nt.mctmanager.games.utils.ParticipantRegistry;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
@@ -34,8 +35,12 @@ public class ClassPicker implements Listener {
                     .color(NamedTextColor.GRAY));
     private final Component NETHER_STAR_NAME = Component.text("Vote");
     private final Map<UUID, String> pickedBattleClasses = new HashMap<>();
-    private final List<Player> teamMates = new ArrayList<>();
+    private final ParticipantRegistry teamMates = new ParticipantRegistry();
     private final GameManager gameManager;
+    /**
+     * The plugin this was last started with, used to unregister the listeners on stop
+     */
+    private Main plugin;
     private boolean classPickingActive = false;
     private Map<String, Loadout> loadouts = new HashMap<>();
     private Map<Material, String> materialToBattleClass = new HashMap<>();
@@ -53,7 +58,8 @@ public class ClassPicker implements Listener {
      */
     public void start(Main plugin, List<Player> newTeamMates, 
                       Map<String, Loadout> loadouts) {
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        this.plugin = plugin;
+        plugin.getEventRouter().register(GameType.CAPTURE_THE_FLAG, this);
         this.materialToBattleClass = new HashMap<>();
         for (Map.Entry<String, Loadout> entry : loadouts.entrySet()) {
             this.materialToBattleClass.put(entry.getValue().getMenuItem().getType(), entry.getKey());
@@ -73,7 +79,9 @@ public class ClassPicker implements Listener {
      * @param assignBattleClasses If true, this will assign battle classes to teammates who haven't picked a battle class yet.
      */
     public void stop(boolean assignBattleClasses) {
-        HandlerList.unregisterAll(this);
+        if (plugin != null) {
+            plugin.getEventRouter().unregister(this);
+        }
         classPickingActive = false;
         if (assignBattleClasses) {
             assignBattleClassesToTeamMatesWithoutBattleClasses();
@@ -12,6 +12,7 @@ import org.braekpo1nt.mctmanager.games.game.capturetheflag.config.CaptureTheFlag
 import org.braekpo1nt.mctmanager.games.game.capturetheflag.match.states.CaptureTheFlagMatchState;
 import org.braekpo1nt.mctmanager.games.game.capturetheflag.match.states.ClassSelectionState;
 import org.braekpo1nt.mctmanager.games.utils.ParticipantInitializer;
+import org.braekpo1nt.mctmanager.games.utils.ParticipantRegistry;
 import org.braekpo1nt.mctmanager.ui.sidebar.Sidebar;
 import org.braekpo1nt.mctmanager.ui.topbar.BattleTopbar;
 import org.braekpo1nt.mctmanager.utils.BlockPlacementUtils;
@@ -54,9 +55,11 @@ public class CaptureTheFlagMatch {
     private final Sidebar adminSidebar;
     private final ClassPicker northClassPicker;
     private final ClassPicker southClassPicker;
-    private final List<Player> northParticipants = new ArrayList<>();
-    private final List<Player> southParticipants = new ArrayList<>();
-    private final List<Player> allParticipants = new ArrayList<>();
+    /**
+     * The participants of both teams. Each is added with either the north or south teamId,
+     * see {@link #getNorthParticipants()} and {@link #getSouthParticipants()}
+     */
+    private final ParticipantRegistry allParticipants = new ParticipantRegistry();
     private final Map<UUID, Boolean> participantsAreAlive = new HashMap<>();
     /**
      * The position of the north flag, if it has been dropped and can be picked up. Null if not
@@ -112,13 +115,13 @@ public class CaptureTheFlagMatch {
     
     public void initializeParticipant(Player participant) {
         String teamId = gameManager.getTeamId(participant.getUniqueId());
-        allParticipants.add(participant);
         UUID participantUniqueId = participant.getUniqueId();
         participantsAreAlive.putIfAbsent(participantUniqueId, true);
         int alive;
         int dead;
         if (matchPairing.northTeam().equals(teamId)) {
-            northParticipants.add(participant);
+            allParticipants.add(participant, matchPairing.northTeam());
+            List<Player> northParticipants = getNorthParticipants();
             participant.teleport(arena.northSpawn());
             participant.setRespawnLocation(arena.northSpawn(), true);
             participant.lookAt(
@@ -129,7 +132,8 @@ public class CaptureTheFlagMatch {
             alive = countAlive(northParticipants);
             dead = northParticipants.size() - alive;
         } else {
-            southParticipants.add(participant);
+            allParticipants.add(participant, matchPairing.southTeam());
+            List<Player> southParticipants = getSouthParticipants();
             participant.teleport(arena.southSpawn());
             participant.setRespawnLocation(arena.southSpawn(), true);
             participant.lookAt(
@@ -164,6 +168,20 @@ public class CaptureTheFlagMatch {
         state.onParticipantQuit(participant);
     }
     
+    /**
+     * @return a read-only view of the participants on the north team
+     */
+    public List<Player> getNorthParticipants() {
+        return allParticipants.getTeam(matchPairing.northTeam());
+    }
+    
+    /**
+     * @return a read-only view of the participants on the south team
+     */
+    public List<Player> getSouthParticipants() {
+        return allParticipants.getTeam(matchPairing.southTeam());
+    }
+    
     public int countAlive(List<Player> participants) {
         int living = 0;
         for (Player participant : participants) {
@@ -236,8 +254,6 @@ public class CaptureTheFlagMatch {
             resetParticipant(participant);
         }
         allParticipants.clear();
-        northParticipants.clear();
-        southParticipants.clear();
         state = null;
         Main.logger().info("Stopping capture the flag match " + matchPairing);
     }
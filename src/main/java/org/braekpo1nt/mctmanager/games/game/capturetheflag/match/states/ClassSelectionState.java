@@ -64,12 +64,10 @@ public class ClassSelectionState implements CaptureTheFlagMatchState {
         int alive;
         int dead;
         if (context.getMatchPairing().northTeam().equals(teamId)) {
-            context.getNorthParticipants().remove(participant);
             context.getNorthClassPicker().removeTeamMate(participant);
             alive = context.countAlive(context.getNorthParticipants());
             dead = context.getNorthParticipants().size() - alive;
         } else {
-            context.getSouthParticipants().remove(participant);
             context.getSouthClassPicker().removeTeamMate(participant);
             alive = context.countAlive(context.getSouthParticipants());
             dead = context.getSouthParticipants().size() - alive;
@@ -166,7 +166,6 @@ public class MatchActiveState implements CaptureTheFlagMatchState {
     
     @Override
     public void onParticipantQuit(Player participant) {
-        String teamId = context.getGameManager().getTeamId(participant.getUniqueId());
         if (context.getParticipantsAreAlive().get(participant.getUniqueId())) {
             Component deathMessage = Component.empty()
                     .append(participant.displayName())
@@ -177,11 +176,6 @@ public class MatchActiveState implements CaptureTheFlagMatchState {
         }
         context.resetParticipant(participant);
         context.getAllParticipants().remove(participant);
-        if (matchPairing.northTeam().equals(teamId)) {
-            context.getNorthParticipants().remove(participant);
-        } else {
-            context.getSouthParticipants().remove(participant);
-        }
     }
     
     @Override
@@ -338,25 +332,32 @@ public class MatchActiveState implements CaptureTheFlagMatchState {
     
     @Override
     public void onPlayerMove(PlayerMoveEvent event) {
+        if (!event.hasChangedBlock()) {
+            // the flags are only picked up, delivered, and recovered by stepping onto their block
+            return;
+        }
         Player participant = event.getPlayer();
         if (!context.getParticipantsAreAlive().get(participant.getUniqueId())) {
             return;
         }
         if (context.getNorthParticipants().contains(participant)) {
-            onNorthParticipantMove(participant);
+            onNorthParticipantMove(participant, event.getTo());
         } else {
-            onSouthParticipantMove(participant);
+            onSouthParticipantMove(participant, event.getTo());
         }
     }
     
     // North participant move start
-    private void onNorthParticipantMove(Player participant) {
-        Location location = participant.getLocation();
+    /**
+     * @param participant the participant who moved
+     * @param location the location they moved to (their current location is still where they moved from)
+     */
+    private void onNorthParticipantMove(Player participant, Location location) {
         if (canPickUpSouthFlag(location)) {
             pickUpSouthFlag(participant);
             return;
         }
-        if (canDeliverSouthFlag(participant)) {
+        if (canDeliverSouthFlag(participant, location)) {
             deliverSouthFlag(participant);
             return;
         }
@@ -402,11 +403,10 @@ public class MatchActiveState implements CaptureTheFlagMatchState {
         context.setHasSouthFlag(northParticipant);
     }
     
-    private boolean canDeliverSouthFlag(Player northParticipant) {
+    private boolean canDeliverSouthFlag(Player northParticipant, Location location) {
         if (!hasSouthFlag(northParticipant)) {
             return false;
         }
-        Location location = northParticipant.getLocation();
         return arena.northFlag().getBlockX() == location.getBlockX() && arena.northFlag().getBlockY() == location.getBlockY() && arena.northFlag().getBlockZ() == location.getBlockZ();
     }
     
@@ -456,13 +456,16 @@ public class MatchActiveState implements CaptureTheFlagMatchState {
     // North participant move end
     // South participant move start
     
-    private void onSouthParticipantMove(Player southParticipant) {
-        Location location = southParticipant.getLocation();
+    /**
+     * @param southParticipant the participant who moved
+     * @param location the location they moved to (their current location is still where they moved from)
+     */
+    private void onSouthParticipantMove(Player southParticipant, Location location) {
         if (canPickUpNorthFlag(location)) {
             pickUpNorthFlag(southParticipant);
             return;
         }
-        if (canDeliverNorthFlag(southParticipant)) {
+        if (canDeliverNorthFlag(southParticipant, location)) {
             deliverNorthFlag(southParticipant);
             return;
         }
@@ -508,11 +511,10 @@ public class MatchActiveState implements CaptureTheFlagMatchState {
         context.setHasNorthFlag(southParticipant);
     }
     
-    private boolean canDeliverNorthFlag(Player southParticipant) {
+    private boolean canDeliverNorthFlag(Player southParticipant, Location location) {
         if (!hasNorthFlag(southParticipant)) {
             return false;
         }
-        Location location = southParticipant.getLocation();
         return arena.southFlag().getBlockX() == location.getBlockX() && arena.southFlag().getBlockY() == location.getBlockY() && arena.southFlag().getBlockZ() == location.getBlockZ();
     }
     
@@ -57,12 +57,6 @@ public class MatchOverState implements CaptureTheFlagMatchState {
     public void onParticipantQuit(Player participant) {
         context.resetParticipant(participant);
         participant.setGameMode(GameMode.ADVENTURE);
-        String teamId = context.getGameManager().getTeamId(participant.getUniqueId());
-        if (context.getMatchPairing().northTeam().equals(teamId)) {
-            context.getNorthParticipants().remove(participant);
-        } else if (context.getMatchPairing().southTeam().equals(teamId)) {
-            context.getSouthParticipants().remove(participant);
-        }
         context.getAllParticipants().remove(participant);
     }
     
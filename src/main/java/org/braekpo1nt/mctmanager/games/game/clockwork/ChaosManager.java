@@ -2,6 +2,7 @@ package org.braekpo1nt.mctmanager.games.game.clockwork;
 
 import org.braekpo1nt.mctmanager.Main;
 import org.braekpo1nt.mctmanager.games.game.clockwork.config.ClockworkConfig;
+import org.braekpo1nt.mctmanager.games.game.enums.GameType;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -12,7 +13,6 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.FallingBlock;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityChangeBlockEvent;
 import org.bukkit.event.entity.ProjectileHitEvent;
@@ -85,7 +85,7 @@ public class ChaosManager implements Listener {
     }
     
     public void start() {
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getEventRouter().register(GameType.CLOCKWORK, this);
         scheduleSummonTask();
     }
     
@@ -93,7 +93,7 @@ public class ChaosManager implements Listener {
         // the order of these three lines is very important
         cancelAllTasks();
         removeArrowsAndFallingBlocks();
-        HandlerList.unregisterAll(this);
+        plugin.getEventRouter().unregister(this);
         // the order of the above three lines is very important
         // cancel tasks that create FallingBlock entities, then kill all falling block entities, then cancel the listener that causes FallingBlock entities to be removed a few moments after they have landed. 
     }
@@ -14,6 +14,7 @@ import org.braekpo1nt.mctmanager.games.game.interfaces.Configurable;
 import org.braekpo1nt.mctmanager.games.game.interfaces.MCTGame;
 import org.braekpo1nt.mctmanager.games.utils.GameManagerUtils;
 import org.braekpo1nt.mctmanager.games.utils.ParticipantInitializer;
+import org.braekpo1nt.mctmanager.games.utils.ParticipantRegistry;
 import org.braekpo1nt.mctmanager.ui.sidebar.Headerable;
 import org.braekpo1nt.mctmanager.ui.sidebar.KeyLine;
 import org.braekpo1nt.mctmanager.ui.sidebar.Sidebar;
@@ -25,7 +26,6 @@ import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.FoodLevelChangeEvent;
@@ -52,7 +52,7 @@ public class ClockworkGame implements Listener, MCTGame, Configurable, Headerabl
             .append(Component.text("Clockwork"))
             .color(NamedTextColor.BLUE);
     private Component title = baseTitle;
-    private List<Player> participants = new ArrayList<>();
+    private ParticipantRegistry participants = new ParticipantRegistry();
     private List<Player> admins = new ArrayList<>();
     private List<ClockworkRound> rounds;
     private int currentRoundIndex = 0;
@@ -100,10 +100,10 @@ public class ClockworkGame implements Listener, MCTGame, Configurable, Headerabl
     
     @Override
     public void start(List<Player> newParticipants, List<Player> newAdmins) {
-        participants = new ArrayList<>(newParticipants.size());
+        participants = new ParticipantRegistry(newParticipants.size());
         sidebar = gameManager.createSidebar();
         adminSidebar = gameManager.createSidebar();
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getEventRouter().register(getType(), this);
         gameManager.getTimerManager().register(timerManager);
         for (Player participant : newParticipants) {
             initializeParticipant(participant);
@@ -175,7 +175,7 @@ public class ClockworkGame implements Listener, MCTGame, Configurable, Headerabl
                 currentRound.stop();
             }
         }
-        HandlerList.unregisterAll(this);
+        plugin.getEventRouter().unregister(this);
         cancelAllTasks();
         rounds.clear();
         descriptionShowing = false;
@@ -294,6 +294,9 @@ public class ClockworkGame implements Listener, MCTGame, Configurable, Headerabl
         if (!participants.contains(event.getPlayer())) {
             return;
         }
+        if (!event.hasChangedBlock()) {
+            return;
+        }
         if (!event.getPlayer().getGameMode().equals(GameMode.SPECTATOR)) {
             return;
         }
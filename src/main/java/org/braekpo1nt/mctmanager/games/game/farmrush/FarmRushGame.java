@@ -3,6 +3,7 @@ package org.braekpo1nt.mctmanager.games.game.farmrush;
 import com.destroystokyo.paper.event.block.BlockDestroyEvent;
 import com.destroystokyo.paper.event.inventory.PrepareResultEvent;
 import com.destroystokyo.paper.event.player.PlayerPostRespawnEvent;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import net.kyori.adventure.audience.Audience;
@@ -45,11 +46,11 @@ import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Cancellable;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockBurnEvent;
 import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockGrowEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.EntityExplodeEvent;
@@ -73,6 +74,7 @@ import org.jetbrains.annotations.Nullable;
 import java.io.File;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Data
 public class FarmRushGame implements MCTGame, Configurable, Headerable, Listener {
@@ -112,6 +114,11 @@ public class FarmRushGame implements MCTGame, Configurable, Headerable, Listener
     private final Map<UUID, Participant> participants = new HashMap<>();
     private final Map<String, Team> teams = new HashMap<>();
     private @Nullable ItemStack materialBook;
+    /**
+     * Completed once every arena has been placed (the schematic pastes are spread across
+     * multiple ticks, see {@link #placeArenas(List)})
+     */
+    private @NotNull CompletableFuture<Void> arenasPlaced = CompletableFuture.completedFuture(null);
     
     @Data
     @EqualsAndHashCode(onlyExplicitlyIncluded = true)
@@ -140,6 +147,11 @@ public class FarmRushGame implements MCTGame, Configurable, Headerable, Listener
         private final @NotNull List<UUID> members = new ArrayList<>();
         private final Arena arena;
         private final List<Location> cropGrowers = new ArrayList<>();
+        /**
+         * whether this team's arena has been pasted and furnished. Until it has, the
+         * members are held at the admin location instead of the arena's spawn.
+         */
+        private boolean arenaPlaced = false;
         /**
          * keeps track of the total score accrued during this game. Used
          * for checking if the players have surpassed the configured maxScore
@@ -169,18 +181,21 @@ public class FarmRushGame implements MCTGame, Configurable, Headerable, Listener
     public void start(List<Player> newParticipants, List<Player> newAdmins) {
         sidebar = gameManager.createSidebar();
         adminSidebar = gameManager.createSidebar();
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getEventRouter().register(getType(), this);
         gameManager.getTimerManager().register(timerManager);
         List<String> teamIds = gameManager.getTeamIds(newParticipants);
         arenas = createArenas(teamIds);
         materialBook = createMaterialBook();
         addRecipes();
+        List<Team> newTeams = new ArrayList<>(teamIds.size());
         for (int i = 0; i < teamIds.size(); i++) {
             String teamId = teamIds.get(i);
             Arena arena = arenas.get(i);
-            teams.put(teamId, new Team(teamId, gameManager.getFormattedTeamDisplayName(teamId), arena));
+            Team team = new Team(teamId, gameManager.getFormattedTeamDisplayName(teamId), arena);
+            teams.put(teamId, team);
+            newTeams.add(team);
         }
-        placeArenas(arenas);
+        placeArenas(newTeams);
         for (Player participant : newParticipants) {
             initializeParticipant(participant);
         }
@@ -274,48 +289,100 @@ public class FarmRushGame implements MCTGame, Configurable, Headerable, Listener
     }
     
     /**
-     * Actually place the schematic file of the arenas and add any necessary additions,
-     * such as the barrel for delivery
-     * @param arenas the arenas to place copies of the schematic file on
+     * Actually place the schematic file of the given teams' arenas and add any necessary additions,
+     * such as the barrel for delivery. The pastes are spread across multiple ticks by the
+     * {@link org.braekpo1nt.mctmanager.utils.BlockPlacementQueue}, and the additions are
+     * made to each arena once it has been pasted, after which the team is sent to its arena
+     * (see {@link #onArenaPlaced(Team)}). {@link #arenasPlaced} is completed once
+     * all of them are done.
+     * @param newTeams the teams whose arenas to place copies of the schematic file on
      */
-    private void placeArenas(@NotNull List<Arena> arenas) {
+    private void placeArenas(@NotNull List<Team> newTeams) {
+        Clipboard schematic = null;
         if (config.shouldBuildArenas()) {
             File schematicFile = new File(plugin.getDataFolder(), config.getArenaFile());
-            List<Vector> origins = arenas.stream().map(arena -> arena.getBounds().getMin()).toList();
-            BlockPlacementUtils.placeSchematic(config.getWorld(), origins, schematicFile);
-        }
-        for (Arena arena : arenas) {
-            Block delivery = arena.getDelivery().getBlock();
-            delivery.setType(Material.BARREL);
-            BlockData deliveryBlockData = delivery.getBlockData();
-            ((Directional) deliveryBlockData).setFacing(arena.getDeliveryBlockFace());
-            delivery.setBlockData(deliveryBlockData);   
-            
-            Block starterChest = arena.getStarterChest().getBlock();
-            starterChest.setType(Material.CHEST);
-            BlockData starterChestBlockData = starterChest.getBlockData();
-            ((Directional) starterChestBlockData).setFacing(arena.getStarterChestBlockFace());
-            starterChest.setBlockData(starterChestBlockData);
-            Chest starterChestState = (Chest) starterChest.getState();
-            Inventory starterChestInventory = starterChestState.getBlockInventory();
-            starterChestInventory.setContents(config.getStarterChestContents());
-            if (materialBook != null) {
-                starterChestInventory.addItem(materialBook);
-            }
-            ItemStack cropGrowerRecipeMap = config.getCropGrowerSpec().getRecipeMap();
-            if (cropGrowerRecipeMap != null) {
-                starterChestInventory.addItem(cropGrowerRecipeMap);
-            }
-            ItemStack animalGrowerRecipeMap = config.getAnimalGrowerSpec().getRecipeMap();
-            if (animalGrowerRecipeMap != null) {
-                starterChestInventory.addItem(animalGrowerRecipeMap);
+            schematic = BlockPlacementUtils.loadSchematic(schematicFile);
+        }
+        CompletableFuture<?>[] placements = new CompletableFuture[newTeams.size()];
+        for (int i = 0; i < newTeams.size(); i++) {
+            Team team = newTeams.get(i);
+            Arena arena = team.getArena();
+            List<Runnable> steps = schematic == null
+                    ? Collections.emptyList()
+                    : BlockPlacementUtils.createPasteSteps(config.getWorld(), schematic, arena.getBounds().getMin());
+            placements[i] = plugin.getBlockPlacementQueue()
+                    .submit("Farm Rush arena", steps)
+                    .thenRun(() -> {
+                        furnishArena(arena);
+                        onArenaPlaced(team);
+                    });
+        }
+        arenasPlaced = CompletableFuture.allOf(arenasPlaced, CompletableFuture.allOf(placements));
+    }
+    
+    /**
+     * Add the necessary additions to the given arena, such as the barrel for delivery
+     * @param arena the arena which has been placed
+     */
+    private void furnishArena(@NotNull Arena arena) {
+        Block delivery = arena.getDelivery().getBlock();
+        delivery.setType(Material.BARREL);
+        BlockData deliveryBlockData = delivery.getBlockData();
+        ((Directional) deliveryBlockData).setFacing(arena.getDeliveryBlockFace());
+        delivery.setBlockData(deliveryBlockData);   
+        
+        Block starterChest = arena.getStarterChest().getBlock();
+        starterChest.setType(Material.CHEST);
+        BlockData starterChestBlockData = starterChest.getBlockData();
+        ((Directional) starterChestBlockData).setFacing(arena.getStarterChestBlockFace());
+        starterChest.setBlockData(starterChestBlockData);
+        Chest starterChestState = (Chest) starterChest.getState();
+        Inventory starterChestInventory = starterChestState.getBlockInventory();
+        starterChestInventory.setContents(config.getStarterChestContents());
+        if (materialBook != null) {
+            starterChestInventory.addItem(materialBook);
+        }
+        ItemStack cropGrowerRecipeMap = config.getCropGrowerSpec().getRecipeMap();
+        if (cropGrowerRecipeMap != null) {
+            starterChestInventory.addItem(cropGrowerRecipeMap);
+        }
+        ItemStack animalGrowerRecipeMap = config.getAnimalGrowerSpec().getRecipeMap();
+        if (animalGrowerRecipeMap != null) {
+            starterChestInventory.addItem(animalGrowerRecipeMap);
+        }
+        starterChestInventory.addItem(config.getCropGrowerSpec().getCropGrowerItem());
+        starterChestInventory.addItem(config.getAnimalGrowerSpec().getAnimalGrowerItem());
+        arena.closeBarnDoor();
+    }
+    
+    /**
+     * Send the given team's members to their arena, now that it has been placed
+     * @param team the team whose arena was placed
+     */
+    private void onArenaPlaced(@NotNull Team team) {
+        if (teams.get(team.getTeamId()) != team) {
+            // the game was stopped while the arena was being placed
+            return;
+        }
+        team.setArenaPlaced(true);
+        for (UUID uuid : team.getMembers()) {
+            Participant participant = participants.get(uuid);
+            if (participant != null) {
+                sendToArena(participant.getPlayer(), team);
             }
-            starterChestInventory.addItem(config.getCropGrowerSpec().getCropGrowerItem());
-            starterChestInventory.addItem(config.getAnimalGrowerSpec().getAnimalGrowerItem());
-            arena.closeBarnDoor();
         }
     }
     
+    /**
+     * Teleport the given player to their team's arena spawn, and make it their respawn location
+     * @param player the player
+     * @param team the player's team, whose arena has been placed
+     */
+    private void sendToArena(@NotNull Player player, @NotNull Team team) {
+        player.teleport(team.getArena().getSpawn());
+        player.setRespawnLocation(team.getArena().getSpawn(), true);
+    }
+    
     /**
      * Fill the space that the arenas were placed with air
      * and removes all leftover items and non-player entities
@@ -333,7 +400,8 @@ public class FarmRushGame implements MCTGame, Configurable, Headerable, Listener
                     }
                 }
             }
-            BlockPlacementUtils.fillWithAir(config.getWorld(), boxes);
+            plugin.getBlockPlacementQueue().submit("Farm Rush arena removal",
+                    BlockPlacementUtils.createFillWithAirSteps(config.getWorld(), boxes));
         }
     }
     
@@ -366,7 +434,7 @@ public class FarmRushGame implements MCTGame, Configurable, Headerable, Listener
         arenas.add(arena);
         Team team = new Team(teamId, gameManager.getFormattedTeamDisplayName(teamId), arena);
         teams.put(teamId, team);
-        placeArenas(Collections.singletonList(arena));
+        placeArenas(Collections.singletonList(team));
     }
     
     public void initializeParticipant(Player player) {
@@ -384,8 +452,12 @@ public class FarmRushGame implements MCTGame, Configurable, Headerable, Listener
         if (materialBook != null) {
             player.getInventory().addItem(materialBook);
         }
-        player.teleport(team.getArena().getSpawn());
-        player.setRespawnLocation(team.getArena().getSpawn(), true);
+        if (team.isArenaPlaced()) {
+            sendToArena(player, team);
+        } else {
+            // held here until the arena is placed, see onArenaPlaced
+            player.teleport(config.getAdminLocation());
+        }
     }
     
     private void startAdmins(List<Player> newAdmins) {
@@ -416,7 +488,8 @@ public class FarmRushGame implements MCTGame, Configurable, Headerable, Listener
     
     @Override
     public void stop() {
-        HandlerList.unregisterAll(this);
+        plugin.getEventRouter().unregister(this);
+        state = null;
         stopAdmins();
         cancelAllTasks();
         removeRecipes();
@@ -518,8 +591,12 @@ public class FarmRushGame implements MCTGame, Configurable, Headerable, Listener
         if (participant == null) {
             return;
         }
-        Location spawn = teams.get(participant.getTeamId()).getArena().getSpawn();
-        event.getPlayer().teleport(spawn);
+        Team team = teams.get(participant.getTeamId());
+        if (!team.isArenaPlaced()) {
+            event.getPlayer().teleport(config.getAdminLocation());
+            return;
+        }
+        event.getPlayer().teleport(team.getArena().getSpawn());
     }
     
     @EventHandler
@@ -528,7 +605,12 @@ public class FarmRushGame implements MCTGame, Configurable, Headerable, Listener
         if (participant == null) {
             return;
         }
-        BoundingBox bounds = teams.get(participant.getTeamId()).getArena().getBounds();
+        Team team = teams.get(participant.getTeamId());
+        if (!team.isArenaPlaced()) {
+            // being held at the admin location, or sent to the arena once it's placed
+            return;
+        }
+        BoundingBox bounds = team.getArena().getBounds();
         if (!bounds.contains(event.getTo().toVector())) {
             event.setCancelled(true);
         }
@@ -540,7 +622,15 @@ public class FarmRushGame implements MCTGame, Configurable, Headerable, Listener
         if (participant == null) {
             return;
         }
-        Arena arena = teams.get(participant.getTeamId()).getArena();
+        Team team = teams.get(participant.getTeamId());
+        if (!team.isArenaPlaced()) {
+            // hold them where they are until their arena is placed
+            if (event.hasChangedPosition()) {
+                event.setCancelled(true);
+            }
+            return;
+        }
+        Arena arena = team.getArena();
         if (!arena.getBounds().contains(event.getFrom().toVector())) {
             participant.getPlayer().teleport(arena.getSpawn());
             return;
@@ -599,6 +689,16 @@ public class FarmRushGame implements MCTGame, Configurable, Headerable, Listener
         event.blockList().removeAll(powerupBlocks);
     }
     @EventHandler
+    public void onBlockGrow(BlockGrowEvent event) {
+        if (state == null) {
+            return;
+        }
+        if (!event.getBlock().getWorld().equals(config.getWorld())) {
+            return;
+        }
+        powerupManager.onBlockGrow(event);
+    }
+    @EventHandler
     public void blockDestroyEvent(BlockDestroyEvent event) {
         onBlockDestroy(event.getBlock(), event);
     }
@@ -90,6 +90,10 @@ public class FarmRushConfig {
     private @NotNull CropGrowerSpec cropGrowerSpec;
     
     private @NotNull AnimalGrowerSpec animalGrowerSpec;
+    /**
+     * the maximum amount of time (in milliseconds) spent on powerups each tick
+     */
+    private long powerupTickBudgetMillis;
     
     public boolean shouldEnforceMaxScore() {
         return maxScore >= 1;
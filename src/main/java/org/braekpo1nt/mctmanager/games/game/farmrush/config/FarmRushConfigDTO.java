@@ -13,6 +13,7 @@ import org.braekpo1nt.mctmanager.config.validation.Validatable;
 import org.braekpo1nt.mctmanager.config.validation.Validator;
 import org.braekpo1nt.mctmanager.games.game.farmrush.FarmRushGame;
 import org.braekpo1nt.mctmanager.games.game.farmrush.ItemSale;
+import org.braekpo1nt.mctmanager.games.game.farmrush.powerups.PowerupScheduler;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -102,6 +103,12 @@ class FarmRushConfigDTO implements Validatable {
         private @NotNull CropGrowerSpecDTO cropGrower;
         
         private @NotNull AnimalGrowerSpecDTO animalGrower;
+        /**
+         * the maximum amount of time (in milliseconds) spent growing crops and animals and
+         * displaying particles each tick. Work that doesn't fit is carried over to the next tick.
+         * Defaults to {@link PowerupScheduler#DEFAULT_TICK_BUDGET_MILLIS}.
+         */
+        private @Nullable Long tickBudgetMillis;
         
         @Override
         public void validate(@NotNull Validator validator) {
@@ -109,6 +116,9 @@ class FarmRushConfigDTO implements Validatable {
             cropGrower.validate(validator.path("cropGrower"));
             validator.notNull(animalGrower, "animalGrower");
             animalGrower.validate(validator.path("animalGrower"));
+            if (tickBudgetMillis != null) {
+                validator.validate(tickBudgetMillis >= 0, "tickBudgetMillis can't be negative");
+            }
         }
     }
     
@@ -246,6 +256,7 @@ class FarmRushConfigDTO implements Validatable {
                 .recipeKeys(this.recipes != null ? RecipeDTO.toNamespacedKeys(this.recipes) : Collections.emptyList())
                 .cropGrowerSpec(this.powerups.getCropGrower().toSpec(newWorld))
                 .animalGrowerSpec(this.powerups.getAnimalGrower().toSpec(newWorld))
+                .powerupTickBudgetMillis(this.powerups.getTickBudgetMillis() != null ? this.powerups.getTickBudgetMillis() : PowerupScheduler.DEFAULT_TICK_BUDGET_MILLIS)
                 .build();
     }
     
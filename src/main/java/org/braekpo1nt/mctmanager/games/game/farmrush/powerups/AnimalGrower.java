@@ -1,11 +1,15 @@
 package org.braekpo1nt.mctmanager.games.game.farmrush.powerups;
 
-
+import lombok.Getter;
+import org.braekpo1nt.mctmanager.display.ParticleRenderer;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.World;
 import org.bukkit.entity.Animals;
+import org.bukkit.entity.Player;
+import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
 
@@ -15,13 +19,22 @@ public class AnimalGrower {
     /**
      * the world the powerup is in
      */
+    @Getter
     protected final World world;
     /**
      * The location of the powerup in the world
      */
     protected final Location location;
     protected final double radius;
-    private final Map<UUID, Animals> affectedEntities = new HashMap<>();
+    /**
+     * The area animals must be in to be affected by this powerup (a cube with {@link #radius} as its half-width)
+     */
+    @Getter
+    private final BoundingBox area;
+    /**
+     * the animals which are currently buffed by this grower, by entity ID
+     */
+    private final Map<Integer, Animals> affectedEntities = new HashMap<>();
     /**
      * a growable mob's age is multiplied by this factor. To grow faster,
      * make it a number less than 1. E.g. a mob takes 20 ticks to grow, and
@@ -38,83 +51,76 @@ public class AnimalGrower {
         this.world = location.getWorld();
         this.location = location; 
         this.radius = radius;
+        this.area = BoundingBox.of(location, radius, radius, radius);
         this.ageMultiplier = ageMultiplier;
         this.breedMultiplier = breedMultiplier;
     }
     
     /**
      * Speeds up new animals in the radius, slows down animals no longer in the radius
+     * @param nearbyAnimals animals which might be in the radius (e.g. from a query of an area
+     *                      containing it), all of which have a non-zero age
+     * @param ageChanges where the buffs and debuffs are collected, to be applied by the caller
      */
-    public void updateAnimals() {
-        
-        Collection<Animals> animalsInRange = world.getNearbyEntitiesByType(Animals.class, location, radius, animal -> animal.getAge() != 0);
+    void updateAnimals(@NotNull Collection<Animals> nearbyAnimals, @NotNull AnimalGrowerEngine.AgeChanges ageChanges) {
+        Map<Integer, Animals> animalsInRange = new HashMap<>();
+        for (Animals animal : nearbyAnimals) {
+            if (area.overlaps(animal.getBoundingBox())) {
+                animalsInRange.put(animal.getEntityId(), animal);
+            }
+        }
         // cows that have just walked into the radius should have their age multiplied, and breed time reduced
         // cows that are already in the radius before this scan should be unchanged
         // cows that have just walked out of the radius should have their age un-multiplied
         
         // to speed up baby aging, take the negative age and make it closer to 0 (less negative, i.e. larger)
         // to speed up breed cooldown, take the positive age and make it closer to 0 (i.e. smaller)
-        List<Animals> existingAnimals = affectedEntities.values().stream().toList();
-        for (Animals animal : existingAnimals) {
-            if (animal.getAge() == 0) {
-                affectedEntities.remove(animal.getUniqueId());
-            } else if (!animalsInRange.contains(animal)) {
+        Iterator<Animals> existingAnimals = affectedEntities.values().iterator();
+        while (existingAnimals.hasNext()) {
+            Animals animal = existingAnimals.next();
+            if (animalsInRange.containsKey(animal.getEntityId())) {
+                continue;
+            }
+            existingAnimals.remove();
+            // animals with an age of 0 have nothing left to un-multiply
+            if (animal.isValid() && animal.getAge() != 0) {
                 // this animal is no longer in range
-                affectedEntities.remove(animal.getUniqueId());
-                deBuffAnimal(animal);
+                ageChanges.multiply(animal, animal.isAdult() ? 1 / breedMultiplier : 1 / ageMultiplier);
             }
         }
         
-        for (Animals animal : animalsInRange) {
-            if (!affectedEntities.containsKey(animal.getUniqueId())) {
-                buffAnimal(animal);
-                affectedEntities.put(animal.getUniqueId(), animal);
+        for (Animals animal : animalsInRange.values()) {
+            if (affectedEntities.putIfAbsent(animal.getEntityId(), animal) == null) {
+                // make adults breed faster, and babies grow up faster
+                ageChanges.multiply(animal, animal.isAdult() ? breedMultiplier : ageMultiplier);
             }
         }
-        
     }
     
     /**
-     * Spawns random particles in the radius of the animal grower
+     * Spawns random particles in the radius of the animal grower, visible to the players within
+     * {@link PowerupManager#PARTICLE_VIEW_DISTANCE} blocks of it. The particles are sent
+     * to each viewer as one batch of packets.
+     * @param renderer the renderer to send the particles with
      * @param numOfParticles the number of times to spawn a particle group
      * @param particle the particle type to spawn
      * @param count the number of units in each particle group
      */
-    public void displayRadius(int numOfParticles, Particle particle, int count) {
+    public void displayRadius(@NotNull ParticleRenderer renderer, int numOfParticles, Particle particle, int count) {
+        Collection<Player> viewers = location.getNearbyPlayers(PowerupManager.PARTICLE_VIEW_DISTANCE);
+        if (viewers.isEmpty()) {
+            return;
+        }
+        List<Vector> points = new ArrayList<>(numOfParticles);
         for (int i = 0; i < numOfParticles; i++) {
             // Generate random coordinates within a sphere (location + offset)
             double xOffset = location.x() + (random.nextDouble() * 2 - 1) * radius;
             double yOffset = location.y() + (random.nextDouble() * 2 - 1) * radius;
             double zOffset = location.z() + (random.nextDouble() * 2 - 1) * radius;
             
-            world.spawnParticle(particle, xOffset, yOffset, zOffset, count);
-        }
-    }
-    
-    private void buffAnimal(Animals animal) {
-        int oldAge = animal.getAge();
-        if (animal.isAdult()) {
-            // make adults breed faster
-            animal.setAge((int) (oldAge * breedMultiplier));
-//            Main.logger().info(String.format("Breed faster: %d->%d", oldAge, (int) (oldAge * breedMultiplier)));
-        } else {
-            // make babies grow up faster
-            animal.setAge((int) (oldAge * ageMultiplier));
-//            Main.logger().info(String.format("Age faster: %d->%d", oldAge, (int) (oldAge * ageMultiplier)));
-        }
-    }
-    
-    private void deBuffAnimal(Animals animal) {
-        int oldAge = animal.getAge();
-        if (animal.isAdult()) {
-            // make adults breed normally
-            animal.setAge((int) (oldAge / breedMultiplier));
-//            Main.logger().info(String.format("Breed slower: %d->%d", oldAge, (int) (oldAge / breedMultiplier)));
-        } else {
-            // make babies age normally
-            animal.setAge((int) (oldAge / ageMultiplier));
-//            Main.logger().info(String.format("Age slower: %d->%d", oldAge, (int) (oldAge / ageMultiplier)));
+            points.add(new Vector(xOffset, yOffset, zOffset));
         }
+        renderer.spawn(viewers, ParticleRenderer.toPacketParticle(particle), points, count);
     }
     
     public PowerupType getType() {
@@ -0,0 +1,151 @@
+package org.braekpo1nt.mctmanager.games.game.farmrush.powerups;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Animals;
+import org.bukkit.util.BoundingBox;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Updates every placed {@link AnimalGrower} at once.
+ * <br>
+ * Growers whose areas overlap (e.g. several growers around the same barn) are grouped together,
+ * and each group shares a single nearby-entity query covering all of their areas, instead of
+ * querying once per grower. The age changes of every grower are collected first, and then
+ * written once per animal, so an animal which leaves one grower and enters another in the
+ * same cycle is only written to once.
+ */
+public class AnimalGrowerEngine {
+    
+    /**
+     * Collects the age multipliers to apply to animals, combining all the multipliers for the same animal
+     */
+    static class AgeChanges {
+        private final Map<Integer, Animals> animals = new HashMap<>();
+        private final Map<Integer, Double> factors = new HashMap<>();
+        
+        /**
+         * @param animal the animal whose age should be multiplied
+         * @param factor the factor to multiply the animal's age by
+         */
+        void multiply(@NotNull Animals animal, double factor) {
+            animals.putIfAbsent(animal.getEntityId(), animal);
+            factors.merge(animal.getEntityId(), factor, (a, b) -> a * b);
+        }
+        
+        private void apply() {
+            for (Map.Entry<Integer, Double> entry : factors.entrySet()) {
+                double factor = entry.getValue();
+                if (factor == 1.0) {
+                    continue;
+                }
+                Animals animal = animals.get(entry.getKey());
+                animal.setAge((int) (animal.getAge() * factor));
+            }
+        }
+    }
+    
+    /**
+     * growers whose areas overlap, and the area covering all of them
+     */
+    private record Cluster(@NotNull World world, @NotNull BoundingBox area, @NotNull List<AnimalGrower> growers) {
+    }
+    
+    private final List<AnimalGrower> growers = new ArrayList<>();
+    /**
+     * the growers grouped by overlapping area. Null if the growers have changed since they were last grouped.
+     */
+    private @Nullable List<Cluster> clusters;
+    /**
+     * the number of times {@link #updateAnimals(long)} has been called, used to pick which clusters to update
+     */
+    private long updateCount;
+    
+    public void add(@NotNull AnimalGrower grower) {
+        growers.add(grower);
+        clusters = null;
+    }
+    
+    public void remove(@NotNull AnimalGrower grower) {
+        if (growers.remove(grower)) {
+            clusters = null;
+        }
+    }
+    
+    public void clear() {
+        growers.clear();
+        clusters = null;
+        updateCount = 0;
+    }
+    
+    /**
+     * Speeds up animals which entered a grower's radius, and slows down animals which left one.
+     * <br>
+     * Only a share of the groups of growers are updated per call, so that the work of a cycle can
+     * be spread over that many ticks.
+     * @param slots the number of calls it should take to update every group once (e.g. the number
+     *              of ticks per cycle, if this is called every tick)
+     */
+    public void updateAnimals(long slots) {
+        long slot = updateCount++ % Math.max(1L, slots);
+        if (growers.isEmpty()) {
+            return;
+        }
+        AgeChanges ageChanges = new AgeChanges();
+        List<Cluster> allClusters = getClusters();
+        for (int i = 0; i < allClusters.size(); i++) {
+            if (i % Math.max(1L, slots) != slot) {
+                continue;
+            }
+            Cluster cluster = allClusters.get(i);
+            BoundingBox area = cluster.area();
+            Collection<Animals> nearbyAnimals = cluster.world().getNearbyEntitiesByType(
+                    Animals.class,
+                    new Location(cluster.world(), area.getCenterX(), area.getCenterY(), area.getCenterZ()),
+                    area.getWidthX() / 2,
+                    area.getHeight() / 2,
+                    area.getWidthZ() / 2,
+                    animal -> animal.getAge() != 0);
+            for (AnimalGrower grower : cluster.growers()) {
+                grower.updateAnimals(nearbyAnimals, ageChanges);
+            }
+        }
+        ageChanges.apply();
+    }
+    
+    private @NotNull List<Cluster> getClusters() {
+        if (clusters != null) {
+            return clusters;
+        }
+        List<Cluster> newClusters = new ArrayList<>();
+        for (AnimalGrower grower : growers) {
+            BoundingBox area = grower.getArea().clone();
+            List<AnimalGrower> members = new ArrayList<>();
+            members.add(grower);
+            // absorb every cluster which overlaps, repeating since the grown area may now overlap others
+            boolean merged = true;
+            while (merged) {
+                merged = false;
+                for (int i = newClusters.size() - 1; i >= 0; i--) {
+                    Cluster cluster = newClusters.get(i);
+                    if (cluster.world().equals(grower.getWorld()) && cluster.area().overlaps(area)) {
+                        area.union(cluster.area());
+                        members.addAll(cluster.growers());
+                        newClusters.remove(i);
+                        merged = true;
+                    }
+                }
+            }
+            newClusters.add(new Cluster(grower.getWorld(), area, members));
+        }
+        clusters = newClusters;
+        return clusters;
+    }
+}
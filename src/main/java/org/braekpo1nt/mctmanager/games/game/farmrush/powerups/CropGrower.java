@@ -1,14 +1,17 @@
 package org.braekpo1nt.mctmanager.games.game.farmrush.powerups;
 
-import org.braekpo1nt.mctmanager.utils.BlockPlacementUtils;
+import org.braekpo1nt.mctmanager.display.ParticleRenderer;
 import org.bukkit.Location;
 import org.bukkit.Particle;
-import org.bukkit.Tag;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.data.Ageable;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Random;
 
@@ -26,7 +29,7 @@ public class CropGrower {
     protected final Location location;
     protected final double radius;
     /**
-     * the probability per {@link #growAttempt()} of a crop increasing in age
+     * the probability per {@link #growAttempt(CropIndex)} of a crop increasing in age
      */
     private final double growthChance;
     
@@ -47,39 +50,47 @@ public class CropGrower {
         return PowerupType.CROP_GROWER;
     }
     
-    public void growAttempt() {
-        List<Block> crops = detectCrops();
-        for (Block crop : crops) {
-            if (crop.getBlockData() instanceof Ageable ageable) {
-                if (ageable.getAge() < ageable.getMaximumAge()) {
-                    if (random.nextDouble() <= growthChance) {
-                        ageable.setAge(ageable.getAge() + 1);
-                        crop.setBlockData(ageable);
-                    }
+    /**
+     * Gives each crop in range which isn't fully grown a chance to grow
+     * @param cropIndex the index of the crops which aren't fully grown
+     */
+    public void growAttempt(@NotNull CropIndex cropIndex) {
+        for (Block crop : cropIndex.getGrowingCrops(location, radius)) {
+            if (random.nextDouble() <= growthChance) {
+                Ageable ageable = (Ageable) crop.getBlockData();
+                ageable.setAge(ageable.getAge() + 1);
+                crop.setBlockData(ageable);
+                if (ageable.getAge() >= ageable.getMaximumAge()) {
+                    cropIndex.remove(crop);
                 }
             }
         }
     }
     
     /**
-     * Spawns random particles in the radius of the animal grower
+     * Spawns random particles in the radius of the crop grower, visible to the players within
+     * {@link PowerupManager#PARTICLE_VIEW_DISTANCE} blocks of it. The particles are sent
+     * to each viewer as one batch of packets.
+     * @param renderer the renderer to send the particles with
      * @param numOfParticles the number of times to spawn a particle group
      * @param particle the particle type to spawn
      * @param count the number of units in each particle group
      */
-    public void displayRadius(int numOfParticles, Particle particle, int count) {
+    public void displayRadius(@NotNull ParticleRenderer renderer, int numOfParticles, Particle particle, int count) {
+        Collection<Player> viewers = location.getNearbyPlayers(PowerupManager.PARTICLE_VIEW_DISTANCE);
+        if (viewers.isEmpty()) {
+            return;
+        }
+        List<Vector> points = new ArrayList<>(numOfParticles);
         for (int i = 0; i < numOfParticles; i++) {
             // Generate random coordinates within a sphere (location + offset)
             double xOffset = location.x() + (random.nextDouble() * 2 - 1) * radius;
             double yOffset = location.y() + (random.nextDouble() * 2 - 1) * radius;
             double zOffset = location.z() + (random.nextDouble() * 2 - 1) * radius;
             
-            world.spawnParticle(particle, xOffset, yOffset, zOffset, count);
+            points.add(new Vector(xOffset, yOffset, zOffset));
         }
-    }
-    
-    private @NotNull List<Block> detectCrops() {
-        return BlockPlacementUtils.getBlocksInRadius(location, radius, Tag.CROPS);
+        renderer.spawn(viewers, ParticleRenderer.toPacketParticle(particle), points, count);
     }
 }
 
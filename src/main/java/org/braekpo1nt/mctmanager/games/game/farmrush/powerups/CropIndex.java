@@ -0,0 +1,172 @@
+package org.braekpo1nt.mctmanager.games.game.farmrush.powerups;
+
+import org.braekpo1nt.mctmanager.geometry.BlockPositionSet;
+import org.bukkit.Location;
+import org.bukkit.Tag;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.Ageable;
+import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of the crops in the Farm Rush arenas which are not fully grown yet, so that
+ * {@link CropGrower}s only have to look at the crops which they can actually grow instead of
+ * every block in their radius.
+ * <br>
+ * Crops are added when they are planted, when they grow on their own, and when a crop grower is
+ * placed (a one-time scan of its radius). Crops are grouped by the 16x16x16 section they are in,
+ * so the arenas (which never share a section) are indexed separately, and growers whose radii
+ * overlap share the same entries.
+ * <br>
+ * Crops which are broken, trampled, or fully grown by some other means are not always reported,
+ * so every crop is checked when it is looked up, and stale crops are dropped then.
+ */
+public class CropIndex {
+    
+    /**
+     * the positions of the growing crops, by the packed position of the section they are in
+     */
+    private final Map<Long, BlockPositionSet> sections = new HashMap<>();
+    
+    /**
+     * @param blockData the block data to check
+     * @return true if the given block data is a crop which is not fully grown
+     */
+    private static boolean isGrowingCrop(@NotNull BlockData blockData) {
+        return Tag.CROPS.isTagged(blockData.getMaterial())
+                && blockData instanceof Ageable ageable
+                && ageable.getAge() < ageable.getMaximumAge();
+    }
+    
+    private static long sectionKey(int x, int y, int z) {
+        return BlockPositionSet.pack(x >> 4, y >> 4, z >> 4);
+    }
+    
+    /**
+     * Add the given block to the index if it is a crop which is not fully grown
+     * @param block the block
+     */
+    public void add(@NotNull Block block) {
+        if (isGrowingCrop(block.getBlockData())) {
+            addPosition(block.getX(), block.getY(), block.getZ());
+        }
+    }
+    
+    /**
+     * Update the index with the new state of a block (e.g. from a {@link org.bukkit.event.block.BlockGrowEvent})
+     * @param newState the state the block is changing to
+     */
+    public void update(@NotNull BlockState newState) {
+        if (isGrowingCrop(newState.getBlockData())) {
+            addPosition(newState.getX(), newState.getY(), newState.getZ());
+        } else {
+            remove(newState.getBlock());
+        }
+    }
+    
+    public void remove(@NotNull Block block) {
+        long key = sectionKey(block.getX(), block.getY(), block.getZ());
+        BlockPositionSet section = sections.get(key);
+        if (section == null) {
+            return;
+        }
+        section.remove(BlockPositionSet.pack(block));
+        if (section.isEmpty()) {
+            sections.remove(key);
+        }
+    }
+    
+    private void addPosition(int x, int y, int z) {
+        sections.computeIfAbsent(sectionKey(x, y, z), k -> new BlockPositionSet())
+                .add(BlockPositionSet.pack(x, y, z));
+    }
+    
+    /**
+     * Add every growing crop within the given radius of the given center to the index.
+     * Meant to be done once, when a crop grower is placed.
+     * @param center the center of the sphere
+     * @param radius the radius of the sphere
+     */
+    public void scan(@NotNull Location center, double radius) {
+        World world = center.getWorld();
+        double radiusSquared = radius * radius;
+        int minY = (int) Math.max(world.getMinHeight(), center.getBlockY() - radius);
+        int maxY = (int) Math.min(world.getMaxHeight() - 1, center.getBlockY() + radius);
+        for (int x = (int) (center.getBlockX() - radius); x <= (int) (center.getBlockX() + radius); x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = (int) (center.getBlockZ() - radius); z <= (int) (center.getBlockZ() + radius); z++) {
+                    if (distanceSquared(center, x, y, z) <= radiusSquared) {
+                        add(world.getBlockAt(x, y, z));
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * @param center the center of the sphere
+     * @param radius the radius of the sphere
+     * @return the crops within the given radius of the given center which are not fully grown.
+     * Crops in the index which turn out not to be growing anymore are removed from it.
+     */
+    public @NotNull List<Block> getGrowingCrops(@NotNull Location center, double radius) {
+        World world = center.getWorld();
+        double radiusSquared = radius * radius;
+        int minX = (int) (center.getBlockX() - radius);
+        int minY = (int) (center.getBlockY() - radius);
+        int minZ = (int) (center.getBlockZ() - radius);
+        int maxX = (int) (center.getBlockX() + radius);
+        int maxY = (int) (center.getBlockY() + radius);
+        int maxZ = (int) (center.getBlockZ() + radius);
+        List<Block> crops = new ArrayList<>();
+        for (int sectionX = minX >> 4; sectionX <= maxX >> 4; sectionX++) {
+            for (int sectionY = minY >> 4; sectionY <= maxY >> 4; sectionY++) {
+                for (int sectionZ = minZ >> 4; sectionZ <= maxZ >> 4; sectionZ++) {
+                    long key = BlockPositionSet.pack(sectionX, sectionY, sectionZ);
+                    BlockPositionSet section = sections.get(key);
+                    if (section == null) {
+                        continue;
+                    }
+                    // iterate backwards, so that removing a stale crop (which moves the last one into its place) doesn't skip any
+                    for (int i = section.size() - 1; i >= 0; i--) {
+                        long position = section.get(i);
+                        int x = BlockPositionSet.unpackX(position);
+                        int y = BlockPositionSet.unpackY(position);
+                        int z = BlockPositionSet.unpackZ(position);
+                        if (distanceSquared(center, x, y, z) > radiusSquared) {
+                            continue;
+                        }
+                        Block block = world.getBlockAt(x, y, z);
+                        if (isGrowingCrop(block.getBlockData())) {
+                            crops.add(block);
+                        } else {
+                            section.remove(position);
+                        }
+                    }
+                    if (section.isEmpty()) {
+                        sections.remove(key);
+                    }
+                }
+            }
+        }
+        return crops;
+    }
+    
+    private static double distanceSquared(@NotNull Location center, int x, int y, int z) {
+        double dx = center.getX() - x;
+        double dy = center.getY() - y;
+        double dz = center.getZ() - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+    
+    public void clear() {
+        sections.clear();
+    }
+}
@@ -8,21 +8,24 @@ import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.event.Cancellable;
+import org.bukkit.event.block.BlockGrowEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.inventory.InventoryOpenEvent;
 import org.bukkit.inventory.BlockInventoryHolder;
 import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
 public class PowerupManager {
     
+    /**
+     * How far away (in blocks) players can see the particles of a powerup
+     */
+    public static final double PARTICLE_VIEW_DISTANCE = 32.0;
+    
     private final FarmRushGame context;
     /**
      * the physically placed crop growers in the world
@@ -32,10 +35,18 @@ public class PowerupManager {
      * the physically placed animalGrowers in the world
      */
     private final Map<Vector, AnimalGrower> animalGrowers = new HashMap<>();
-    private @Nullable BukkitTask cropGrowerTask;
-    private @Nullable BukkitTask cropGrowerParticleTask;
-    private @Nullable BukkitTask animalGrowerTask;
-    private @Nullable BukkitTask animalGrowerParticleTask;
+    /**
+     * updates the {@link #animalGrowers}
+     */
+    private final AnimalGrowerEngine animalGrowerEngine = new AnimalGrowerEngine();
+    /**
+     * the crops which are not fully grown, for the crop growers to grow
+     */
+    private final CropIndex cropIndex = new CropIndex();
+    /**
+     * runs the growth and particles of every powerup
+     */
+    private final PowerupScheduler scheduler = new PowerupScheduler();
     
     public PowerupManager(FarmRushGame context) {
         this.context = context;
@@ -44,72 +55,23 @@ public class PowerupManager {
     public void start() {
         addPowerupRecipes();
         
-        CropGrowerSpec cropGrowerSpec = context.getConfig().getCropGrowerSpec();
         AnimalGrowerSpec animalGrowerSpec = context.getConfig().getAnimalGrowerSpec();
-        cropGrowerTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                for (CropGrower cropGrower : cropGrowers.values()) {
-                    cropGrower.growAttempt();
-                }
-            }
-        }.runTaskTimer(context.getPlugin(), 0L, cropGrowerSpec.getTicksPerCycle());
-        animalGrowerTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                for (AnimalGrower animalGrower : animalGrowers.values()) {
-                    animalGrower.updateAnimals();
-                }
-            }
-        }.runTaskTimer(context.getPlugin(), 0L, animalGrowerSpec.getTicksPerCycle());
-        
-        cropGrowerParticleTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                for (CropGrower cropGrower : cropGrowers.values()) {
-                    cropGrower.displayRadius(
-                            cropGrowerSpec.getNumberOfParticles(),
-                            cropGrowerSpec.getParticle(),
-                            cropGrowerSpec.getParticleCount()
-                    );
-                }
-            }
-        }.runTaskTimer(context.getPlugin(), 0L, cropGrowerSpec.getTicksPerParticleCycle());
-        animalGrowerParticleTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                for (AnimalGrower animalGrower : animalGrowers.values()) {
-                    animalGrower.displayRadius(
-                        animalGrowerSpec.getNumberOfParticles(),
-                        animalGrowerSpec.getParticle(),
-                        animalGrowerSpec.getParticleCount()
-                    );
-                }
-            }
-        }.runTaskTimer(context.getPlugin(), 0L, animalGrowerSpec.getTicksPerParticleCycle());
+        scheduler.setTickBudgetMillis(context.getConfig().getPowerupTickBudgetMillis());
+        scheduler.start(context.getPlugin());
+        // the animal growers which share a nearby-entity query are updated together,
+        // and those groups are spread across the ticks of each cycle
+        scheduler.schedule(animalGrowerEngine, 1L, () -> animalGrowerEngine.updateAnimals(animalGrowerSpec.getTicksPerCycle()));
         Main.logger().info("Farm Rush Powerups started");
     }
     
     public void stop() {
         // TODO: must be idempotent
-        if (cropGrowerTask != null) {
-            cropGrowerTask.cancel();
-            cropGrowerTask = null;
-        }
-        if (animalGrowerTask != null) {
-            animalGrowerTask.cancel();
-            animalGrowerTask = null;
-        }
-        if (cropGrowerParticleTask != null) {
-            cropGrowerParticleTask.cancel();
-            cropGrowerParticleTask = null;
-        }
-        if (animalGrowerParticleTask != null) {
-            animalGrowerParticleTask.cancel();
-            animalGrowerParticleTask = null;
-        }
+        scheduler.stop();
         removePowerupRecipes();
         cropGrowers.clear();
+        cropIndex.clear();
+        animalGrowers.clear();
+        animalGrowerEngine.clear();
         Main.logger().info("Farm Rush Powerups stopped");
     }
     
@@ -132,19 +94,50 @@ public class PowerupManager {
     public void onPlaceBlock(@NotNull BlockPlaceEvent event) {
         ItemStack item = event.getItemInHand();
         Location location = event.getBlockPlaced().getLocation();
+        cropIndex.add(event.getBlockPlaced());
         if (context.getConfig().getCropGrowerSpec().isItem(item)) {
             CropGrower cropGrower = context.getConfig().getCropGrowerSpec().createPowerup(location);
             cropGrowers.put(location.toVector(), cropGrower);
+            cropIndex.scan(location, context.getConfig().getCropGrowerSpec().getRadius());
+            scheduleCropGrower(cropGrower);
             Main.logger().info("Placed Crop Grower");
         }
         if (context.getConfig().getAnimalGrowerSpec().isItem(item)) {
             AnimalGrower animalGrower = context.getConfig().getAnimalGrowerSpec().createPowerup(location);
             animalGrowers.put(location.toVector(), animalGrower);
+            animalGrowerEngine.add(animalGrower);
+            AnimalGrowerSpec animalGrowerSpec = context.getConfig().getAnimalGrowerSpec();
+            scheduler.schedule(animalGrower, animalGrowerSpec.getTicksPerParticleCycle(), () -> animalGrower.displayRadius(
+                    context.getPlugin().getParticleRenderer(),
+                    animalGrowerSpec.getNumberOfParticles(),
+                    animalGrowerSpec.getParticle(),
+                    animalGrowerSpec.getParticleCount()
+            ));
             Main.logger().info("Placed Animal Grower");
         }
     }
     
+    private void scheduleCropGrower(CropGrower cropGrower) {
+        CropGrowerSpec cropGrowerSpec = context.getConfig().getCropGrowerSpec();
+        scheduler.schedule(cropGrower, cropGrowerSpec.getTicksPerCycle(), () -> cropGrower.growAttempt(cropIndex));
+        scheduler.schedule(cropGrower, cropGrowerSpec.getTicksPerParticleCycle(), () -> cropGrower.displayRadius(
+                    context.getPlugin().getParticleRenderer(),
+                cropGrowerSpec.getNumberOfParticles(),
+                cropGrowerSpec.getParticle(),
+                cropGrowerSpec.getParticleCount()
+        ));
+    }
+    
+    /**
+     * Called when a block grows on its own (e.g. a crop's age increasing)
+     * @param event the event
+     */
+    public void onBlockGrow(@NotNull BlockGrowEvent event) {
+        cropIndex.update(event.getNewState());
+    }
+    
     public void onBlockBreak(Block block, Cancellable event) {
+        cropIndex.remove(block);
         if (onBreakCropGrower(block)) {
             event.setCancelled(true);
             return;
@@ -187,6 +180,7 @@ public class PowerupManager {
         if (cropGrower == null) {
             return false;
         }
+        scheduler.cancel(cropGrower);
         location.getWorld().dropItemNaturally(location.add(new Vector(0.5, 0.5, 0.5)), 
                 context.getConfig().getCropGrowerSpec().getCropGrowerItem());
         block.setType(Material.AIR);
@@ -199,6 +193,8 @@ public class PowerupManager {
         if (animalGrower == null) {
             return false;
         }
+        animalGrowerEngine.remove(animalGrower);
+        scheduler.cancel(animalGrower);
         location.getWorld().dropItemNaturally(location.add(new Vector(0.5, 0.5, 0.5)), 
                 context.getConfig().getAnimalGrowerSpec().getAnimalGrowerItem());
         block.setType(Material.AIR);
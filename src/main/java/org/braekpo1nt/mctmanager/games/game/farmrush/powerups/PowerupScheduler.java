@@ -0,0 +1,154 @@
+package org.braekpo1nt.mctmanager.games.game.farmrush.powerups;
+
+import org.braekpo1nt.mctmanager.Main;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Runs the repeating work of the Farm Rush powerups (growing crops and animals, displaying
+ * particles) from a single task.
+ * <br>
+ * Each piece of work is given a slot in its period when it is scheduled, with consecutive pieces
+ * of work given consecutive slots, so that (for example) 10 growers with a 100 tick cycle run
+ * on 10 different ticks instead of all on the same one. Work which is due is run in the order it
+ * became due until the tick's time budget is used up, and the rest is carried over to the
+ * next tick. At least one piece of work is run every tick.
+ */
+public class PowerupScheduler {
+    
+    /**
+     * The default amount of time spent on powerups each tick
+     */
+    public static final long DEFAULT_TICK_BUDGET_MILLIS = 5;
+    
+    private static class Job {
+        private final @NotNull Object owner;
+        private final @NotNull Runnable action;
+        private final long period;
+        private final long slot;
+        /**
+         * true if this job is waiting in {@link #due}, so it is not queued twice
+         */
+        private boolean queued;
+        private boolean cancelled;
+        
+        private Job(@NotNull Object owner, @NotNull Runnable action, long period, long slot) {
+            this.owner = owner;
+            this.action = action;
+            this.period = period;
+            this.slot = slot;
+        }
+    }
+    
+    private final List<Job> jobs = new ArrayList<>();
+    /**
+     * jobs which are due to run, but haven't yet because of the time budget
+     */
+    private final Deque<Job> due = new ArrayDeque<>();
+    private long tickBudgetNanos = DEFAULT_TICK_BUDGET_MILLIS * 1_000_000L;
+    private long currentTick;
+    /**
+     * the slot of the next scheduled job (modulo its period)
+     */
+    private long nextSlot;
+    private @Nullable BukkitTask task;
+    
+    /**
+     * @param tickBudgetMillis the amount of time spent on powerups each tick, in milliseconds.
+     *                         At least one piece of work is run each tick regardless.
+     */
+    public void setTickBudgetMillis(long tickBudgetMillis) {
+        this.tickBudgetNanos = Math.max(0, tickBudgetMillis) * 1_000_000L;
+    }
+    
+    /**
+     * Start running the scheduled jobs every tick
+     * @param plugin the plugin to run the task with
+     */
+    public void start(@NotNull Plugin plugin) {
+        if (task != null) {
+            return;
+        }
+        currentTick = 0;
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                tick();
+            }
+        }.runTaskTimer(plugin, 0L, 1L);
+    }
+    
+    /**
+     * Stop running and forget every scheduled job
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        jobs.clear();
+        due.clear();
+        nextSlot = 0;
+    }
+    
+    /**
+     * Run the given action every period ticks, on a tick staggered from the previously scheduled actions
+     * @param owner the owner of the action, used to cancel it (see {@link #cancel(Object)})
+     * @param period the number of ticks between runs. Values below 1 are treated as 1.
+     * @param action the action to run
+     */
+    public void schedule(@NotNull Object owner, long period, @NotNull Runnable action) {
+        long validPeriod = Math.max(1L, period);
+        jobs.add(new Job(owner, action, validPeriod, nextSlot % validPeriod));
+        nextSlot++;
+    }
+    
+    /**
+     * Stop running every action of the given owner
+     * @param owner the owner the actions were scheduled with
+     */
+    public void cancel(@NotNull Object owner) {
+        jobs.removeIf(job -> {
+            if (job.owner == owner) {
+                job.cancelled = true;
+                return true;
+            }
+            return false;
+        });
+    }
+    
+    private void tick() {
+        for (Job job : jobs) {
+            if (!job.queued && currentTick % job.period == job.slot) {
+                job.queued = true;
+                due.add(job);
+            }
+        }
+        currentTick++;
+        long deadline = System.nanoTime() + tickBudgetNanos;
+        do {
+            Job job = due.poll();
+            if (job == null) {
+                return;
+            }
+            job.queued = false;
+            if (job.cancelled) {
+                continue;
+            }
+            try {
+                job.action.run();
+            } catch (RuntimeException e) {
+                Main.logger().log(Level.SEVERE, "Error running Farm Rush powerup", e);
+            }
+        } while (System.nanoTime() < deadline);
+    }
+}
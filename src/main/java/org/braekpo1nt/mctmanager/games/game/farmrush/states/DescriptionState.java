@@ -12,6 +12,8 @@ import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.logging.Level;
+
 public class DescriptionState implements FarmRushState {
     
     protected final @NotNull FarmRushGame context;
@@ -37,10 +39,31 @@ public class DescriptionState implements FarmRushState {
                 .withSidebar(context.getSidebar(), "timer")
                 .withSidebar(context.getAdminSidebar(), "timer")
                 .sidebarPrefix(Component.text("Starting soon: "))
-                .onCompletion(() -> context.setState(new StartingState(context)))
+                .onCompletion(this::startWhenArenasArePlaced)
                 .build());
     }
     
+    /**
+     * The arenas are placed over multiple ticks, so don't start until they're all done.
+     * If placing them failed, the game is stopped, since it can't be played without them.
+     */
+    private void startWhenArenasArePlaced() {
+        context.getArenasPlaced().whenComplete((ignored, throwable) -> {
+            if (context.getState() != this) {
+                // the game was stopped while the arenas were being placed
+                return;
+            }
+            if (throwable != null) {
+                Main.logger().log(Level.SEVERE, "Error placing the Farm Rush arenas, stopping the game", throwable);
+                context.getGameManager().messageAdmins(Component.text("Error placing the Farm Rush arenas, stopping the game. See console for details.")
+                        .color(NamedTextColor.RED));
+                context.stop();
+                return;
+            }
+            context.setState(new StartingState(context));
+        });
+    }
+    
     @Override
     public void onParticipantJoin(Player player) {
         String teamId = context.getGameManager().getTeamId(player.getUniqueId());
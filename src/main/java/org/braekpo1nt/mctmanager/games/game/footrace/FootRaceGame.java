@@ -18,6 +18,7 @@ import org.braekpo1nt.mctmanager.games.game.interfaces.Configurable;
 import org.braekpo1nt.mctmanager.games.game.interfaces.MCTGame;
 import org.braekpo1nt.mctmanager.games.utils.GameManagerUtils;
 import org.braekpo1nt.mctmanager.games.utils.ParticipantInitializer;
+import org.braekpo1nt.mctmanager.games.utils.ParticipantRegistry;
 import org.braekpo1nt.mctmanager.ui.sidebar.Headerable;
 import org.braekpo1nt.mctmanager.ui.sidebar.KeyLine;
 import org.braekpo1nt.mctmanager.ui.sidebar.Sidebar;
@@ -29,7 +30,6 @@ import org.bukkit.*;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.FoodLevelChangeEvent;
@@ -45,12 +45,10 @@ import org.bukkit.potion.PotionEffectType;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scoreboard.Scoreboard;
 import org.bukkit.scoreboard.Team;
-import org.bukkit.util.BoundingBox;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Data
 public class FootRaceGame implements Listener, MCTGame, Configurable, Headerable {
@@ -71,7 +69,7 @@ public class FootRaceGame implements Listener, MCTGame, Configurable, Headerable
     private Sidebar sidebar;
     private Sidebar adminSidebar;
     private int timerRefreshTaskId;
-    private List<Player> participants;
+    private ParticipantRegistry participants;
     private List<Player> admins;
     private Map<UUID, Long> lapCooldowns;
     private Map<UUID, Integer> laps;
@@ -87,7 +85,7 @@ public class FootRaceGame implements Listener, MCTGame, Configurable, Headerable
     /**
      * what place every participant is in at any given moment in the race
      */
-    private List<Player> standings;
+    private FootRaceStandings standings;
     private long raceStartTime;
     private int statusEffectsTaskId;
     private int standingsDisplayTaskId;
@@ -128,16 +126,16 @@ public class FootRaceGame implements Listener, MCTGame, Configurable, Headerable
     
     @Override
     public void start(List<Player> newParticipants, List<Player> newAdmins) {
-        this.participants = new ArrayList<>(newParticipants.size());
+        this.participants = new ParticipantRegistry(newParticipants.size());
         lapCooldowns = new HashMap<>(newParticipants.size());
         laps = new HashMap<>(newParticipants.size());
         currentCheckpoints = new HashMap<>(newParticipants.size());
         finishedParticipants = new ArrayList<>(newParticipants.size());
-        standings = new ArrayList<>(newParticipants.size());
+        standings = new FootRaceStandings();
         admins = new ArrayList<>(newAdmins.size());
         sidebar = gameManager.createSidebar();
         adminSidebar = gameManager.createSidebar();
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getEventRouter().register(getType(), this);
         gameManager.getTimerManager().register(timerManager);
         closeGlassBarrier();
         for (Player participant : newParticipants) {
@@ -155,48 +153,25 @@ public class FootRaceGame implements Listener, MCTGame, Configurable, Headerable
         Main.logger().info("Starting Foot Race game");
     }
     
+    /**
+     * Re-calculates every participant's progress through the race and re-orders the standings
+     */
     public void updateStandings() {
-        standings = standings.stream()
-                .sorted((participant1, participant2) -> {
-                    UUID uuid1 = participant1.getUniqueId();
-                    UUID uuid2 = participant2.getUniqueId();
-                    boolean finished1 = finishedParticipants.contains(uuid1);
-                    boolean finished2 = finishedParticipants.contains(uuid2);
-                    if (finished1 || finished2) {
-                        if (finished1 && finished2) {
-                            int placement1 = finishedParticipants.indexOf(uuid1);
-                            int placement2 = finishedParticipants.indexOf(uuid2);
-                            return placement1 - placement2;
-                        } else {
-                            if (finished1) {
-                                return -1;
-                            } else {
-                                return 1;
-                            }
-                        }
-                    }
-                    
-                    int currentLap1 = laps.get(uuid1);
-                    int currentLap2 = laps.get(uuid2);
-                    if (currentLap1 != currentLap2) {
-                        return currentLap2 - currentLap1; // Reverse order
-                    }
-                    
-                    int nextCheckpoint1 = MathUtils.wrapIndex(currentCheckpoints.get(uuid1) + 1, config.getCheckpoints().size());
-                    int nextCheckpoint2 = MathUtils.wrapIndex(currentCheckpoints.get(uuid2) + 1, config.getCheckpoints().size());
-                    if (nextCheckpoint1 != nextCheckpoint2) {
-                        return nextCheckpoint2 - nextCheckpoint1; // Reverse order
-                    }
-                    
-                    BoundingBox checkpoint = config.getCheckpoints().get(nextCheckpoint1);
-                    double distance1 = MathUtils.getMinimumDistance(checkpoint, participant1.getLocation().toVector());
-                    double distance2 = MathUtils.getMinimumDistance(checkpoint, participant2.getLocation().toVector());
-                    if (distance1 != distance2) {
-                        return Double.compare(distance1, distance2);
-                    }
-                    
-                    return participant1.getName().compareTo(participant2.getName());
-                }).collect(Collectors.toCollection(ArrayList::new));
+        for (int i = 0; i < finishedParticipants.size(); i++) {
+            standings.setFinished(finishedParticipants.get(i), i);
+        }
+        int checkpointCount = config.getCheckpoints().size();
+        for (int i = 0; i < standings.size(); i++) {
+            Player participant = standings.get(i);
+            UUID uuid = participant.getUniqueId();
+            if (standings.isFinished(uuid)) {
+                continue;
+            }
+            int nextCheckpoint = MathUtils.wrapIndex(currentCheckpoints.get(uuid) + 1, checkpointCount);
+            double distance = MathUtils.getMinimumDistance(config.getCheckpoints().get(nextCheckpoint), participant.getLocation().toVector());
+            standings.setProgress(uuid, laps.get(uuid), nextCheckpoint, distance);
+        }
+        standings.sort();
     }
     
     public void displayStandings() {
@@ -311,7 +286,7 @@ public class FootRaceGame implements Listener, MCTGame, Configurable, Headerable
     
     @Override
     public void stop() {
-        HandlerList.unregisterAll(this);
+        plugin.getEventRouter().unregister(this);
         closeGlassBarrier();
         cancelAllTasks();
         stopAdmins();
@@ -559,8 +534,11 @@ public class FootRaceGame implements Listener, MCTGame, Configurable, Headerable
         if (!participants.contains(participant)) {
             return;
         }
+        if (!event.hasChangedBlock()) {
+            return;
+        }
         if (state != null) {
-            state.onParticipantMove(participant);
+            state.onParticipantMove(participant, event.getTo());
         }
         if (participant.getGameMode().equals(GameMode.SPECTATOR)) {
             keepSpectatorsInArea(participant, event);
@@ -0,0 +1,171 @@
+package org.braekpo1nt.mctmanager.games.game.footrace;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * What place every participant is in at any given moment in the race.
+ * <br>
+ * Each racer's progress (finishing placement, or lap, next checkpoint, and distance to it) is
+ * stored once per update instead of being recalculated on every comparison. Since the order
+ * rarely changes much between updates, it is kept with an insertion sort, which only does
+ * linear work when the order is already (nearly) correct.
+ */
+public class FootRaceStandings {
+    
+    private static class Racer {
+        private @NotNull Player participant;
+        /**
+         * the racer's finishing placement (0 is first), or -1 if they haven't finished
+         */
+        private int placement = -1;
+        private int lap;
+        private int nextCheckpoint;
+        private double distance;
+        
+        private Racer(@NotNull Player participant) {
+            this.participant = participant;
+        }
+    }
+    
+    private final List<Racer> order = new ArrayList<>();
+    private final Map<UUID, Racer> racers = new HashMap<>();
+    
+    /**
+     * Add a racer to the end of the standings. If they are already in the standings,
+     * they keep their place.
+     * @param participant the participant to add
+     * @return true
+     */
+    public boolean add(@NotNull Player participant) {
+        Racer existing = racers.get(participant.getUniqueId());
+        if (existing != null) {
+            existing.participant = participant;
+            return true;
+        }
+        Racer racer = new Racer(participant);
+        racers.put(participant.getUniqueId(), racer);
+        order.add(racer);
+        return true;
+    }
+    
+    /**
+     * @param participant the participant to remove from the standings
+     * @return true if the participant was in the standings
+     */
+    public boolean remove(@NotNull Player participant) {
+        Racer racer = racers.remove(participant.getUniqueId());
+        if (racer == null) {
+            return false;
+        }
+        order.remove(racer);
+        return true;
+    }
+    
+    public void clear() {
+        order.clear();
+        racers.clear();
+    }
+    
+    public int size() {
+        return order.size();
+    }
+    
+    /**
+     * @param standing the standing (0 is first place)
+     * @return the participant in the given standing
+     */
+    public @NotNull Player get(int standing) {
+        return order.get(standing).participant;
+    }
+    
+    /**
+     * @param uuid the UUID of a participant in the standings
+     * @param placement the placement they finished the race in (0 is first)
+     */
+    public void setFinished(@NotNull UUID uuid, int placement) {
+        Racer racer = racers.get(uuid);
+        if (racer != null) {
+            racer.placement = placement;
+        }
+    }
+    
+    /**
+     * @param uuid the UUID of a participant in the standings
+     * @return true if the participant has been given a finishing placement
+     */
+    public boolean isFinished(@NotNull UUID uuid) {
+        Racer racer = racers.get(uuid);
+        return racer != null && racer.placement >= 0;
+    }
+    
+    /**
+     * Update the progress of a racer who hasn't finished
+     * @param uuid the UUID of a participant in the standings
+     * @param lap the lap they are on
+     * @param nextCheckpoint the index of the checkpoint they are heading towards
+     * @param distance their distance to that checkpoint
+     */
+    public void setProgress(@NotNull UUID uuid, int lap, int nextCheckpoint, double distance) {
+        Racer racer = racers.get(uuid);
+        if (racer == null) {
+            return;
+        }
+        racer.lap = lap;
+        racer.nextCheckpoint = nextCheckpoint;
+        racer.distance = distance;
+    }
+    
+    /**
+     * Re-order the standings by the racers' latest progress
+     * @return true if the order changed
+     */
+    public boolean sort() {
+        boolean changed = false;
+        for (int i = 1; i < order.size(); i++) {
+            Racer racer = order.get(i);
+            int j = i - 1;
+            while (j >= 0 && compare(order.get(j), racer) > 0) {
+                order.set(j + 1, order.get(j));
+                j--;
+            }
+            if (j + 1 != i) {
+                order.set(j + 1, racer);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+    
+    /**
+     * Finished racers come first, in the order they finished. Then the racers on the higher lap,
+     * then those heading to the later checkpoint, then those closer to it, and finally by name.
+     */
+    private static int compare(@NotNull Racer racer1, @NotNull Racer racer2) {
+        boolean finished1 = racer1.placement >= 0;
+        boolean finished2 = racer2.placement >= 0;
+        if (finished1 || finished2) {
+            if (finished1 && finished2) {
+                return Integer.compare(racer1.placement, racer2.placement);
+            }
+            return finished1 ? -1 : 1;
+        }
+        if (racer1.lap != racer2.lap) {
+            return Integer.compare(racer2.lap, racer1.lap); // Reverse order
+        }
+        if (racer1.nextCheckpoint != racer2.nextCheckpoint) {
+            return Integer.compare(racer2.nextCheckpoint, racer1.nextCheckpoint); // Reverse order
+        }
+        if (racer1.distance != racer2.distance) {
+            return Double.compare(racer1.distance, racer2.distance);
+        }
+        return racer1.participant.getName().compareTo(racer2.participant.getName());
+    }
+
+}
@@ -26,7 +26,6 @@ import org.bukkit.Material;
 import org.bukkit.block.BlockFace;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -110,7 +109,7 @@ public class FootRaceEditor implements GameEditor, Configurable, Listener {
         currentCheckpoints = new HashMap<>(newParticipants.size());
         displays = new HashMap<>(newParticipants.size());
         sidebar = gameManager.createSidebar();
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getEventRouter().register(getType(), this);
         for (Player newParticipant : newParticipants) {
             initializeParticipant(newParticipant);
         }
@@ -198,7 +197,7 @@ public class FootRaceEditor implements GameEditor, Configurable, Listener {
     
     @Override
     public void stop() {
-        HandlerList.unregisterAll(this);
+        plugin.getEventRouter().unregister(this);
         editorStarted = false;
         for (Player participant : participants) {
             resetParticipant(participant);
@@ -14,6 +14,7 @@ import org.braekpo1nt.mctmanager.ui.sidebar.Sidebar;
 import org.braekpo1nt.mctmanager.ui.timer.Timer;
 import org.braekpo1nt.mctmanager.ui.timer.TimerManager;
 import org.braekpo1nt.mctmanager.utils.MathUtils;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.BoundingBox;
@@ -167,7 +168,7 @@ public class ActiveState implements FootRaceState {
     }
     
     @Override
-    public void onParticipantMove(Player participant) {
+    public void onParticipantMove(Player participant, Location to) {
         UUID uuid = participant.getUniqueId();
         if (context.getFinishedParticipants().contains(uuid)) {
             return;
@@ -175,7 +176,7 @@ public class ActiveState implements FootRaceState {
         int currentCheckpointIndex = context.getCurrentCheckpoints().get(uuid);
         int nextCheckpointIndex = MathUtils.wrapIndex(currentCheckpointIndex + 1, config.getCheckpoints().size());
         BoundingBox nextCheckpoint = config.getCheckpoints().get(nextCheckpointIndex);
-        if (nextCheckpoint.contains(participant.getLocation().toVector())) {
+        if (nextCheckpoint.contains(to.toVector())) {
             onParticipantReachCheckpoint(participant, nextCheckpointIndex);
         }
     }
@@ -13,6 +13,7 @@ import org.braekpo1nt.mctmanager.ui.sidebar.KeyLine;
 import org.braekpo1nt.mctmanager.ui.sidebar.Sidebar;
 import org.braekpo1nt.mctmanager.ui.timer.Timer;
 import org.braekpo1nt.mctmanager.ui.timer.TimerManager;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.NotNull;
@@ -149,13 +150,13 @@ public class ActiveStateLegacy implements FootRaceState {
     }
     
     @Override
-    public void onParticipantMove(Player participant) {
+    public void onParticipantMove(Player participant, Location to) {
         UUID uuid = participant.getUniqueId();
-        if (!participant.getWorld().equals(config.getWorld())) {
+        if (!to.getWorld().equals(config.getWorld())) {
             return;
         }
         
-        if (isInFinishLineBoundingBox(participant)) {
+        if (isInFinishLineBoundingBox(to)) {
             long lastMoveTime = context.getLapCooldowns().get(uuid);
             long currentTime = System.currentTimeMillis();
             if (currentTime - lastMoveTime < FootRaceGame.COOL_DOWN_TIME) {
@@ -196,8 +197,8 @@ public class ActiveStateLegacy implements FootRaceState {
         }
     }
     
-    private boolean isInFinishLineBoundingBox(Player player) {
-        return config.getFinishLine().contains(player.getLocation().toVector());
+    private boolean isInFinishLineBoundingBox(Location location) {
+        return config.getFinishLine().contains(location.toVector());
     }
     
     /**
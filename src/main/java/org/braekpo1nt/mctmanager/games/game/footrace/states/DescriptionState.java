@@ -3,6 +3,7 @@ package org.braekpo1nt.mctmanager.games.game.footrace.states;
 import net.kyori.adventure.text.Component;
 import org.braekpo1nt.mctmanager.games.game.footrace.FootRaceGame;
 import org.braekpo1nt.mctmanager.ui.timer.Timer;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
@@ -66,7 +67,7 @@ public class DescriptionState implements FootRaceState {
     }
     
     @Override
-    public void onParticipantMove(Player participant) {
+    public void onParticipantMove(Player participant, Location to) {
         // do nothing
     }
 }
@@ -1,5 +1,6 @@
 package org.braekpo1nt.mctmanager.games.game.footrace.states;
 
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
 public interface FootRaceState {
@@ -8,5 +9,9 @@ public interface FootRaceState {
     void initializeParticipant(Player participant);
     void resetParticipant(Player participant);
     // listener handlers
-    void onParticipantMove(Player participant);
+    /**
+     * @param participant the participant who moved
+     * @param to the location they moved to. Their current location is still the one they moved from.
+     */
+    void onParticipantMove(Player participant, Location to);
 }
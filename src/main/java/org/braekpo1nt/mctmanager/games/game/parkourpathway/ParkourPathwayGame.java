@@ -15,7 +15,9 @@ import org.braekpo1nt.mctmanager.games.game.parkourpathway.config.ParkourPathway
 import org.braekpo1nt.mctmanager.games.game.parkourpathway.puzzle.CheckPoint;
 import org.braekpo1nt.mctmanager.games.game.parkourpathway.puzzle.Puzzle;
 import org.braekpo1nt.mctmanager.games.utils.GameManagerUtils;
+import org.braekpo1nt.mctmanager.geometry.RegionIndex;
 import org.braekpo1nt.mctmanager.games.utils.ParticipantInitializer;
+import org.braekpo1nt.mctmanager.games.utils.ParticipantRegistry;
 import org.braekpo1nt.mctmanager.ui.TimeStringUtils;
 import org.braekpo1nt.mctmanager.ui.UIUtils;
 import org.braekpo1nt.mctmanager.ui.sidebar.Headerable;
@@ -31,7 +33,6 @@ import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.entity.EntityDamageEvent;
@@ -49,7 +50,6 @@ import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scoreboard.Scoreboard;
 import org.bukkit.scoreboard.Team;
 import org.bukkit.util.BoundingBox;
-import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -72,7 +72,7 @@ public class ParkourPathwayGame implements MCTGame, Configurable, Listener, Head
     private @Nullable Timer mercryRuleCountdown;
     private boolean gameActive = false;
     private boolean parkourHasStarted = false;
-    private List<Player> participants = new ArrayList<>();
+    private ParticipantRegistry participants = new ParticipantRegistry();
     private List<Player> admins = new ArrayList<>();
     /**
      * Participants who have reached the finish line
@@ -97,6 +97,22 @@ public class ParkourPathwayGame implements MCTGame, Configurable, Listener, Head
     private Map<UUID, Integer> currentPuzzleCheckpoints;
     private boolean descriptionShowing = false;
     private final TimerManager timerManager;
+    /**
+     * The in-bounds areas and checkpoint detection areas of every puzzle, indexed when the config is loaded
+     */
+    private final RegionIndex<PuzzleRegion> puzzleRegions = new RegionIndex<>();
+    /**
+     * Reused by {@link #onParticipantMove(Player)} to collect the regions the participant is in
+     */
+    private final List<PuzzleRegion> regionsAtParticipant = new ArrayList<>();
+    
+    /**
+     * @param puzzleIndex the index of the puzzle this region belongs to
+     * @param checkPointIndex the index of the checkpoint whose detection area this is, 
+     *                        or -1 if this is one of the puzzle's in-bounds areas
+     */
+    private record PuzzleRegion(int puzzleIndex, int checkPointIndex) {
+    }
     
     public ParkourPathwayGame(Main plugin, GameManager gameManager) {
         this.plugin = plugin;
@@ -129,11 +145,21 @@ public class ParkourPathwayGame implements MCTGame, Configurable, Listener, Head
     @Override
     public void loadConfig() throws ConfigIOException, ConfigInvalidException {
         this.config = configController.getConfig();
+        puzzleRegions.clear();
+        for (int i = 0; i < config.getPuzzlesSize(); i++) {
+            Puzzle puzzle = config.getPuzzle(i);
+            for (BoundingBox inBound : puzzle.inBounds()) {
+                puzzleRegions.add(inBound, new PuzzleRegion(i, -1));
+            }
+            for (int j = 0; j < puzzle.checkPoints().size(); j++) {
+                puzzleRegions.add(puzzle.checkPoints().get(j).detectionArea(), new PuzzleRegion(i, j));
+            }
+        }
     }
     
     @Override
     public void start(List<Player> newParticipants, List<Player> newAdmins) {
-        participants = new ArrayList<>(newParticipants.size());
+        participants = new ParticipantRegistry(newParticipants.size());
         currentPuzzles = new HashMap<>(newParticipants.size());
         quitParticipantsSkips = new HashMap<>();
         currentPuzzleCheckpoints = new HashMap<>(newParticipants.size());
@@ -145,7 +171,7 @@ public class ParkourPathwayGame implements MCTGame, Configurable, Listener, Head
         sidebar = gameManager.createSidebar();
         adminSidebar = gameManager.createSidebar();
         parkourHasStarted = false;
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getEventRouter().register(getType(), this);
         gameManager.getTimerManager().register(timerManager);
         for (Player participant : newParticipants) {
             initializeParticipant(participant);
@@ -212,7 +238,7 @@ public class ParkourPathwayGame implements MCTGame, Configurable, Listener, Head
     
     @Override
     public void stop() {
-        HandlerList.unregisterAll(this);
+        plugin.getEventRouter().unregister(this);
         cancelAllTasks();
         for (Player participant : participants) {
             resetParticipant(participant);
@@ -547,7 +573,10 @@ public class ParkourPathwayGame implements MCTGame, Configurable, Listener, Head
         if (!participants.contains(participant)) {
             return;
         }
-        onParticipantMove(participant);
+        if (!event.hasChangedBlock()) {
+            return;
+        }
+        onParticipantMove(participant, event.getTo());
         if (participant.getGameMode().equals(GameMode.SPECTATOR)) {
             keepSpectatorsInArea(participant, event);
         }
@@ -556,8 +585,9 @@ public class ParkourPathwayGame implements MCTGame, Configurable, Listener, Head
     /**
      * Handle when a participant moves
      * @param participant the participant. Assumed to be a valid participant in this game
+     * @param location the location the participant moved to. Their current location is still the one they moved from.
      */
-    private void onParticipantMove(@NotNull Player participant) {
+    private void onParticipantMove(@NotNull Player participant, @NotNull Location location) {
         UUID uuid = participant.getUniqueId();
         if (finishedParticipants.contains(uuid)) {
             return;
@@ -568,18 +598,18 @@ public class ParkourPathwayGame implements MCTGame, Configurable, Listener, Head
             // should not occur because of above check
             return;
         }
-        Puzzle currentPuzzle = config.getPuzzle(currentPuzzleIndex);
-        if (!currentPuzzle.isInBounds(participant.getLocation().toVector())) {
-            onParticipantOutOfBounds(participant, currentPuzzle);
+        regionsAtParticipant.clear();
+        puzzleRegions.getRegions(location.getX(), location.getY(), location.getZ(), regionsAtParticipant);
+        if (!regionsIncludeInBounds(currentPuzzleIndex)) {
+            onParticipantOutOfBounds(participant, config.getPuzzle(currentPuzzleIndex));
             return;
         }
-        Puzzle nextPuzzle = config.getPuzzle(nextPuzzleIndex);
-        int nextPuzzleCheckPointIndex = participantReachedCheckPoint(participant.getLocation().toVector(), nextPuzzle);
+        int nextPuzzleCheckPointIndex = regionsIncludeCheckPoint(nextPuzzleIndex);
         if (nextPuzzleCheckPointIndex >= 0) {
             onParticipantReachCheckpoint(participant, nextPuzzleIndex, nextPuzzleCheckPointIndex);
             return;
         }
-        int parallelCheckPointIndex = participantReachedCheckPoint(participant.getLocation().toVector(), currentPuzzle);
+        int parallelCheckPointIndex = regionsIncludeCheckPoint(currentPuzzleIndex);
         if (parallelCheckPointIndex >= 0) {
             int currentCheckpoint = currentPuzzleCheckpoints.get(uuid);
             if (parallelCheckPointIndex == currentCheckpoint) {
@@ -778,19 +808,36 @@ public class ParkourPathwayGame implements MCTGame, Configurable, Listener, Head
     }
     
     /**
-     * Check if the given location is inside the given puzzle's check points.
-     * @param v the location to check if it's inside the puzzle's detection areas or not.
-     * @param puzzle the puzzle to check if the player reached
-     * @return -1 if v isn't inside the given puzzle's detection areas. Otherwise, returns the index of the puzzle's CheckPoint that v is inside.
+     * @param puzzleIndex the index of the puzzle
+     * @return true if the participant is inside any of the given puzzle's in-bounds areas, 
+     * according to {@link #regionsAtParticipant}
+     */
+    private boolean regionsIncludeInBounds(int puzzleIndex) {
+        for (int i = 0; i < regionsAtParticipant.size(); i++) {
+            PuzzleRegion region = regionsAtParticipant.get(i);
+            if (region.puzzleIndex() == puzzleIndex && region.checkPointIndex() < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Check if the participant is inside the given puzzle's check points, according to {@link #regionsAtParticipant}
+     * @param puzzleIndex the index of the puzzle to check if the player reached
+     * @return -1 if the participant isn't inside the given puzzle's detection areas. Otherwise, returns 
+     * the index of the puzzle's CheckPoint that the participant is inside (the lowest index, if there are several).
      */
-    private static int participantReachedCheckPoint(Vector v, Puzzle puzzle) {
-        for (int i = 0; i < puzzle.checkPoints().size(); i++) {
-            CheckPoint nextCheckPoint = puzzle.checkPoints().get(i);
-            if (nextCheckPoint.detectionArea().contains(v)) {
-                return i;
+    private int regionsIncludeCheckPoint(int puzzleIndex) {
+        int result = -1;
+        for (int i = 0; i < regionsAtParticipant.size(); i++) {
+            PuzzleRegion region = regionsAtParticipant.get(i);
+            if (region.puzzleIndex() == puzzleIndex && region.checkPointIndex() >= 0 
+                    && (result < 0 || region.checkPointIndex() < result)) {
+                result = region.checkPointIndex();
             }
         }
-        return -1;
+        return result;
     }
     
     private void onParticipantFinish(Player participant, boolean awardPoints) {
@@ -30,7 +30,6 @@ import org.bukkit.Material;
 import org.bukkit.block.BlockFace;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -238,7 +237,7 @@ public class ParkourPathwayEditor implements GameEditor, Configurable, Listener
         displays = new HashMap<>(newParticipants.size());
         sidebar = gameManager.createSidebar();
         displayWalls = true;
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getEventRouter().register(getType(), this);
         for (Player participant : newParticipants) {
             initializeParticipant(participant);
         }
@@ -266,7 +265,7 @@ public class ParkourPathwayEditor implements GameEditor, Configurable, Listener
     
     @Override
     public void stop() {
-        HandlerList.unregisterAll(this);
+        plugin.getEventRouter().unregister(this);
         editorStarted = false;
         for (Player participant : participants) {
             resetParticipant(participant);
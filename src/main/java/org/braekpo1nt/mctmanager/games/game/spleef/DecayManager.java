@@ -2,26 +2,30 @@ package org.braekpo1nt.mctmanager.games.game.spleef;
 
 import net.kyori.adventure.text.Component;
 import org.braekpo1nt.mctmanager.Main;
+import org.braekpo1nt.mctmanager.games.game.enums.GameType;
 import org.braekpo1nt.mctmanager.games.game.spleef.config.SpleefConfig;
+import org.braekpo1nt.mctmanager.geometry.BlockPositionSet;
 import org.braekpo1nt.mctmanager.ui.UIUtils;
 import org.braekpo1nt.mctmanager.utils.BlockPlacementUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collections;
-import java.util.List;
+import java.util.EnumSet;
 import java.util.Random;
+import java.util.Set;
+import java.util.logging.Level;
 
 /**
  * Responsible for the decay of blocks over time in spleef
@@ -53,6 +57,11 @@ public class DecayManager implements Listener {
      * the seconds left in the stage
      */
     private int secondsLeft;
+    /**
+     * incremented every time a stage starts or decay stops, so that layers which finish
+     * loading after their stage is over can be discarded
+     */
+    private int stageGeneration;
     
     public DecayManager(Main plugin, SpleefConfig config, SpleefRound spleefRound) {
         this.plugin = plugin;
@@ -65,7 +74,7 @@ public class DecayManager implements Listener {
     }
     
     public void start() {
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getEventRouter().register(GameType.SPLEEF, this);
         currentStageIndex = -1;
         currentStage = null;
         secondsLeft = 0;
@@ -74,8 +83,12 @@ public class DecayManager implements Listener {
     }
     
     public void stop() {
-        HandlerList.unregisterAll(this);
+        plugin.getEventRouter().unregister(this);
         cancelAllTasks();
+        stageGeneration++;
+        if (currentStage != null) {
+            currentStage.clearBlocks();
+        }
         currentStageIndex = 0;
         currentStage = null;
         secondsLeft = 0;
@@ -123,11 +136,10 @@ public class DecayManager implements Listener {
             currentStage.clearBlocks();
         }
         currentStageIndex++;
+        stageGeneration++;
         currentStage = config.getStages().get(currentStageIndex);
         for (DecayStage.LayerInfo layerInfo : currentStage.getLayerInfos()) {
-            BoundingBox decayLayer = config.getDecayLayers().get(layerInfo.getIndex());
-            layerInfo.setSolidBlocks(BlockPlacementUtils.getBlocks(config.getWorld(), decayLayer, Collections.singletonList(config.getLayerBlock())));
-            layerInfo.setDecayingBlocks(BlockPlacementUtils.getBlocks(config.getWorld(), decayLayer, Collections.singletonList(config.getDecayBlock())));
+            loadLayer(layerInfo, stageGeneration);
         }
         secondsLeft = currentStage.getDuration();
         if (currentStage.getStartMessage() != null) {
@@ -140,32 +152,77 @@ public class DecayManager implements Listener {
     }
     
     /**
-     * Changes n blocks in the given list to the decaying material, where n is the given count. Each randomly chosen block is removed from the solidBlocks list and added to the decayingBlocks list.
-     * @param solidBlocks the list to decay a random subset of
-     * @param decayingBlocks the list to add the decaying block to
-     * @param count how many blocks to decay from the given list. If count is less than solidBlocks.size(), , then all the blocks that are left will be decayed. 
+     * Finds the solid and decaying blocks in the given layer. The layer is scanned asynchronously
+     * (see {@link BlockPlacementUtils#getBlocksAsync(Plugin, World, BoundingBox, Set)}), and until
+     * it is done, the layer has empty sets, which only collect the blocks placed while it is loading.
+     * @param layerInfo the layer to load the blocks of
+     * @param generation the {@link #stageGeneration} of the stage the layer belongs to
+     */
+    private void loadLayer(DecayStage.LayerInfo layerInfo, int generation) {
+        layerInfo.setSolidBlocks(new BlockPositionSet());
+        layerInfo.setDecayingBlocks(new BlockPositionSet());
+        BoundingBox decayLayer = config.getDecayLayers().get(layerInfo.getIndex());
+        Material layerBlock = config.getLayerBlock();
+        Material decayBlock = config.getDecayBlock();
+        BlockPlacementUtils.getBlocksAsync(plugin, config.getWorld(), decayLayer, EnumSet.of(layerBlock, decayBlock))
+                .thenAccept(blocks -> {
+                    if (generation != stageGeneration) {
+                        return;
+                    }
+                    BlockPositionSet solidBlocks = blocks.get(layerBlock);
+                    BlockPositionSet decayingBlocks = blocks.get(decayBlock);
+                    // keep the blocks which were placed while the layer was loading
+                    solidBlocks.addAll(layerInfo.getSolidBlocks());
+                    decayingBlocks.addAll(layerInfo.getDecayingBlocks());
+                    layerInfo.setSolidBlocks(solidBlocks);
+                    layerInfo.setDecayingBlocks(decayingBlocks);
+                })
+                .exceptionally(e -> {
+                    Main.logger().log(Level.SEVERE, String.format("Error loading spleef decay layer %d", layerInfo.getIndex()), e);
+                    return null;
+                });
+    }
+    
+    /**
+     * Changes n blocks in the given set to the decaying material, where n is the given count. Each randomly chosen block is removed from the solidBlocks set and added to the decayingBlocks set.
+     * <br>
+     * Blocks which are no longer the layer block (e.g. they were broken after the layer was scanned) are dropped from the set without counting towards n.
+     * @param solidBlocks the set to decay a random subset of
+     * @param decayingBlocks the set to add the decaying block to
+     * @param count how many blocks to decay from the given set. If count is more than solidBlocks.size(), then all the blocks that are left will be decayed.
      */
-    private void randomlyDecaySolidBlocks(List<Block> solidBlocks, List<Block> decayingBlocks, int count) {
-        for (int i = 0; i < Math.min(count, solidBlocks.size()); i++) {
-            int indexToDecay = random.nextInt(solidBlocks.size());
-            Block newDecayingBlock = solidBlocks.get(indexToDecay);
+    private void randomlyDecaySolidBlocks(BlockPositionSet solidBlocks, BlockPositionSet decayingBlocks, int count) {
+        World world = config.getWorld();
+        int decayed = 0;
+        while (decayed < count && !solidBlocks.isEmpty()) {
+            long position = solidBlocks.removeRandom(random);
+            Block newDecayingBlock = BlockPositionSet.getBlock(world, position);
+            if (newDecayingBlock.getType() != config.getLayerBlock()) {
+                continue;
+            }
             newDecayingBlock.setType(config.getDecayBlock());
-            solidBlocks.remove(indexToDecay);
-            decayingBlocks.add(newDecayingBlock);
+            decayingBlocks.add(position);
+            decayed++;
         }
     }
     
     /**
-     * Changes n blocks in the given list to air, where n is the given count. Each randomly chosen block is removed from the decayingBlocks list.
-     * @param decayingBlocks the list to remove a random subset of
-     * @param count how many blocks to decay from the given list. If count is less than decayingBlocks.size(), then all the blocks that are left will be removed. 
+     * Changes n blocks in the given set to air, where n is the given count. Each randomly chosen block is removed from the decayingBlocks set.
+     * <br>
+     * Blocks which are no longer the decay block are dropped from the set without counting towards n.
+     * @param decayingBlocks the set to remove a random subset of
+     * @param count how many blocks to decay from the given set. If count is more than decayingBlocks.size(), then all the blocks that are left will be removed.
      */
-    private void randomlyRemoveDecayingBlocks(List<Block> decayingBlocks, int count) {
-        for (int i = 0; i < Math.min(count, decayingBlocks.size()); i++) {
-            int indexToDecay = random.nextInt(decayingBlocks.size());
-            Block randomCoarseDirtBlock = decayingBlocks.get(indexToDecay);
+    private void randomlyRemoveDecayingBlocks(BlockPositionSet decayingBlocks, int count) {
+        World world = config.getWorld();
+        int removed = 0;
+        while (removed < count && !decayingBlocks.isEmpty()) {
+            Block randomCoarseDirtBlock = BlockPositionSet.getBlock(world, decayingBlocks.removeRandom(random));
+            if (randomCoarseDirtBlock.getType() != config.getDecayBlock()) {
+                continue;
+            }
             randomCoarseDirtBlock.setType(Material.AIR);
-            decayingBlocks.remove(indexToDecay);
+            removed++;
         }
     }
     
@@ -189,11 +246,11 @@ public class DecayManager implements Listener {
             return;
         }
         if (blockType.equals(config.getLayerBlock())) {
-            layerBlockIsIn.getSolidBlocks().add(block);
+            layerBlockIsIn.getSolidBlocks().add(BlockPositionSet.pack(block));
             return;
         }
         if (blockType.equals(config.getDecayBlock())) {
-            layerBlockIsIn.getDecayingBlocks().add(block);
+            layerBlockIsIn.getDecayingBlocks().add(BlockPositionSet.pack(block));
         }
     }
     
@@ -217,11 +274,11 @@ public class DecayManager implements Listener {
             return;
         }
         if (blockType.equals(config.getLayerBlock())) {
-            layerBlockIsIn.getSolidBlocks().remove(block);
+            layerBlockIsIn.getSolidBlocks().remove(BlockPositionSet.pack(block));
             return;
         }
         if (blockType.equals(config.getDecayBlock())) {
-            layerBlockIsIn.getDecayingBlocks().remove(block);
+            layerBlockIsIn.getDecayingBlocks().remove(BlockPositionSet.pack(block));
         }
     }
     
@@ -2,7 +2,7 @@ package org.braekpo1nt.mctmanager.games.game.spleef;
 
 import lombok.*;
 import net.kyori.adventure.text.Component;
-import org.bukkit.block.Block;
+import org.braekpo1nt.mctmanager.geometry.BlockPositionSet;
 
 import java.util.List;
 
@@ -40,7 +40,7 @@ public class DecayStage {
     private Component startSubtitle;
     
     /**
-     * sets the solid and decaying block lists to null to save space
+     * sets the solid and decaying block sets to null to save space
      */
     public void clearBlocks() {
         for (LayerInfo layerInfo : layerInfos) {
@@ -65,15 +65,15 @@ public class DecayStage {
          */
         private final int decayingBlockRate;
         /**
-         * The blocks in this layer which are solid, not decayed yet
+         * The positions of the blocks in this layer which are solid, not decayed yet
          */
         @Setter
-        private List<Block> solidBlocks;
+        private BlockPositionSet solidBlocks;
         /**
-         * The blocks in this layer which are partially decayed, about to disappear
+         * The positions of the blocks in this layer which are partially decayed, about to disappear
          */
         @Setter
-        private List<Block> decayingBlocks;
+        private BlockPositionSet decayingBlocks;
     }
     
     /**
@@ -5,10 +5,12 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.title.Title;
 import org.braekpo1nt.mctmanager.Main;
 import org.braekpo1nt.mctmanager.games.GameManager;
+import org.braekpo1nt.mctmanager.games.game.enums.GameType;
 import org.braekpo1nt.mctmanager.games.game.spleef.config.SpleefConfig;
 import org.braekpo1nt.mctmanager.games.game.spleef.powerup.PowerupManager;
 import org.braekpo1nt.mctmanager.games.utils.GameManagerUtils;
 import org.braekpo1nt.mctmanager.games.utils.ParticipantInitializer;
+import org.braekpo1nt.mctmanager.games.utils.ParticipantRegistry;
 import org.braekpo1nt.mctmanager.ui.sidebar.Sidebar;
 import org.braekpo1nt.mctmanager.ui.timer.Timer;
 import org.braekpo1nt.mctmanager.ui.timer.TimerManager;
@@ -24,7 +26,6 @@ import org.bukkit.damage.DamageType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.block.BlockBreakEvent;
@@ -39,6 +40,7 @@ import org.bukkit.util.BoundingBox;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public class SpleefRound implements Listener {
     private final Main plugin;
@@ -47,7 +49,7 @@ public class SpleefRound implements Listener {
     private final Sidebar adminSidebar;
     private final Random random = new Random();
     private SpleefConfig config;
-    private List<Player> participants = new ArrayList<>();
+    private ParticipantRegistry participants = new ParticipantRegistry();
     private Map<UUID, Boolean> participantsAlive;
     private boolean spleefHasStarted = false;
     private boolean roundActive = false;
@@ -57,6 +59,10 @@ public class SpleefRound implements Listener {
     private boolean descriptionShowing = false;
     private boolean firstRound = false;
     private final TimerManager timerManager;
+    /**
+     * completed once the layer stencil has been replaced for this round
+     */
+    private CompletableFuture<Void> layersPlaced = CompletableFuture.completedFuture(null);
     
     public SpleefRound(Main plugin, GameManager gameManager, SpleefGame spleefGame, SpleefConfig config, Sidebar sidebar, Sidebar adminSidebar) {
         this.plugin = plugin;
@@ -77,10 +83,11 @@ public class SpleefRound implements Listener {
     }
     
     public void start(List<Player> newParticipants) {
-        this.participants = new ArrayList<>(newParticipants.size());
+        this.participants = new ParticipantRegistry(newParticipants.size());
         participantsAlive = new HashMap<>(newParticipants.size());
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getEventRouter().register(GameType.SPLEEF, this);
         gameManager.getTimerManager().register(timerManager);
+        layersPlaced = CompletableFuture.completedFuture(null);
         placeLayers(true);
         for (Player participant : newParticipants) {
             initializeParticipant(participant);
@@ -141,7 +148,7 @@ public class SpleefRound implements Listener {
         roundActive = false;
         firstRound = false;
         descriptionShowing = false;
-        HandlerList.unregisterAll(this);
+        plugin.getEventRouter().unregister(this);
         decayManager.stop();
         powerupManager.stop();
         placeLayers(false);
@@ -380,19 +387,36 @@ public class SpleefRound implements Listener {
                 .withSidebar(adminSidebar, "timer")
                 .sidebarPrefix(Component.text("Starting: "))
                 .titleAudience(Audience.audience(participants))
-                .onCompletion(this::startSpleef)
+                .onCompletion(this::startSpleefWhenLayersArePlaced)
                 .build());
     }
     
+    /**
+     * The layer stencil is replaced over multiple ticks, so don't start until it's done
+     */
+    private void startSpleefWhenLayersArePlaced() {
+        CompletableFuture<Void> placed = layersPlaced;
+        placed.thenRun(() -> {
+            if (!roundActive || placed != layersPlaced) {
+                // the round was stopped while the layers were being placed
+                return;
+            }
+            startSpleef();
+        });
+    }
+    
     private void placeLayers(boolean replaceStencil) {
         for (int i = 0; i < config.getStructures().size(); i++) {
             Structure layer = config.getStructures().get(i);
             layer.place(config.getStructureOrigins().get(i), true, StructureRotation.NONE, Mirror.NONE, 0, 1, random);
         }
         if (replaceStencil && config.getStencilBlock() != null) {
+            List<Runnable> steps = new ArrayList<>();
             for (BoundingBox layerArea : config.getDecayLayers()) {
-                BlockPlacementUtils.createCubeReplace(config.getWorld(), layerArea, config.getStencilBlock(), config.getLayerBlock());
+                steps.addAll(BlockPlacementUtils.createCubeReplaceSteps(config.getWorld(), layerArea, config.getStencilBlock(), config.getLayerBlock()));
             }
+            // spread across multiple ticks during the round starting countdown
+            layersPlaced = plugin.getBlockPlacementQueue().submit("Spleef layer stencil", steps);
         }
     }
     
@@ -2,6 +2,7 @@ package org.braekpo1nt.mctmanager.games.game.spleef.powerup;
 
 import net.kyori.adventure.text.Component;
 import org.braekpo1nt.mctmanager.Main;
+import org.braekpo1nt.mctmanager.games.game.enums.GameType;
 import org.braekpo1nt.mctmanager.games.game.spleef.config.SpleefConfig;
 import org.braekpo1nt.mctmanager.utils.MathUtils;
 import org.bukkit.Bukkit;
@@ -11,7 +12,6 @@ import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Snowball;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.ProjectileHitEvent;
 import org.bukkit.event.entity.ProjectileLaunchEvent;
@@ -101,7 +101,7 @@ public class PowerupManager implements Listener {
     }
     
     public void start(List<Player> newParticipants) {
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getEventRouter().register(GameType.SPLEEF, this);
         participants = new ArrayList<>(newParticipants.size());
         lastPowerupTimestamps = new HashMap<>(newParticipants.size());
         setUpPowerups();
@@ -123,7 +123,7 @@ public class PowerupManager implements Listener {
     }
     
     public void stop() {
-        HandlerList.unregisterAll(this);
+        plugin.getEventRouter().unregister(this);
         cancelAllTasks();
         for (Player participant : participants) {
             resetParticipant(participant);
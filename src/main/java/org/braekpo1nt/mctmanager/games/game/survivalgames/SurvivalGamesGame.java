@@ -16,6 +16,8 @@ import org.braekpo1nt.mctmanager.games.game.survivalgames.config.SurvivalGamesCo
 import org.braekpo1nt.mctmanager.games.game.survivalgames.states.DescriptionState;
 import org.braekpo1nt.mctmanager.games.game.survivalgames.states.SurvivalGamesState;
 import org.braekpo1nt.mctmanager.games.utils.ParticipantInitializer;
+import org.braekpo1nt.mctmanager.games.utils.ParticipantRegistry;
+import org.braekpo1nt.mctmanager.geometry.BlockPositionSet;
 import org.braekpo1nt.mctmanager.ui.glow.GlowManager;
 import org.braekpo1nt.mctmanager.ui.sidebar.Headerable;
 import org.braekpo1nt.mctmanager.ui.sidebar.KeyLine;
@@ -24,13 +26,13 @@ import org.braekpo1nt.mctmanager.ui.timer.TimerManager;
 import org.braekpo1nt.mctmanager.ui.topbar.ManyBattleTopbar;
 import org.braekpo1nt.mctmanager.utils.BlockPlacementUtils;
 import org.braekpo1nt.mctmanager.utils.MathUtils;
+import org.braekpo1nt.mctmanager.utils.WeightedTable;
 import org.bukkit.*;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
 import org.bukkit.block.Chest;
 import org.bukkit.entity.*;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
@@ -52,6 +54,10 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.logging.Level;
 
 /**
  * The context for the state pattern
@@ -59,6 +65,11 @@ import java.util.*;
 @Data
 public class SurvivalGamesGame implements MCTGame, Configurable, Listener, Headerable {
     
+    /**
+     * The number of chunks loaded at a time when clearing containers
+     */
+    private static final int CHUNK_LOAD_BATCH_SIZE = 16;
+    
     private @Nullable SurvivalGamesState state;
     
     private final Main plugin;
@@ -73,7 +84,7 @@ public class SurvivalGamesGame implements MCTGame, Configurable, Listener, Heade
     private Sidebar sidebar;
     private Sidebar adminSidebar;
     private SurvivalGamesConfig config;
-    public List<Player> participants;
+    public ParticipantRegistry participants;
     private List<Player> admins = new ArrayList<>();
     private WorldBorder worldBorder;
     private List<UUID> livingPlayers = new ArrayList<>();
@@ -85,6 +96,11 @@ public class SurvivalGamesGame implements MCTGame, Configurable, Listener, Heade
     private Map<UUID, Integer> killCounts = new HashMap<>();
     private Map<UUID, Integer> deathCounts = new HashMap<>();
     private Component title = baseTitle;
+    /**
+     * incremented every time the chests are filled or cleared, so that a fill which is
+     * still being prepared can tell it has been superseded
+     */
+    private int chestFillGeneration = 0;
     
     public SurvivalGamesGame(Main plugin, GameManager gameManager) {
         this.plugin = plugin;
@@ -123,7 +139,7 @@ public class SurvivalGamesGame implements MCTGame, Configurable, Listener, Heade
     
     @Override
     public void start(List<Player> newParticipants, List<Player> newAdmins) {
-        this.participants = new ArrayList<>(newParticipants.size());
+        this.participants = new ParticipantRegistry(newParticipants.size());
         livingPlayers = new ArrayList<>(newParticipants.size());
         deadPlayers = new ArrayList<>();
         livingMembers = new HashMap<>(gameManager.getTeamIds(newParticipants).size());
@@ -134,7 +150,7 @@ public class SurvivalGamesGame implements MCTGame, Configurable, Listener, Heade
         adminSidebar = gameManager.createSidebar();
         List<String> teams = gameManager.getTeamIds(newParticipants);
         setUpTopbarTeams(teams);
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getEventRouter().register(getType(), this);
         glowManager.registerListeners();
         gameManager.getTimerManager().register(timerManager);
         fillAllChests();
@@ -152,23 +168,18 @@ public class SurvivalGamesGame implements MCTGame, Configurable, Listener, Heade
     }
     
     /**
-     * Set up all the appropriate glowing effects for the start of the game
+     * Set up all the appropriate glowing effects for the start of the game.
+     * Each team is a glow group, which the admins observe.
      */
     private void initializeGlowManager() {
+        for (Player admin : admins) {
+            glowManager.addGroupObserver(admin.getUniqueId());
+        }
+        Map<UUID, String> teamIds = new HashMap<>(participants.size());
         for (Player participant : participants) {
-            for (Player target : participants) {
-                if (!participant.equals(target)) {
-                    String teamId = gameManager.getTeamId(participant.getUniqueId());
-                    String targetTeamId = gameManager.getTeamId(target.getUniqueId());
-                    if (teamId.equals(targetTeamId)) {
-                        glowManager.showGlowing(participant, target);
-                    }
-                }
-            }
-            for (Player admin : admins) {
-                glowManager.showGlowing(admin, participant);
-            }
+            teamIds.put(participant.getUniqueId(), gameManager.getTeamId(participant.getUniqueId()));
         }
+        glowManager.joinGroups(teamIds);
     }
     
     /**
@@ -177,19 +188,7 @@ public class SurvivalGamesGame implements MCTGame, Configurable, Listener, Heade
      * @param participant the participant to show their teammates to
      */
     public void initializeGlowing(Player participant) {
-        String teamId = gameManager.getTeamId(participant.getUniqueId());
-        for (Player other : participants) {
-            if (!other.equals(participant)) {
-                String otherTeamId = gameManager.getTeamId(other.getUniqueId());
-                if (teamId.equals(otherTeamId)) {
-                    glowManager.showGlowing(participant, other);
-                    glowManager.showGlowing(other, participant);
-                }
-            }
-        }
-        for (Player admin : admins) {
-            glowManager.showGlowing(admin, participant);
-        }
+        glowManager.joinGroup(participant.getUniqueId(), gameManager.getTeamId(participant.getUniqueId()));
     }
     
     public void initializeParticipant(Player participant) {
@@ -229,7 +228,7 @@ public class SurvivalGamesGame implements MCTGame, Configurable, Listener, Heade
     
     @Override
     public void stop() {
-        HandlerList.unregisterAll(this);
+        plugin.getEventRouter().unregister(this);
         glowManager.unregisterListeners();
         cancelAllTasks();
         clearFloorItems();
@@ -284,9 +283,7 @@ public class SurvivalGamesGame implements MCTGame, Configurable, Listener, Heade
     public void onAdminJoin(Player admin) {
         initializeAdmin(admin);
         adminSidebar.updateLine(admin.getUniqueId(), "title", title);
-        for (Player participant : participants) {
-            glowManager.showGlowing(admin.getUniqueId(), participant.getUniqueId());
-        }
+        glowManager.addGroupObserver(admin.getUniqueId());
     }
     
     private void initializeAdmin(Player admin) {
@@ -324,39 +321,106 @@ public class SurvivalGamesGame implements MCTGame, Configurable, Listener, Heade
     }
     
     /**
-     * Fill all chests in the survivalgames world, map chests and spawn chests
+     * A chest to fill, and the loot table to fill it with
+     */
+    private record ChestAssignment(@NotNull Vector coords, @NotNull LootTable lootTable) {
+    }
+    
+    /**
+     * Fill all chests in the survivalgames world, map chests and spawn chests.
+     * <br>
+     * The loot table of every map chest is rolled off the main thread. The chests are then
+     * placed and filled one chunk at a time through the
+     * {@link org.braekpo1nt.mctmanager.utils.BlockPlacementQueue}, and the admins are told
+     * how far along it is.
      */
     private void fillAllChests() {
-        fillSpawnChests();
-        fillMapChests();
+        int generation = ++chestFillGeneration;
+        World world = config.getWorld();
+        List<Vector> spawnChestCoords = config.getSpawnChestCoords();
+        List<Vector> mapChestCoords = config.getMapChestCoords();
+        LootTable spawnLootTable = config.getSpawnLootTable();
+        WeightedTable<LootTable> lootTables = new WeightedTable<>(config.getWeightedLootTables());
+        Executor async = task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+        Executor sync = task -> Bukkit.getScheduler().runTask(plugin, task);
+        CompletableFuture.supplyAsync(() -> {
+            List<ChestAssignment> assignments = new ArrayList<>(spawnChestCoords.size() + mapChestCoords.size());
+            for (Vector coords : spawnChestCoords) {
+                assignments.add(new ChestAssignment(coords, spawnLootTable));
+            }
+            for (Vector coords : mapChestCoords) {
+                assignments.add(new ChestAssignment(coords, lootTables.next()));
+            }
+            return groupByChunk(assignments, ChestAssignment::coords);
+        }, async).thenAcceptAsync(chunks -> {
+            if (generation != chestFillGeneration) {
+                // the game was stopped before the chests could be filled
+                return;
+            }
+            int chestCount = spawnChestCoords.size() + mapChestCoords.size();
+            gameManager.messageAdmins(Component.text(String.format("Filling %d chests in %d chunks", chestCount, chunks.size()))
+                    .color(NamedTextColor.GRAY));
+            List<Runnable> steps = new ArrayList<>(chunks.size());
+            int[] filledChunks = {0};
+            for (List<ChestAssignment> chunk : chunks) {
+                steps.add(() -> {
+                    for (ChestAssignment assignment : chunk) {
+                        fillChest(world, assignment);
+                    }
+                    filledChunks[0]++;
+                    reportChestFillProgress(filledChunks[0], chunks.size());
+                });
+            }
+            plugin.getBlockPlacementQueue().submit("Survival Games chests", steps);
+        }, sync).exceptionally(throwable -> {
+            Main.logger().log(Level.SEVERE, "Error filling Survival Games chests", throwable);
+            return null;
+        });
     }
     
-    private void fillSpawnChests() {
-        for (org.bukkit.util.Vector coords : config.getSpawnChestCoords()) {
-            Block block = config.getWorld().getBlockAt(coords.getBlockX(), coords.getBlockY(), coords.getBlockZ());
-            block.setType(Material.CHEST);
-            Chest chest = (Chest) block.getState();
-            chest.setLootTable(config.getSpawnLootTable());
-            chest.update();
+    /**
+     * Tells the admins how many chunks of chests have been filled, every quarter of the way
+     * @param filledChunks the number of chunks whose chests have been filled
+     * @param totalChunks the number of chunks with chests to fill
+     */
+    private void reportChestFillProgress(int filledChunks, int totalChunks) {
+        int quarter = filledChunks * 4 / totalChunks;
+        int previousQuarter = (filledChunks - 1) * 4 / totalChunks;
+        if (quarter == previousQuarter) {
+            return;
         }
+        gameManager.messageAdmins(Component.text(String.format("Filled chests in %d/%d chunks (%d%%)", filledChunks, totalChunks, quarter * 25))
+                .color(NamedTextColor.GRAY));
     }
     
-    private void fillMapChests() {
-        for (Vector coords : config.getMapChestCoords()) {
-            Block block = config.getWorld().getBlockAt(coords.getBlockX(), coords.getBlockY(), coords.getBlockZ());
+    /**
+     * Places a chest at the given assignment's coordinates, if there isn't one already,
+     * and gives it the assignment's loot table
+     */
+    private static void fillChest(@NotNull World world, @NotNull ChestAssignment assignment) {
+        Vector coords = assignment.coords();
+        Block block = world.getBlockAt(coords.getBlockX(), coords.getBlockY(), coords.getBlockZ());
+        if (block.getType() != Material.CHEST) {
             block.setType(Material.CHEST);
-            fillMapChest(((Chest) block.getState()));
         }
+        Chest chest = (Chest) block.getState();
+        chest.setLootTable(assignment.lootTable());
+        chest.update();
     }
     
     /**
-     * Fills the given chest with a random loot table
-     * @param chest The chest to fill
+     * @param items the items to group
+     * @param getCoords gets the block coordinates of an item
+     * @return the given items, grouped by the chunk their coordinates are in
      */
-    private void fillMapChest(Chest chest) {
-        LootTable lootTable = MathUtils.getWeightedRandomValue(config.getWeightedLootTables());
-        chest.setLootTable(lootTable);
-        chest.update();
+    private static <T> Collection<List<T>> groupByChunk(@NotNull List<T> items, @NotNull Function<T, Vector> getCoords) {
+        Map<Long, List<T>> chunks = new LinkedHashMap<>();
+        for (T item : items) {
+            Vector coords = getCoords.apply(item);
+            long chunkPosition = BlockPositionSet.pack(coords.getBlockX() >> 4, 0, coords.getBlockZ() >> 4);
+            chunks.computeIfAbsent(chunkPosition, k -> new ArrayList<>()).add(item);
+        }
+        return chunks.values();
     }
     
     public void createPlatformsAndTeleportTeams() {
@@ -502,59 +566,114 @@ public class SurvivalGamesGame implements MCTGame, Configurable, Listener, Heade
         }
     }
     
+    /**
+     * Clears the spawn and map chests one chunk at a time through the
+     * {@link org.braekpo1nt.mctmanager.utils.BlockPlacementQueue}, after any filling of them which was queued
+     */
     private void clearAllChests() {
+        // stop a fill whose loot tables are still being rolled from being queued after this
+        chestFillGeneration++;
+        World world = config.getWorld();
         List<Vector> allChestCoords = new ArrayList<>(config.getSpawnChestCoords());
         allChestCoords.addAll(config.getMapChestCoords());
-        for (Vector coords : allChestCoords) {
-            Block block = config.getWorld().getBlockAt(coords.getBlockX(), coords.getBlockY(), coords.getBlockZ());
-            block.setType(Material.CHEST);
-            Chest chest = (Chest) block.getState();
-            chest.getBlockInventory().clear();
+        List<Runnable> steps = new ArrayList<>();
+        for (List<Vector> chunk : groupByChunk(allChestCoords, Function.identity())) {
+            steps.add(() -> {
+                for (Vector coords : chunk) {
+                    Block block = world.getBlockAt(coords.getBlockX(), coords.getBlockY(), coords.getBlockZ());
+                    if (block.getType() != Material.CHEST) {
+                        block.setType(Material.CHEST);
+                    }
+                    Chest chest = (Chest) block.getState();
+                    chest.getBlockInventory().clear();
+                }
+            });
         }
+        plugin.getBlockPlacementQueue().submit("Survival Games chest clearing", steps);
     }
     
+    /**
+     * Clears the inventories of all the containers in the remove area, if the config says to.
+     * The chunks of the area are loaded asynchronously, and then the containers are cleared
+     * one chunk at a time through the {@link org.braekpo1nt.mctmanager.utils.BlockPlacementQueue},
+     * so clearing a large map doesn't stall the server.
+     * <br>
+     * If the chests are filled again (a new game started) before the chunks finish loading, the
+     * clear is skipped so that it can't empty the new game's chests. If the plugin is disabled,
+     * the containers are cleared right away, because no more tasks can be scheduled.
+     */
     private void clearContainers() {
         if (!config.shouldClearContainers()) {
             return;
         }
         Main.logger().info("Clearing containers");
-        List<Chunk> chunks = getChunksInBoundingBox(config.getWorld(), config.getRemoveArea());
-        int count = 0;
-        for (Chunk chunk : chunks) {
-            Collection<BlockState> blockStates = chunk.getTileEntities(block -> block.getState() instanceof InventoryHolder, false);
-            count += blockStates.size();
-            for (BlockState blockState : blockStates) {
-                ((InventoryHolder) blockState).getInventory().clear();
+        World world = config.getWorld();
+        if (!plugin.isEnabled()) {
+            int count = 0;
+            BlockPositionSet chunkPositions = BlockPlacementUtils.getChunkPositions(config.getRemoveArea());
+            for (int i = 0; i < chunkPositions.size(); i++) {
+                long chunkPosition = chunkPositions.get(i);
+                count += clearInventoryHolders(world.getChunkAt(BlockPositionSet.unpackX(chunkPosition), BlockPositionSet.unpackZ(chunkPosition)));
             }
-        }
-        Main.logger().info(String.format("%s chunks found, %s InventoryHolders", chunks.size(), count));
-    }
-    
-    public static List<Chunk> getChunksInBoundingBox(World world, BoundingBox boundingBox) {
-        List<Chunk> chunksInBoundingBox = new ArrayList<>();
-        
-        int minX = (int) boundingBox.getMinX();
-        int maxX = (int) boundingBox.getMaxX();
-        int minZ = (int) boundingBox.getMinZ();
-        int maxZ = (int) boundingBox.getMaxZ();
-        
-        for (int x = minX; x <= maxX; x += 16) {
-            for (int z = minZ; z <= maxZ; z += 16) {
-                Chunk chunk = world.getChunkAt(x >> 4, z >> 4);
-                if (!chunksInBoundingBox.contains(chunk)) {
-                    chunksInBoundingBox.add(chunk);
-                }
+            Main.logger().info(String.format("%s chunks found, %s InventoryHolders", chunkPositions.size(), count));
+            return;
+        }
+        int generation = chestFillGeneration;
+        BlockPlacementUtils.loadChunksAsync(plugin, world, config.getRemoveArea(), CHUNK_LOAD_BATCH_SIZE)
+                .thenAccept(chunks -> {
+                    if (generation != chestFillGeneration) {
+                        for (Chunk chunk : chunks) {
+                            chunk.removePluginChunkTicket(plugin);
+                        }
+                        Main.logger().info("Skipped clearing containers, the chests were filled again");
+                        return;
+                    }
+                    int[] count = {0};
+                    List<Runnable> steps = new ArrayList<>(chunks.size());
+                    for (Chunk chunk : chunks) {
+                        steps.add(() -> {
+                            try {
+                                count[0] += clearInventoryHolders(chunk);
+                            } finally {
+                                chunk.removePluginChunkTicket(plugin);
+                            }
+                        });
+                    }
+                    plugin.getBlockPlacementQueue().submit("Survival Games containers", steps)
+                            .thenRun(() -> Main.logger().info(String.format("%s chunks found, %s InventoryHolders", chunks.size(), count[0])));
+                })
+                .exceptionally(throwable -> {
+                    Main.logger().log(Level.SEVERE, "Error loading the chunks to clear containers in", throwable);
+                    return null;
+                });
+    }
+    
+    /**
+     * @param chunk the chunk to clear the containers in
+     * @return the number of containers cleared
+     */
+    private static int clearInventoryHolders(@NotNull Chunk chunk) {
+        int count = 0;
+        for (BlockState blockState : chunk.getTileEntities(false)) {
+            if (blockState instanceof InventoryHolder inventoryHolder) {
+                inventoryHolder.getInventory().clear();
+                count++;
             }
         }
-        
-        return chunksInBoundingBox;
+        return count;
     }
     
-    public void removePlatforms() {
+    /**
+     * Queues the removal of the platforms, which is spread across multiple ticks
+     * @return a future which is completed on the main thread once the platforms are removed
+     */
+    public CompletableFuture<Void> removePlatforms() {
         List<BoundingBox> platformBarriers = config.getPlatformBarriers();
+        List<Runnable> steps = new ArrayList<>();
         for (BoundingBox barrier : platformBarriers) {
-            BlockPlacementUtils.createCube(config.getWorld(), barrier, Material.AIR);
+            steps.addAll(BlockPlacementUtils.createCubeSteps(config.getWorld(), barrier, Material.AIR));
         }
+        return plugin.getBlockPlacementQueue().submit("Survival Games platforms removal", steps);
     }
     
     private void clearSidebar() {
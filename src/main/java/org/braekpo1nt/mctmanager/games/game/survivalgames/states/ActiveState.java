@@ -28,6 +28,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public class ActiveState implements SurvivalGamesState {
     
@@ -59,8 +60,26 @@ public class ActiveState implements SurvivalGamesState {
         this.adminSidebar = context.getAdminSidebar();
         this.topbar = context.getTopbar();
         this.worldBorder = context.getWorldBorder();
-        context.removePlatforms();
-        startGracePeriodTimer();
+        startWhenPlatformsAreRemoved();
+    }
+    
+    /**
+     * The platforms are removed over multiple ticks. The grace period doesn't start until
+     * they're all gone, so that no one loses part of it stuck on their platform.
+     */
+    private void startWhenPlatformsAreRemoved() {
+        CompletableFuture<Void> platformsRemoved = context.removePlatforms();
+        if (platformsRemoved.isDone()) {
+            startGracePeriodTimer();
+            return;
+        }
+        platformsRemoved.thenRun(() -> {
+            if (context.getState() != this) {
+                // the game was stopped while the platforms were being removed
+                return;
+            }
+            startGracePeriodTimer();
+        });
     }
     
     private void startGracePeriodTimer() {
@@ -28,6 +28,16 @@ public class GameState {
     private @NotNull Map<String, MCTTeam> teams = new HashMap<>();
     @Builder.Default
     private @NotNull List<UUID> admins = new ArrayList<>();
+    /**
+     * The sequence of the last {@link GameStateJournal} entry included in this state
+     */
+    private long journalSequence;
+    /**
+     * Identifies the snapshot lineage this state belongs to. Only {@link GameStateJournal}
+     * entries with the same epoch are replayed on top of it. Null until the journal is first
+     * replayed onto this state.
+     */
+    private @Nullable String journalEpoch;
     
     /**
      * Checks if the team with the given team name exists in the game state.
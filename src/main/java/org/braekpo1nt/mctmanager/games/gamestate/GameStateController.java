@@ -10,6 +10,10 @@ import org.braekpo1nt.mctmanager.config.validation.Validator;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 public class GameStateController extends ConfigController<GameStateDTO> {
     
@@ -40,8 +44,28 @@ public class GameStateController extends ConfigController<GameStateDTO> {
      * @param gameState the GameState to save
      */
     public void saveGameState(@NotNull GameState gameState) {
-        GameStateDTO gameStateDTO = GameStateDTO.fromGameState(gameState);
-        saveConfigDTO(gameStateDTO, gameStateFile);
+        saveGameStateDTO(GameStateDTO.fromGameState(gameState));
+    }
+    
+    /**
+     * Saves the given snapshot to storage. The snapshot is written to a temporary file first,
+     * which then replaces gameState.json in a single atomic rename, so that gameState.json
+     * is never left half-written.
+     * @param gameStateDTO the snapshot to save
+     * @throws ConfigIOException if there is an IO error writing or renaming the file
+     */
+    void saveGameStateDTO(@NotNull GameStateDTO gameStateDTO) throws ConfigIOException {
+        File tempFile = new File(gameStateFile.getParentFile(), gameStateFile.getName() + ".tmp");
+        saveConfigDTO(gameStateDTO, tempFile);
+        try {
+            try {
+                Files.move(tempFile.toPath(), gameStateFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), gameStateFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new ConfigIOException(String.format("Error while replacing %s with %s", gameStateFile, tempFile), e);
+        }
     }
     
     @Override
@@ -22,6 +22,16 @@ class GameStateDTO implements Validatable {
     private @Nullable List<OfflineMCTPlayerDTO> offlinePlayers = new ArrayList<>();
     private @Nullable Map<String, MCTTeamDTO> teams = new HashMap<>();
     private @Nullable List<UUID> admins = new ArrayList<>();
+    /**
+     * The sequence of the last journal entry included in this snapshot. 
+     * Journal entries after this are replayed on load. 
+     */
+    private long journalSequence;
+    /**
+     * Identifies which journal entries belong to this snapshot. 
+     * Null if this snapshot was written before journals had epochs. 
+     */
+    private @Nullable String journalEpoch;
     
     @Override
     public void validate(@NotNull Validator validator) {
@@ -69,6 +79,8 @@ class GameStateDTO implements Validatable {
                 .admins(this.admins != null 
                         ? this.admins 
                         : new ArrayList<>())
+                .journalSequence(this.journalSequence)
+                .journalEpoch(this.journalEpoch)
                 .build();
     }
     
@@ -77,7 +89,9 @@ class GameStateDTO implements Validatable {
                 MCTPlayerDTO.fromMCTPlayers(gameState.getPlayers()),
                 OfflineMCTPlayerDTO.fromOfflineMCTPlayers(gameState.getOfflinePlayers()),
                 MCTTeamDTO.fromMCTTeams(gameState.getTeams()),
-                gameState.getAdmins()
+                new ArrayList<>(gameState.getAdmins()),
+                gameState.getJournalSequence(),
+                gameState.getJournalEpoch()
         );
     }
     
@@ -0,0 +1,422 @@
+package org.braekpo1nt.mctmanager.games.gamestate;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import org.braekpo1nt.mctmanager.Main;
+import org.braekpo1nt.mctmanager.config.exceptions.ConfigIOException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+/**
+ * An append-only log of {@link JournalEntry}s stored next to gameState.json.
+ * <br>
+ * Instead of rewriting the entire GameState every time a score changes, each change is
+ * appended as a single line to gameState.journal. Periodically the GameState is compacted
+ * into a new snapshot (gameState.json), at which point the journal is rotated and the
+ * entries the snapshot already contains are discarded.
+ * <br>
+ * The journal is made up of the active file (gameState.journal) and any number of rotated
+ * segments (gameState.journal.&lt;sequence&gt;) which have not yet been discarded because
+ * their snapshot hasn't finished writing. On load, the snapshot is read and every entry
+ * in the segments and the active file with a sequence greater than the snapshot's
+ * {@link GameState#getJournalSequence()} is replayed on top of it.
+ * <br>
+ * Every entry is stamped with the {@link GameState#getJournalEpoch()} of the snapshot it
+ * was appended after, so that entries left over from a different snapshot (e.g. when
+ * gameState.json was deleted or replaced after a crash) are discarded instead of replayed.
+ * <br>
+ * Entries are numbered and serialized on the caller's thread, but the files are only ever
+ * touched by a single writer thread, in the order the changes were made. Entries appended
+ * while the writer is busy are written together and flushed once, so a burst of score
+ * changes costs one flush instead of one per change. Errors writing the journal are logged
+ * rather than thrown, since the change has already been made in memory and will be included
+ * in the next snapshot.
+ */
+class GameStateJournal {
+    
+    /**
+     * The number of entries which can be appended to the journal before
+     * the GameState should be compacted into a new snapshot
+     */
+    static final int COMPACTION_THRESHOLD = 500;
+    private static final String JOURNAL_FILE_NAME = "gameState.journal";
+    /**
+     * How long to wait for queued writes to finish before giving up
+     */
+    private static final long WAIT_TIMEOUT_MILLIS = 10_000L;
+    
+    /**
+     * A change to the journal files, run on the writer thread
+     */
+    private interface FileOperation {
+        void run() throws IOException;
+    }
+    
+    private final File configDirectory;
+    private final File journalFile;
+    private final Gson gson;
+    private final ExecutorService executor;
+    private final Object lock = new Object();
+    /**
+     * The operations which have yet to be run by the writer thread, in order
+     */
+    private List<FileOperation> pending = new ArrayList<>();
+    /**
+     * True while the writer thread is draining pending operations
+     */
+    private boolean writing;
+    /**
+     * Only used by the writer thread (or the caller's thread, once the writer thread is shut down)
+     */
+    private @Nullable Writer writer;
+    /**
+     * The sequence of the most recently appended entry
+     */
+    private long sequence;
+    /**
+     * The epoch of the snapshot the appended entries belong to. Null until {@link #replay(GameState)}
+     * is called, and entries appended before then are never replayed.
+     */
+    private @Nullable String epoch;
+    private int entriesSinceRotation;
+    
+    GameStateJournal(@NotNull File configDirectory, @NotNull Gson gson) {
+        this.configDirectory = configDirectory;
+        this.journalFile = new File(configDirectory, JOURNAL_FILE_NAME);
+        this.gson = gson;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MCTManager-GameState-Journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Append the given entry to the journal. The entry is assigned the next sequence number
+     * and serialized immediately, and written to the file by the writer thread.
+     * @param entry the entry to append. Should already have been applied to the GameState.
+     */
+    void append(@NotNull JournalEntry entry) {
+        entry.setSequence(sequence + 1);
+        entry.setEpoch(epoch);
+        String line = gson.toJson(entry);
+        sequence++;
+        entriesSinceRotation++;
+        enqueue(() -> {
+            if (writer == null) {
+                writer = openWriter();
+            }
+            writer.write(line);
+            writer.write('\n');
+        });
+    }
+    
+    /**
+     * Queue the given operation for the writer thread. If the writer thread has been shut down,
+     * the operation is run on the caller's thread instead.
+     * @param operation the operation
+     */
+    private void enqueue(@NotNull FileOperation operation) {
+        if (executor.isShutdown()) {
+            run(operation);
+            flushWriter();
+            return;
+        }
+        synchronized (lock) {
+            pending.add(operation);
+            if (writing) {
+                return;
+            }
+            writing = true;
+        }
+        executor.execute(this::drain);
+    }
+    
+    private void drain() {
+        while (true) {
+            List<FileOperation> batch;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    writing = false;
+                    lock.notifyAll();
+                    return;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+            }
+            for (FileOperation operation : batch) {
+                run(operation);
+            }
+            // one flush for everything that was queued while the last batch was being written
+            flushWriter();
+        }
+    }
+    
+    private void run(@NotNull FileOperation operation) {
+        try {
+            operation.run();
+        } catch (IOException e) {
+            Main.logger().log(Level.SEVERE, String.format("Error while writing %s, changes since the last snapshot are only kept in memory until the next one", journalFile), e);
+            closeWriter();
+        }
+    }
+    
+    private void flushWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            Main.logger().log(Level.SEVERE, String.format("Error while writing %s, changes since the last snapshot are only kept in memory until the next one", journalFile), e);
+            closeWriter();
+        }
+    }
+    
+    /**
+     * Block until every queued operation has been run, or the timeout has passed
+     * @return true if everything was run, false if the timeout passed first
+     */
+    private boolean waitForWrites() {
+        long deadline = System.currentTimeMillis() + WAIT_TIMEOUT_MILLIS;
+        synchronized (lock) {
+            while (writing) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    lock.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
+    private @NotNull Writer openWriter() throws IOException {
+        if (!configDirectory.exists() && !configDirectory.mkdirs()) {
+            throw new IOException("Failed to create directory: " + configDirectory.getAbsolutePath());
+        }
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(journalFile, true), StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * @return true if enough entries have been appended since the last rotation that
+     * the GameState should be compacted into a new snapshot
+     */
+    boolean shouldCompact() {
+        return entriesSinceRotation >= COMPACTION_THRESHOLD;
+    }
+    
+    /**
+     * @return the sequence of the most recently appended entry
+     */
+    long getSequence() {
+        return sequence;
+    }
+    
+    /**
+     * Queues the rotation of the active journal file to a segment named after the current
+     * sequence, so that new entries are appended to a fresh file. This should be called
+     * at the same moment the snapshot is taken, and the snapshot should record the returned
+     * sequence. The rotation happens after every entry appended before this call is written.
+     * @return the sequence of the last entry included in the rotated segment
+     */
+    long rotate() {
+        entriesSinceRotation = 0;
+        long rotatedSequence = sequence;
+        enqueue(() -> {
+            closeWriter();
+            if (!journalFile.exists() || journalFile.length() == 0) {
+                return;
+            }
+            File segment = new File(configDirectory, JOURNAL_FILE_NAME + "." + rotatedSequence);
+            if (segment.exists()) {
+                // nothing valid was appended since that segment was rotated, 
+                // so the active file can only hold the remains of a torn write
+                if (!journalFile.delete()) {
+                    throw new IOException(String.format("Unable to delete %s", journalFile));
+                }
+            } else if (!journalFile.renameTo(segment)) {
+                throw new IOException(String.format("Unable to rotate %s to %s", journalFile, segment));
+            }
+        });
+        return rotatedSequence;
+    }
+    
+    /**
+     * Queue the deletion of every rotated segment whose entries are all included in a snapshot
+     * that has been successfully written. Can be called from any thread.
+     * @param snapshotSequence the {@link GameState#getJournalSequence()} of the snapshot that was written
+     */
+    void discardThrough(long snapshotSequence) {
+        enqueue(() -> {
+            for (File segment : getSegments()) {
+                if (getSegmentSequence(segment) <= snapshotSequence && !segment.delete()) {
+                    Main.logger().warning(String.format("Unable to delete journal segment %s", segment));
+                }
+            }
+        });
+    }
+    
+    /**
+     * Replay every entry which belongs to the given GameState's snapshot and is not yet
+     * included in it on top of it. After this, new entries will continue from the highest
+     * sequence found, and belong to the GameState's epoch.
+     * <br>
+     * If the GameState has no epoch (e.g. gameState.json didn't exist), it is given a new one,
+     * so no existing entries belong to it. Files whose entries all belong to a different
+     * snapshot are deleted, with a warning.
+     * @param gameState the GameState loaded from the most recent snapshot
+     * @return the number of entries which were replayed
+     * @throws ConfigIOException if there is an error reading the journal, or the writer
+     * thread didn't finish writing in time
+     */
+    int replay(@NotNull GameState gameState) throws ConfigIOException {
+        if (!close()) {
+            throw new ConfigIOException(String.format("Timed out waiting for %s to finish writing", journalFile));
+        }
+        if (gameState.getJournalEpoch() == null) {
+            gameState.setJournalEpoch(UUID.randomUUID().toString());
+        }
+        epoch = gameState.getJournalEpoch();
+        sequence = gameState.getJournalSequence();
+        int replayed = 0;
+        int discarded = 0;
+        List<File> staleFiles = new ArrayList<>();
+        List<File> files = new ArrayList<>(getSegments());
+        files.add(journalFile);
+        for (File file : files) {
+            if (!file.exists()) {
+                continue;
+            }
+            int matching = 0;
+            int stale = 0;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+                String line;
+                int lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    JournalEntry entry;
+                    try {
+                        entry = gson.fromJson(line, JournalEntry.class);
+                    } catch (JsonParseException e) {
+                        // a torn write from a crash can only be the last line, nothing after it is trustworthy
+                        Main.logger().log(Level.WARNING, String.format("Skipping the rest of %s after unreadable entry on line %d", file, lineNumber), e);
+                        break;
+                    }
+                    if (entry == null) {
+                        continue;
+                    }
+                    if (!epoch.equals(entry.getEpoch())) {
+                        stale++;
+                        continue;
+                    }
+                    matching++;
+                    if (entry.getSequence() <= gameState.getJournalSequence()) {
+                        continue;
+                    }
+                    entry.apply(gameState);
+                    sequence = Math.max(sequence, entry.getSequence());
+                    replayed++;
+                }
+            } catch (IOException e) {
+                throw new ConfigIOException(String.format("Error while reading %s", file), e);
+            }
+            discarded += stale;
+            if (stale > 0 && matching == 0) {
+                staleFiles.add(file);
+            }
+        }
+        if (discarded > 0) {
+            Main.logger().warning(String.format("Discarded %d game state journal entries which don't belong to the loaded gameState.json", discarded));
+        }
+        for (File staleFile : staleFiles) {
+            if (!staleFile.delete()) {
+                Main.logger().warning(String.format("Unable to delete journal file %s", staleFile));
+            }
+        }
+        entriesSinceRotation = replayed;
+        return replayed;
+    }
+    
+    /**
+     * Wait for everything queued to be written, then close the active journal file,
+     * if it is open. The next append will re-open it.
+     * @return true if everything was written, false if the writer thread didn't finish in time
+     */
+    boolean close() {
+        enqueue(this::closeWriter);
+        return waitForWrites();
+    }
+    
+    /**
+     * Close the active journal file, then stop the writer thread. Any changes
+     * after this are written on the caller's thread.
+     */
+    void shutdown() {
+        if (!close()) {
+            Main.logger().severe(String.format("Timed out waiting for %s to finish writing", journalFile));
+        }
+        executor.shutdown();
+    }
+    
+    private void closeWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            Main.logger().log(Level.SEVERE, String.format("Error while closing %s", journalFile), e);
+        } finally {
+            writer = null;
+        }
+    }
+    
+    /**
+     * @return the rotated segments of the journal, in the order they were written
+     */
+    private @NotNull List<File> getSegments() {
+        File[] segments = configDirectory.listFiles((dir, name) ->
+                name.startsWith(JOURNAL_FILE_NAME + ".") && getSegmentSequence(name) >= 0);
+        if (segments == null) {
+            return new ArrayList<>();
+        }
+        List<File> result = new ArrayList<>(List.of(segments));
+        result.sort(Comparator.comparingLong(GameStateJournal::getSegmentSequence));
+        return result;
+    }
+    
+    private static long getSegmentSequence(@NotNull File segment) {
+        return getSegmentSequence(segment.getName());
+    }
+    
+    /**
+     * @param name the name of a journal segment file
+     * @return the sequence the given segment ends at, or -1 if the name is not a segment
+     */
+    private static long getSegmentSequence(@NotNull String name) {
+        try {
+            return Long.parseLong(name.substring(JOURNAL_FILE_NAME.length() + 1));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+}
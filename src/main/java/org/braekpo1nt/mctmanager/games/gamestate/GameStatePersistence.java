@@ -0,0 +1,189 @@
+package org.braekpo1nt.mctmanager.games.gamestate;
+
+import org.braekpo1nt.mctmanager.Main;
+import org.braekpo1nt.mctmanager.config.exceptions.ConfigException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * The single writer of gameState.json.
+ * <br>
+ * Snapshots of the GameState are taken on the main thread (so the GameState can't be modified
+ * while it is being serialized) and handed to this, which writes them on a dedicated thread.
+ * At most one write is in flight at a time. If more snapshots are submitted while a write is
+ * in flight, only the newest one is kept, since it supersedes all the others.
+ */
+class GameStatePersistence {
+    
+    private record PendingSave(@NotNull GameStateDTO snapshot, @NotNull Runnable onWritten) {
+    }
+    
+    private final GameStateController gameStateController;
+    private final ExecutorService executor;
+    private final Object lock = new Object();
+    /**
+     * The newest snapshot which has yet to be written. Null if there is nothing to write.
+     */
+    private @Nullable PendingSave pending;
+    /**
+     * True while the writer thread is draining pending saves
+     */
+    private boolean writing;
+    
+    // monitoring
+    private long completedSaves;
+    private long coalescedSaves;
+    private long failedSaves;
+    private long lastSaveNanos;
+    private long totalSaveNanos;
+    private long maxSaveNanos;
+    
+    GameStatePersistence(@NotNull GameStateController gameStateController) {
+        this.gameStateController = gameStateController;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MCTManager-GameState-Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Queue the given snapshot to be written. If a write is already in flight, this
+     * replaces any snapshot that is still waiting to be written.
+     * @param snapshot the snapshot to write. Must not be modified after it is submitted.
+     * @param onWritten called on the writer thread after the snapshot has been successfully written.
+     *                  Not called if the snapshot is superseded before it can be written.
+     */
+    void submit(@NotNull GameStateDTO snapshot, @NotNull Runnable onWritten) {
+        if (executor.isShutdown()) {
+            // nothing is left to hand the write off to, so do it on the caller's thread
+            write(new PendingSave(snapshot, onWritten));
+            return;
+        }
+        synchronized (lock) {
+            if (pending != null) {
+                coalescedSaves++;
+            }
+            pending = new PendingSave(snapshot, onWritten);
+            if (writing) {
+                return;
+            }
+            writing = true;
+        }
+        executor.execute(this::drain);
+    }
+    
+    private void drain() {
+        while (true) {
+            PendingSave save;
+            synchronized (lock) {
+                save = pending;
+                pending = null;
+                if (save == null) {
+                    writing = false;
+                    lock.notifyAll();
+                    return;
+                }
+            }
+            write(save);
+        }
+    }
+    
+    private void write(@NotNull PendingSave save) {
+        long start = System.nanoTime();
+        try {
+            gameStateController.saveGameStateDTO(save.snapshot());
+        } catch (ConfigException e) {
+            synchronized (lock) {
+                failedSaves++;
+            }
+            Main.logger().log(Level.SEVERE, "Error while saving game state", e);
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        synchronized (lock) {
+            completedSaves++;
+            lastSaveNanos = elapsed;
+            totalSaveNanos += elapsed;
+            maxSaveNanos = Math.max(maxSaveNanos, elapsed);
+        }
+        save.onWritten().run();
+    }
+    
+    /**
+     * Block until every submitted snapshot has been written, or the timeout has passed.
+     * @param timeoutMillis the maximum number of milliseconds to wait
+     * @return true if everything was written, false if the timeout passed first
+     */
+    boolean flush(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (lock) {
+            while (writing) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    lock.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * Write everything that is still queued, then stop the writer thread.
+     * @param timeoutMillis the maximum number of milliseconds to wait for queued saves
+     */
+    void shutdown(long timeoutMillis) {
+        if (!flush(timeoutMillis)) {
+            Main.logger().severe("Timed out waiting for the game state to finish saving");
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * @return the number of saves which are waiting to be written, including the one in flight
+     */
+    int getQueueDepth() {
+        synchronized (lock) {
+            if (!writing) {
+                return 0;
+            }
+            return pending != null ? 2 : 1;
+        }
+    }
+    
+    /**
+     * @return an immutable copy of the current save statistics
+     */
+    @NotNull GameStateStorageUtil.SaveStats getStats() {
+        synchronized (lock) {
+            return new GameStateStorageUtil.SaveStats(
+                    getQueueDepth(),
+                    completedSaves,
+                    coalescedSaves,
+                    failedSaves,
+                    lastSaveNanos / 1_000_000.0,
+                    completedSaves > 0 ? (totalSaveNanos / 1_000_000.0) / completedSaves : 0.0,
+                    maxSaveNanos / 1_000_000.0
+            );
+        }
+    }
+}
@@ -15,33 +15,111 @@ import org.bukkit.scoreboard.Team;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
 import java.util.*;
 import java.util.logging.Logger;
 
 /**
  * Handles the CRUD operations for storing GameState objects
  * keeps the most recently loaded GameState in memory so that each call to it doesn't need to be a file IO operation
+ * <br>
+ * Every change to the GameState is appended to the {@link GameStateJournal} rather than rewriting
+ * the entire gameState.json. The GameState is compacted into a new snapshot every
+ * {@link GameStateJournal#COMPACTION_THRESHOLD} changes, and whenever {@link #saveGameState()} is called.
  */
 public class GameStateStorageUtil {
     
+    /**
+     * How long to wait for queued snapshots to be written before giving up
+     */
+    private static final long FLUSH_TIMEOUT_MILLIS = 10_000L;
+    
+    /**
+     * Statistics about the writing of gameState.json snapshots, for monitoring
+     * @param queueDepth the number of snapshots waiting to be written, including the one being written
+     * @param completedSaves the number of snapshots which have been written
+     * @param coalescedSaves the number of snapshots which were superseded before they could be written
+     * @param failedSaves the number of snapshots which failed to be written
+     * @param lastSaveMillis how long the most recent write took
+     * @param averageSaveMillis the average time a write has taken
+     * @param maxSaveMillis the longest time a write has taken
+     */
+    public record SaveStats(
+            int queueDepth, 
+            long completedSaves, 
+            long coalescedSaves, 
+            long failedSaves, 
+            double lastSaveMillis, 
+            double averageSaveMillis, 
+            double maxSaveMillis) {
+    }
+    
     private final Logger LOGGER;
     private final GameStateController gameStateController;
-    protected GameState gameState = new GameState(new HashMap<>(), new HashMap<>(), new HashMap<>(), new ArrayList<>());
+    private final GameStateJournal journal;
+    private final GameStatePersistence persistence;
+    protected GameState gameState = new GameState(new HashMap<>(), new HashMap<>(), new HashMap<>(), new ArrayList<>(), 0, null);
     
     public GameStateStorageUtil(Main plugin) {
+        this(plugin, plugin.getDataFolder());
+    }
+    
+    /**
+     * @param plugin the plugin
+     * @param configDirectory the directory to store gameState.json and its journal in
+     */
+    protected GameStateStorageUtil(Main plugin, File configDirectory) {
         this.LOGGER = plugin.getLogger();
-        this.gameStateController = new GameStateController(plugin.getDataFolder());
+        this.gameStateController = new GameStateController(configDirectory);
+        this.journal = new GameStateJournal(configDirectory, Main.GSON);
+        this.persistence = new GameStatePersistence(gameStateController);
     }
     
     /**
-     * Save the GameState to storage
-     * @throws ConfigIOException if there is a problem
-     * - creating a new game state file
-     * - writing to the game state file
-     * - converting the game state to json
+     * Save the GameState to storage, compacting the journal into a new snapshot. 
+     * The snapshot is taken immediately, but written to the file asynchronously. 
+     * Use {@link #shutdown()} to make sure it has been written. 
+     * Problems writing the snapshot or rotating the journal are logged by the writer 
+     * threads, and the journal is kept so no changes are lost.
+     */
+    public void saveGameState() {
+        long journalSequence = journal.rotate();
+        gameState.setJournalSequence(journalSequence);
+        GameStateDTO snapshot = GameStateDTO.fromGameState(gameState);
+        persistence.submit(snapshot, () -> journal.discardThrough(journalSequence));
+    }
+    
+    /**
+     * Write any queued snapshots, then stop the writer thread. Any saves after
+     * this will be written synchronously. 
+     */
+    public void shutdown() {
+        persistence.shutdown(FLUSH_TIMEOUT_MILLIS);
+        journal.shutdown();
+    }
+    
+    /**
+     * @return statistics about writing the game state to storage, for monitoring
      */
-    public void saveGameState() throws ConfigIOException {
-        gameStateController.saveGameState(gameState);
+    public @NotNull SaveStats getSaveStats() {
+        return persistence.getStats();
+    }
+    
+    /**
+     * Apply the given entry to the GameState and queue it to be appended to the journal. 
+     * Compacts the journal into a new snapshot if it has grown too large.
+     * <br>
+     * The change is made in memory first, so it takes effect even if writing the journal fails.
+     * Journal errors are logged by the journal's writer thread, and the change is still
+     * saved with the next snapshot.
+     * @param entry the change to make to the GameState
+     */
+    private void record(@NotNull JournalEntry entry) {
+        entry.apply(gameState);
+        journal.append(entry);
+        if (journal.shouldCompact()) {
+            saveGameState();
+        }
     }
     
     /**
@@ -53,8 +131,18 @@ public class GameStateStorageUtil {
      * - parsing the game state from json
      */
     public void loadGameState() throws ConfigIOException, ConfigInvalidException {
+        // a write in flight could otherwise delete journal segments while they are being replayed
+        if (!persistence.flush(FLUSH_TIMEOUT_MILLIS)) {
+            throw new ConfigIOException("Timed out waiting for the previous game state to finish saving");
+        }
         this.gameState = gameStateController.getGameState();
+        int replayed = journal.replay(gameState);
         LOGGER.info("Loaded gameState.json");
+        if (replayed > 0) {
+            LOGGER.info(String.format("Replayed %d entries from the game state journal", replayed));
+        }
+        // start from a clean snapshot so the journal only ever holds changes made since loading
+        saveGameState();
     }
     
     /**
@@ -74,13 +162,11 @@ public class GameStateStorageUtil {
      * @throws ConfigIOException If there is an error saving the game state while adding a new team.
      */
     public void addTeam(String teamId, String teamDisplayName, String color) throws ConfigIOException {
-        gameState.addTeam(teamId, teamDisplayName, color);
-        saveGameState();
+        record(JournalEntry.addTeam(teamId, teamDisplayName, color));
     }
     
     public void removeTeam(String teamId) throws ConfigIOException {
-        gameState.removeTeam(teamId);
-        saveGameState();
+        record(JournalEntry.removeTeam(teamId));
     }
     
     /**
@@ -171,8 +257,7 @@ public class GameStateStorageUtil {
      * @throws ConfigIOException if there is an IO error saving the game state
      */
     public void addNewPlayer(UUID playerToJoin, String teamId) throws ConfigIOException {
-        gameState.addPlayer(playerToJoin, teamId);
-        saveGameState();
+        record(JournalEntry.addPlayer(playerToJoin, teamId));
     }
     
     /**
@@ -183,8 +268,7 @@ public class GameStateStorageUtil {
      * @throws ConfigIOException if there is an IO error saving the game state
      */
     public void addNewOfflineIGN(@NotNull String ign, @Nullable UUID offlineUniqueId, String teamId) {
-        gameState.addOfflinePlayer(ign, offlineUniqueId, teamId);
-        saveGameState();
+        record(JournalEntry.addOfflinePlayer(ign, offlineUniqueId, teamId));
     }
     
     /**
@@ -304,8 +388,7 @@ public class GameStateStorageUtil {
      * @throws ConfigIOException if there is an IO error saving the game state
      */
     public void leavePlayer(UUID playerUniqueId) throws ConfigIOException {
-        gameState.removePlayer(playerUniqueId);
-        saveGameState();
+        record(JournalEntry.removePlayer(playerUniqueId));
     }
     
     /**
@@ -315,8 +398,7 @@ public class GameStateStorageUtil {
      * @throws ConfigIOException if there is an IO error saving the game state
      */
     public void leaveOfflineIGN(@NotNull String ign) {
-        gameState.removeOfflinePlayer(ign);
-        saveGameState();
+        record(JournalEntry.removeOfflinePlayer(ign));
     }
     
     /**
@@ -379,86 +461,71 @@ public class GameStateStorageUtil {
     
     /**
      * Add the given score to the given player
-     * <b>Important:</b> This does not save the game state, it must be done manually with {@link #saveGameState()}
+     * The change is appended to the journal, the full game state is not re-written.
      * @param uuid the uuid of the player to add the score to
      * @param score the score to add
      */
-    public void addScore(UUID uuid, int score) {
-        MCTPlayer player = gameState.getPlayers().get(uuid);
-        player.setScore(player.getScore() + score);
+    public void addScore(UUID uuid, int score) throws ConfigIOException {
+        record(JournalEntry.addPlayerScore(uuid, score));
     }
     
     /**
      * Add the given score to the given players
-     * <b>Important:</b> This does not save the game state, it must be done manually with {@link #saveGameState()}
+     * The change is appended to the journal, the full game state is not re-written.
      * @param uuids the uuids of the players to add the score to
      * @param score the score to add
      */
-    public void addScorePlayers(Collection<UUID> uuids, int score) {
-        for (UUID uuid : uuids) {
-            MCTPlayer player = gameState.getPlayers().get(uuid);
-            player.setScore(player.getScore() + score);
-        }
+    public void addScorePlayers(Collection<UUID> uuids, int score) throws ConfigIOException {
+        record(JournalEntry.addPlayersScore(uuids, score));
     }
     
     /**
      * Add the given score to the given team
-     * <b>Important:</b> This does not save the game state, it must be done manually with {@link #saveGameState()}
+     * The change is appended to the journal, the full game state is not re-written.
      * @param teamId the teamId of the team to add the score to
      * @param score the score to add
      */
-    public void addScore(String teamId, int score) {
-        MCTTeam team = gameState.getTeams().get(teamId);
-        team.setScore(team.getScore() + score);
+    public void addScore(String teamId, int score) throws ConfigIOException {
+        record(JournalEntry.addTeamScore(teamId, score));
     }
     
     /**
      * Adds the given score to each given teamId
-     * <b>Important:</b> This does not save the game state, it must be done manually with {@link #saveGameState()}
+     * The change is appended to the journal, the full game state is not re-written.
      * @param teamIds the teamIds to add the score to
      * @param score the score to add
      */
-    public void addScoreTeams(Collection<String> teamIds, int score) {
-        for (String teamId : teamIds) {
-            MCTTeam team = gameState.getTeams().get(teamId);
-            team.setScore(team.getScore() + score);
-        }
+    public void addScoreTeams(Collection<String> teamIds, int score) throws ConfigIOException {
+        record(JournalEntry.addTeamsScore(teamIds, score));
     }
     
     /**
      * Sets the score of the given player to the given value
-     * <b>Important:</b> This does not save the game state, it must be done manually with {@link #saveGameState()}
+     * The change is appended to the journal, the full game state is not re-written.
      * @param uuid the uuid of the player to set the score of
      * @param score the score to set to
      */
-    public void setScore(UUID uuid, int score) {
-        MCTPlayer player = gameState.getPlayers().get(uuid);
-        player.setScore(score);
+    public void setScore(UUID uuid, int score) throws ConfigIOException {
+        record(JournalEntry.setPlayerScore(uuid, score));
     }
     
     /**
      * Sets the score of the given team to the given value
-     * <b>Important:</b> This does not save the game state, it must be done manually with {@link #saveGameState()}
+     * The change is appended to the journal, the full game state is not re-written.
      * @param teamId the uuid of the team to set the score of
      * @param score the score to set to
      */
-    public void setScore(String teamId, int score) {
-        MCTTeam team = gameState.getTeams().get(teamId);
-        team.setScore(score);
+    public void setScore(String teamId, int score) throws ConfigIOException {
+        record(JournalEntry.setTeamScore(teamId, score));
     }
     
     /**
      * Sets the score of all teams and players to the given value
-     * <b>Important:</b> This does not save the game state, it must be done manually with {@link #saveGameState()}
+     * The change is appended to the journal, the full game state is not re-written.
      * @param score the score to set to
      */
-    public void setAllScores(int score) {
-        for (MCTPlayer player : gameState.getPlayers().values()) {
-            player.setScore(score);
-        }
-        for (MCTTeam team : gameState.getTeams().values()) {
-            team.setScore(score);
-        }
+    public void setAllScores(int score) throws ConfigIOException {
+        record(JournalEntry.setAllScores(score));
     }
     
     public int getTeamScore(String teamId) {
@@ -490,8 +557,7 @@ public class GameStateStorageUtil {
      * @throws ConfigIOException If there is an issue saving the game state
      */
     public void addAdmin(UUID adminUniqueId) throws ConfigIOException {
-        gameState.addAdmin(adminUniqueId);
-        saveGameState();
+        record(JournalEntry.addAdmin(adminUniqueId));
     }
     
     /**
@@ -500,7 +566,6 @@ public class GameStateStorageUtil {
      * @throws ConfigIOException If there is an issue saving the game state
      */
     public void removeAdmin(UUID adminUniqueId) throws ConfigIOException {
-        gameState.removeAdmin(adminUniqueId);
-        saveGameState();
+        record(JournalEntry.removeAdmin(adminUniqueId));
     }
 }
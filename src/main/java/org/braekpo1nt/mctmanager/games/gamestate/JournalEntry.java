@@ -0,0 +1,268 @@
+package org.braekpo1nt.mctmanager.games.gamestate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A single change to the {@link GameState}, as it is written to the {@link GameStateJournal}.
+ * Every mutation of the GameState is expressed as one of these, so that replaying the journal
+ * on top of the last snapshot reproduces exactly the state that was in memory.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+class JournalEntry {
+    
+    enum Type {
+        ADD_PLAYER_SCORE,
+        ADD_PLAYERS_SCORE,
+        ADD_TEAM_SCORE,
+        ADD_TEAMS_SCORE,
+        SET_PLAYER_SCORE,
+        SET_TEAM_SCORE,
+        SET_ALL_SCORES,
+        ADD_TEAM,
+        REMOVE_TEAM,
+        ADD_PLAYER,
+        REMOVE_PLAYER,
+        ADD_OFFLINE_PLAYER,
+        REMOVE_OFFLINE_PLAYER,
+        ADD_ADMIN,
+        REMOVE_ADMIN,
+    }
+    
+    /**
+     * Assigned by the {@link GameStateJournal} when the entry is appended. Entries with
+     * a sequence less than or equal to the snapshot's {@link GameState#getJournalSequence()}
+     * are already included in the snapshot and are skipped during replay.
+     */
+    private long sequence;
+    /**
+     * Assigned by the {@link GameStateJournal} when the entry is appended. Entries whose
+     * epoch isn't the snapshot's {@link GameState#getJournalEpoch()} belong to a different
+     * snapshot, and are discarded during replay.
+     */
+    private @Nullable String epoch;
+    private Type type;
+    private @Nullable UUID uniqueId;
+    private @Nullable List<UUID> uniqueIds;
+    private @Nullable String teamId;
+    private @Nullable List<String> teamIds;
+    private @Nullable String ign;
+    private @Nullable String displayName;
+    private @Nullable String color;
+    private int value;
+    
+    /**
+     * Applies this entry to the given GameState. Entries referring to players or teams
+     * which don't exist in the GameState are ignored, so that a partially written journal
+     * can never prevent the GameState from loading.
+     * @param gameState the GameState to apply this entry to
+     */
+    void apply(@NotNull GameState gameState) {
+        if (type == null) {
+            return;
+        }
+        switch (type) {
+            case ADD_PLAYER_SCORE -> applyPlayerScore(gameState, uniqueId, value);
+            case ADD_PLAYERS_SCORE -> {
+                if (uniqueIds != null) {
+                    for (UUID id : uniqueIds) {
+                        applyPlayerScore(gameState, id, value);
+                    }
+                }
+            }
+            case ADD_TEAM_SCORE -> applyTeamScore(gameState, teamId, value);
+            case ADD_TEAMS_SCORE -> {
+                if (teamIds != null) {
+                    for (String id : teamIds) {
+                        applyTeamScore(gameState, id, value);
+                    }
+                }
+            }
+            case SET_PLAYER_SCORE -> {
+                MCTPlayer player = uniqueId != null ? gameState.getPlayer(uniqueId) : null;
+                if (player != null) {
+                    player.setScore(value);
+                }
+            }
+            case SET_TEAM_SCORE -> {
+                MCTTeam team = gameState.getTeam(teamId);
+                if (team != null) {
+                    team.setScore(value);
+                }
+            }
+            case SET_ALL_SCORES -> {
+                for (MCTPlayer player : gameState.getPlayers().values()) {
+                    player.setScore(value);
+                }
+                for (MCTTeam team : gameState.getTeams().values()) {
+                    team.setScore(value);
+                }
+            }
+            case ADD_TEAM -> gameState.addTeam(teamId, displayName, color);
+            case REMOVE_TEAM -> gameState.removeTeam(teamId);
+            case ADD_PLAYER -> gameState.addPlayer(uniqueId, teamId);
+            case REMOVE_PLAYER -> gameState.removePlayer(uniqueId);
+            case ADD_OFFLINE_PLAYER -> {
+                if (ign != null && teamId != null) {
+                    gameState.addOfflinePlayer(ign, uniqueId, teamId);
+                }
+            }
+            case REMOVE_OFFLINE_PLAYER -> {
+                if (ign != null) {
+                    gameState.removeOfflinePlayer(ign);
+                }
+            }
+            case ADD_ADMIN -> {
+                if (!gameState.isAdmin(uniqueId)) {
+                    gameState.addAdmin(uniqueId);
+                }
+            }
+            case REMOVE_ADMIN -> gameState.removeAdmin(uniqueId);
+        }
+    }
+    
+    private static void applyPlayerScore(@NotNull GameState gameState, @Nullable UUID uniqueId, int score) {
+        if (uniqueId == null) {
+            return;
+        }
+        MCTPlayer player = gameState.getPlayer(uniqueId);
+        if (player != null) {
+            player.setScore(player.getScore() + score);
+        }
+    }
+    
+    private static void applyTeamScore(@NotNull GameState gameState, @Nullable String teamId, int score) {
+        MCTTeam team = gameState.getTeam(teamId);
+        if (team != null) {
+            team.setScore(team.getScore() + score);
+        }
+    }
+    
+    static JournalEntry addPlayerScore(@NotNull UUID uniqueId, int score) {
+        return JournalEntry.builder()
+                .type(Type.ADD_PLAYER_SCORE)
+                .uniqueId(uniqueId)
+                .value(score)
+                .build();
+    }
+    
+    static JournalEntry addPlayersScore(@NotNull Collection<UUID> uniqueIds, int score) {
+        return JournalEntry.builder()
+                .type(Type.ADD_PLAYERS_SCORE)
+                .uniqueIds(new ArrayList<>(uniqueIds))
+                .value(score)
+                .build();
+    }
+    
+    static JournalEntry addTeamScore(@NotNull String teamId, int score) {
+        return JournalEntry.builder()
+                .type(Type.ADD_TEAM_SCORE)
+                .teamId(teamId)
+                .value(score)
+                .build();
+    }
+    
+    static JournalEntry addTeamsScore(@NotNull Collection<String> teamIds, int score) {
+        return JournalEntry.builder()
+                .type(Type.ADD_TEAMS_SCORE)
+                .teamIds(new ArrayList<>(teamIds))
+                .value(score)
+                .build();
+    }
+    
+    static JournalEntry setPlayerScore(@NotNull UUID uniqueId, int score) {
+        return JournalEntry.builder()
+                .type(Type.SET_PLAYER_SCORE)
+                .uniqueId(uniqueId)
+                .value(score)
+                .build();
+    }
+    
+    static JournalEntry setTeamScore(@NotNull String teamId, int score) {
+        return JournalEntry.builder()
+                .type(Type.SET_TEAM_SCORE)
+                .teamId(teamId)
+                .value(score)
+                .build();
+    }
+    
+    static JournalEntry setAllScores(int score) {
+        return JournalEntry.builder()
+                .type(Type.SET_ALL_SCORES)
+                .value(score)
+                .build();
+    }
+    
+    static JournalEntry addTeam(@NotNull String teamId, @NotNull String displayName, @NotNull String color) {
+        return JournalEntry.builder()
+                .type(Type.ADD_TEAM)
+                .teamId(teamId)
+                .displayName(displayName)
+                .color(color)
+                .build();
+    }
+    
+    static JournalEntry removeTeam(@NotNull String teamId) {
+        return JournalEntry.builder()
+                .type(Type.REMOVE_TEAM)
+                .teamId(teamId)
+                .build();
+    }
+    
+    static JournalEntry addPlayer(@NotNull UUID uniqueId, @NotNull String teamId) {
+        return JournalEntry.builder()
+                .type(Type.ADD_PLAYER)
+                .uniqueId(uniqueId)
+                .teamId(teamId)
+                .build();
+    }
+    
+    static JournalEntry removePlayer(@NotNull UUID uniqueId) {
+        return JournalEntry.builder()
+                .type(Type.REMOVE_PLAYER)
+                .uniqueId(uniqueId)
+                .build();
+    }
+    
+    static JournalEntry addOfflinePlayer(@NotNull String ign, @Nullable UUID offlineUniqueId, @NotNull String teamId) {
+        return JournalEntry.builder()
+                .type(Type.ADD_OFFLINE_PLAYER)
+                .ign(ign)
+                .uniqueId(offlineUniqueId)
+                .teamId(teamId)
+                .build();
+    }
+    
+    static JournalEntry removeOfflinePlayer(@NotNull String ign) {
+        return JournalEntry.builder()
+                .type(Type.REMOVE_OFFLINE_PLAYER)
+                .ign(ign)
+                .build();
+    }
+    
+    static JournalEntry addAdmin(@NotNull UUID uniqueId) {
+        return JournalEntry.builder()
+                .type(Type.ADD_ADMIN)
+                .uniqueId(uniqueId)
+                .build();
+    }
+    
+    static JournalEntry removeAdmin(@NotNull UUID uniqueId) {
+        return JournalEntry.builder()
+                .type(Type.REMOVE_ADMIN)
+                .uniqueId(uniqueId)
+                .build();
+    }
+}
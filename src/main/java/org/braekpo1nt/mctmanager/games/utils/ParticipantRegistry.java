@@ -0,0 +1,229 @@
+package org.braekpo1nt.mctmanager.games.utils;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * A list of participants which can tell whether a player is one of them in constant time.
+ * <br>
+ * Games check whether a player is one of their participants at the top of almost every event
+ * handler (move, damage, hunger, interact, inventory, etc.), which is a linear scan with a plain
+ * {@code List<Player>}. This keeps the participants in order in a list, so it can be used
+ * anywhere a {@code List<Player>} is expected, and also keeps a map from each participant's
+ * UUID to the participant, which is used for {@link #contains(Object)}.
+ * <br>
+ * Participants can be added with a teamId, in which case they also appear in that team's
+ * view (see {@link #getTeam(String)}).
+ * <br>
+ * Only membership checks and lookups are constant time. Removing a participant is linear in the
+ * number of participants, like removing from an {@link ArrayList}, which is fine since participants
+ * only leave on quit or at the end of a game. Participants can't be inserted or replaced at an
+ * index, since that could leave two participants with the same UUID.
+ */
+public class ParticipantRegistry extends AbstractList<Player> implements RandomAccess {
+    
+    private final List<Player> participants;
+    private final Map<UUID, Player> byUUID;
+    private final Map<UUID, String> teamIds = new HashMap<>();
+    /**
+     * Each team's participants, in the order they were added
+     */
+    private final Map<String, List<Player>> teams = new HashMap<>();
+    /**
+     * The read-only views of {@link #teams} returned by {@link #getTeam(String)}
+     */
+    private final Map<String, List<Player>> teamViews = new HashMap<>();
+    
+    public ParticipantRegistry() {
+        this(16);
+    }
+    
+    /**
+     * @param initialCapacity the number of participants expected
+     */
+    public ParticipantRegistry(int initialCapacity) {
+        this.participants = new ArrayList<>(initialCapacity);
+        this.byUUID = new HashMap<>(initialCapacity * 2);
+    }
+    
+    @Override
+    public Player get(int index) {
+        return participants.get(index);
+    }
+    
+    @Override
+    public int size() {
+        return participants.size();
+    }
+    
+    /**
+     * @param o the player to check
+     * @return true if the given player is a participant in this registry
+     */
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Player player)) {
+            return false;
+        }
+        Player participant = byUUID.get(player.getUniqueId());
+        return participant != null && participant.equals(player);
+    }
+    
+    /**
+     * @param uuid the UUID of a player
+     * @return true if the player with the given UUID is a participant in this registry
+     */
+    public boolean contains(@NotNull UUID uuid) {
+        return byUUID.containsKey(uuid);
+    }
+    
+    /**
+     * @param uuid the UUID of a participant
+     * @return the participant with the given UUID, or null if there isn't one in this registry
+     */
+    public @Nullable Player getParticipant(@NotNull UUID uuid) {
+        return byUUID.get(uuid);
+    }
+    
+    /**
+     * Add a participant who isn't on any team
+     * @param participant the participant to add. If a participant with the same
+     *                    UUID is already present, they are replaced.
+     * @return true
+     */
+    @Override
+    public boolean add(Player participant) {
+        return add(participant, null);
+    }
+    
+    /**
+     * Add a participant to this registry, and to the given team's view.
+     * @param participant the participant to add. If a participant with the same
+     *                    UUID is already present, they are replaced.
+     * @param teamId the team to add the participant to, or null if they shouldn't be in any team's view
+     * @return true
+     */
+    public boolean add(@NotNull Player participant, @Nullable String teamId) {
+        Player existing = byUUID.get(participant.getUniqueId());
+        if (existing != null) {
+            remove(existing);
+        }
+        participants.add(participant);
+        modCount++;
+        byUUID.put(participant.getUniqueId(), participant);
+        if (teamId != null) {
+            teamIds.put(participant.getUniqueId(), teamId);
+            getTeamList(teamId).add(participant);
+        }
+        return true;
+    }
+    
+    /**
+     * Not supported, participants are always added to the end. Use {@link #add(Player, String)}.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void add(int index, Player participant) {
+        throw new UnsupportedOperationException("participants can't be inserted at an index, use add(Player, String)");
+    }
+    
+    /**
+     * Not supported, since the replaced participant's UUID and team would have to be forgotten
+     * while the new participant might already be in the registry.
+     * Use {@link #remove(Object)} and {@link #add(Player, String)}.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public Player set(int index, Player participant) {
+        throw new UnsupportedOperationException("participants can't be replaced at an index, use remove(Object) and add(Player, String)");
+    }
+    
+    /**
+     * Sorts the participants in place. The team views keep the order the participants were added in.
+     * @param c the comparator to sort by, or null for natural ordering
+     */
+    @Override
+    public void sort(Comparator<? super Player> c) {
+        participants.sort(c);
+        modCount++;
+    }
+    
+    @Override
+    public Player remove(int index) {
+        Player removed = participants.remove(index);
+        modCount++;
+        forget(removed);
+        return removed;
+    }
+    
+    /**
+     * Linear in the number of participants, since the participant has to be found in the list
+     * @param o the participant to remove
+     * @return true if the given participant was in this registry
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (!contains(o)) {
+            return false;
+        }
+        int index = participants.indexOf(o);
+        remove(index);
+        return true;
+    }
+    
+    @Override
+    public void clear() {
+        participants.clear();
+        modCount++;
+        byUUID.clear();
+        teamIds.clear();
+        for (List<Player> team : teams.values()) {
+            team.clear();
+        }
+    }
+    
+    private void forget(@NotNull Player participant) {
+        byUUID.remove(participant.getUniqueId());
+        String teamId = teamIds.remove(participant.getUniqueId());
+        if (teamId != null) {
+            teams.get(teamId).remove(participant);
+        }
+    }
+    
+    private @NotNull List<Player> getTeamList(@NotNull String teamId) {
+        return teams.computeIfAbsent(teamId, k -> new ArrayList<>());
+    }
+    
+    /**
+     * @param teamId the teamId
+     * @return a read-only view of the participants who were added with the given teamId.
+     * The view reflects later changes to this registry.
+     */
+    public @NotNull List<Player> getTeam(@NotNull String teamId) {
+        return teamViews.computeIfAbsent(teamId, k -> Collections.unmodifiableList(getTeamList(k)));
+    }
+    
+    /**
+     * @param uuid the UUID of a participant
+     * @return the teamId the participant was added with, or null if they were added without one
+     * or aren't in this registry
+     */
+    public @Nullable String getTeamId(@NotNull UUID uuid) {
+        return teamIds.get(uuid);
+    }
+    
+    /**
+     * Performs the given action for each participant, without allocating an iterator
+     * @param action the action to perform
+     */
+    @Override
+    public void forEach(Consumer<? super Player> action) {
+        for (int i = 0; i < participants.size(); i++) {
+            action.accept(participants.get(i));
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.braekpo1nt.mctmanager.Main;
 import org.braekpo1nt.mctmanager.games.GameManager;
 import org.braekpo1nt.mctmanager.games.game.enums.GameType;
 import org.braekpo1nt.mctmanager.games.utils.GameManagerUtils;
+import org.braekpo1nt.mctmanager.listeners.EventRouter;
 import org.braekpo1nt.mctmanager.ui.UIUtils;
 import org.braekpo1nt.mctmanager.ui.sidebar.Sidebar;
 import org.braekpo1nt.mctmanager.ui.timer.Timer;
@@ -17,7 +18,6 @@ import org.bukkit.Color;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -81,7 +81,7 @@ public class VoteManager implements Listener {
         this.votingPool = votingPool;
         sidebar = gameManager.createSidebar();
         adminSidebar = gameManager.createSidebar();
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getEventRouter().register(EventRouter.GLOBAL, this);
         gameManager.getTimerManager().register(timerManager);
         for (Player participant : newParticipants) {
             initializeParticipant(participant);
@@ -371,7 +371,7 @@ public class VoteManager implements Listener {
         clearSidebar();
         clearAdminSidebar();
         messageAllVoters(Component.text("Cancelling vote"));
-        HandlerList.unregisterAll(this);
+        plugin.getEventRouter().unregister(this);
         votes.clear();
         voters.clear();
         admins.clear();
@@ -396,7 +396,7 @@ public class VoteManager implements Listener {
         for (Player voter : voters) {
             resetParticipant(voter);
         }
-        HandlerList.unregisterAll(this);
+        plugin.getEventRouter().unregister(this);
         votes.clear();
         voters.clear();
         clearSidebar();
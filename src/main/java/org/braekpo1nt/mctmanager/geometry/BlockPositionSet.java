@@ -0,0 +1,252 @@
+package org.braekpo1nt.mctmanager.geometry;
+
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A set of block positions, each packed into a single long (see {@link #pack(int, int, int)}).
+ * <br>
+ * The positions are stored in an array, with an index from each position to its place in the
+ * array. Adding, removing, checking for, and picking a random position are all constant time,
+ * since a removed position is replaced by the last position in the array instead of shifting
+ * every position after it. As a consequence, the order of the positions is not stable.
+ * <br>
+ * Not thread-safe. It can be built on one thread and then handed off to another.
+ */
+public class BlockPositionSet {
+    
+    private static final long EMPTY = Long.MIN_VALUE;
+    
+    /**
+     * the positions in this set, in no particular order. Only the first {@link #size} are valid.
+     */
+    private long[] positions;
+    private int size;
+    /**
+     * open addressing hash table of positions, with the index of each one in {@link #positions}
+     */
+    private long[] keys;
+    private int[] indexes;
+    private int mask;
+    
+    public BlockPositionSet() {
+        this(16);
+    }
+    
+    /**
+     * @param expectedSize the number of positions this set is expected to hold
+     */
+    public BlockPositionSet(int expectedSize) {
+        positions = new long[Math.max(16, expectedSize)];
+        allocateTable(tableSizeFor(positions.length));
+    }
+    
+    /**
+     * Packs the given block coordinates into a single long. x and z must be within
+     * ±2^25 and y within ±2^11, which covers every position in a vanilla world.
+     * @param x the block x coordinate
+     * @param y the block y coordinate
+     * @param z the block z coordinate
+     * @return the packed position
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) z & 0x3FFFFFFL) << 12 | ((long) y & 0xFFFL);
+    }
+    
+    public static long pack(@NotNull Block block) {
+        return pack(block.getX(), block.getY(), block.getZ());
+    }
+    
+    public static int unpackX(long position) {
+        return (int) (position >> 38);
+    }
+    
+    public static int unpackY(long position) {
+        return (int) (position << 52 >> 52);
+    }
+    
+    public static int unpackZ(long position) {
+        return (int) (position << 26 >> 38);
+    }
+    
+    /**
+     * @param world the world
+     * @param position a packed position
+     * @return the block at the given position in the given world
+     */
+    public static @NotNull Block getBlock(@NotNull World world, long position) {
+        return world.getBlockAt(unpackX(position), unpackY(position), unpackZ(position));
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * @param index the index of the position, from 0 (inclusive) to {@link #size()} (exclusive).
+     *              The order changes whenever a position is removed.
+     * @return the position at the given index
+     */
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return positions[index];
+    }
+    
+    public boolean contains(long position) {
+        return findSlot(position) >= 0;
+    }
+    
+    /**
+     * @param position the packed position to add
+     * @return true if the position was added, false if it was already in this set
+     */
+    public boolean add(long position) {
+        if (findSlot(position) >= 0) {
+            return false;
+        }
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, size * 2);
+        }
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        positions[size] = position;
+        insert(position, size);
+        size++;
+        return true;
+    }
+    
+    /**
+     * Add every position in the given set to this one
+     * @param other the set to add the positions of
+     */
+    public void addAll(@NotNull BlockPositionSet other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.positions[i]);
+        }
+    }
+    
+    /**
+     * @param position the packed position to remove
+     * @return true if the position was removed, false if it wasn't in this set
+     */
+    public boolean remove(long position) {
+        int slot = findSlot(position);
+        if (slot < 0) {
+            return false;
+        }
+        removeAt(indexes[slot]);
+        return true;
+    }
+    
+    /**
+     * Removes a uniformly random position from this set
+     * @param random the source of randomness
+     * @return the removed position
+     * @throws IllegalStateException if this set is empty
+     */
+    public long removeRandom(@NotNull Random random) {
+        if (size == 0) {
+            throw new IllegalStateException("set is empty");
+        }
+        int index = random.nextInt(size);
+        long position = positions[index];
+        removeAt(index);
+        return position;
+    }
+    
+    public void clear() {
+        size = 0;
+        Arrays.fill(keys, EMPTY);
+    }
+    
+    /**
+     * Removes the position at the given index, moving the last position into its place
+     */
+    private void removeAt(int index) {
+        long removed = positions[index];
+        int last = size - 1;
+        if (index != last) {
+            long moved = positions[last];
+            positions[index] = moved;
+            indexes[findSlot(moved)] = index;
+        }
+        size--;
+        deleteSlot(findSlot(removed));
+    }
+    
+    private int findSlot(long position) {
+        int slot = hash(position) & mask;
+        while (true) {
+            long key = keys[slot];
+            if (key == EMPTY) {
+                return -1;
+            }
+            if (key == position) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+    
+    private void insert(long position, int index) {
+        int slot = hash(position) & mask;
+        while (keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = position;
+        indexes[slot] = index;
+    }
+    
+    /**
+     * Linear probing deletion, shifting later entries of the same probe run back
+     */
+    private void deleteSlot(int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int ideal = hash(keys[next]) & mask;
+            // move the entry at next into the gap if its ideal slot is not between the gap and next
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                indexes[gap] = indexes[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+    }
+    
+    private void rehash(int newTableSize) {
+        allocateTable(newTableSize);
+        for (int i = 0; i < size; i++) {
+            insert(positions[i], i);
+        }
+    }
+    
+    private void allocateTable(int tableSize) {
+        keys = new long[tableSize];
+        Arrays.fill(keys, EMPTY);
+        indexes = new int[tableSize];
+        mask = tableSize - 1;
+    }
+    
+    private static int tableSizeFor(int expectedSize) {
+        return Integer.highestOneBit(Math.max(8, expectedSize * 2 - 1)) << 1;
+    }
+    
+    private static int hash(long position) {
+        long h = position * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,129 @@
+package org.braekpo1nt.mctmanager.geometry;
+
+import org.bukkit.util.BoundingBox;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * A spatial index of {@link BoundingBox} regions, each associated with a value.
+ * <br>
+ * The world is divided into cubic cells, and each region is stored in every cell it
+ * overlaps. Finding the regions which contain a position only has to check the regions
+ * in that position's cell, instead of every region. Regions which would cover too many
+ * cells to be worth storing in each one are kept in a separate list and always checked.
+ * <br>
+ * Meant to be built once from a loaded config and queried from move handlers, which
+ * should skip moves that don't cross a block boundary (see
+ * {@link org.bukkit.event.player.PlayerMoveEvent#hasChangedBlock()}), and query with the
+ * position moved to ({@link org.bukkit.event.player.PlayerMoveEvent#getTo()}), since the
+ * player's location is still the position moved from during the event.
+ * <br>
+ * Currently only Parkour Pathway uses this, since it checks many regions per move. The other
+ * move handlers only check one or two boxes per move, which an index wouldn't speed up.
+ * @param <T> the type of value associated with each region
+ */
+public class RegionIndex<T> {
+    
+    /**
+     * cells are 2^CELL_SHIFT blocks on each side
+     */
+    private static final int CELL_SHIFT = 4;
+    /**
+     * Regions which overlap more than this many cells are checked on every query
+     * instead of being stored in each cell
+     */
+    private static final int MAX_CELLS_PER_REGION = 512;
+    
+    private record Region<T>(@NotNull BoundingBox box, @NotNull T value) {
+    }
+    
+    private final Map<Long, List<Region<T>>> cells = new HashMap<>();
+    private final List<Region<T>> largeRegions = new ArrayList<>();
+    private int size;
+    
+    /**
+     * Add a region to the index
+     * @param box the area of the region
+     * @param value the value to return when a position is inside the given box
+     */
+    public void add(@NotNull BoundingBox box, @NotNull T value) {
+        Region<T> region = new Region<>(box, value);
+        size++;
+        int minX = toCell(box.getMinX());
+        int minY = toCell(box.getMinY());
+        int minZ = toCell(box.getMinZ());
+        int maxX = toCell(box.getMaxX());
+        int maxY = toCell(box.getMaxY());
+        int maxZ = toCell(box.getMaxZ());
+        long cellCount = (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+        if (cellCount > MAX_CELLS_PER_REGION) {
+            largeRegions.add(region);
+            return;
+        }
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    cells.computeIfAbsent(toKey(x, y, z), k -> new ArrayList<>(1)).add(region);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Add the values of every region which contains the given position to the given collection
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param z the z coordinate
+     * @param result the collection to add the values to. Not cleared first.
+     */
+    public void getRegions(double x, double y, double z, @NotNull Collection<? super T> result) {
+        List<Region<T>> cell = cells.get(toKey(toCell(x), toCell(y), toCell(z)));
+        if (cell != null) {
+            for (int i = 0; i < cell.size(); i++) {
+                Region<T> region = cell.get(i);
+                if (region.box().contains(x, y, z)) {
+                    result.add(region.value());
+                }
+            }
+        }
+        for (int i = 0; i < largeRegions.size(); i++) {
+            Region<T> region = largeRegions.get(i);
+            if (region.box().contains(x, y, z)) {
+                result.add(region.value());
+            }
+        }
+    }
+    
+    /**
+     * @param position the position
+     * @return the values of every region which contains the given position
+     */
+    public @NotNull List<T> getRegions(@NotNull Vector position) {
+        List<T> result = new ArrayList<>();
+        getRegions(position.getX(), position.getY(), position.getZ(), result);
+        return result;
+    }
+    
+    /**
+     * @return the number of regions in this index
+     */
+    public int size() {
+        return size;
+    }
+    
+    public void clear() {
+        cells.clear();
+        largeRegions.clear();
+        size = 0;
+    }
+    
+    private static int toCell(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> CELL_SHIFT;
+    }
+    
+    private static long toKey(int cellX, int cellY, int cellZ) {
+        return ((long) cellX & 0x3FFFFFFL) << 38 | ((long) cellZ & 0x3FFFFFFL) << 12 | ((long) cellY & 0xFFFL);
+    }
+}
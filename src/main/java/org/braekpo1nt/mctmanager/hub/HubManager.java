@@ -8,6 +8,7 @@ import org.braekpo1nt.mctmanager.games.GameManager;
 import org.braekpo1nt.mctmanager.games.game.interfaces.Configurable;
 import org.braekpo1nt.mctmanager.games.utils.GameManagerUtils;
 import org.braekpo1nt.mctmanager.games.utils.ParticipantInitializer;
+import org.braekpo1nt.mctmanager.games.utils.ParticipantRegistry;
 import org.braekpo1nt.mctmanager.hub.config.HubConfig;
 import org.braekpo1nt.mctmanager.hub.config.HubConfigController;
 import org.braekpo1nt.mctmanager.hub.leaderboard.LeaderboardManager;
@@ -32,12 +33,15 @@ import org.bukkit.scoreboard.Team;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 
 public class HubManager implements Listener, Configurable {
     
+    private final Main plugin;
     private final GameManager gameManager;
     protected final HubConfigController configController;
     protected HubConfig config;
@@ -50,20 +54,22 @@ public class HubManager implements Listener, Configurable {
     /**
      * A list of the participants who are in the hub
      */
-    private final Set<Player> participants = new HashSet<>();
+    private final ParticipantRegistry participants = new ParticipantRegistry();
     private final TimerManager timerManager;
     
     public HubManager(Main plugin, GameManager gameManager) {
+        this.plugin = plugin;
         this.gameManager = gameManager;
         this.timerManager = gameManager.getTimerManager().createManager();
         this.configController = new HubConfigController(plugin.getDataFolder());
         this.leaderboardManagers = new ArrayList<>();
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getEventRouter().register(this, this);
     }
     
     @Override
     public void loadConfig() throws ConfigIOException, ConfigInvalidException {
         this.config = configController.getConfig();
+        plugin.getBlockPlacementQueue().setTickBudgetMillis(config.getBlockPlacementBudgetMillis());
         for (LeaderboardManager leaderboardManager : leaderboardManagers) {
             leaderboardManager.tearDown();
         }
@@ -218,12 +224,26 @@ public class HubManager implements Listener, Configurable {
         // do nothing
     }
     
+    /**
+     * Synchronize the leaderboards with every participant in the game state. Use this when
+     * participants are added, removed, or change teams. 
+     */
     public void updateLeaderboards() {
         for (LeaderboardManager leaderboardManager : leaderboardManagers) {
             leaderboardManager.updateScores();
         }
     }
     
+    /**
+     * Update only the given participants' standings on the leaderboards
+     * @param participantUUIDs the participants whose scores changed
+     */
+    public void updateLeaderboards(@NotNull Collection<UUID> participantUUIDs) {
+        for (LeaderboardManager leaderboardManager : leaderboardManagers) {
+            leaderboardManager.updateScores(participantUUIDs);
+        }
+    }
+    
     public void tearDown() {
         cancelAllTasks();
         for (LeaderboardManager leaderboardManager : leaderboardManagers) {
@@ -348,14 +368,18 @@ public class HubManager implements Listener, Configurable {
         if (!boundaryEnabled) {
             return;
         }
+        if (!event.hasChangedBlock()) {
+            return;
+        }
         Player participant = event.getPlayer();
         if (!participants.contains(participant)) {
             return;
         }
-        if (!participant.getWorld().equals(config.getWorld())) {
+        // the participant's location is still where they moved from
+        Location location = event.getTo();
+        if (!location.getWorld().equals(config.getWorld())) {
             return;
         }
-        Location location = participant.getLocation();
         if (location.getY() < config.getYLimit()) {
             participant.teleport(config.getSpawn());
             participant.sendMessage("You fell out of the hub boundary");
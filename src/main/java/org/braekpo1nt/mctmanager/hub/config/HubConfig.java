@@ -24,6 +24,11 @@ public class HubConfig {
     private double yLimit;
     private int tpToHubDuration;
     private List<Material> preventInteractions;
+    /**
+     * how many milliseconds per tick can be spent on large block placements
+     * (see {@link org.braekpo1nt.mctmanager.utils.BlockPlacementQueue})
+     */
+    private long blockPlacementBudgetMillis;
     
     @Data
     @AllArgsConstructor
@@ -8,6 +8,7 @@ import org.braekpo1nt.mctmanager.Main;
 import org.braekpo1nt.mctmanager.config.dto.org.bukkit.LocationDTO;
 import org.braekpo1nt.mctmanager.config.validation.Validatable;
 import org.braekpo1nt.mctmanager.config.validation.Validator;
+import org.braekpo1nt.mctmanager.utils.BlockPlacementQueue;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -26,7 +27,8 @@ record HubConfigDTO(
         List<LeaderboardDTO> leaderboards,
         List<Material> preventInteractions,
         double yLimit,
-        Durations durations) implements Validatable {
+        Durations durations,
+        @Nullable Long blockPlacementBudgetMillis) implements Validatable {
     
     @Override
     public void validate(@NotNull Validator validator) {
@@ -44,6 +46,9 @@ record HubConfigDTO(
         validator.validate(this.yLimit() < this.podiumObservation().getY(), "yLimit (%s) must be less than podiumObservation.y (%s)", this.yLimit(), this.podiumObservation().getY());
         validator.notNull(this.durations(), "durations");
         validator.validate(this.durations().tpToHub() > 0, "durations.tpToHub must be greater than 0");
+        if (this.blockPlacementBudgetMillis() != null) {
+            validator.validate(this.blockPlacementBudgetMillis() >= 0, "blockPlacementBudgetMillis can't be negative");
+        }
         
     }
     
@@ -59,6 +64,7 @@ record HubConfigDTO(
                 .yLimit(this.yLimit)
                 .tpToHubDuration(this.durations.tpToHub)
                 .preventInteractions(this.preventInteractions != null ? this.preventInteractions : Collections.emptyList())
+                .blockPlacementBudgetMillis(this.blockPlacementBudgetMillis != null ? this.blockPlacementBudgetMillis : BlockPlacementQueue.DEFAULT_TICK_BUDGET_MILLIS)
                 .build();
     }
     
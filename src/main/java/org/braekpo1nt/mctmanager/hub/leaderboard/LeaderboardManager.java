@@ -2,15 +2,12 @@ package org.braekpo1nt.mctmanager.hub.leaderboard;
 
 import eu.decentsoftware.holograms.api.DHAPI;
 import eu.decentsoftware.holograms.api.holograms.Hologram;
-import lombok.Data;
-import net.kyori.adventure.text.Component;
+import lombok.Getter;
+import lombok.Setter;
 import net.kyori.adventure.text.format.NamedTextColor;
-import net.kyori.adventure.text.format.TextDecoration;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.braekpo1nt.mctmanager.games.GameManager;
-import org.braekpo1nt.mctmanager.games.utils.GameManagerUtils;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -24,13 +21,13 @@ public class LeaderboardManager {
     
     /**
      * the prefix of the unique identifier of each participant's personal leaderboard
-     * this is because hologram names are global in {@link DHAPI}, so they must have unique names. 
+     * this is because hologram names are global in {@link DHAPI}, so they must have unique names.
      */
     private final String PREFIX;
     /**
      * The holograms for the participants. Each is specific to them because they need to see their personal scores.
      */
-    private final Map<UUID, Hologram> holograms = new HashMap<>();
+    private final Map<UUID, HologramLines> personalLines = new HashMap<>();
     /**
      * the title of the leaderboard. If null, there will be no title.
      */
@@ -38,13 +35,14 @@ public class LeaderboardManager {
     /**
      * the hologram that others see (admins and non-participants)
      */
-    private final Hologram allHologram;
+    private final HologramLines allLines;
+    private final LeaderboardStandings standings = new LeaderboardStandings();
     private final GameManager gameManager;
     private final @NotNull Location location;
     private final int topPlayers;
     
     /**
-     * @param location the location that the leaderboard should appear. Must not be null. 
+     * @param location the location that the leaderboard should appear. Must not be null.
      */
     public LeaderboardManager(@NotNull GameManager gameManager, @Nullable String title, @NotNull Location location, int topPlayers) {
         this.gameManager = gameManager;
@@ -53,34 +51,47 @@ public class LeaderboardManager {
         this.topPlayers = topPlayers;
         this.PREFIX = UUID.randomUUID() + "_leaderboard_";
         String allLeaderboardName = UUID.randomUUID() + "_leaderboard_all";
-        this.allHologram = createHologram(allLeaderboardName);
+        Hologram allHologram = createHologram(allLeaderboardName);
         allHologram.setDefaultVisibleState(true);
+        this.allLines = new HologramLines(allHologram);
+        allLines.setAll(renderAllLines(null));
     }
     
     /**
      * Removes all the holograms from the world and clears the list of players
      */
     public void tearDown() {
-        for (Hologram hologram : holograms.values()) {
-            DHAPI.removeHologram(hologram.getName());
+        for (HologramLines lines : personalLines.values()) {
+            DHAPI.removeHologram(lines.getHologram().getName());
         }
-        holograms.clear();
-        DHAPI.removeHologram(allHologram.getName());
+        personalLines.clear();
+        DHAPI.removeHologram(allLines.getHologram().getName());
     }
     
     public void onParticipantJoin(@NotNull Player participant) {
         Hologram hologram = createHologram(PREFIX + participant.getName());
         hologram.setShowPlayer(participant);
-        holograms.put(participant.getUniqueId(), hologram);
-        allHologram.setHidePlayer(participant);
+        allLines.getHologram().setHidePlayer(participant);
+        LeaderboardStandings.Standing standing = standings.get(participant.getUniqueId());
+        if (standing != null && !standing.getIgn().equals(participant.getName())) {
+            // they may have been added under their offline IGN or UUID before they had a name
+            standings.put(participant.getUniqueId(), participant.getName(), standing.getTeamColor(), standing.getScore());
+            render();
+        }
+        HologramLines lines = new HologramLines(hologram);
+        lines.setAll(renderAllLines(participant.getUniqueId()));
+        if (standing != null) {
+            lines.setTopCount(Math.min(topPlayers, standings.size()));
+        }
+        personalLines.put(participant.getUniqueId(), lines);
     }
     
     public void onParticipantQuit(@NotNull Player participant) {
-        Hologram hologram = holograms.remove(participant.getUniqueId());
-        if (hologram != null) {
-            DHAPI.removeHologram(hologram.getName());
+        HologramLines lines = personalLines.remove(participant.getUniqueId());
+        if (lines != null) {
+            DHAPI.removeHologram(lines.getHologram().getName());
         }
-        allHologram.removeHidePlayer(participant);
+        allLines.getHologram().removeHidePlayer(participant);
     }
     
     /**
@@ -99,79 +110,181 @@ public class LeaderboardManager {
         return hologram;
     }
     
+    /**
+     * Synchronize the leaderboard with every participant in the game state, adding the ones
+     * who joined and removing the ones who left. Only the lines whose placement, name,
+     * color, or score changed are sent to the holograms.
+     */
     public void updateScores() {
-        List<OfflinePlayer> sortedOfflineParticipants = GameManagerUtils.getSortedOfflineParticipants(gameManager);
-        List<Standing> standings = new ArrayList<>(sortedOfflineParticipants.size());
-        for (int i = 0; i < sortedOfflineParticipants.size(); i++) {
-            OfflinePlayer participant = sortedOfflineParticipants.get(i);
-            int placement = i+1;
-            UUID uuid = participant.getUniqueId();
-            String name = participant.getName(); 
-            if (name == null) {
-                name = gameManager.getOfflineIGN(uuid);
-                if (name == null) {
-                    name = uuid.toString();
-                }
+        List<UUID> participantUUIDs = gameManager.getAllParticipantUUIDs();
+        standings.retainAll(new HashSet<>(participantUUIDs));
+        for (UUID uuid : participantUUIDs) {
+            refreshStanding(uuid);
+        }
+        render();
+    }
+    
+    /**
+     * Update the standings of the given participants only. Participants who aren't already
+     * on the leaderboard are ignored, use {@link #updateScores()} when participants are added or removed.
+     * @param participantUUIDs the participants whose scores changed
+     */
+    public void updateScores(@NotNull Collection<UUID> participantUUIDs) {
+        for (UUID uuid : participantUUIDs) {
+            if (standings.contains(uuid)) {
+                refreshStanding(uuid);
+            }
+        }
+        render();
+    }
+    
+    private void refreshStanding(@NotNull UUID uuid) {
+        LeaderboardStandings.Standing standing = standings.get(uuid);
+        String ign = standing != null ? standing.getIgn() : getIgn(uuid);
+        String teamId = gameManager.getTeamId(uuid);
+        NamedTextColor teamColor = gameManager.getTeamColor(teamId);
+        int score = gameManager.getScore(uuid);
+        standings.put(uuid, ign, teamColor, score);
+    }
+    
+    /**
+     * Only called when a participant is first added to the leaderboard,
+     * since looking up the OfflinePlayer can be expensive.
+     * @param uuid the UUID of a participant
+     * @return the participant's name, their offline IGN if they don't have one, or their UUID if they have neither
+     */
+    private @NotNull String getIgn(@NotNull UUID uuid) {
+        String name = Bukkit.getOfflinePlayer(uuid).getName();
+        if (name != null) {
+            return name;
+        }
+        name = gameManager.getOfflineIGN(uuid);
+        if (name != null) {
+            return name;
+        }
+        return uuid.toString();
+    }
+    
+    /**
+     * Send the lines which changed since the last render to the holograms that show them.
+     * Personal holograms are only touched if one of their top lines changed, their own
+     * standing changed, or the number of top lines changed.
+     */
+    private void render() {
+        if (!standings.isDirty()) {
+            return;
+        }
+        int offset = title != null ? 1 : 0;
+        int topCount = Math.min(topPlayers, standings.size());
+        int from = standings.getDirtyFrom();
+        int to = Math.min(standings.getDirtyTo(), topCount - 1);
+        for (int i = from; i <= to; i++) {
+            allLines.set(offset + i, standings.get(i).toLine(i + 1));
+        }
+        allLines.truncate(offset + topCount);
+        for (Map.Entry<UUID, HologramLines> entry : personalLines.entrySet()) {
+            HologramLines lines = entry.getValue();
+            LeaderboardStandings.Standing viewer = standings.get(entry.getKey());
+            int viewerIndex = viewer != null ? standings.indexOf(viewer) : -1;
+            for (int i = from; i <= to; i++) {
+                LeaderboardStandings.Standing standing = standings.get(i);
+                lines.set(offset + i, i == viewerIndex ? standing.toBoldLine(i + 1) : standing.toLine(i + 1));
+            }
+            if (viewer == null) {
+                lines.truncate(offset + topCount);
+                lines.setTopCount(-1);
+                continue;
+            }
+            if (standings.isDirty(viewerIndex) || lines.getTopCount() != topCount) {
+                lines.set(offset + topCount, "");
+                lines.set(offset + topCount + 1, viewer.toBoldLine(viewerIndex + 1));
+                lines.truncate(offset + topCount + 2);
+                lines.setTopCount(topCount);
             }
-            String teamId = gameManager.getTeamId(uuid);
-            NamedTextColor teamColor = gameManager.getTeamColor(teamId);
-            int score = gameManager.getScore(uuid);
-            standings.add(new Standing(uuid, placement, teamColor, name, score));
         }
-        List<String> lines = new ArrayList<>(Math.min(topPlayers, standings.size())+(title != null ? 1 : 2));
+        standings.clearDirty();
+    }
+    
+    /**
+     * @param viewerUUID the participant whose personal hologram the lines are for,
+     *                   or null for the hologram everyone else sees
+     * @return every line of the hologram for the given viewer
+     */
+    private @NotNull List<String> renderAllLines(@Nullable UUID viewerUUID) {
+        int topCount = Math.min(topPlayers, standings.size());
+        List<String> lines = new ArrayList<>(topCount + 3);
         if (title != null) {
             lines.add(title);
         }
-        for (int i = 0; i < Math.min(topPlayers, standings.size()); i++) {
-            Standing standing = standings.get(i);
-            lines.add(standing.toLine());
-        }
-        DHAPI.setHologramLines(allHologram, lines);
-        lines.add("");
-        for (Standing standing : standings) {
-            Hologram hologram = holograms.get(standing.getUuid());
-            if (hologram != null) {
-                DHAPI.setHologramLines(hologram, lines);
-                String personalLine = standing.toBoldLine();
-                DHAPI.addHologramLine(hologram, personalLine);
-                if (standing.getPlacement() - (title != null ? 0 : 1) <= topPlayers) {
-                    DHAPI.setHologramLine(hologram, standing.getPlacement() - (title != null ? 0 : 1), personalLine);
-                }
-            }
+        LeaderboardStandings.Standing viewer = viewerUUID != null ? standings.get(viewerUUID) : null;
+        int viewerIndex = viewer != null ? standings.indexOf(viewer) : -1;
+        for (int i = 0; i < topCount; i++) {
+            LeaderboardStandings.Standing standing = standings.get(i);
+            lines.add(i == viewerIndex ? standing.toBoldLine(i + 1) : standing.toLine(i + 1));
+        }
+        if (viewer != null) {
+            lines.add("");
+            lines.add(viewer.toBoldLine(viewerIndex + 1));
         }
+        return lines;
     }
     
-    @Data
-    static class Standing {
-        private final @NotNull UUID uuid;
-        private final int placement;
-        private final NamedTextColor teamColor;
-        private final @NotNull String ign;
-        private final int score;
+    /**
+     * A hologram, and the lines which were last sent to it. Lines are only sent to
+     * the hologram when they differ from what it already shows.
+     */
+    private static class HologramLines {
+        @Getter
+        private final Hologram hologram;
+        private final List<String> sent = new ArrayList<>();
+        /**
+         * the number of top lines that the personal line was last placed below. -1 if there is no personal line.
+         */
+        @Getter
+        @Setter
+        private int topCount = -1;
+        
+        public HologramLines(Hologram hologram) {
+            this.hologram = hologram;
+        }
         
-        public String toBoldLine() {
-            return LegacyComponentSerializer.legacyAmpersand().serialize(Component.empty()
-                    .append(Component.text(placement))
-                    .append(Component.text(". "))
-                    .append(Component.text(ign)
-                            .color(teamColor))
-                    .append(Component.text(" - "))
-                    .append(Component.text(score))
-                    .color(NamedTextColor.GOLD)
-                    .decorate(TextDecoration.BOLD)
-            );
+        /**
+         * Replace every line of the hologram
+         * @param lines the new lines
+         */
+        public void setAll(@NotNull List<String> lines) {
+            DHAPI.setHologramLines(hologram, lines);
+            sent.clear();
+            sent.addAll(lines);
         }
         
-        public String toLine() {
-            return LegacyComponentSerializer.legacyAmpersand().serialize(Component.empty()
-                    .append(Component.text(placement))
-                    .append(Component.text(". "))
-                    .append(Component.text(ign)
-                            .color(teamColor))
-                    .append(Component.text(" - "))
-                    .append(Component.text(score))
-                    .color(NamedTextColor.GOLD)
-            );
+        /**
+         * Set the line at the given index, if it is different from the one already there
+         * @param index the index of the line. Must be at most the current number of lines.
+         * @param line the line
+         */
+        public void set(int index, @NotNull String line) {
+            if (index < sent.size()) {
+                if (sent.get(index).equals(line)) {
+                    return;
+                }
+                DHAPI.setHologramLine(hologram, index, line);
+                sent.set(index, line);
+            } else {
+                DHAPI.addHologramLine(hologram, line);
+                sent.add(line);
+            }
+        }
+        
+        /**
+         * Remove lines from the end of the hologram until it has the given number of lines
+         * @param size the number of lines to keep
+         */
+        public void truncate(int size) {
+            while (sent.size() > size) {
+                DHAPI.removeHologramLine(hologram, sent.size() - 1);
+                sent.remove(sent.size() - 1);
+            }
         }
     }
 }
@@ -0,0 +1,243 @@
+package org.braekpo1nt.mctmanager.hub.leaderboard;
+
+import lombok.Getter;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * The participants on a leaderboard, ranked by score (highest first), then by name.
+ * <br>
+ * The ranking is kept sorted as scores change instead of being re-sorted from scratch.
+ * Each change moves a single standing to its new position using a binary search, and
+ * widens the dirty range to cover every placement which shifted as a result. The
+ * leaderboard then only has to re-render the lines inside the dirty range.
+ */
+class LeaderboardStandings {
+    
+    /**
+     * Highest score first, then alphabetically by name (ignoring case), then by UUID so that
+     * no two standings are ever equal
+     */
+    static final Comparator<Standing> ORDER = Comparator
+            .comparingInt(Standing::getScore).reversed()
+            .thenComparing(Standing::getIgn, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Standing::getUuid);
+    
+    /**
+     * The standings in order of placement. The standing at index i is in placement i+1.
+     */
+    private final List<Standing> ranked = new ArrayList<>();
+    private final Map<UUID, Standing> standings = new HashMap<>();
+    /**
+     * The first index (inclusive) whose line has changed since the last {@link #clearDirty()}
+     */
+    @Getter
+    private int dirtyFrom = Integer.MAX_VALUE;
+    /**
+     * The last index (inclusive) whose line has changed since the last {@link #clearDirty()}.
+     * May be greater than or equal to {@link #size()} if standings were removed from the end.
+     */
+    @Getter
+    private int dirtyTo = -1;
+    
+    int size() {
+        return ranked.size();
+    }
+    
+    boolean contains(@NotNull UUID uuid) {
+        return standings.containsKey(uuid);
+    }
+    
+    @Nullable Standing get(@NotNull UUID uuid) {
+        return standings.get(uuid);
+    }
+    
+    /**
+     * @param index the index of the standing (placement - 1)
+     * @return the standing at the given index
+     */
+    @NotNull Standing get(int index) {
+        return ranked.get(index);
+    }
+    
+    /**
+     * @param standing a standing which is in this leaderboard
+     * @return the index of the given standing (placement - 1)
+     */
+    int indexOf(@NotNull Standing standing) {
+        return Collections.binarySearch(ranked, standing, ORDER);
+    }
+    
+    /**
+     * Add the given participant, or update their standing if they are already present.
+     * The participant is moved to their new placement, and every placement which shifted
+     * as a result is marked dirty.
+     * @param uuid the participant's UUID
+     * @param ign the participant's name
+     * @param teamColor the color of the participant's team
+     * @param score the participant's personal score
+     * @return true if anything changed, false otherwise
+     */
+    boolean put(@NotNull UUID uuid, @NotNull String ign, @NotNull NamedTextColor teamColor, int score) {
+        Standing standing = standings.get(uuid);
+        if (standing == null) {
+            standing = new Standing(uuid, ign, teamColor, score);
+            standings.put(uuid, standing);
+            int index = insert(standing);
+            // everyone below is pushed down a placement
+            markDirty(index, ranked.size() - 1);
+            return true;
+        }
+        if (standing.getScore() == score
+                && standing.getIgn().equals(ign)
+                && standing.getTeamColor().equals(teamColor)) {
+            return false;
+        }
+        int oldIndex = indexOf(standing);
+        ranked.remove(oldIndex);
+        standing.update(ign, teamColor, score);
+        int newIndex = insert(standing);
+        // everyone between the old and new placements shifted by one
+        markDirty(Math.min(oldIndex, newIndex), Math.max(oldIndex, newIndex));
+        return true;
+    }
+    
+    /**
+     * @param uuid the UUID of the participant to remove
+     * @return true if the participant was removed, false if they weren't present
+     */
+    boolean remove(@NotNull UUID uuid) {
+        Standing standing = standings.remove(uuid);
+        if (standing == null) {
+            return false;
+        }
+        int index = indexOf(standing);
+        ranked.remove(index);
+        // everyone below moves up a placement, and the last placement is gone
+        markDirty(index, ranked.size());
+        return true;
+    }
+    
+    /**
+     * Remove every participant whose UUID is not in the given set
+     * @param uuids the UUIDs of the participants to keep
+     */
+    void retainAll(@NotNull Set<UUID> uuids) {
+        List<UUID> toRemove = new ArrayList<>();
+        for (UUID uuid : standings.keySet()) {
+            if (!uuids.contains(uuid)) {
+                toRemove.add(uuid);
+            }
+        }
+        for (UUID uuid : toRemove) {
+            remove(uuid);
+        }
+    }
+    
+    private int insert(@NotNull Standing standing) {
+        int index = -(Collections.binarySearch(ranked, standing, ORDER) + 1);
+        ranked.add(index, standing);
+        return index;
+    }
+    
+    private void markDirty(int from, int to) {
+        dirtyFrom = Math.min(dirtyFrom, from);
+        dirtyTo = Math.max(dirtyTo, to);
+    }
+    
+    /**
+     * @return true if any placement has changed since the last {@link #clearDirty()}
+     */
+    boolean isDirty() {
+        return dirtyFrom <= dirtyTo;
+    }
+    
+    /**
+     * @param index the index of a standing
+     * @return true if the line of the standing at the given index has changed since the last {@link #clearDirty()}
+     */
+    boolean isDirty(int index) {
+        return dirtyFrom <= index && index <= dirtyTo;
+    }
+    
+    void clearDirty() {
+        dirtyFrom = Integer.MAX_VALUE;
+        dirtyTo = -1;
+    }
+    
+    /**
+     * A participant's place on the leaderboard. Caches its rendered lines until its
+     * placement, name, color, or score changes.
+     */
+    static class Standing {
+        @Getter
+        private final @NotNull UUID uuid;
+        @Getter
+        private @NotNull String ign;
+        @Getter
+        private @NotNull NamedTextColor teamColor;
+        @Getter
+        private int score;
+        /**
+         * the placement that {@link #line} and {@link #boldLine} were rendered with. -1 if they need to be re-rendered.
+         */
+        private int renderedPlacement = -1;
+        private String line;
+        private String boldLine;
+        
+        Standing(@NotNull UUID uuid, @NotNull String ign, @NotNull NamedTextColor teamColor, int score) {
+            this.uuid = uuid;
+            this.ign = ign;
+            this.teamColor = teamColor;
+            this.score = score;
+        }
+        
+        private void update(@NotNull String ign, @NotNull NamedTextColor teamColor, int score) {
+            this.ign = ign;
+            this.teamColor = teamColor;
+            this.score = score;
+            this.renderedPlacement = -1;
+        }
+        
+        /**
+         * @param placement the placement of this standing (index + 1)
+         * @return the line to show for this standing
+         */
+        public String toLine(int placement) {
+            render(placement);
+            return line;
+        }
+        
+        /**
+         * @param placement the placement of this standing (index + 1)
+         * @return the bold line to show this standing's participant their own standing
+         */
+        public String toBoldLine(int placement) {
+            render(placement);
+            return boldLine;
+        }
+        
+        private void render(int placement) {
+            if (renderedPlacement == placement) {
+                return;
+            }
+            Component contents = Component.empty()
+                    .append(Component.text(placement))
+                    .append(Component.text(". "))
+                    .append(Component.text(ign)
+                            .color(teamColor))
+                    .append(Component.text(" - "))
+                    .append(Component.text(score))
+                    .color(NamedTextColor.GOLD);
+            line = LegacyComponentSerializer.legacyAmpersand().serialize(contents);
+            boldLine = LegacyComponentSerializer.legacyAmpersand().serialize(contents.decorate(TextDecoration.BOLD));
+            renderedPlacement = placement;
+        }
+    }
+}
@@ -21,7 +21,7 @@ public class BlockEffectsListener implements Listener {
     private final PotionEffect JUMP = new PotionEffect(PotionEffectType.JUMP_BOOST, 140, 7, true, false, false);
     
     public BlockEffectsListener(Main plugin) {
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getEventRouter().register(EventRouter.GLOBAL, this);
     }
     
     @EventHandler
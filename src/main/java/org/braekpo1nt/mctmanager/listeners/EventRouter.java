@@ -0,0 +1,377 @@
+package org.braekpo1nt.mctmanager.listeners;
+
+import org.braekpo1nt.mctmanager.Main;
+import org.bukkit.entity.Player;
+import org.bukkit.event.*;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryInteractEvent;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.player.PlayerEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+/**
+ * Routes Bukkit events to the plugin's listeners according to the context the event's
+ * player is in (the hub, a particular game, an editor, etc.).
+ * <br>
+ * Previously every game, round, and manager registered itself as its own Bukkit listener,
+ * so every {@link org.bukkit.event.player.PlayerMoveEvent} (for example) was delivered to
+ * every registered listener, each of which checked whether the player was one of its
+ * participants. Instead, each listener is registered here along with the context it
+ * belongs to. Bukkit only gets one executor per event type and priority, which looks up the
+ * player's context once (see {@link #setContextResolver(Function)}) and calls only the
+ * {@link #GLOBAL} handlers and the handlers belonging to that context.
+ * <br>
+ * If an event has no player, or the player isn't in any context, every handler is called,
+ * which is the same as if they were all registered with Bukkit directly.
+ * <br>
+ * Also keeps timing counters for every handler, see {@link #getStats()}.
+ */
+public class EventRouter {
+    
+    /**
+     * The context for listeners which should receive events no matter which context the player is in
+     */
+    public static final Object GLOBAL = new Object() {
+        @Override
+        public String toString() {
+            return "GLOBAL";
+        }
+    };
+    
+    /**
+     * The timing counters for a handler
+     * @param name the name of the handler (the listener's class and the method's name)
+     * @param calls the number of times the handler has been called
+     * @param totalNanos the total time spent in the handler
+     * @param maxNanos the longest single call to the handler
+     */
+    public record HandlerStats(@NotNull String name, long calls, long totalNanos, long maxNanos) {
+        public double totalMillis() {
+            return totalNanos / 1_000_000.0;
+        }
+        
+        public double maxMillis() {
+            return maxNanos / 1_000_000.0;
+        }
+    }
+    
+    /**
+     * Timing counters, shared by every handler with the same name so that they add up
+     * across instances (e.g. every round of a game)
+     */
+    private static class Timings {
+        private final String name;
+        private long calls;
+        private long totalNanos;
+        private long maxNanos;
+        
+        private Timings(String name) {
+            this.name = name;
+        }
+        
+        private synchronized void record(long nanos) {
+            calls++;
+            totalNanos += nanos;
+            if (nanos > maxNanos) {
+                maxNanos = nanos;
+            }
+        }
+        
+        private synchronized HandlerStats toStats() {
+            return new HandlerStats(name, calls, totalNanos, maxNanos);
+        }
+        
+        private synchronized void reset() {
+            calls = 0;
+            totalNanos = 0;
+            maxNanos = 0;
+        }
+    }
+    
+    private record Handler(
+            @NotNull Listener listener,
+            @NotNull Object context,
+            @NotNull Class<? extends Event> eventClass,
+            @NotNull EventPriority priority,
+            boolean ignoreCancelled,
+            @NotNull MethodHandle method,
+            @NotNull Timings timings) {
+    }
+    
+    private record RouteKey(@NotNull Class<? extends Event> eventClass, @NotNull EventPriority priority) {
+    }
+    
+    /**
+     * The handlers for one event type at one priority. Rebuilt whenever a handler is added
+     * or removed, and replaced as a whole so that events being dispatched (possibly on
+     * another thread, for async events) always see a consistent set of handlers.
+     */
+    private static class Route {
+        private final List<Handler> handlers = new ArrayList<>();
+        private volatile Handler[] all = new Handler[0];
+        private volatile Handler[] global = new Handler[0];
+        /**
+         * For each context, the {@link #GLOBAL} handlers and that context's handlers, in the order they were registered
+         */
+        private volatile Map<Object, Handler[]> byContext = Map.of();
+        
+        private void rebuild() {
+            Map<Object, List<Handler>> contexts = new HashMap<>();
+            List<Handler> globalHandlers = new ArrayList<>();
+            for (Handler handler : handlers) {
+                if (handler.context() == GLOBAL) {
+                    globalHandlers.add(handler);
+                } else {
+                    contexts.computeIfAbsent(handler.context(), k -> new ArrayList<>());
+                }
+            }
+            Map<Object, Handler[]> newByContext = new HashMap<>(contexts.size() * 2);
+            for (Map.Entry<Object, List<Handler>> entry : contexts.entrySet()) {
+                List<Handler> merged = entry.getValue();
+                for (Handler handler : handlers) {
+                    if (handler.context() == GLOBAL || handler.context().equals(entry.getKey())) {
+                        merged.add(handler);
+                    }
+                }
+                newByContext.put(entry.getKey(), merged.toArray(new Handler[0]));
+            }
+            this.global = globalHandlers.toArray(new Handler[0]);
+            this.byContext = newByContext;
+            this.all = handlers.toArray(new Handler[0]);
+        }
+    }
+    
+    private static final MethodType HANDLER_TYPE = MethodType.methodType(void.class, Event.class);
+    
+    private final Plugin plugin;
+    /**
+     * The listener Bukkit sees as the owner of this router's executors
+     */
+    private final Listener routerListener = new Listener() {
+    };
+    private final Map<RouteKey, Route> routes = new HashMap<>();
+    private final Map<Listener, List<Handler>> listenerHandlers = new IdentityHashMap<>();
+    private final Map<String, Timings> timings = new LinkedHashMap<>();
+    private @NotNull Function<@NotNull Player, @Nullable Object> contextResolver = player -> null;
+    private long statsStartNanos;
+    
+    public EventRouter(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+        this.statsStartNanos = System.nanoTime();
+    }
+    
+    /**
+     * @param contextResolver returns the context the given player is currently in (the same
+     *                        object the context's listeners were registered with), or null if
+     *                        they aren't in any context. Called on the thread the event was
+     *                        fired on, but never for asynchronous events.
+     */
+    public void setContextResolver(@NotNull Function<@NotNull Player, @Nullable Object> contextResolver) {
+        this.contextResolver = contextResolver;
+    }
+    
+    /**
+     * Register all the {@link EventHandler} methods of the given listener, in the same way
+     * as {@link org.bukkit.plugin.PluginManager#registerEvents(Listener, Plugin)}.
+     * @param context the context the listener belongs to. Events involving a player are only
+     *                passed to the listener if the player is in this context (or isn't in any
+     *                context). Use {@link #GLOBAL} to receive every event.
+     * @param listener the listener to register. If it is already registered, it is unregistered first.
+     */
+    public void register(@NotNull Object context, @NotNull Listener listener) {
+        unregister(listener);
+        List<Handler> handlers = new ArrayList<>();
+        for (Method method : getHandlerMethods(listener.getClass())) {
+            EventHandler eventHandler = method.getAnnotation(EventHandler.class);
+            Class<? extends Event> eventClass = method.getParameterTypes()[0].asSubclass(Event.class);
+            MethodHandle methodHandle;
+            try {
+                method.setAccessible(true);
+                methodHandle = MethodHandles.lookup().unreflect(method).bindTo(listener).asType(HANDLER_TYPE);
+            } catch (IllegalAccessException | RuntimeException e) {
+                Main.logger().log(Level.SEVERE, String.format("Could not register %s for %s", method, eventClass.getSimpleName()), e);
+                continue;
+            }
+            String name = listener.getClass().getSimpleName() + "#" + method.getName();
+            Handler handler = new Handler(
+                    listener,
+                    context,
+                    eventClass,
+                    eventHandler.priority(),
+                    eventHandler.ignoreCancelled(),
+                    methodHandle,
+                    timings.computeIfAbsent(name, Timings::new));
+            handlers.add(handler);
+            Route route = getRoute(eventClass, eventHandler.priority());
+            route.handlers.add(handler);
+            route.rebuild();
+        }
+        listenerHandlers.put(listener, handlers);
+    }
+    
+    /**
+     * Unregister all the handlers of the given listener. Does nothing if it isn't registered.
+     * @param listener the listener to unregister
+     */
+    public void unregister(@NotNull Listener listener) {
+        List<Handler> handlers = listenerHandlers.remove(listener);
+        if (handlers == null) {
+            return;
+        }
+        for (Handler handler : handlers) {
+            Route route = routes.get(new RouteKey(handler.eventClass(), handler.priority()));
+            route.handlers.remove(handler);
+            route.rebuild();
+        }
+    }
+    
+    /**
+     * Gets the route for the given event type and priority, registering an executor
+     * with Bukkit for it if there isn't one yet. Executors are never unregistered,
+     * an empty route simply has nothing to call.
+     */
+    private @NotNull Route getRoute(@NotNull Class<? extends Event> eventClass, @NotNull EventPriority priority) {
+        RouteKey key = new RouteKey(eventClass, priority);
+        Route existing = routes.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        Route route = new Route();
+        routes.put(key, route);
+        plugin.getServer().getPluginManager().registerEvent(eventClass, routerListener, priority, (listener, event) -> {
+            // events share the handler list of their superclass (if they don't declare their own)
+            if (eventClass.isInstance(event)) {
+                dispatch(route, event);
+            }
+        }, plugin, false);
+        return route;
+    }
+    
+    private void dispatch(@NotNull Route route, @NotNull Event event) {
+        Handler[] handlers = route.all;
+        if (handlers.length == 0) {
+            return;
+        }
+        if (!event.isAsynchronous()) {
+            Player player = getPlayer(event);
+            if (player != null) {
+                Object context = contextResolver.apply(player);
+                if (context != null) {
+                    handlers = route.byContext.getOrDefault(context, route.global);
+                }
+            }
+        }
+        for (Handler handler : handlers) {
+            if (handler.ignoreCancelled() && event instanceof Cancellable cancellable && cancellable.isCancelled()) {
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                handler.method().invokeExact(event);
+            } catch (Throwable e) {
+                Main.logger().log(Level.SEVERE, String.format("Could not pass event %s to %s", event.getEventName(), handler.timings().name), e);
+            }
+            handler.timings().record(System.nanoTime() - start);
+        }
+    }
+    
+    /**
+     * @param event the event
+     * @return the player the event is about, or null if there isn't one
+     */
+    private static @Nullable Player getPlayer(@NotNull Event event) {
+        if (event instanceof PlayerEvent playerEvent) {
+            return playerEvent.getPlayer();
+        }
+        if (event instanceof EntityEvent entityEvent) {
+            if (entityEvent.getEntity() instanceof Player player) {
+                return player;
+            }
+            if (event instanceof EntityDamageByEntityEvent damageEvent && damageEvent.getDamager() instanceof Player damager) {
+                return damager;
+            }
+            return null;
+        }
+        if (event instanceof InventoryInteractEvent interactEvent) {
+            return interactEvent.getWhoClicked() instanceof Player player ? player : null;
+        }
+        if (event instanceof InventoryOpenEvent openEvent) {
+            return openEvent.getPlayer() instanceof Player player ? player : null;
+        }
+        if (event instanceof InventoryCloseEvent closeEvent) {
+            return closeEvent.getPlayer() instanceof Player player ? player : null;
+        }
+        if (event instanceof BlockBreakEvent breakEvent) {
+            return breakEvent.getPlayer();
+        }
+        if (event instanceof BlockPlaceEvent placeEvent) {
+            return placeEvent.getPlayer();
+        }
+        return null;
+    }
+    
+    /**
+     * @param listenerClass the class of a listener
+     * @return the {@link EventHandler} methods of the given class (including inherited public ones)
+     */
+    private static @NotNull Collection<Method> getHandlerMethods(@NotNull Class<?> listenerClass) {
+        Set<Method> methods = new LinkedHashSet<>(Arrays.asList(listenerClass.getMethods()));
+        methods.addAll(Arrays.asList(listenerClass.getDeclaredMethods()));
+        List<Method> result = new ArrayList<>();
+        for (Method method : methods) {
+            if (method.isBridge() || method.isSynthetic() || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            if (method.getAnnotation(EventHandler.class) == null) {
+                continue;
+            }
+            if (method.getParameterCount() != 1 || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                Main.logger().severe(String.format("%s attempted to register an invalid EventHandler method signature \"%s\"", listenerClass.getName(), method.toGenericString()));
+                continue;
+            }
+            result.add(method);
+        }
+        return result;
+    }
+    
+    /**
+     * @return the timing counters of every handler which has been registered, in the order
+     * they were first registered
+     */
+    public @NotNull List<HandlerStats> getStats() {
+        List<HandlerStats> stats = new ArrayList<>(timings.size());
+        for (Timings handlerTimings : timings.values()) {
+            stats.add(handlerTimings.toStats());
+        }
+        return stats;
+    }
+    
+    /**
+     * @return the time since the timing counters were last reset, in nanoseconds
+     */
+    public long getNanosSinceStatsReset() {
+        return System.nanoTime() - statsStartNanos;
+    }
+    
+    public void resetStats() {
+        for (Timings handlerTimings : timings.values()) {
+            handlerTimings.reset();
+        }
+        statsStartNanos = System.nanoTime();
+    }
+}
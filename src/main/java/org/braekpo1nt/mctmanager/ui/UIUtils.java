@@ -6,8 +6,8 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import net.kyori.adventure.title.Title;
 import org.braekpo1nt.mctmanager.Main;
-import org.braekpo1nt.mctmanager.io.IOUtils;
 import org.braekpo1nt.mctmanager.ui.maps.ImageMapRenderer;
+import org.braekpo1nt.mctmanager.ui.maps.MapImage;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -16,12 +16,10 @@ import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.MapMeta;
-import org.bukkit.map.MapPalette;
 import org.bukkit.map.MapRenderer;
 import org.bukkit.map.MapView;
 import org.jetbrains.annotations.NotNull;
 
-import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.time.Duration;
@@ -165,6 +163,7 @@ public class UIUtils {
     
     /**
      * Create a MapRenderer from the given file, if it exists. 
+     * The converted image is cached, see {@link MapImage#fromFile(File)}.
      * 
      * @param imageFile the File containing the image
      * @return The MapRenderer with the given image, resized to 127x127
@@ -172,9 +171,7 @@ public class UIUtils {
      * {@link MapRenderer}.
      */
     public static @NotNull MapRenderer createMapRenderer(@NotNull File imageFile) throws IOException {
-        BufferedImage image = IOUtils.toBufferedImage(imageFile);
-        BufferedImage resizedImage = MapPalette.resizeImage(image);
-        return new ImageMapRenderer(resizedImage);
+        return new ImageMapRenderer(MapImage.fromFile(imageFile));
     }
     
     /**
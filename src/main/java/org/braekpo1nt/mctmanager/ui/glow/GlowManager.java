@@ -6,6 +6,8 @@ import com.github.retrooper.packetevents.event.simple.PacketPlaySendEvent;
 import com.github.retrooper.packetevents.protocol.entity.data.EntityData;
 import com.github.retrooper.packetevents.protocol.entity.data.EntityDataTypes;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
+import com.github.retrooper.packetevents.protocol.packettype.PacketTypeCommon;
+import com.github.retrooper.packetevents.protocol.player.User;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityMetadata;
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerSpawnEntity;
 import lombok.EqualsAndHashCode;
@@ -15,11 +17,31 @@ import org.braekpo1nt.mctmanager.ui.UIUtils;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
+/**
+ * Makes players glow to some viewers and not others, by rewriting the entity metadata packets
+ * each viewer receives.
+ * <br>
+ * The glow state is changed on the main thread, but read by the packet listener on the netty
+ * threads. So the listener only ever reads an immutable {@link Snapshot} of the state, which is
+ * replaced (never modified) whenever the state changes. This way the listener never locks, and
+ * never sees a half-made change.
+ * <br>
+ * Players can also be put in glow groups (e.g. one per team), whose members glow to each other
+ * and to the group observers (e.g. admins). Group changes are applied as a batch: the snapshot is
+ * replaced once, and each viewer's packets are written together and flushed once.
+ */
 public class GlowManager extends SimplePacketListenerAbstract {
     
+    /**
+     * The entity flag which makes an entity glow
+     */
+    private static final byte GLOWING_FLAG = 0x40;
+    
     private final Plugin plugin;
     
     public GlowManager(Plugin plugin) {
@@ -33,6 +55,11 @@ public class GlowManager extends SimplePacketListenerAbstract {
         @EqualsAndHashCode.Include
         @Getter
         private final Player player;
+        /**
+         * This player's index in the {@link Snapshot}'s bitsets
+         */
+        @Getter
+        private final int slot;
         /**
          * UUIDs of entities which this player should appear to glow to
          */
@@ -108,11 +135,102 @@ public class GlowManager extends SimplePacketListenerAbstract {
     }
     
     /**
-     * Maps each player's Entity ID to their UUID, so that we don't have to switch threads during
-     * the packet listener in order to see which entity it's referencing.
+     * An immutable view of which viewers see which targets glowing, for the packet listener.
+     * Players are referred to by their slot, which stays the same while they're in the manager.
+     */
+    private static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(Map.of(), new int[0], new int[0], new long[0][]);
+        
+        /**
+         * the slots of the players, by UUID
+         */
+        private final Map<UUID, Integer> slots;
+        /**
+         * the entity IDs of the players, sorted so that they can be binary searched
+         */
+        private final int[] entityIds;
+        /**
+         * the slot of the player with the entity ID at the same index in {@link #entityIds}
+         */
+        private final int[] entitySlots;
+        /**
+         * for each viewer's slot, a bitset of the slots of the targets they see glowing (or null if none)
+         */
+        private final long[][] targets;
+        
+        private Snapshot(Map<UUID, Integer> slots, int[] entityIds, int[] entitySlots, long[][] targets) {
+            this.slots = slots;
+            this.entityIds = entityIds;
+            this.entitySlots = entitySlots;
+            this.targets = targets;
+        }
+        
+        /**
+         * @return the slot of the player with the given UUID, or -1 if they aren't in the manager
+         */
+        private int getSlot(@Nullable UUID uuid) {
+            if (uuid == null) {
+                return -1;
+            }
+            Integer slot = slots.get(uuid);
+            return slot == null ? -1 : slot;
+        }
+        
+        /**
+         * @return the slot of the player with the given entity ID, or -1 if they aren't in the manager
+         */
+        private int getEntitySlot(int entityId) {
+            int index = Arrays.binarySearch(entityIds, entityId);
+            return index < 0 ? -1 : entitySlots[index];
+        }
+        
+        private boolean hasTargets(int viewerSlot) {
+            return viewerSlot < targets.length && targets[viewerSlot] != null;
+        }
+        
+        private boolean canSee(int viewerSlot, int targetSlot) {
+            if (!hasTargets(viewerSlot)) {
+                return false;
+            }
+            long[] row = targets[viewerSlot];
+            int word = targetSlot >>> 6;
+            return word < row.length && (row[word] & (1L << targetSlot)) != 0;
+        }
+        
+        /**
+         * @return a copy of this snapshot, with only the given viewer's targets changed
+         */
+        private @NotNull Snapshot withTargets(int viewerSlot, @Nullable long[] row) {
+            long[][] newTargets = Arrays.copyOf(targets, Math.max(targets.length, viewerSlot + 1));
+            newTargets[viewerSlot] = row;
+            return new Snapshot(slots, entityIds, entitySlots, newTargets);
+        }
+    }
+    
+    /**
+     * The players in this manager, by UUID. Only used on the main thread.
      */
-    private final Map<Integer, UUID> mapper = new HashMap<>();
     private final Map<UUID, PlayerData> playerDatas = new HashMap<>();
+    /**
+     * The slots taken by the players in this manager
+     */
+    private final BitSet usedSlots = new BitSet();
+    /**
+     * The members of each glow group, by group ID. Members of a group glow to each other.
+     */
+    private final Map<String, Set<UUID>> groups = new HashMap<>();
+    /**
+     * The group ID of each player in a glow group
+     */
+    private final Map<UUID, String> groupIds = new HashMap<>();
+    /**
+     * The players who see the members of every glow group glowing
+     */
+    private final Set<UUID> groupObservers = new HashSet<>();
+    /**
+     * The current state, for the packet listener. Replaced whenever the state changes.
+     */
+    private volatile @NotNull Snapshot snapshot = Snapshot.EMPTY;
     
     public void registerListeners() {
         PacketEvents.getAPI().getEventManager().registerListener(this);
@@ -122,16 +240,71 @@ public class GlowManager extends SimplePacketListenerAbstract {
         PacketEvents.getAPI().getEventManager().unregisterListener(this);
     }
     
+    /**
+     * Stop every player in this manager from glowing, and remove them all
+     */
     public void clear() {
-        for (PlayerData playerData : playerDatas.values()) {
+        Map<UUID, PlayerData> removedPlayerDatas = new HashMap<>(playerDatas);
+        // published before the packets are sent, so the listener doesn't make anyone glow again
+        snapshot = Snapshot.EMPTY;
+        playerDatas.clear();
+        usedSlots.clear();
+        groups.clear();
+        groupIds.clear();
+        groupObservers.clear();
+        for (PlayerData playerData : removedPlayerDatas.values()) {
             Player target = playerData.getPlayer();
             List<EntityData> entityMetadata = getEntityMetadata(target, false);
             for (UUID viewerUUID : playerData.getViewersList()) {
-                Player viewer = playerDatas.get(viewerUUID).getPlayer();
+                Player viewer = removedPlayerDatas.get(viewerUUID).getPlayer();
                 sendGlowingPacket(viewer, target.getEntityId(), entityMetadata);
             }
         }
-        mapper.clear();
+    }
+    
+    /**
+     * Replace the snapshot with one built from scratch. Used when players are added or removed,
+     * since that changes the slots and entity IDs.
+     */
+    private void rebuildSnapshot() {
+        Map<UUID, Integer> slots = new HashMap<>(playerDatas.size());
+        List<PlayerData> byEntityId = new ArrayList<>(playerDatas.values());
+        byEntityId.sort(Comparator.comparingInt(playerData -> playerData.getPlayer().getEntityId()));
+        int[] entityIds = new int[byEntityId.size()];
+        int[] entitySlots = new int[byEntityId.size()];
+        long[][] targets = new long[usedSlots.length()][];
+        for (int i = 0; i < byEntityId.size(); i++) {
+            PlayerData playerData = byEntityId.get(i);
+            slots.put(playerData.getPlayer().getUniqueId(), playerData.getSlot());
+            entityIds[i] = playerData.getPlayer().getEntityId();
+            entitySlots[i] = playerData.getSlot();
+            targets[playerData.getSlot()] = createTargetsRow(playerData);
+        }
+        snapshot = new Snapshot(Map.copyOf(slots), entityIds, entitySlots, targets);
+    }
+    
+    /**
+     * @param viewerPlayerData the viewer
+     * @return a bitset of the slots of the targets the given viewer sees glowing, or null if there are none
+     */
+    private @Nullable long[] createTargetsRow(@NotNull PlayerData viewerPlayerData) {
+        if (viewerPlayerData.getTargetsList().isEmpty()) {
+            return null;
+        }
+        long[] row = new long[(usedSlots.length() + 63) >>> 6];
+        for (UUID targetUUID : viewerPlayerData.getTargetsList()) {
+            int targetSlot = playerDatas.get(targetUUID).getSlot();
+            row[targetSlot >>> 6] |= 1L << targetSlot;
+        }
+        return row;
+    }
+    
+    /**
+     * Replace the snapshot with one where only the given viewer's targets are updated
+     * @param viewerPlayerData the viewer whose targets changed
+     */
+    private void publishTargets(@NotNull PlayerData viewerPlayerData) {
+        snapshot = snapshot.withTargets(viewerPlayerData.getSlot(), createTargetsRow(viewerPlayerData));
     }
     
     /**
@@ -166,8 +339,10 @@ public class GlowManager extends SimplePacketListenerAbstract {
             UIUtils.logUIError("Player %s already exists in this manager", player.getName());
             return;
         }
-        playerDatas.put(player.getUniqueId(), new PlayerData(player));
-        mapper.put(player.getEntityId(), player.getUniqueId());
+        int slot = usedSlots.nextClearBit(0);
+        usedSlots.set(slot);
+        playerDatas.put(player.getUniqueId(), new PlayerData(player, slot));
+        rebuildSnapshot();
     }
     
     /**
@@ -210,6 +385,7 @@ public class GlowManager extends SimplePacketListenerAbstract {
         Player viewer = viewerPlayerData.getPlayer();
         viewerPlayerData.addTarget(targetUUID);
         targetPlayerData.addViewer(viewerUUID);
+        publishTargets(viewerPlayerData);
         
         List<EntityData> entityMetadata = getEntityMetadata(target, true);
         sendGlowingPacket(viewer, target.getEntityId(), entityMetadata);
@@ -244,6 +420,8 @@ public class GlowManager extends SimplePacketListenerAbstract {
         Player viewer = viewerPlayerData.getPlayer();
         viewerPlayerData.removeTarget(targetUUID);
         targetPlayerData.removeViewer(viewerUUID);
+        // published before the packet is sent, so the listener doesn't make it glow again
+        publishTargets(viewerPlayerData);
         
         List<EntityData> entityMetadata = getEntityMetadata(target, false);
         sendGlowingPacket(viewer, target.getEntityId(), entityMetadata);
@@ -260,94 +438,223 @@ public class GlowManager extends SimplePacketListenerAbstract {
             UIUtils.logUIError("Player %s does not exist in this manager", player.getName());
             return;
         }
-        mapper.remove(player.getEntityId());
+        UUID removedUUID = removedPlayerData.getPlayer().getUniqueId();
+        leaveGroup(removedUUID);
+        groupObservers.remove(removedUUID);
+        for (UUID viewerUUID : removedPlayerData.getViewersList()) {
+            playerDatas.get(viewerUUID).removeTarget(removedUUID);
+        }
+        for (UUID targetUUID : removedPlayerData.getTargetsList()) {
+            playerDatas.get(targetUUID).removeViewer(removedUUID);
+        }
+        // published before the packets are sent, so the listener doesn't make anyone glow again
+        rebuildSnapshot();
+        usedSlots.clear(removedPlayerData.getSlot());
         
         Player removedPlayer = removedPlayerData.getPlayer();
         List<EntityData> removedPlayerMetadata = getEntityMetadata(removedPlayer, false);
         // removed player should no longer glow. iterate through viewers
         // and update their packets:
-        UUID removedUUID = removedPlayer.getUniqueId();
         for (UUID viewerUUID : removedPlayerData.getViewersList()) {
-            PlayerData viewerPlayerData = playerDatas.get(viewerUUID);
-            Player viewer = viewerPlayerData.getPlayer();
-            viewerPlayerData.removeTarget(removedUUID);
+            Player viewer = playerDatas.get(viewerUUID).getPlayer();
             sendGlowingPacket(viewer, removedPlayer.getEntityId(), removedPlayerMetadata);
         }
         
         // removed player should no longer see glowing. iterate through targets
         // and update their packets:
         for (UUID targetUUID : removedPlayerData.getTargetsList()) {
-            PlayerData targetPlayerData = playerDatas.get(targetUUID);
-            Player target = targetPlayerData.getPlayer();
-            targetPlayerData.removeViewer(removedUUID);
+            Player target = playerDatas.get(targetUUID).getPlayer();
             List<EntityData> targetMetadata = getEntityMetadata(target, false);
             sendGlowingPacket(removedPlayer, target.getEntityId(), targetMetadata);
         }
     }
     
-    @Override
-    public void onPacketPlaySend(PacketPlaySendEvent event) {
-        if (event.getPacketType().equals(PacketType.Play.Server.ENTITY_METADATA)) {
-            
-            UUID viewerUUID = event.getUser().getUUID();
-            PlayerData viewerPlayerData = playerDatas.get(viewerUUID);
-            if (viewerPlayerData == null) {
-                // if the receiver of the packet is not in this manager, then do not proceed
-                return;
+    /**
+     * Add the given player to the given glow group. They will glow to the other members of the group
+     * and to the group observers, and the other members will glow to them.
+     * @param memberUUID the UUID of the player. Must be a player contained in this manager.
+     * @param groupId the ID of the group (e.g. their team ID)
+     * @see #joinGroups(Map)
+     */
+    public void joinGroup(@NotNull UUID memberUUID, @NotNull String groupId) {
+        joinGroups(Collections.singletonMap(memberUUID, groupId));
+    }
+    
+    /**
+     * Add each of the given players to their glow group, in one pass. Each player will glow to the
+     * other members of their group and to the group observers, and the other members of their
+     * group will glow to them.
+     * @param memberGroupIds the group ID for each player's UUID. Each player must be contained in this manager.
+     */
+    public void joinGroups(@NotNull Map<UUID, String> memberGroupIds) {
+        Map<UUID, Set<UUID>> viewersTargets = new HashMap<>();
+        for (Map.Entry<UUID, String> entry : memberGroupIds.entrySet()) {
+            UUID memberUUID = entry.getKey();
+            if (!playerDatas.containsKey(memberUUID)) {
+                UIUtils.logUIError("Player with UUID %s is not in this manager", memberUUID);
+                continue;
             }
-            WrapperPlayServerEntityMetadata packet = new WrapperPlayServerEntityMetadata(event);
-            int entityId = packet.getEntityId();
-            Player player = event.getPlayer();
-            UUID targetUUID = mapper.get(entityId);
-            if (targetUUID == null) {
-                // if the packet entity is not in the mapper, then it's a player in this manager, and we don't need to proceed
-                return;
+            String groupId = entry.getValue();
+            if (!groupId.equals(groupIds.get(memberUUID))) {
+                leaveGroup(memberUUID);
             }
-            if (!viewerPlayerData.canSee(targetUUID)) {
-                // if the viewer can't see the target's glow effect, then do not proceed
-                return;
+            Set<UUID> members = groups.computeIfAbsent(groupId, k -> new HashSet<>());
+            for (UUID otherUUID : members) {
+                if (!otherUUID.equals(memberUUID)) {
+                    viewersTargets.computeIfAbsent(memberUUID, k -> new HashSet<>()).add(otherUUID);
+                    viewersTargets.computeIfAbsent(otherUUID, k -> new HashSet<>()).add(memberUUID);
+                }
             }
-            List<EntityData> entityMetadata = packet.getEntityMetadata();
-            EntityData baseEntityData = entityMetadata.stream().filter(entityData -> entityData.getIndex() == 0 && entityData.getType() == EntityDataTypes.BYTE).findFirst().orElse(null);
-            if (baseEntityData == null) {
-                return;
+            members.add(memberUUID);
+            groupIds.put(memberUUID, groupId);
+            for (UUID observerUUID : groupObservers) {
+                if (!observerUUID.equals(memberUUID)) {
+                    viewersTargets.computeIfAbsent(observerUUID, k -> new HashSet<>()).add(memberUUID);
+                }
             }
-            // at this point, we're making changes to the packet, so mark it to be re-encoded
-            event.markForReEncode(true);
-            // if the base entity data is included in this packet, 
-            // we need to make sure that the "glowing" flag is set to true
-            byte flags = (byte) baseEntityData.getValue();
-            flags |= (byte) 0x40;
-            baseEntityData.setValue(flags);
-        }
-        if (event.getPacketType().equals(PacketType.Play.Server.SPAWN_ENTITY)) {
-            UUID viewerUUID = event.getUser().getUUID();
-            PlayerData viewerPlayerData = playerDatas.get(viewerUUID);
-            if (viewerPlayerData == null) {
-                // if the receiver of the packet is not in this manager, then do not proceed
-                return;
+        }
+        showGlowing(viewersTargets);
+    }
+    
+    /**
+     * Make the given player see the members of every glow group glowing, including future members
+     * @param observerUUID the UUID of the observer (e.g. an admin). Must be a player contained in this manager.
+     */
+    public void addGroupObserver(@NotNull UUID observerUUID) {
+        if (!playerDatas.containsKey(observerUUID)) {
+            UIUtils.logUIError("Observer player with UUID %s is not in this manager", observerUUID);
+            return;
+        }
+        groupObservers.add(observerUUID);
+        Set<UUID> targets = new HashSet<>(groupIds.keySet());
+        targets.remove(observerUUID);
+        showGlowing(Collections.singletonMap(observerUUID, targets));
+    }
+    
+    /**
+     * Remove the given player from their glow group, if they are in one. This doesn't
+     * change who they see glowing or who sees them glowing.
+     * @param memberUUID the UUID of the player
+     */
+    private void leaveGroup(@NotNull UUID memberUUID) {
+        String groupId = groupIds.remove(memberUUID);
+        if (groupId == null) {
+            return;
+        }
+        Set<UUID> members = groups.get(groupId);
+        members.remove(memberUUID);
+        if (members.isEmpty()) {
+            groups.remove(groupId);
+        }
+    }
+    
+    /**
+     * Show each viewer their targets' glowing effects, skipping the targets they already see glowing.
+     * The snapshot is replaced once, and each viewer's packets are flushed together.
+     * @param viewersTargets the UUIDs of the targets for each viewer's UUID. All must be contained in this manager.
+     */
+    private void showGlowing(@NotNull Map<UUID, Set<UUID>> viewersTargets) {
+        Map<Player, List<Player>> shown = new HashMap<>(viewersTargets.size());
+        for (Map.Entry<UUID, Set<UUID>> entry : viewersTargets.entrySet()) {
+            PlayerData viewerPlayerData = playerDatas.get(entry.getKey());
+            for (UUID targetUUID : entry.getValue()) {
+                if (viewerPlayerData.canSee(targetUUID)) {
+                    continue;
+                }
+                PlayerData targetPlayerData = playerDatas.get(targetUUID);
+                viewerPlayerData.addTarget(targetUUID);
+                targetPlayerData.addViewer(entry.getKey());
+                shown.computeIfAbsent(viewerPlayerData.getPlayer(), k -> new ArrayList<>())
+                        .add(targetPlayerData.getPlayer());
             }
-            WrapperPlayServerSpawnEntity packet = new WrapperPlayServerSpawnEntity(event);
-            int entityId = packet.getEntityId();
-            Player player = event.getPlayer();
-            UUID targetUUID = mapper.get(entityId);
-            if (targetUUID == null) {
-                // if the packet entity is not in the mapper, then it's a player in this manager, and we don't need to proceed
-                return;
+        }
+        if (shown.isEmpty()) {
+            return;
+        }
+        rebuildSnapshot();
+        for (Map.Entry<Player, List<Player>> entry : shown.entrySet()) {
+            User user = PacketEvents.getAPI().getPlayerManager().getUser(entry.getKey());
+            if (user == null) {
+                continue;
             }
-            if (!viewerPlayerData.canSee(targetUUID)) {
-                // if the viewer can't see the target's glow effect, then do not proceed
+            for (Player target : entry.getValue()) {
+                user.writePacket(new WrapperPlayServerEntityMetadata(
+                        target.getEntityId(),
+                        getEntityMetadata(target, true)));
+            }
+            user.flushPackets();
+        }
+    }
+    
+    /**
+     * Runs on the netty threads. Only reads the current {@link Snapshot}, and returns before
+     * decoding anything when the receiver doesn't see anyone glowing.
+     */
+    @Override
+    public void onPacketPlaySend(PacketPlaySendEvent event) {
+        PacketTypeCommon packetType = event.getPacketType();
+        if (packetType != PacketType.Play.Server.ENTITY_METADATA
+                && packetType != PacketType.Play.Server.SPAWN_ENTITY) {
+            return;
+        }
+        Snapshot current = snapshot;
+        int viewerSlot = current.getSlot(event.getUser().getUUID());
+        if (viewerSlot < 0 || !current.hasTargets(viewerSlot)) {
+            // the receiver of the packet is not in this manager, or doesn't see anyone glowing
+            return;
+        }
+        if (packetType == PacketType.Play.Server.ENTITY_METADATA) {
+            WrapperPlayServerEntityMetadata packet = new WrapperPlayServerEntityMetadata(event);
+            int targetSlot = current.getEntitySlot(packet.getEntityId());
+            if (targetSlot < 0 || !current.canSee(viewerSlot, targetSlot)) {
+                // the viewer can't see this entity's glow effect
                 return;
             }
-            PlayerData targetPlayerData = playerDatas.get(targetUUID);
-            if (targetPlayerData == null) {
-                // this should never happen, if it does something is wrong
+            for (EntityData entityData : packet.getEntityMetadata()) {
+                if (entityData.getIndex() == 0 && entityData.getType() == EntityDataTypes.BYTE) {
+                    // if the base entity data is included in this packet, 
+                    // we need to make sure that the "glowing" flag is set to true
+                    event.markForReEncode(true);
+                    entityData.setValue((byte) ((byte) entityData.getValue() | GLOWING_FLAG));
+                    return;
+                }
+            }
+            return;
+        }
+        WrapperPlayServerSpawnEntity packet = new WrapperPlayServerSpawnEntity(event);
+        int entityId = packet.getEntityId();
+        int targetSlot = current.getEntitySlot(entityId);
+        if (targetSlot < 0 || !current.canSee(viewerSlot, targetSlot)) {
+            return;
+        }
+        // The server follows the spawn packet with the entity's metadata, but leaves out the base
+        // entity data when none of its flags are set. So the target's base entity data, with the
+        // glowing flag, is sent afterward from the main thread, where the target's other flags
+        // (sneaking, invisible, etc.) can be read.
+        UUID viewerUUID = event.getUser().getUUID();
+        if (!plugin.isEnabled()) {
+            return;
+        }
+        plugin.getServer().getScheduler().runTask(plugin, () -> sendSpawnGlowing(viewerUUID, entityId));
+    }
+    
+    /**
+     * Send the base entity data of the target with the given entity ID to the given viewer, with the
+     * glowing flag set, if the viewer still sees the target glowing
+     * @param viewerUUID the UUID of the viewer the target spawned for
+     * @param entityId the entity ID of the target
+     */
+    private void sendSpawnGlowing(@NotNull UUID viewerUUID, int entityId) {
+        PlayerData viewerPlayerData = playerDatas.get(viewerUUID);
+        if (viewerPlayerData == null) {
+            return;
+        }
+        for (UUID targetUUID : viewerPlayerData.getTargetsList()) {
+            Player target = playerDatas.get(targetUUID).getPlayer();
+            if (target.getEntityId() == entityId) {
+                sendGlowingPacket(viewerPlayerData.getPlayer(), entityId, getEntityMetadata(target, true));
                 return;
             }
-            plugin.getServer().getScheduler().runTask(plugin, () -> {
-                List<EntityData> initialUpdateMetadata = getEntityMetadata(targetPlayerData.getPlayer(), true);
-                sendGlowingPacket(viewerPlayerData.getPlayer(), entityId, initialUpdateMetadata);
-            });
         }
     }
 }
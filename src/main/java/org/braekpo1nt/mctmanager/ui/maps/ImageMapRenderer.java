@@ -8,10 +8,23 @@ import org.jetbrains.annotations.NotNull;
 
 import java.awt.image.BufferedImage;
 import java.io.File;
+import java.util.Map;
+import java.util.WeakHashMap;
 
+/**
+ * Displays a {@link MapImage} on a map.
+ * <br>
+ * {@link #render(MapView, MapCanvas, Player)} is called for every viewer every tick, but the
+ * canvas keeps its pixels between calls, so the image is only drawn when the canvas is new
+ * or the image has changed since it was last drawn on that canvas.
+ */
 public class ImageMapRenderer extends MapRenderer {
     
-    private final @NotNull BufferedImage image;
+    private @NotNull MapImage image;
+    /**
+     * The image last drawn on each canvas
+     */
+    private final Map<MapCanvas, MapImage> drawnImages = new WeakHashMap<>();
     
     /**
      * Assigns the image as-is. Does not perform any resizing on the passed in image.
@@ -20,11 +33,31 @@ public class ImageMapRenderer extends MapRenderer {
      * a resized image from a file.
      */
     public ImageMapRenderer(@NotNull BufferedImage image) {
+        this(new MapImage(image));
+    }
+    
+    /**
+     * @param image the image to display on the map
+     * @see MapImage#fromFile(File)
+     */
+    public ImageMapRenderer(@NotNull MapImage image) {
+        this.image = image;
+    }
+    
+    /**
+     * Change the displayed image. It is drawn on each canvas the next time it is rendered.
+     * @param image the new image
+     */
+    public void setImage(@NotNull MapImage image) {
         this.image = image;
     }
     
     @Override
     public void render(@NotNull MapView map, @NotNull MapCanvas canvas, @NotNull Player player) {
-        canvas.drawImage(0, 0, image);
+        if (drawnImages.get(canvas) == image) {
+            return;
+        }
+        image.draw(canvas);
+        drawnImages.put(canvas, image);
     }
 }
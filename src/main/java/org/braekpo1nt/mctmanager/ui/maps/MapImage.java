@@ -0,0 +1,102 @@
+package org.braekpo1nt.mctmanager.ui.maps;
+
+import org.braekpo1nt.mctmanager.io.IOUtils;
+import org.bukkit.map.MapCanvas;
+import org.bukkit.map.MapPalette;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An image which has already been converted to map palette colors, so that it can be drawn
+ * onto a {@link MapCanvas} without converting it again.
+ * <br>
+ * Converting an image to the map palette is expensive (every pixel is matched against the
+ * palette), and {@link MapCanvas#drawImage(int, int, java.awt.Image)} does it every time it's
+ * called. Images loaded from files with {@link #fromFile(File)} are cached by file and size,
+ * so every map showing the same file shares the same converted pixels.
+ */
+public class MapImage {
+    
+    /**
+     * The width and height of a map, in pixels
+     */
+    public static final int MAP_SIZE = 128;
+    
+    /**
+     * Identifies a cached image. Includes the last modified time and length of the file so that
+     * a file which is changed on disk is loaded again instead of using the stale cached image.
+     */
+    private record CacheKey(@NotNull String path, long lastModified, long length, int width, int height) {
+    }
+    
+    private static final Map<CacheKey, MapImage> cache = new ConcurrentHashMap<>();
+    
+    private final int width;
+    private final int height;
+    private final byte[] pixels;
+    
+    /**
+     * Converts the given image to map palette colors. Does not resize the image.
+     * @param image the image to convert
+     */
+    @SuppressWarnings("deprecation")
+    public MapImage(@NotNull BufferedImage image) {
+        this.width = image.getWidth();
+        this.height = image.getHeight();
+        this.pixels = MapPalette.imageToBytes(image);
+    }
+    
+    /**
+     * Get the image in the given file, resized to fit on a map and converted to map palette colors.
+     * The result is cached, so the file is only read and converted again if it changes.
+     * @param imageFile the file containing the image
+     * @return the image in the given file, resized to {@link #MAP_SIZE}x{@link #MAP_SIZE}
+     * @throws IOException if the file does not exist, or can't be read as an image
+     */
+    public static @NotNull MapImage fromFile(@NotNull File imageFile) throws IOException {
+        CacheKey key = new CacheKey(
+                imageFile.getAbsolutePath(),
+                imageFile.lastModified(),
+                imageFile.length(),
+                MAP_SIZE,
+                MAP_SIZE);
+        MapImage cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        BufferedImage image = IOUtils.toBufferedImage(imageFile);
+        MapImage mapImage = new MapImage(MapPalette.resizeImage(image));
+        // drop older versions of the same file
+        cache.keySet().removeIf(cachedKey -> cachedKey.path().equals(key.path()));
+        cache.put(key, mapImage);
+        return mapImage;
+    }
+    
+    /**
+     * Removes all cached images
+     */
+    public static void clearCache() {
+        cache.clear();
+    }
+    
+    /**
+     * Draw this image onto the given canvas, with its top left corner at 0, 0
+     * @param canvas the canvas to draw on
+     */
+    @SuppressWarnings("deprecation")
+    public void draw(@NotNull MapCanvas canvas) {
+        int drawWidth = Math.min(width, MAP_SIZE);
+        int drawHeight = Math.min(height, MAP_SIZE);
+        for (int y = 0; y < drawHeight; y++) {
+            int row = y * width;
+            for (int x = 0; x < drawWidth; x++) {
+                canvas.setPixel(x, y, pixels[row + x]);
+            }
+        }
+    }
+}
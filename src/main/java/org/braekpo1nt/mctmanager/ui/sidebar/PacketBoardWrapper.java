@@ -0,0 +1,223 @@
+package org.braekpo1nt.mctmanager.ui.sidebar;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.protocol.score.ScoreFormat;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerDisplayScoreboard;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerResetScore;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerScoreboardObjective;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerUpdateScore;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link FastBoardWrapper} which sends the scoreboard packets through packetevents, instead
+ * of through FastBoard (which builds each packet reflectively, and allocates a new packet for
+ * every line change).
+ * <br>
+ * Each line is a score with a fixed entry name, whose display name is the line's contents
+ * and whose number is hidden. Only the lines whose contents changed are sent, each as a single
+ * score packet. Every line's score is only re-sent when lines are added or removed, since that
+ * changes the scores which order the lines.
+ * <br>
+ * A new packet wrapper is built for every send, since packetevents encodes a wrapper when it is
+ * sent, so a wrapper can't be safely changed and sent again.
+ */
+public class PacketBoardWrapper extends FastBoardWrapper {
+    
+    /**
+     * The display slot of the sidebar
+     */
+    private static final int SIDEBAR_POSITION = 1;
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+    /**
+     * The score entry names of the lines, by index. Shared by every board, since the names are never displayed.
+     */
+    private static final List<String> LINE_NAMES = new ArrayList<>();
+    
+    static synchronized @NotNull String getLineName(int line) {
+        while (LINE_NAMES.size() <= line) {
+            LINE_NAMES.add("mct-line-" + LINE_NAMES.size());
+        }
+        return LINE_NAMES.get(line);
+    }
+    
+    private final @NotNull String objectiveName = "mct-sb-" + Integer.toHexString(NEXT_ID.getAndIncrement());
+    private @Nullable Player player;
+    private boolean deleted = false;
+    private final List<Component> lines = new ArrayList<>();
+    private @NotNull Component title = Component.empty();
+    
+    /**
+     * Creates the objective for the given player and displays it in their sidebar
+     * @param player the owner of the scoreboard
+     */
+    @Override
+    public void setPlayer(Player player) {
+        this.player = player;
+        sendObjective(WrapperPlayServerScoreboardObjective.ObjectiveMode.CREATE, title);
+        send(new WrapperPlayServerDisplayScoreboard(SIDEBAR_POSITION, objectiveName));
+    }
+    
+    @Override
+    public void updateTitle(String title) {
+        updateTitle(Component.text(title));
+    }
+    
+    @Override
+    public void updateTitle(Component title) {
+        checkNotDeleted();
+        this.title = title;
+        sendObjective(WrapperPlayServerScoreboardObjective.ObjectiveMode.UPDATE, title);
+    }
+    
+    @Override
+    public void updateLines(String... lines) {
+        updateLines(Arrays.stream(lines).map(line -> (Component) Component.text(line)).toList());
+    }
+    
+    @Override
+    public void updateLines(Component... lines) {
+        updateLines(Arrays.asList(lines));
+    }
+    
+    @Override
+    public void updateLines(Collection<Component> newLines) {
+        checkNotDeleted();
+        List<Component> oldLines = new ArrayList<>(lines);
+        lines.clear();
+        lines.addAll(newLines);
+        if (oldLines.size() == lines.size()) {
+            for (int i = 0; i < lines.size(); i++) {
+                if (!lines.get(i).equals(oldLines.get(i))) {
+                    sendLine(i);
+                }
+            }
+            return;
+        }
+        // the scores order the lines, so every line's score changes when the size changes
+        for (int i = 0; i < lines.size(); i++) {
+            sendLine(i);
+        }
+        for (int i = lines.size(); i < oldLines.size(); i++) {
+            sendResetScore(getLineName(i));
+        }
+    }
+    
+    @Override
+    public void updateLine(int line, String text) {
+        updateLine(line, Component.text(text));
+    }
+    
+    @Override
+    public void updateLine(int line, Component text) {
+        checkNotDeleted();
+        if (line < lines.size()) {
+            if (!text.equals(lines.get(line))) {
+                lines.set(line, text);
+                sendLine(line);
+            }
+            return;
+        }
+        List<Component> newLines = new ArrayList<>(lines);
+        while (newLines.size() < line) {
+            newLines.add(Component.empty());
+        }
+        newLines.add(text);
+        updateLines(newLines);
+    }
+    
+    /**
+     * Send the given line's current contents, with the score which orders it among the current lines
+     * @param line the index of the line
+     */
+    private void sendLine(int line) {
+        sendScore(getLineName(line), lines.size() - 1 - line, lines.get(line));
+    }
+    
+    @Override
+    public int size() {
+        return lines.size();
+    }
+    
+    @Override
+    public void removeLine(int line) {
+        checkNotDeleted();
+        if (line < 0 || line >= lines.size()) {
+            return;
+        }
+        List<Component> newLines = new ArrayList<>(lines);
+        newLines.remove(line);
+        updateLines(newLines);
+    }
+    
+    @Override
+    public boolean isDeleted() {
+        return deleted;
+    }
+    
+    @Override
+    public void delete() {
+        checkNotDeleted();
+        sendObjective(WrapperPlayServerScoreboardObjective.ObjectiveMode.REMOVE, Component.empty());
+        deleted = true;
+    }
+    
+    private void checkNotDeleted() {
+        if (deleted) {
+            throw new IllegalStateException("This board is deleted");
+        }
+    }
+    
+    /**
+     * Send this board's objective
+     * @param mode whether to create, update, or remove the objective
+     * @param displayName the objective's display name, which is the sidebar's title
+     */
+    protected void sendObjective(@NotNull WrapperPlayServerScoreboardObjective.ObjectiveMode mode, @NotNull Component displayName) {
+        send(new WrapperPlayServerScoreboardObjective(
+                objectiveName,
+                mode,
+                displayName,
+                WrapperPlayServerScoreboardObjective.RenderType.INTEGER));
+    }
+    
+    /**
+     * Create or update a line's score
+     * @param entryName the line's score entry name
+     * @param score the line's score, which orders it among the lines (highest first)
+     * @param contents the line's contents
+     */
+    protected void sendScore(@NotNull String entryName, int score, @NotNull Component contents) {
+        send(new WrapperPlayServerUpdateScore(
+                entryName,
+                WrapperPlayServerUpdateScore.Action.CREATE_OR_UPDATE_ITEM,
+                objectiveName,
+                score,
+                contents,
+                ScoreFormat.blankScore()));
+    }
+    
+    /**
+     * Remove a line's score
+     * @param entryName the line's score entry name
+     */
+    protected void sendResetScore(@NotNull String entryName) {
+        send(new WrapperPlayServerResetScore(entryName, objectiveName));
+    }
+    
+    private void send(@NotNull PacketWrapper<?> packet) {
+        if (player == null || !player.isOnline()) {
+            return;
+        }
+        PacketEvents.getAPI().getPlayerManager().sendPacket(player, packet);
+    }
+}
@@ -6,12 +6,19 @@ import net.kyori.adventure.text.format.TextDecoration;
 import org.braekpo1nt.mctmanager.Main;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 /**
  * Note that a sidebar can only have 15 lines
+ * <br>
+ * Changes are not sent to the players' FastBoards right away. The desired lines are kept in
+ * {@link #boardsLines}, and the players whose lines changed are flushed together (once per tick
+ * if this sidebar has a {@link SidebarUpdateBus}, see {@link #flush()}). A flush compares each
+ * player's lines to the ones their FastBoard was last sent, and only sends the lines which differ.
  */
 public class Sidebar {
     
@@ -49,12 +56,45 @@ public class Sidebar {
      * The title to be used at the top of the FastBoard
      */
     protected Component title = DEFAULT_TITLE;
+    /**
+     * The lines each player's FastBoard was last sent. Compared to {@link #boardsLines} when flushing.
+     */
+    protected final Map<UUID, List<Component>> sentLines = new HashMap<>();
+    /**
+     * The players whose lines have changed since the last flush
+     */
+    protected final Set<UUID> dirtyPlayers = new HashSet<>();
+    /**
+     * True if the title has changed since the last flush
+     */
+    private boolean titleDirty = false;
+    /**
+     * Flushes this sidebar once per tick. If null, changes are flushed immediately.
+     */
+    private @Nullable SidebarUpdateBus updateBus;
+    /**
+     * Creates the boards for new players, see {@link SidebarBackend}
+     */
+    private @NotNull Supplier<FastBoardWrapper> boardSupplier = FastBoardWrapper::new;
+    
+    /**
+     * @param updateBus the bus to flush this sidebar once per tick, or null to flush changes immediately
+     */
+    synchronized void setUpdateBus(@Nullable SidebarUpdateBus updateBus) {
+        this.updateBus = updateBus;
+    }
+    
+    /**
+     * @param boardSupplier creates the boards for players added from now on
+     */
+    synchronized void setBoardSupplier(@NotNull Supplier<FastBoardWrapper> boardSupplier) {
+        this.boardSupplier = boardSupplier;
+    }
     
     public synchronized void updateTitle(@NotNull Component title) {
         this.title = title;
-        for (FastBoardWrapper board : boards.values()) {
-            board.updateTitle(title);
-        }
+        titleDirty = true;
+        requestFlush();
     }
     
     public synchronized void addPlayers(@NotNull List<@NotNull Player> players) {
@@ -72,7 +112,7 @@ public class Sidebar {
             logUIError("player with UUID \"%s\" already has a board in this manager", player.getUniqueId());
             return;
         }
-        FastBoardWrapper newBoard = new FastBoardWrapper();
+        FastBoardWrapper newBoard = boardSupplier.get();
         newBoard.setPlayer(player);
         newBoard.updateTitle(this.title);
         boards.put(player.getUniqueId(), newBoard);
@@ -81,6 +121,9 @@ public class Sidebar {
             lines.add(Component.empty());
         }
         boardsLines.put(player.getUniqueId(), lines);
+        sentLines.put(player.getUniqueId(), new ArrayList<>(size));
+        dirtyPlayers.add(player.getUniqueId());
+        requestFlush();
     }
     
     /**
@@ -92,11 +135,13 @@ public class Sidebar {
             Map.Entry<UUID, List<Component>> entry = iterator.next();
             UUID playerUUID = entry.getKey();
             iterator.remove();
+            sentLines.remove(playerUUID);
             FastBoardWrapper board = boards.remove(playerUUID);
             if (board != null && !board.isDeleted()) {
                 board.delete();
             }
         }
+        dirtyPlayers.clear();
     }
     
     public synchronized void removePlayers(@NotNull List<@NotNull Player> players) {
@@ -120,6 +165,8 @@ public class Sidebar {
             return;
         }
         boardsLines.remove(playerUUID);
+        sentLines.remove(playerUUID);
+        dirtyPlayers.remove(playerUUID);
         FastBoardWrapper board = boards.remove(playerUUID);
         if (board != null && !board.isDeleted()) {
             board.delete();
@@ -156,13 +203,10 @@ public class Sidebar {
         int index = size;
         size++;
         keyToIndex.put(key, index);
-        for (Map.Entry<UUID, List<Component>> entry : boardsLines.entrySet()) {
-            UUID playerUUID = entry.getKey();
-            List<Component> lines = entry.getValue();
+        for (List<Component> lines : boardsLines.values()) {
             lines.add(contents);
-            FastBoardWrapper board = boards.get(playerUUID);
-            board.updateLine(index, contents);
         }
+        markAllDirty();
     }
     
     /**
@@ -201,13 +245,10 @@ public class Sidebar {
             }
         }
         keyToIndex.put(key, index);
-        for (Map.Entry<UUID, List<Component>> entry : boardsLines.entrySet()) {
-            UUID playerUUID = entry.getKey();
-            List<Component> lines = entry.getValue();
+        for (List<Component> lines : boardsLines.values()) {
             lines.add(index, contents);
-            FastBoardWrapper board = boards.get(playerUUID);
-            board.updateLines(lines);
         }
+        markAllDirty();
     }
     
     /**
@@ -234,13 +275,10 @@ public class Sidebar {
             size++;
             keyToIndex.put(key, index);
         }
-        for (Map.Entry<UUID, List<Component>> entry : boardsLines.entrySet()) {
-            UUID playerUUID = entry.getKey();
-            List<Component> lines = entry.getValue();
+        for (List<Component> lines : boardsLines.values()) {
             lines.addAll(lineContents);
-            FastBoardWrapper board = boards.get(playerUUID);
-            board.updateLines(lines);
         }
+        markAllDirty();
     }
     
     /**
@@ -284,13 +322,10 @@ public class Sidebar {
             putIndex++;
         }
         size += keyLines.length;
-        for (Map.Entry<UUID, List<Component>> entry : boardsLines.entrySet()) {
-            UUID playerUUID = entry.getKey();
-            List<Component> lines = entry.getValue();
+        for (List<Component> lines : boardsLines.values()) {
             lines.addAll(index, lineContents);
-            FastBoardWrapper board = boards.get(playerUUID);
-            board.updateLines(lines);
         }
+        markAllDirty();
     }
     
     /**
@@ -310,13 +345,10 @@ public class Sidebar {
                 keyToIndex.put(existingKey, oldIndex - 1);
             }
         }
-        for (Map.Entry<UUID, List<Component>> entry : boardsLines.entrySet()) {
-            UUID playerUUID = entry.getKey();
-            List<Component> lines = entry.getValue();
+        for (List<Component> lines : boardsLines.values()) {
             lines.remove(removeIndex);
-            FastBoardWrapper board = boards.get(playerUUID);
-            board.updateLines(lines);
         }
+        markAllDirty();
     }
     
     /**
@@ -347,12 +379,7 @@ public class Sidebar {
         for (List<Component> lines : boardsLines.values()) {
             removeIndexes(lines, removeIndexes);
         }
-        for (Map.Entry<UUID, List<Component>> entry : boardsLines.entrySet()) {
-            UUID playerUUID = entry.getKey();
-            List<Component> lines = entry.getValue();
-            FastBoardWrapper board = boards.get(playerUUID);
-            board.updateLines(lines);
-        }
+        markAllDirty();
     }
     
     /**
@@ -393,13 +420,10 @@ public class Sidebar {
     public synchronized void deleteAllLines() {
         size = 0;
         keyToIndex.clear();
-        for (Map.Entry<UUID, List<Component>> entry : boardsLines.entrySet()) {
-            UUID playerUUID = entry.getKey();
-            List<Component> lines = entry.getValue();
+        for (List<Component> lines : boardsLines.values()) {
             lines.clear();
-            FastBoardWrapper board = boards.get(playerUUID);
-            board.updateLines(Collections.emptyList());
         }
+        markAllDirty();
     }
     
     /**
@@ -421,13 +445,10 @@ public class Sidebar {
             return;
         }
         int index = keyToIndex.get(key);
-        for (Map.Entry<UUID, List<Component>> entry : boardsLines.entrySet()) {
-            UUID playerUUID = entry.getKey();
-            List<Component> lines = entry.getValue();
+        for (List<Component> lines : boardsLines.values()) {
             lines.set(index, contents);
-            FastBoardWrapper board = boards.get(playerUUID);
-            board.updateLine(index, contents);
         }
+        markAllDirty();
     }
     
     /**
@@ -447,16 +468,13 @@ public class Sidebar {
                 logUIError("duplicate key found in keyLines (%s)", keyLine.getKey());
             }
         }
-        for (Map.Entry<UUID, List<Component>> entry : boardsLines.entrySet()) {
-            UUID playerUUID = entry.getKey();
-            List<Component> lines = entry.getValue();
-            FastBoardWrapper board = boards.get(playerUUID);
+        for (List<Component> lines : boardsLines.values()) {
             for (KeyLine keyLine : validKeyLines) {
                 int index = keyToIndex.get(keyLine.getKey());
                 lines.set(index, keyLine.getContents());
-                board.updateLine(index, keyLine.getContents());
             }
         }
+        markAllDirty();
     }
     
     /**
@@ -493,8 +511,8 @@ public class Sidebar {
         int index = keyToIndex.get(key);
         List<Component> lines = boardsLines.get(playerUUID);
         lines.set(index, contents);
-        FastBoardWrapper board = boards.get(playerUUID);
-        board.updateLine(index, contents);
+        dirtyPlayers.add(playerUUID);
+        requestFlush();
     }
     
     /**
@@ -520,12 +538,12 @@ public class Sidebar {
             }
         }
         List<Component> lines = boardsLines.get(playerUUID);
-        FastBoardWrapper board = boards.get(playerUUID);
         for (KeyLine keyLine : keyLines) {
             int index = keyToIndex.get(keyLine.getKey());
             lines.set(index, keyLine.getContents());
-            board.updateLine(index, keyLine.getContents());
         }
+        dirtyPlayers.add(playerUUID);
+        requestFlush();
     }
     
     /**
@@ -537,6 +555,77 @@ public class Sidebar {
         updateLines(playerUUID, Arrays.asList(keyLines));
     }
     
+    /**
+     * Mark every player's lines as changed, and request a flush
+     */
+    private void markAllDirty() {
+        dirtyPlayers.addAll(boardsLines.keySet());
+        requestFlush();
+    }
+    
+    private void requestFlush() {
+        if (updateBus == null) {
+            flush();
+        } else {
+            updateBus.mark(this);
+        }
+    }
+    
+    /**
+     * Send the changes made since the last flush to the players' FastBoards, instead of waiting for the next tick.
+     * Only the lines which differ from the ones a FastBoard was last sent are sent to it.
+     * @return the number of lines and titles which were sent
+     */
+    public synchronized int flush() {
+        int sent = 0;
+        if (titleDirty) {
+            titleDirty = false;
+            for (FastBoardWrapper board : boards.values()) {
+                board.updateTitle(title);
+                sent++;
+            }
+        }
+        for (UUID playerUUID : dirtyPlayers) {
+            List<Component> lines = boardsLines.get(playerUUID);
+            FastBoardWrapper board = boards.get(playerUUID);
+            if (lines == null || board == null) {
+                continue;
+            }
+            List<Component> previousLines = sentLines.computeIfAbsent(playerUUID, k -> new ArrayList<>(lines.size()));
+            if (previousLines.size() == lines.size()) {
+                for (int i = 0; i < lines.size(); i++) {
+                    Component contents = lines.get(i);
+                    if (!contents.equals(previousLines.get(i))) {
+                        board.updateLine(i, contents);
+                        previousLines.set(i, contents);
+                        sent++;
+                    }
+                }
+            } else {
+                // lines were added or removed, so the FastBoard needs to be resized
+                sent += countChangedLines(previousLines, lines);
+                board.updateLines(lines);
+                previousLines.clear();
+                previousLines.addAll(lines);
+            }
+        }
+        dirtyPlayers.clear();
+        return sent;
+    }
+    
+    /**
+     * @return the number of indexes at which the given lists differ (including the indexes only one of them has)
+     */
+    private static int countChangedLines(@NotNull List<Component> previousLines, @NotNull List<Component> lines) {
+        int changed = Math.abs(previousLines.size() - lines.size());
+        for (int i = 0; i < Math.min(previousLines.size(), lines.size()); i++) {
+            if (!lines.get(i).equals(previousLines.get(i))) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+    
     /**
      * Log a UI error
      * @param reason the reason for the error (a {@link String#format(String, Object...)} template
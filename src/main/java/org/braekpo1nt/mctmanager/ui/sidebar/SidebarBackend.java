@@ -0,0 +1,43 @@
+package org.braekpo1nt.mctmanager.ui.sidebar;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Supplier;
+
+/**
+ * The ways a {@link Sidebar} can send its lines to the players
+ */
+@Getter
+public enum SidebarBackend {
+    /**
+     * FastBoard, which builds the scoreboard packets reflectively
+     */
+    FAST_BOARD("fastboard", FastBoardWrapper::new),
+    /**
+     * packetevents, see {@link PacketBoardWrapper}
+     */
+    PACKET_EVENTS("packetevents", PacketBoardWrapper::new);
+    
+    private final String id;
+    private final Supplier<FastBoardWrapper> boardSupplier;
+    
+    SidebarBackend(String id, Supplier<FastBoardWrapper> boardSupplier) {
+        this.id = id;
+        this.boardSupplier = boardSupplier;
+    }
+    
+    /**
+     * @param id the ID to get the {@link SidebarBackend} associated with
+     * @return the {@link SidebarBackend} associated with the given ID, or null if no such {@link SidebarBackend} exists.
+     */
+    public static @Nullable SidebarBackend byId(@NotNull String id) {
+        for (SidebarBackend backend : values()) {
+            if (backend.id.equals(id)) {
+                return backend;
+            }
+        }
+        return null;
+    }
+}
@@ -1,16 +1,67 @@
 package org.braekpo1nt.mctmanager.ui.sidebar;
 
 import net.kyori.adventure.text.Component;
+import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public class SidebarFactory {
     
+    /**
+     * Flushes the created sidebars once per tick. If null, sidebars send their changes immediately.
+     */
+    private final @Nullable SidebarUpdateBus updateBus;
+    /**
+     * How the created sidebars send their lines to the players
+     */
+    private @NotNull SidebarBackend backend = SidebarBackend.FAST_BOARD;
+    
+    /**
+     * Creates sidebars which send their changes immediately
+     */
+    public SidebarFactory() {
+        this.updateBus = null;
+    }
+    
+    /**
+     * Creates sidebars which send their changes once per tick
+     * @param plugin the plugin to schedule the flushes with
+     */
+    public SidebarFactory(@NotNull Plugin plugin) {
+        this.updateBus = new SidebarUpdateBus(plugin);
+    }
+    
     public synchronized Sidebar createSidebar() {
-        return new Sidebar();
+        Sidebar sidebar = new Sidebar();
+        sidebar.setUpdateBus(updateBus);
+        sidebar.setBoardSupplier(backend.getBoardSupplier());
+        return sidebar;
     }
     
     public synchronized Sidebar createSidebar(@NotNull Component title) {
-        return new Sidebar(title);
+        Sidebar sidebar = new Sidebar(title);
+        sidebar.setUpdateBus(updateBus);
+        sidebar.setBoardSupplier(backend.getBoardSupplier());
+        return sidebar;
+    }
+    
+    /**
+     * @return the bus which flushes the created sidebars, or null if they send their changes immediately
+     */
+    public @Nullable SidebarUpdateBus getUpdateBus() {
+        return updateBus;
+    }
+    
+    public synchronized @NotNull SidebarBackend getBackend() {
+        return backend;
+    }
+    
+    /**
+     * @param backend how sidebars created from now on send their lines to the players.
+     *                Sidebars which were already created are not affected.
+     */
+    public synchronized void setBackend(@NotNull SidebarBackend backend) {
+        this.backend = backend;
     }
     
 }
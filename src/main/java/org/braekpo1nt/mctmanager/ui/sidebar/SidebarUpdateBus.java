@@ -0,0 +1,115 @@
+package org.braekpo1nt.mctmanager.ui.sidebar;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Collects the {@link Sidebar}s which have changed, and flushes them all at once on the next tick.
+ * <br>
+ * A sidebar line can be updated many times in a single tick (e.g. a timer and a score change
+ * touching the same board, or a line being set and then reset). Flushing once per tick means
+ * each player's board only receives the final contents of the lines which actually changed.
+ * <br>
+ * Also counts the lines and titles sent to players, see {@link #getStats()}.
+ */
+public class SidebarUpdateBus {
+    
+    /**
+     * The counters of what the sidebars sent to players
+     * @param flushes the number of ticks in which something was flushed
+     * @param packets the total number of lines and titles sent
+     * @param maxPackets the most lines and titles sent in a single tick
+     * @param lastPackets the number of lines and titles sent in the most recent flush
+     */
+    public record SidebarStats(long flushes, long packets, long maxPackets, long lastPackets) {
+    }
+    
+    private final Plugin plugin;
+    private Set<Sidebar> dirtySidebars = Collections.newSetFromMap(new IdentityHashMap<>());
+    private @Nullable BukkitTask flushTask;
+    private long flushes;
+    private long packets;
+    private long maxPackets;
+    private long lastPackets;
+    private long statsStartNanos = System.nanoTime();
+    
+    public SidebarUpdateBus(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Mark the given sidebar as changed, so that it is flushed on the next tick.
+     * If the plugin is disabled (e.g. games being stopped in onDisable), tasks can't be
+     * scheduled, so the sidebar is flushed immediately instead.
+     * @param sidebar the sidebar
+     */
+    public synchronized void mark(@NotNull Sidebar sidebar) {
+        dirtySidebars.add(sidebar);
+        if (!plugin.isEnabled()) {
+            flush();
+            return;
+        }
+        if (flushTask != null) {
+            return;
+        }
+        flushTask = plugin.getServer().getScheduler().runTask(plugin, this::flush);
+    }
+    
+    /**
+     * Immediately flush every sidebar marked so far, instead of waiting for the next tick.
+     * If nothing is marked, nothing happens.
+     */
+    public void flush() {
+        Set<Sidebar> sidebars;
+        synchronized (this) {
+            if (flushTask != null) {
+                flushTask.cancel();
+                flushTask = null;
+            }
+            if (dirtySidebars.isEmpty()) {
+                return;
+            }
+            sidebars = dirtySidebars;
+            dirtySidebars = Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+        long sent = 0;
+        for (Sidebar sidebar : sidebars) {
+            sent += sidebar.flush();
+        }
+        recordFlush(sent);
+    }
+    
+    private synchronized void recordFlush(long sent) {
+        flushes++;
+        packets += sent;
+        lastPackets = sent;
+        if (sent > maxPackets) {
+            maxPackets = sent;
+        }
+    }
+    
+    public synchronized @NotNull SidebarStats getStats() {
+        return new SidebarStats(flushes, packets, maxPackets, lastPackets);
+    }
+    
+    /**
+     * @return the time since the counters were last reset, in nanoseconds
+     */
+    public synchronized long getNanosSinceStatsReset() {
+        return System.nanoTime() - statsStartNanos;
+    }
+    
+    public synchronized void resetStats() {
+        flushes = 0;
+        packets = 0;
+        maxPackets = 0;
+        lastPackets = 0;
+        statsStartNanos = System.nanoTime();
+    }
+}
@@ -10,9 +10,6 @@ import org.braekpo1nt.mctmanager.Main;
 import org.braekpo1nt.mctmanager.ui.TimeStringUtils;
 import org.braekpo1nt.mctmanager.ui.sidebar.Sidebar;
 import org.braekpo1nt.mctmanager.ui.topbar.Topbar;
-import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -23,7 +20,11 @@ import java.util.List;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 
-public class Timer extends BukkitRunnable {
+/**
+ * Counts down once per second, displaying the time left on the given sidebars and topbars.
+ * Timers are advanced by the plugin's shared {@link TimerWheel}, instead of each running its own task.
+ */
+public class Timer {
     
     @Override
     public String toString() {
@@ -51,7 +52,7 @@ public class Timer extends BukkitRunnable {
     private boolean started = false;
     private boolean paused = false;
     /**
-     * the consumer to execute on pause and resume. Will be passed true on pause, and false on resume. 
+     * the consumer to execute on pause and resume. Will be passed true on pause, and false on resume.
      */
     private final @Nullable Consumer<Boolean> onTogglePause;
     
@@ -60,6 +61,14 @@ public class Timer extends BukkitRunnable {
      * Upon cancellation, this Timer will remove itself from this manager.
      */
     private @Nullable TimerManager manager;
+    /**
+     * the wheel advancing this timer while it is started
+     */
+    private @Nullable TimerWheel wheel;
+    /**
+     * the slot of this timer in the {@link #wheel}
+     */
+    private int wheelSlot;
     
     private final @NotNull Component sidebarPrefix;
     private final @NotNull List<SidebarData> sidebarDatas;
@@ -108,6 +117,37 @@ public class Timer extends BukkitRunnable {
         this.manager = timerManager;
     }
     
+    /**
+     * @return the name of this timer, for debugging
+     */
+    public @Nullable String getName() {
+        return name;
+    }
+    
+    /**
+     * @return true if this timer has an {@link Builder#onTogglePause(Consumer)} consumer
+     */
+    boolean hasOnTogglePause() {
+        return onTogglePause != null;
+    }
+    
+    /**
+     * @return true if this timer is paused, either on its own or because a TimerManager it belongs to is paused
+     */
+    public boolean isPaused() {
+        return paused || (manager != null && manager.isPaused());
+    }
+    
+    /**
+     * Call the {@link #onTogglePause} consumer, if there is one
+     * @param paused true if this timer was paused, false if it was resumed
+     */
+    void notifyTogglePause(boolean paused) {
+        if (onTogglePause != null) {
+            onTogglePause.accept(paused);
+        }
+    }
+    
     /**
      * @return how many seconds are left in this timer.
      */
@@ -124,7 +164,7 @@ public class Timer extends BukkitRunnable {
     }
     
     /**
-     * Add a new Audience to this timer's titleAudience. They will see the Title countdown, if there is one, when it happens. 
+     * Add a new Audience to this timer's titleAudience. They will see the Title countdown, if there is one, when it happens.
      * @param newTitleAudience the Audience implementation to add to this timer's titleAudience
      */
     public void addTitleAudience(@NotNull Audience newTitleAudience) {
@@ -136,8 +176,8 @@ public class Timer extends BukkitRunnable {
     }
     
     /**
-     * Remove the given audience from this timer's titleAudience. They will not see the Title countdown when it happens (if it happens). Clears the title of the given audience if this timer is displaying titles. 
-     * @param removeTitleAudience the Audience implementation to remove (could be a player, could be the console, etc.) 
+     * Remove the given audience from this timer's titleAudience. They will not see the Title countdown when it happens (if it happens). Clears the title of the given audience if this timer is displaying titles.
+     * @param removeTitleAudience the Audience implementation to remove (could be a player, could be the console, etc.)
      */
     public void removeTitleAudience(@NotNull Audience removeTitleAudience) {
         if (titleAudience == null) {
@@ -150,12 +190,13 @@ public class Timer extends BukkitRunnable {
     }
     
     /**
-     * Called every iteration
+     * Called every iteration, by the given wheel. The topbar and sidebar displays
+     * are rendered once, and given to the wheel to be displayed at the end of the tick.
+     * @param wheel the wheel advancing this timer
      */
-    @Override
-    public void run() {
+    void advance(@NotNull TimerWheel wheel) {
         try {
-            if (paused) {
+            if (isPaused()) {
                 return;
             }
             if (secondsLeft <= completionSeconds) {
@@ -164,19 +205,21 @@ public class Timer extends BukkitRunnable {
             }
             Component timeString = TimeStringUtils.getTimeComponent(secondsLeft)
                     .color(timerColor);
-            for (Topbar topbar : topbars) {
-                topbar.setMiddle(
-                        Component.empty()
-                                .append(topbarPrefix)
-                                .append(timeString)
-                );
+            if (!topbars.isEmpty()) {
+                Component middle = Component.empty()
+                        .append(topbarPrefix)
+                        .append(timeString);
+                for (Topbar topbar : topbars) {
+                    wheel.setTopbarMiddle(topbar, middle);
+                }
             }
-            for (SidebarData sidebarData : sidebarDatas) {
-                sidebarData.getSidebar().updateLine(sidebarData.getKey(),
-                        Component.empty()
-                                .append(sidebarPrefix)
-                                .append(timeString)
-                );
+            if (!sidebarDatas.isEmpty()) {
+                Component line = Component.empty()
+                        .append(sidebarPrefix)
+                        .append(timeString);
+                for (SidebarData sidebarData : sidebarDatas) {
+                    wheel.setSidebarLine(sidebarData.getSidebar(), sidebarData.getKey(), line);
+                }
             }
             if (titleAudience != null && secondsLeft <= titleThreshold) {
                 Title title = Title.title(
@@ -198,7 +241,7 @@ public class Timer extends BukkitRunnable {
     }
     
     /**
-     * The method to be called when the timer hits zero. Calls the specified competion method if it's not null, and always cancels this Timer. 
+     * The method to be called when the timer hits zero. Calls the specified competion method if it's not null, and always cancels this Timer.
      */
     private void onComplete() {
         clear();
@@ -210,50 +253,57 @@ public class Timer extends BukkitRunnable {
     
     /**
      * Pauses this timer. The timer will not proceed until {@link Timer#resume()} is called. If this is paused already,
-     * nothing happens. If this is not paused, then {@link #onTogglePause} is called, passing true.
+     * nothing happens. If this was not paused (on its own or by its TimerManager), then {@link #onTogglePause} is called, passing true.
      */
     public void pause() {
         if (paused) {
             return;
         }
+        boolean wasPaused = isPaused();
         this.paused = true;
-        if (onTogglePause != null) {
-            onTogglePause.accept(true);
+        if (!wasPaused) {
+            notifyTogglePause(true);
         }
     }
     
     /**
-     * Resumes this timer. The timer will proceed iterating. If this is not paused, nothing happens. 
-     * If this is paused, then {@link #onTogglePause} is called, passing false.
+     * Resumes this timer. The timer will proceed iterating, unless its TimerManager is paused. If this is not paused, nothing happens.
+     * If this is no longer paused at all, then {@link #onTogglePause} is called, passing false.
      */
     public void resume() {
         if (!paused) {
             return;
         }
         this.paused = false;
-        if (onTogglePause != null) {
-            onTogglePause.accept(false);
+        if (!isPaused()) {
+            notifyTogglePause(false);
         }
     }
     
     /**
-     * skip to the end, as if the timer had reached zero. Still performs any actions and cleanup, 
-     * same as if the timer reached zero. 
+     * skip to the end, as if the timer had reached zero. Still performs any actions and cleanup,
+     * same as if the timer reached zero.
      */
     public void skip() {
         this.onComplete();
     }
     
     /**
-     * set all topbar middles to empty, set all assigned sidebar lines to empty, and clear the titleAudience's title. 
-     * Note that this does not stop this timer on its own, so values might be reset on the next iteration of 
-     * {@link Timer#run}. 
+     * set all topbar middles to empty, set all assigned sidebar lines to empty, and clear the titleAudience's title.
+     * Note that this does not stop this timer on its own, so values might be reset on the next iteration of
+     * {@link Timer#advance(TimerWheel)}.
      */
     private void clear() {
         for (Topbar topbar : topbars) {
+            if (wheel != null) {
+                wheel.discardTopbarMiddle(topbar);
+            }
             topbar.setMiddle(Component.empty());
         }
         for (SidebarData sidebarData : sidebarDatas) {
+            if (wheel != null) {
+                wheel.discardSidebarLine(sidebarData.getSidebar(), sidebarData.getKey());
+            }
             sidebarData.getSidebar().updateLine(sidebarData.getKey(), Component.empty());
         }
         if (titleAudience != null) {
@@ -262,48 +312,38 @@ public class Timer extends BukkitRunnable {
     }
     
     /**
-     * {@inheritDoc}
      * This will be called when this timer is over or stopped.
-     * If this is paused, sets the state to no longer be paused. If this is registered in a timerManager, 
+     * If this is paused, sets the state to no longer be paused. If this is registered in a timerManager,
      * also removes itself from that timerManager.
-     * @throws IllegalStateException
      */
-    @Override
-    public synchronized void cancel() throws IllegalStateException {
+    public synchronized void cancel() {
         started = false;
         paused = false;
         if (manager != null) {
             manager.unregister(this);
             manager = null;
         }
-        super.cancel();
+        if (wheel != null) {
+            wheel.remove(this, wheelSlot);
+            wheel = null;
+        }
     }
     
     /**
-     * start this timer. If this timer was already started, nothing happens. 
-     * @param plugin the plugin to register this BukkitRunnable with
+     * start this timer, counting down once per second starting on the next tick.
+     * If this timer was already started, nothing happens.
+     * @param plugin the plugin whose {@link TimerWheel} should advance this timer
      * @return this
      */
-    public Timer start(Plugin plugin) {
+    public synchronized Timer start(@NotNull Main plugin) {
         if (!started) {
-            this.runTaskTimer(plugin, 0L, 20L);
+            started = true;
+            wheel = plugin.getTimerWheel();
+            wheelSlot = wheel.add(this);
         }
         return this;
     }
     
-    /**
-     * {@inheritDoc}
-     * also marks this Timer as having started, so that you can't start it again with {@link Timer#start(Plugin)}
-     */
-    @Override
-    public synchronized @NotNull BukkitTask runTaskTimer(@NotNull Plugin plugin, long delay, long period) throws IllegalArgumentException, IllegalStateException {
-        if (started) {
-            throw new IllegalStateException("can't start a timer which is already started");
-        }
-        started = true;
-        return super.runTaskTimer(plugin, delay, period);
-    }
-    
     public static class Builder {
         private int duration = 0;
         private int completionSeconds = 0;
@@ -343,11 +383,11 @@ public class Timer extends BukkitRunnable {
         }
         
         /**
-         * A method to call when the pause state is toggled. 
+         * A method to call when the pause state is toggled.
          * You can rely this Timer to only call this consumer when pause is actually toggled. For example,
-         * if the pause command is run twice in a row, this will only be called once. 
-         * @param onTogglePause the consumer to execute on pause and resume. 
-         *                      Will be passed true on pause, and false on resume. 
+         * if the pause command is run twice in a row, this will only be called once.
+         * @param onTogglePause the consumer to execute on pause and resume.
+         *                      Will be passed true on pause, and false on resume.
          * @return this
          */
         public Builder onTogglePause(@Nullable Consumer<Boolean> onTogglePause) {
@@ -356,7 +396,7 @@ public class Timer extends BukkitRunnable {
         }
         
         /**
-         * @param name the name of this timer. Useful for debugging, not much else. 
+         * @param name the name of this timer. Useful for debugging, not much else.
          * @return this
          */
         public Builder name(@Nullable String name) {
@@ -373,13 +413,13 @@ public class Timer extends BukkitRunnable {
             this.duration = seconds;
             return this;
         }
-    
+        
         /**
          * Set the number of seconds to be left for the timer to finish.
          * For example, This allows for you to have a timer that goes from
          * 30 seconds to 10 seconds, then start another timer with different
-         * colors/attributes with 10 seconds left, if you want. 
-         * @param completionSeconds Defaults to 0. The number of seconds left for the timer to complete. 
+         * colors/attributes with 10 seconds left, if you want.
+         * @param completionSeconds Defaults to 0. The number of seconds left for the timer to complete.
          * @return this
          */
         public Builder completionSeconds(int completionSeconds) {
@@ -441,9 +481,9 @@ public class Timer extends BukkitRunnable {
             }
             return this;
         }
-    
+        
         /**
-         * @param timerColor the color the time left component should be 
+         * @param timerColor the color the time left component should be
          *                   (in both the Topbars and Sidebars, but not in the Title)
          *                   Defaults to {@link NamedTextColor#WHITE}.
          * @return this
@@ -454,10 +494,10 @@ public class Timer extends BukkitRunnable {
         }
         
         /**
-         * Defaults to 10 if not specified. 
+         * Defaults to 10 if not specified.
          * If the titleAudience is not null, then the Title countdown will be displayed
          * to the audience when this timer has {@code titleThreshold} seconds left.
-         * @param titleThreshold the number of seconds meant to be left in this timer before the title begins displaying to the given audience, if that audience is not null. 
+         * @param titleThreshold the number of seconds meant to be left in this timer before the title begins displaying to the given audience, if that audience is not null.
          * @return this
          */
         public Builder titleThreshold(int titleThreshold) {
@@ -6,8 +6,18 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
+/**
+ * Groups {@link Timer}s and other TimerManagers into a tree, so they can be paused, resumed,
+ * skipped, and cancelled together.
+ * <br>
+ * Pausing only flips this manager's flag, which every timer below it checks when it is advanced
+ * (see {@link Timer#isPaused()}). So pausing and resuming doesn't need to visit the whole tree,
+ * only the timers below this manager which have an onTogglePause consumer to notify.
+ */
 public class TimerManager {
     
     // debug
@@ -18,6 +28,11 @@ public class TimerManager {
     private @Nullable TimerManager parent;
     private final List<@NotNull TimerManager> managers = new ArrayList<>();
     private final List<@NotNull Timer> timers = new ArrayList<>();
+    private boolean paused = false;
+    /**
+     * The timers in this manager and all its sub managers which have an onTogglePause consumer
+     */
+    private final Set<@NotNull Timer> toggleListeners = new LinkedHashSet<>();
     
     public TimerManager(@NotNull Main plugin, @Nullable String name) {
         this.plugin = plugin;
@@ -40,7 +55,7 @@ public class TimerManager {
     }
     
     /**
-     * @return a new TimerManager instance which is already 
+     * @return a new TimerManager instance which is already
      * registered with this TimerManager as its parent
      */
     public TimerManager createManager() {
@@ -51,17 +66,28 @@ public class TimerManager {
     public TimerManager register(@NotNull TimerManager manager) {
         managers.add(manager);
         manager.setParent(this);
+        for (TimerManager ancestor = this; ancestor != null; ancestor = ancestor.parent) {
+            ancestor.toggleListeners.addAll(manager.toggleListeners);
+        }
         return manager;
     }
     
     public Timer register(@NotNull Timer timer) {
         timers.add(timer);
         timer.setTimerManager(this);
+        if (timer.hasOnTogglePause()) {
+            for (TimerManager ancestor = this; ancestor != null; ancestor = ancestor.parent) {
+                ancestor.toggleListeners.add(timer);
+            }
+        }
         return timer;
     }
     
     private void unregister(@NotNull TimerManager manager) {
         managers.remove(manager);
+        for (TimerManager ancestor = this; ancestor != null; ancestor = ancestor.parent) {
+            ancestor.toggleListeners.removeAll(manager.toggleListeners);
+        }
     }
     
     public Timer start(@NotNull Timer timer) {
@@ -70,16 +96,59 @@ public class TimerManager {
     
     public void unregister(@NotNull Timer timer) {
         timers.remove(timer);
+        if (timer.hasOnTogglePause()) {
+            for (TimerManager ancestor = this; ancestor != null; ancestor = ancestor.parent) {
+                ancestor.toggleListeners.remove(timer);
+            }
+        }
+    }
+    
+    /**
+     * @return true if this manager or any of its parents is paused
+     */
+    public boolean isPaused() {
+        for (TimerManager manager = this; manager != null; manager = manager.parent) {
+            if (manager.paused) {
+                return true;
+            }
+        }
+        return false;
     }
     
+    /**
+     * Pauses every timer in this manager and its sub managers, until {@link #resume()} is called.
+     * The timers which weren't already paused have their onTogglePause consumer called, passing true.
+     */
     public void pause() {
-        managers.forEach(TimerManager::pause);
-        timers.forEach(Timer::pause);
+        if (paused) {
+            return;
+        }
+        List<Timer> toNotify = new ArrayList<>(toggleListeners.size());
+        for (Timer timer : toggleListeners) {
+            if (!timer.isPaused()) {
+                toNotify.add(timer);
+            }
+        }
+        paused = true;
+        for (Timer timer : toNotify) {
+            timer.notifyTogglePause(true);
+        }
     }
     
+    /**
+     * Resumes the timers in this manager and its sub managers. The timers which are no longer
+     * paused at all have their onTogglePause consumer called, passing false.
+     */
     public void resume() {
-        managers.forEach(TimerManager::resume);
-        timers.forEach(Timer::resume);
+        if (!paused) {
+            return;
+        }
+        paused = false;
+        for (Timer timer : new ArrayList<>(toggleListeners)) {
+            if (!timer.isPaused()) {
+                timer.notifyTogglePause(false);
+            }
+        }
     }
     
     public void skip() {
@@ -95,7 +164,7 @@ public class TimerManager {
     
     /**
      * Cancel all sub TimerManagers and Timers handled by this TimerManager.
-     * This also removes itself from its parent, if it has one. 
+     * This also removes itself from its parent, if it has one.
      */
     public void cancel() {
         List<TimerManager> managersCopy = new ArrayList<>(managers);
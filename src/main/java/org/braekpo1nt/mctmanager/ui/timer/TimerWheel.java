@@ -0,0 +1,160 @@
+package org.braekpo1nt.mctmanager.ui.timer;
+
+import net.kyori.adventure.text.Component;
+import org.braekpo1nt.mctmanager.Main;
+import org.braekpo1nt.mctmanager.ui.sidebar.Sidebar;
+import org.braekpo1nt.mctmanager.ui.topbar.Topbar;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+
+/**
+ * Advances every running {@link Timer} from a single task.
+ * <br>
+ * Timers count down once every {@link #PERIOD} ticks, starting on the tick after they are started.
+ * Each timer is put in one of {@link #PERIOD} slots by the tick it was started on, and each tick
+ * only the timers in that tick's slot are advanced. So the work done per tick only depends on the
+ * timers which are due, not on how many timers are running.
+ * <br>
+ * The sidebar lines and topbar middles written by the timers advanced in a tick are collected and
+ * applied once at the end of the tick, so timers which display on the same sidebar line share a
+ * single rendered component instead of each updating the line.
+ */
+public class TimerWheel {
+    
+    /**
+     * The number of ticks between each countdown of a timer
+     */
+    static final int PERIOD = 20;
+    
+    private record SidebarLine(@NotNull Sidebar sidebar, @NotNull String key) {
+    }
+    
+    private final Plugin plugin;
+    private final List<Set<Timer>> slots = new ArrayList<>(PERIOD);
+    private int size = 0;
+    /**
+     * the number of ticks the wheel has advanced
+     */
+    private long tick = 0;
+    private @Nullable BukkitTask task;
+    private final Map<SidebarLine, Component> pendingSidebarLines = new LinkedHashMap<>();
+    private final Map<Topbar, Component> pendingTopbarMiddles = new LinkedHashMap<>();
+    
+    public TimerWheel(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+        for (int i = 0; i < PERIOD; i++) {
+            slots.add(new LinkedHashSet<>());
+        }
+    }
+    
+    /**
+     * Start advancing the given timer, starting on the next tick
+     * @param timer the timer
+     * @return the slot the timer was put in
+     */
+    int add(@NotNull Timer timer) {
+        int slot = (int) ((tick + 1) % PERIOD);
+        if (slots.get(slot).add(timer)) {
+            size++;
+        }
+        if (task == null) {
+            task = new BukkitRunnable() {
+                @Override
+                public void run() {
+                    advance();
+                }
+            }.runTaskTimer(plugin, 0L, 1L);
+        }
+        return slot;
+    }
+    
+    /**
+     * Stop advancing the given timer
+     * @param timer the timer
+     * @param slot the slot the timer was put in when it was added
+     */
+    void remove(@NotNull Timer timer, int slot) {
+        if (slots.get(slot).remove(timer)) {
+            size--;
+        }
+    }
+    
+    /**
+     * Display the given line on the given sidebar at the end of this tick, replacing any line
+     * another timer set for the same key this tick
+     */
+    void setSidebarLine(@NotNull Sidebar sidebar, @NotNull String key, @NotNull Component line) {
+        pendingSidebarLines.put(new SidebarLine(sidebar, key), line);
+    }
+    
+    /**
+     * Forget the line set for the given sidebar key this tick, if any. Used when a timer clears its
+     * line immediately, so the clear isn't overwritten at the end of the tick.
+     */
+    void discardSidebarLine(@NotNull Sidebar sidebar, @NotNull String key) {
+        pendingSidebarLines.remove(new SidebarLine(sidebar, key));
+    }
+    
+    /**
+     * Display the given component in the middle of the given topbar at the end of this tick
+     */
+    void setTopbarMiddle(@NotNull Topbar topbar, @NotNull Component middle) {
+        pendingTopbarMiddles.put(topbar, middle);
+    }
+    
+    /**
+     * Forget the middle set for the given topbar this tick, if any
+     */
+    void discardTopbarMiddle(@NotNull Topbar topbar) {
+        pendingTopbarMiddles.remove(topbar);
+    }
+    
+    private void advance() {
+        tick++;
+        Set<Timer> slot = slots.get((int) (tick % PERIOD));
+        if (!slot.isEmpty()) {
+            for (Timer timer : new ArrayList<>(slot)) {
+                // a timer may have been cancelled by one which was advanced before it
+                if (!slot.contains(timer)) {
+                    continue;
+                }
+                try {
+                    timer.advance(this);
+                } catch (Exception e) {
+                    Main.logger().log(Level.SEVERE, String.format("Error running Timer \"%s\"", timer.getName()), e);
+                }
+            }
+            applyPending();
+        }
+        if (size == 0 && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+    
+    private void applyPending() {
+        for (Map.Entry<SidebarLine, Component> entry : pendingSidebarLines.entrySet()) {
+            SidebarLine sidebarLine = entry.getKey();
+            // the line may have been deleted by a timer's completion since it was set
+            if (sidebarLine.sidebar().containsKey(sidebarLine.key())) {
+                sidebarLine.sidebar().updateLine(sidebarLine.key(), entry.getValue());
+            }
+        }
+        pendingSidebarLines.clear();
+        for (Map.Entry<Topbar, Component> entry : pendingTopbarMiddles.entrySet()) {
+            entry.getKey().setMiddle(entry.getValue());
+        }
+        pendingTopbarMiddles.clear();
+    }
+}
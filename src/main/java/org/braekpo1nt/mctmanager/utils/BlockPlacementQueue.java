@@ -0,0 +1,167 @@
+package org.braekpo1nt.mctmanager.utils;
+
+import org.braekpo1nt.mctmanager.Main;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * Spreads large block placements (e.g. pasting a schematic once per team) across multiple ticks.
+ * <br>
+ * A placement is submitted as a list of steps, each of which should be small enough to run in
+ * well under a tick (e.g. the part of a paste which falls in a single chunk). Every tick, steps
+ * are run in the order they were submitted until the tick's time budget is used up. At least
+ * one step runs every tick, so every placement eventually completes.
+ * <br>
+ * Placements are run one after the other, in the order they were submitted, so a placement
+ * submitted after a removal of the same area is never overwritten by that removal.
+ */
+public class BlockPlacementQueue {
+    
+    /**
+     * The default amount of time spent placing blocks each tick
+     */
+    public static final long DEFAULT_TICK_BUDGET_MILLIS = 10;
+    
+    private static class Job {
+        private final @NotNull String name;
+        private final @NotNull Deque<Runnable> steps;
+        private final @NotNull CompletableFuture<Void> future = new CompletableFuture<>();
+        private final int totalSteps;
+        private final long submittedNanos = System.nanoTime();
+        
+        private Job(@NotNull String name, @NotNull List<Runnable> steps) {
+            this.name = name;
+            this.steps = new ArrayDeque<>(steps);
+            this.totalSteps = steps.size();
+        }
+    }
+    
+    private final Plugin plugin;
+    private final Deque<Job> jobs = new ArrayDeque<>();
+    private long tickBudgetNanos = DEFAULT_TICK_BUDGET_MILLIS * 1_000_000L;
+    private @Nullable BukkitTask task;
+    
+    public BlockPlacementQueue(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * @param tickBudgetMillis the amount of time spent placing blocks each tick, in milliseconds.
+     *                         At least one step is run each tick regardless.
+     */
+    public void setTickBudgetMillis(long tickBudgetMillis) {
+        this.tickBudgetNanos = Math.max(0, tickBudgetMillis) * 1_000_000L;
+    }
+    
+    /**
+     * Queue a placement
+     * @param name a name for the placement, used in logs
+     * @param steps the steps of the placement, run in order on the main thread
+     * @return a future which is completed on the main thread after every step has been run.
+     * A step which throws an exception is logged and skipped, it does not fail the future.
+     * If the plugin is disabled (e.g. arenas removed while games are stopped in onDisable),
+     * tasks can't be scheduled, so the steps are run immediately instead.
+     */
+    public @NotNull CompletableFuture<Void> submit(@NotNull String name, @NotNull List<Runnable> steps) {
+        Job job = new Job(name, steps);
+        if (steps.isEmpty()) {
+            job.future.complete(null);
+            return job.future;
+        }
+        jobs.add(job);
+        if (!plugin.isEnabled()) {
+            flush();
+            return job.future;
+        }
+        if (task == null) {
+            task = new BukkitRunnable() {
+                @Override
+                public void run() {
+                    tick();
+                }
+            }.runTaskTimer(plugin, 1L, 1L);
+        }
+        return job.future;
+    }
+    
+    /**
+     * Queue a small placement which the caller is waiting on. If nothing else is queued,
+     * the steps are run immediately instead of on the next tick. Otherwise, they are queued
+     * behind the other placements, so that they still happen in the order they were submitted.
+     * @param name a name for the placement, used in logs
+     * @param steps the steps of the placement, run in order on the main thread
+     * @return a future which is completed on the main thread after every step has been run,
+     * already completed if the queue was idle
+     * @see #submit(String, List)
+     */
+    public @NotNull CompletableFuture<Void> runOrSubmit(@NotNull String name, @NotNull List<Runnable> steps) {
+        boolean idle = jobs.isEmpty();
+        CompletableFuture<Void> future = submit(name, steps);
+        if (idle) {
+            flush();
+        }
+        return future;
+    }
+    
+    /**
+     * @return true if there are placements which haven't completed yet
+     */
+    public boolean isBusy() {
+        return !jobs.isEmpty();
+    }
+    
+    private void tick() {
+        long deadline = System.nanoTime() + tickBudgetNanos;
+        do {
+            runNextStep();
+        } while (!jobs.isEmpty() && System.nanoTime() < deadline);
+        if (jobs.isEmpty() && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+    
+    private void runNextStep() {
+        Job job = jobs.peek();
+        if (job == null) {
+            return;
+        }
+        Runnable step = job.steps.poll();
+        if (step != null) {
+            try {
+                step.run();
+            } catch (RuntimeException e) {
+                Main.logger().log(Level.SEVERE, String.format("Error placing blocks for %s", job.name), e);
+            }
+        }
+        if (job.steps.isEmpty()) {
+            jobs.poll();
+            Main.logger().fine(String.format("Finished placing %s (%d steps) in %dms",
+                    job.name, job.totalSteps, (System.nanoTime() - job.submittedNanos) / 1_000_000L));
+            job.future.complete(null);
+        }
+    }
+    
+    /**
+     * Immediately run every remaining step of every queued placement. Meant to be used
+     * when the plugin is disabled, so that no placement is left half-finished.
+     */
+    public void flush() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        while (!jobs.isEmpty()) {
+            runNextStep();
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.sk89q.worldedit.extent.clipboard.Clipboard;
 import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormat;
 import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
 import com.sk89q.worldedit.extent.clipboard.io.ClipboardReader;
+import com.sk89q.worldedit.function.operation.ForwardExtentCopy;
 import com.sk89q.worldedit.function.operation.Operation;
 import com.sk89q.worldedit.function.operation.Operations;
 import com.sk89q.worldedit.math.BlockVector3;
@@ -16,6 +17,10 @@ import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.session.ClipboardHolder;
 import com.sk89q.worldedit.world.block.BlockTypes;
 import org.braekpo1nt.mctmanager.Main;
+import org.braekpo1nt.mctmanager.geometry.BlockPositionSet;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Tag;
@@ -24,6 +29,7 @@ import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.block.data.MultipleFacing;
 import org.bukkit.block.data.Rotatable;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
@@ -34,8 +40,14 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 
 public class BlockPlacementUtils {
@@ -54,18 +66,7 @@ public class BlockPlacementUtils {
         if (xSize < 1 || ySize < 1 || zSize < 1) {
             throw new IllegalArgumentException(String.format("xSize, ySize, and zSize must be greater than or equal to 1, but were (%d, %d, %d)", xSize, ySize, zSize));
         }
-        int xEnd = xOrigin + xSize - 1;
-        int yEnd = yOrigin + ySize - 1;
-        int zEnd = zOrigin + zSize - 1;
-        
-        for (int x = xOrigin; x <= xEnd; x++) {
-            for (int y = yOrigin; y <= yEnd; y++) {
-                for (int z = zOrigin; z <= zEnd; z++) {
-                    Location location = new Location(world, x, y, z);
-                    location.getBlock().setType(blockType);
-                }
-            }
-        }
+        createCube(world, toArea(xOrigin, yOrigin, zOrigin, xSize, ySize, zSize), blockType);
     }
     
     public static void createCube(Location origin, int xSize, int ySize, int zSize, Material blockType) {
@@ -83,79 +84,33 @@ public class BlockPlacementUtils {
      * @param material the type of material to place in the cube
      */
     public static void createCube(World world, BoundingBox area, Material material) {
-        int minX = area.getMin().getBlockX();
-        int minY = area.getMin().getBlockY();
-        int minZ = area.getMin().getBlockZ();
-        int maxX = area.getMax().getBlockX();
-        int maxY = area.getMax().getBlockY();
-        int maxZ = area.getMax().getBlockZ();
-        for (int x = minX; x <= maxX; x++) {
-            for (int y = minY; y <= maxY; y++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    Block block = world.getBlockAt(x, y, z);
-                    block.setType(material);
-                }
-            }
-        }
+        runAll(createCubeSteps(world, area, material));
     }
     
     public static void createCubeReplace(World world, BoundingBox area, Material replace, Material with) {
-        int minX = area.getMin().getBlockX();
-        int minY = area.getMin().getBlockY();
-        int minZ = area.getMin().getBlockZ();
-        int maxX = area.getMax().getBlockX();
-        int maxY = area.getMax().getBlockY();
-        int maxZ = area.getMax().getBlockZ();
-        for (int x = minX; x <= maxX; x++) {
-            for (int y = minY; y <= maxY; y++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    Block block = world.getBlockAt(x, y, z);
-                    if (block.getType().equals(replace)) {
-                        block.setType(with);
-                    }
-                }
-            }
-        }
+        runAll(createCubeReplaceSteps(world, area, replace, with));
+    }
+    
+    /**
+     * Replace every block in the given area whose type is a key in the given map with the type it maps to,
+     * in a single pass over the area
+     * @param world the world to replace blocks in
+     * @param area the area to replace blocks in
+     * @param replacements the type of block to replace each type with
+     */
+    public static void createCubeReplace(World world, BoundingBox area, Map<Material, Material> replacements) {
+        runAll(createCubeReplaceSteps(world, area, replacements));
     }
     
     public static void createHollowCube(World world, BoundingBox area, Material material) {
-        int minX = area.getMin().getBlockX();
-        int minY = area.getMin().getBlockY();
-        int minZ = area.getMin().getBlockZ();
-        int maxX = area.getMax().getBlockX();
-        int maxY = area.getMax().getBlockY();
-        int maxZ = area.getMax().getBlockZ();
-        for (int x = minX; x <= maxX; x++) {
-            for (int y = minY; y <= maxY; y++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    if (
-                            x == minX || x == maxX
-                                    || y == minY || y == maxY
-                                    || z == minZ || z == maxZ) {
-                        Block block = world.getBlockAt(x, y, z);
-                        block.setType(material);
-                    }
-                }
-            }
-        }
+        runAll(createHollowCubeSteps(world, area, material));
     }
     
     public static void createCubeReplace(World world, int xOrigin, int yOrigin, int zOrigin, int xSize, int ySize, int zSize, Material replace, Material with) {
-        int xEnd = xOrigin + xSize - 1;
-        int yEnd = yOrigin + ySize - 1;
-        int zEnd = zOrigin + zSize - 1;
-        
-        for (int x = xOrigin; x <= xEnd; x++) {
-            for (int y = yOrigin; y <= yEnd; y++) {
-                for (int z = zOrigin; z <= zEnd; z++) {
-                    Location location = new Location(world, x, y, z);
-                    Block block = location.getBlock();
-                    if (block.getType().equals(replace)) {
-                        location.getBlock().setType(with);
-                    }
-                }
-            }
+        if (xSize < 1 || ySize < 1 || zSize < 1) {
+            return;
         }
+        createCubeReplace(world, toArea(xOrigin, yOrigin, zOrigin, xSize, ySize, zSize), replace, with);
     }
     
     public static void updateDirection(Location origin, int xSize, int ySize, int zSize) {
@@ -169,51 +124,167 @@ public class BlockPlacementUtils {
     private static final BlockFace[] cardinalDirections = new BlockFace[]{BlockFace.NORTH, BlockFace.SOUTH, BlockFace.EAST, BlockFace.WEST};
     
     public static void updateDirection(World world, int xOrigin, int yOrigin, int zOrigin, int xSize, int ySize, int zSize) {
-        int xEnd = xOrigin + xSize - 1;
-        int yEnd = yOrigin + ySize - 1;
-        int zEnd = zOrigin + zSize - 1;
-        
-        for (int x = xOrigin; x <= xEnd; x++) {
-            for (int y = yOrigin; y <= yEnd; y++) {
-                for (int z = zOrigin; z <= zEnd; z++) {
-                    Block block = world.getBlockAt(x, y, z);
-                    if (block.getBlockData() instanceof MultipleFacing multipleFacing) {
-                        for (BlockFace direction : cardinalDirections) {
-                            if (block.getRelative(direction).isSolid()) {
-                                multipleFacing.setFace(direction, true);
-                                block.setBlockData(multipleFacing);
-                            }
-                        }
-                    }
-                }
-            }
+        if (xSize < 1 || ySize < 1 || zSize < 1) {
+            return;
         }
+        updateDirection(world, toArea(xOrigin, yOrigin, zOrigin, xSize, ySize, zSize));
     }
     
     public static void updateDirection(World world, BoundingBox area) {
+        runAll(createUpdateDirectionSteps(world, area));
+    }
+    
+    /*
+     * The methods below split the block changes above into steps, one for each chunk the
+     * area covers, so that large changes can be spread across multiple ticks with a
+     * BlockPlacementQueue. Every step skips blocks which are already the desired type.
+     * The methods above simply run all of their steps immediately.
+     */
+    
+    /**
+     * @param world the world to place the cube in
+     * @param area the area to fill, using the block coordinates of its min and max (inclusive)
+     * @param material the type of material to place in the cube
+     * @return the steps of {@link #createCube(World, BoundingBox, Material)}
+     */
+    public static @NotNull List<Runnable> createCubeSteps(@NotNull World world, @NotNull BoundingBox area, @NotNull Material material) {
+        return createChangeSteps(world, area, (x, y, z) -> setType(world.getBlockAt(x, y, z), material));
+    }
+    
+    /**
+     * @param world the world to replace blocks in
+     * @param area the area to replace blocks in, using the block coordinates of its min and max (inclusive)
+     * @param replace the type of block to replace
+     * @param with the type of block to replace it with
+     * @return the steps of {@link #createCubeReplace(World, BoundingBox, Material, Material)}
+     */
+    public static @NotNull List<Runnable> createCubeReplaceSteps(@NotNull World world, @NotNull BoundingBox area, @NotNull Material replace, @NotNull Material with) {
+        if (replace == with) {
+            return new ArrayList<>();
+        }
+        return createChangeSteps(world, area, (x, y, z) -> {
+            Block block = world.getBlockAt(x, y, z);
+            if (block.getType() == replace) {
+                block.setType(with);
+            }
+        });
+    }
+    
+    /**
+     * @param world the world to replace blocks in
+     * @param area the area to replace blocks in, using the block coordinates of its min and max (inclusive)
+     * @param replacements the type of block to replace each type with. Types which map to themselves are ignored.
+     * @return the steps of {@link #createCubeReplace(World, BoundingBox, Map)}
+     */
+    public static @NotNull List<Runnable> createCubeReplaceSteps(@NotNull World world, @NotNull BoundingBox area, @NotNull Map<Material, Material> replacements) {
+        Map<Material, Material> mapping = new EnumMap<>(Material.class);
+        for (Map.Entry<Material, Material> entry : replacements.entrySet()) {
+            if (entry.getKey() != entry.getValue()) {
+                mapping.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (mapping.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return createChangeSteps(world, area, (x, y, z) -> {
+            Block block = world.getBlockAt(x, y, z);
+            Material with = mapping.get(block.getType());
+            if (with != null) {
+                block.setType(with);
+            }
+        });
+    }
+    
+    /**
+     * @param world the world to place the hollow cube in
+     * @param area the outer bounds of the hollow cube, using the block coordinates of its min and max (inclusive)
+     * @param material the type of material to place in the walls of the cube
+     * @return the steps of {@link #createHollowCube(World, BoundingBox, Material)}
+     */
+    public static @NotNull List<Runnable> createHollowCubeSteps(@NotNull World world, @NotNull BoundingBox area, @NotNull Material material) {
         int minX = area.getMin().getBlockX();
         int minY = area.getMin().getBlockY();
         int minZ = area.getMin().getBlockZ();
         int maxX = area.getMax().getBlockX();
         int maxY = area.getMax().getBlockY();
         int maxZ = area.getMax().getBlockZ();
-        for (int x = minX; x <= maxX; x++) {
-            for (int y = minY; y <= maxY; y++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    Block block = world.getBlockAt(x, y, z);
-                    if (block.getBlockData() instanceof MultipleFacing multipleFacing) {
-                        for (BlockFace direction : cardinalDirections) {
-                            if (block.getRelative(direction).isSolid()) {
-                                multipleFacing.setFace(direction, true);
-                                block.setBlockData(multipleFacing);
+        return createChangeSteps(world, area, (x, y, z) -> {
+            if (x == minX || x == maxX
+                    || y == minY || y == maxY
+                    || z == minZ || z == maxZ) {
+                setType(world.getBlockAt(x, y, z), material);
+            }
+        });
+    }
+    
+    /**
+     * @param world the world to update the blocks in
+     * @param area the area to update, using the block coordinates of its min and max (inclusive)
+     * @return the steps of {@link #updateDirection(World, BoundingBox)}
+     */
+    public static @NotNull List<Runnable> createUpdateDirectionSteps(@NotNull World world, @NotNull BoundingBox area) {
+        return createChangeSteps(world, area, (x, y, z) -> {
+            Block block = world.getBlockAt(x, y, z);
+            if (!(block.getBlockData() instanceof MultipleFacing multipleFacing)) {
+                return;
+            }
+            boolean changed = false;
+            for (BlockFace direction : cardinalDirections) {
+                if (!multipleFacing.hasFace(direction) && block.getRelative(direction).isSolid()) {
+                    multipleFacing.setFace(direction, true);
+                    changed = true;
+                }
+            }
+            if (changed) {
+                block.setBlockData(multipleFacing);
+            }
+        });
+    }
+    
+    @FunctionalInterface
+    private interface BlockChange {
+        void apply(int x, int y, int z);
+    }
+    
+    private static @NotNull List<Runnable> createChangeSteps(@NotNull World world, @NotNull BoundingBox area, @NotNull BlockChange change) {
+        int minY = Math.max(area.getMin().getBlockY(), world.getMinHeight());
+        int maxY = Math.min(area.getMax().getBlockY(), world.getMaxHeight() - 1);
+        List<Runnable> steps = new ArrayList<>();
+        forEachChunkColumn(area.getMin().getBlockX(), area.getMin().getBlockZ(), area.getMax().getBlockX(), area.getMax().getBlockZ(), (minX, minZ, maxX, maxZ) ->
+                steps.add(() -> {
+                    for (int x = minX; x <= maxX; x++) {
+                        for (int z = minZ; z <= maxZ; z++) {
+                            for (int y = minY; y <= maxY; y++) {
+                                change.apply(x, y, z);
                             }
                         }
                     }
-                }
-            }
+                }));
+        return steps;
+    }
+    
+    /**
+     * Sets the type of the given block, unless it is already that type
+     */
+    private static void setType(@NotNull Block block, @NotNull Material material) {
+        if (block.getType() != material) {
+            block.setType(material);
+        }
+    }
+    
+    private static void runAll(@NotNull List<Runnable> steps) {
+        for (Runnable step : steps) {
+            step.run();
         }
     }
     
+    /**
+     * @return a BoundingBox whose block coordinates cover the given origin and size
+     */
+    private static @NotNull BoundingBox toArea(int xOrigin, int yOrigin, int zOrigin, int xSize, int ySize, int zSize) {
+        return new BoundingBox(xOrigin, yOrigin, zOrigin, xOrigin + xSize - 1, yOrigin + ySize - 1, zOrigin + zSize - 1);
+    }
+    
     /**
      *
      * @param world the world to search for blocks in
@@ -238,6 +309,157 @@ public class BlockPlacementUtils {
         return solidBlocks;
     }
     
+    /**
+     * Finds the blocks of the given types in the given box without reading the world on the main thread.
+     * <br>
+     * The chunks the box is in are snapshotted right away, so this must be called on the main thread.
+     * The snapshots are then split into batches which are scanned in parallel on Bukkit's async
+     * worker threads, and the results are merged and handed back on the main thread.
+     * @param plugin the plugin to schedule the scanning tasks with
+     * @param world the world to search for blocks in
+     * @param box the box to search for blocks in, with the same bounds as {@link #getBlocks(World, BoundingBox, List)}
+     * @param types the types of blocks to search for
+     * @return a future which is completed on the main thread with the packed positions
+     * (see {@link BlockPositionSet}) of the blocks of each of the given types. Every given type
+     * is a key, even if none of its blocks were found.
+     */
+    public static @NotNull CompletableFuture<Map<Material, BlockPositionSet>> getBlocksAsync(@NotNull Plugin plugin, @NotNull World world, @NotNull BoundingBox box, @NotNull Set<Material> types) {
+        int minX = box.getMin().getBlockX();
+        int minY = Math.max(box.getMin().getBlockY(), world.getMinHeight());
+        int minZ = box.getMin().getBlockZ();
+        int maxX = (int) Math.floor(box.getMaxX());
+        int maxY = Math.min((int) Math.floor(box.getMaxY()), world.getMaxHeight() - 1);
+        int maxZ = (int) Math.floor(box.getMaxZ());
+        List<ChunkSnapshot> snapshots = new ArrayList<>();
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                snapshots.add(world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false));
+            }
+        }
+        Executor async = task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+        Executor sync = task -> Bukkit.getScheduler().runTask(plugin, task);
+        int batchCount = Math.max(1, Math.min(snapshots.size(), Runtime.getRuntime().availableProcessors()));
+        List<CompletableFuture<Map<Material, BlockPositionSet>>> batches = new ArrayList<>(batchCount);
+        for (int i = 0; i < batchCount; i++) {
+            List<ChunkSnapshot> batch = snapshots.subList(snapshots.size() * i / batchCount, snapshots.size() * (i + 1) / batchCount);
+            batches.add(CompletableFuture.supplyAsync(() -> {
+                Map<Material, BlockPositionSet> found = createPositionSets(types);
+                for (ChunkSnapshot snapshot : batch) {
+                    scanSnapshot(snapshot, minX, minY, minZ, maxX, maxY, maxZ, found);
+                }
+                return found;
+            }, async));
+        }
+        return CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).thenApplyAsync(ignored -> {
+            if (batches.size() == 1) {
+                return batches.get(0).join();
+            }
+            Map<Material, BlockPositionSet> merged = createPositionSets(types);
+            for (CompletableFuture<Map<Material, BlockPositionSet>> batch : batches) {
+                for (Map.Entry<Material, BlockPositionSet> entry : batch.join().entrySet()) {
+                    merged.get(entry.getKey()).addAll(entry.getValue());
+                }
+            }
+            return merged;
+        }, async).thenApplyAsync(found -> found, sync);
+    }
+    
+    /**
+     * @param box the box to find the chunks of
+     * @return the positions of the chunks the given box is in, packed with {@link BlockPositionSet#pack(int, int, int)}
+     * using the chunk coordinates as x and z, and 0 as y
+     */
+    public static @NotNull BlockPositionSet getChunkPositions(@NotNull BoundingBox box) {
+        int minChunkX = box.getMin().getBlockX() >> 4;
+        int minChunkZ = box.getMin().getBlockZ() >> 4;
+        int maxChunkX = ((int) Math.floor(box.getMaxX())) >> 4;
+        int maxChunkZ = ((int) Math.floor(box.getMaxZ())) >> 4;
+        BlockPositionSet chunkPositions = new BlockPositionSet((maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1));
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                chunkPositions.add(BlockPositionSet.pack(chunkX, 0, chunkZ));
+            }
+        }
+        return chunkPositions;
+    }
+    
+    /**
+     * Loads the chunks the given box is in without loading (or generating) them on the main thread.
+     * <br>
+     * The chunks are requested with {@link World#getChunkAtAsync(int, int)} in batches of the given size.
+     * The chunks of a batch load in parallel, and the next batch is requested once the previous one has
+     * loaded, so at most batchSize chunks are loading at a time. Each loaded chunk is given a plugin chunk
+     * ticket so that it stays loaded until the caller is done with it.
+     * @param plugin the plugin to schedule tasks and add chunk tickets with
+     * @param world the world to load the chunks in
+     * @param box the box to load the chunks of
+     * @param batchSize the number of chunks to load at a time
+     * @return a future which is completed on the main thread with the loaded chunks. The caller must
+     * call {@link org.bukkit.Chunk#removePluginChunkTicket(Plugin)} on each of them when it is done.
+     */
+    public static @NotNull CompletableFuture<List<Chunk>> loadChunksAsync(@NotNull Plugin plugin, @NotNull World world, @NotNull BoundingBox box, int batchSize) {
+        BlockPositionSet chunkPositions = getChunkPositions(box);
+        CompletableFuture<List<Chunk>> result = new CompletableFuture<>();
+        Executor sync = task -> Bukkit.getScheduler().runTask(plugin, task);
+        loadChunkBatch(plugin, world, chunkPositions, 0, Math.max(1, batchSize), new ArrayList<>(chunkPositions.size()), result, sync);
+        return result;
+    }
+    
+    private static void loadChunkBatch(@NotNull Plugin plugin, @NotNull World world, @NotNull BlockPositionSet chunkPositions, int start, int batchSize, @NotNull List<Chunk> loaded, @NotNull CompletableFuture<List<Chunk>> result, @NotNull Executor sync) {
+        if (start >= chunkPositions.size()) {
+            result.complete(loaded);
+            return;
+        }
+        int end = Math.min(chunkPositions.size(), start + batchSize);
+        List<CompletableFuture<Chunk>> batch = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            long chunkPosition = chunkPositions.get(i);
+            batch.add(world.getChunkAtAsync(BlockPositionSet.unpackX(chunkPosition), BlockPositionSet.unpackZ(chunkPosition)));
+        }
+        CompletableFuture.allOf(batch.toArray(new CompletableFuture[0])).whenCompleteAsync((ignored, throwable) -> {
+            if (throwable != null) {
+                for (Chunk chunk : loaded) {
+                    chunk.removePluginChunkTicket(plugin);
+                }
+                result.completeExceptionally(throwable);
+                return;
+            }
+            for (CompletableFuture<Chunk> future : batch) {
+                Chunk chunk = future.join();
+                chunk.addPluginChunkTicket(plugin);
+                loaded.add(chunk);
+            }
+            loadChunkBatch(plugin, world, chunkPositions, end, batchSize, loaded, result, sync);
+        }, sync);
+    }
+    
+    private static @NotNull Map<Material, BlockPositionSet> createPositionSets(@NotNull Set<Material> types) {
+        Map<Material, BlockPositionSet> sets = new EnumMap<>(Material.class);
+        for (Material type : types) {
+            sets.put(type, new BlockPositionSet());
+        }
+        return sets;
+    }
+    
+    /**
+     * Adds the position of every block in the given snapshot which is within the given bounds (inclusive)
+     * and whose type is a key in found to that type's set
+     */
+    private static void scanSnapshot(@NotNull ChunkSnapshot snapshot, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, @NotNull Map<Material, BlockPositionSet> found) {
+        int chunkMinX = snapshot.getX() << 4;
+        int chunkMinZ = snapshot.getZ() << 4;
+        for (int x = Math.max(minX, chunkMinX); x <= Math.min(maxX, chunkMinX + 15); x++) {
+            for (int z = Math.max(minZ, chunkMinZ); z <= Math.min(maxZ, chunkMinZ + 15); z++) {
+                for (int y = minY; y <= maxY; y++) {
+                    BlockPositionSet positions = found.get(snapshot.getBlockType(x & 15, y, z & 15));
+                    if (positions != null) {
+                        positions.add(BlockPositionSet.pack(x, y, z));
+                    }
+                }
+            }
+        }
+    }
+    
     public static final List<Material> AIR_BLOCKS = List.of(
             Material.AIR,
             Material.CAVE_AIR,
@@ -330,27 +552,60 @@ public class BlockPlacementUtils {
     }
     
     /**
-     * Places the given schematic file in the given world at all the given origins. If there are n origins, n copies of the schematic will be placed, each with their origin at the given values.<br>
-     * Use this in favor of {@link #placeSchematic(World, int, int, int, File)} multiple times
-     * in a row because this optimizes the multiple placement. 
-     * @param world the world to place in
-     * @param origins the list of origins. Each schematic copy placed will use one of these as their origin, using their integer block values. 
-     * @param file the .schem schematic file to use
+     * Identifies a cached schematic. Includes the last modified time and length of the file
+     * so that a file which is changed on disk is read again.
      */
-    public static void placeSchematic(World world, @NotNull List<Vector> origins, File file) {
-        Clipboard clipboard;
+    private record SchematicKey(@NotNull String path, long lastModified, long length) {
+    }
+    
+    private static final Map<SchematicKey, Clipboard> schematicCache = new ConcurrentHashMap<>();
+    
+    /**
+     * Reads the given schematic file. The result is cached, so the file is only read and parsed
+     * again if it changes.
+     * @param file the .schem schematic file to read
+     * @return the schematic in the given file, or null if it couldn't be read (the reason is logged).
+     * The returned clipboard is shared, and must not be modified.
+     */
+    public static @Nullable Clipboard loadSchematic(@NotNull File file) {
+        SchematicKey key = new SchematicKey(file.getAbsolutePath(), file.lastModified(), file.length());
+        Clipboard cached = schematicCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
         ClipboardFormat format = ClipboardFormats.findByFile(file);
         if (format == null) {
             Main.logger().severe("Could not find file " + file);
-            return;
+            return null;
         }
+        Clipboard clipboard;
         try (ClipboardReader reader = format.getReader(new FileInputStream(file))) {
             clipboard = reader.read();
         } catch (FileNotFoundException e) {
             Main.logger().log(Level.SEVERE, "Could not find file " + file, e);
-            return;
+            return null;
         } catch (IOException e) {
             Main.logger().log(Level.SEVERE, "Exception while reading from file " + file, e);
+            return null;
+        }
+        // drop older versions of the same file
+        schematicCache.keySet().removeIf(cachedKey -> cachedKey.path().equals(key.path()));
+        schematicCache.put(key, clipboard);
+        return clipboard;
+    }
+    
+    /**
+     * Places the given schematic file in the given world at all the given origins. If there are n origins, n copies of the schematic will be placed, each with their origin at the given values.<br>
+     * Use this in favor of {@link #placeSchematic(World, int, int, int, File)} multiple times
+     * in a row because this optimizes the multiple placement. 
+     * @param world the world to place in
+     * @param origins the list of origins. Each schematic copy placed will use one of these as their origin, using their integer block values. 
+     * @param file the .schem schematic file to use
+     * @see #createPasteSteps(World, Clipboard, Vector) to spread the placement across multiple ticks
+     */
+    public static void placeSchematic(World world, @NotNull List<Vector> origins, File file) {
+        Clipboard clipboard = loadSchematic(file);
+        if (clipboard == null) {
             return;
         }
         try (EditSession editSession = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(world))) {
@@ -378,39 +633,49 @@ public class BlockPlacementUtils {
      * @param file the .schem schematic file to use
      */
     public static void placeSchematic(World world, int x, int y, int z, File file) {
-        Clipboard clipboard;
-        ClipboardFormat format = ClipboardFormats.findByFile(file);
-        if (format == null) {
-            Main.logger().severe("Could not find file " + file);
-            return;
-        }
-        try (ClipboardReader reader = format.getReader(new FileInputStream(file))) {
-            clipboard = reader.read();
-        } catch (FileNotFoundException e) {
-            Main.logger().log(Level.SEVERE, "Could not find file " + file, e);
-            return;
-        } catch (IOException e) {
-            Main.logger().log(Level.SEVERE, "Exception while reading from file " + file, e);
-            return;
-        }
-        try (EditSession editSession = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(world))) {
-            Operation operation = new ClipboardHolder(clipboard)
-                    .createPaste(editSession)
-                    .ignoreAirBlocks(false)
-                    .copyBiomes(true)
-                    .copyEntities(true)
-                    .to(BlockVector3.at(x, y, z))
-                    .build();
-            Operations.complete(operation);
-        } catch (WorldEditException e) {
-            Main.logger().log(Level.SEVERE, "Exception while pasting", e);
-        }
+        placeSchematic(world, List.of(new Vector(x, y, z)), file);
+    }
+    
+    /**
+     * Splits pasting the given schematic into steps, one for each chunk the pasted schematic
+     * covers, so the paste can be spread across multiple ticks with a {@link BlockPlacementQueue}.
+     * Running every step is equivalent to {@link #placeSchematic(World, List, File)} with a single origin.
+     * @param world the world to place in
+     * @param clipboard the schematic to place (see {@link #loadSchematic(File)})
+     * @param origin the origin of the placed schematic, using its integer block values
+     * @return the steps of the paste
+     */
+    public static @NotNull List<Runnable> createPasteSteps(@NotNull World world, @NotNull Clipboard clipboard, @NotNull Vector origin) {
+        com.sk89q.worldedit.world.World editWorld = BukkitAdapter.adapt(world);
+        BlockVector3 to = BlockVector3.at(origin.getBlockX(), origin.getBlockY(), origin.getBlockZ());
+        BlockVector3 offset = to.subtract(clipboard.getOrigin());
+        BlockVector3 min = clipboard.getRegion().getMinimumPoint();
+        BlockVector3 max = clipboard.getRegion().getMaximumPoint();
+        List<Runnable> steps = new ArrayList<>();
+        forEachChunkColumn(min.x() + offset.x(), min.z() + offset.z(), max.x() + offset.x(), max.z() + offset.z(), (minX, minZ, maxX, maxZ) -> {
+            // the part of the clipboard which lands in this chunk, in the clipboard's coordinates
+            CuboidRegion piece = new CuboidRegion(
+                    BlockVector3.at(minX - offset.x(), min.y(), minZ - offset.z()),
+                    BlockVector3.at(maxX - offset.x(), max.y(), maxZ - offset.z()));
+            steps.add(() -> {
+                try (EditSession editSession = WorldEdit.getInstance().newEditSession(editWorld)) {
+                    ForwardExtentCopy copy = new ForwardExtentCopy(clipboard, piece, clipboard.getOrigin(), editSession, to);
+                    copy.setCopyingBiomes(true);
+                    copy.setCopyingEntities(true);
+                    Operations.complete(copy);
+                } catch (WorldEditException e) {
+                    Main.logger().log(Level.SEVERE, "Exception while pasting", e);
+                }
+            });
+        });
+        return steps;
     }
     
     /**
      * Uses WorldEdit to fill the given list of BoundingBoxes with air. Uses the block-location of each vector.
      * @param world the world
      * @param boxes the list of boxes
+     * @see #createFillWithAirSteps(World, List) to spread the fill across multiple ticks
      */
     public static void fillWithAir(World world, List<BoundingBox> boxes) {
         // Create an edit session for the WorldEdit world
@@ -438,6 +703,54 @@ public class BlockPlacementUtils {
         }
     }
     
+    /**
+     * Splits {@link #fillWithAir(World, List)} into steps, one for each chunk each box covers,
+     * so the fill can be spread across multiple ticks with a {@link BlockPlacementQueue}.
+     * @param world the world
+     * @param boxes the list of boxes
+     * @return the steps of the fill
+     */
+    public static @NotNull List<Runnable> createFillWithAirSteps(@NotNull World world, @NotNull List<BoundingBox> boxes) {
+        com.sk89q.worldedit.world.World editWorld = BukkitAdapter.adapt(world);
+        List<Runnable> steps = new ArrayList<>();
+        for (BoundingBox box : boxes) {
+            int minY = box.getMin().getBlockY();
+            int maxY = box.getMax().getBlockY() + 1;
+            forEachChunkColumn(box.getMin().getBlockX(), box.getMin().getBlockZ(), box.getMax().getBlockX(), box.getMax().getBlockZ(), (minX, minZ, maxX, maxZ) -> {
+                CuboidRegion piece = new CuboidRegion(BlockVector3.at(minX, minY, minZ), BlockVector3.at(maxX, maxY, maxZ));
+                steps.add(() -> {
+                    try (EditSession editSession = WorldEdit.getInstance().newEditSession(editWorld)) {
+                        editSession.setBlocks(piece, Objects.requireNonNull(BlockTypes.AIR).getDefaultState());
+                    } catch (MaxChangedBlocksException e) {
+                        Main.logger().log(Level.SEVERE, "error occurred filling with air blocks", e);
+                    }
+                });
+            });
+        }
+        return steps;
+    }
+    
+    @FunctionalInterface
+    private interface ChunkColumnConsumer {
+        void accept(int minX, int minZ, int maxX, int maxZ);
+    }
+    
+    /**
+     * Splits the given inclusive block area into the parts which fall in each chunk
+     * @param consumer called with the inclusive bounds of each part, one chunk at a time
+     */
+    private static void forEachChunkColumn(int minX, int minZ, int maxX, int maxZ, @NotNull ChunkColumnConsumer consumer) {
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                consumer.accept(
+                        Math.max(minX, chunkX << 4),
+                        Math.max(minZ, chunkZ << 4),
+                        Math.min(maxX, (chunkX << 4) + 15),
+                        Math.min(maxZ, (chunkZ << 4) + 15));
+            }
+        }
+    }
+    
     public static List<Block> getBlocksInRadius(Location center, double radius, Tag<Material> type) {
         List<Block> matchingBlocks = new ArrayList<>();
         World world = center.getWorld();
@@ -0,0 +1,110 @@
+package org.braekpo1nt.mctmanager.utils;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A weighted random selection which is built once and then picks values in constant time,
+ * using the alias method. Use this instead of {@link MathUtils#getWeightedRandomValue(Map)}
+ * when picking many times from the same weights.
+ * <br>
+ * If the weights are {v1: w1, v2: w2, ...vn: wn}, and the sum of all n weights is W,
+ * then vx has a wx/W chance of being picked.
+ * <br>
+ * Immutable, so it can be shared between threads.
+ * @param <K> the type of the values to pick from
+ */
+public class WeightedTable<K> {
+    
+    private final List<K> values;
+    /**
+     * the chance of picking the value in each column instead of its alias
+     */
+    private final double[] probabilities;
+    /**
+     * the index of the value picked in each column when the column's own value isn't
+     */
+    private final int[] aliases;
+    
+    /**
+     * @param weightedMap a map of the values to pick from and their weights. Can't be empty. No weight can be less than 1.
+     * @throws IllegalArgumentException if the weightedMap is empty, or a weight is less than 1
+     */
+    public WeightedTable(@NotNull Map<@NotNull K, @NotNull Integer> weightedMap) {
+        Preconditions.checkArgument(!weightedMap.isEmpty(), "weightedMap can't be empty");
+        int size = weightedMap.size();
+        values = new ArrayList<>(size);
+        double[] scaled = new double[size];
+        long totalWeight = 0;
+        for (Map.Entry<K, Integer> entry : weightedMap.entrySet()) {
+            int weight = entry.getValue();
+            Preconditions.checkArgument(weight >= 1, "weight of %s can't be less than 1", entry.getKey());
+            scaled[values.size()] = weight;
+            values.add(entry.getKey());
+            totalWeight += weight;
+        }
+        probabilities = new double[size];
+        aliases = new int[size];
+        // scale so that the average column is exactly 1, then fill each column below 1 with part of a column above 1
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int nSmall = 0;
+        int nLarge = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = scaled[i] * size / totalWeight;
+            if (scaled[i] < 1.0) {
+                small[nSmall++] = i;
+            } else {
+                large[nLarge++] = i;
+            }
+        }
+        while (nSmall > 0 && nLarge > 0) {
+            int less = small[--nSmall];
+            int more = large[--nLarge];
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[nSmall++] = more;
+            } else {
+                large[nLarge++] = more;
+            }
+        }
+        // whatever is left is 1 up to rounding error
+        while (nLarge > 0) {
+            probabilities[large[--nLarge]] = 1.0;
+        }
+        while (nSmall > 0) {
+            probabilities[small[--nSmall]] = 1.0;
+        }
+    }
+    
+    /**
+     * @param random the source of randomness
+     * @return a random value, picked by weight
+     */
+    public @NotNull K next(@NotNull Random random) {
+        int column = random.nextInt(values.size());
+        if (random.nextDouble() < probabilities[column]) {
+            return values.get(column);
+        }
+        return values.get(aliases[column]);
+    }
+    
+    /**
+     * @return a random value, picked by weight
+     */
+    public @NotNull K next() {
+        return next(ThreadLocalRandom.current());
+    }
+    
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,69 @@
+package org.braekpo1nt.mctmanager.games.game.farmrush.powerups;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import org.braekpo1nt.mctmanager.MyCustomServerMock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+class PowerupSchedulerTest {
+    
+    private ServerMock server;
+    private PowerupScheduler scheduler;
+    private final List<String> ran = new ArrayList<>();
+    
+    @BeforeEach
+    void setup() {
+        server = MockBukkit.mock(new MyCustomServerMock());
+        server.getLogger().setLevel(Level.OFF);
+        scheduler = new PowerupScheduler();
+        scheduler.start(MockBukkit.createMockPlugin());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+        MockBukkit.unmock();
+    }
+    
+    @Test
+    void staggered() {
+        scheduler.setTickBudgetMillis(100);
+        for (String name : List.of("a", "b", "c")) {
+            scheduler.schedule(name, 3, () -> ran.add(name));
+        }
+        for (int tick = 1; tick <= 6; tick++) {
+            server.getScheduler().performOneTick();
+            // only one of the three is due on each tick
+            Assertions.assertEquals(tick, ran.size());
+        }
+        Assertions.assertEquals(List.of("a", "b", "c", "a", "b", "c"), ran);
+    }
+    
+    @Test
+    void budgetCarriesOver() {
+        // run a single job per tick
+        scheduler.setTickBudgetMillis(0);
+        scheduler.schedule("a", 1, () -> ran.add("a"));
+        scheduler.schedule("b", 1, () -> ran.add("b"));
+        server.getScheduler().performTicks(4);
+        Assertions.assertEquals(List.of("a", "b", "a", "b"), ran);
+    }
+    
+    @Test
+    void cancel() {
+        scheduler.setTickBudgetMillis(100);
+        scheduler.schedule("a", 1, () -> ran.add("a"));
+        scheduler.schedule("b", 1, () -> ran.add("b"));
+        server.getScheduler().performOneTick();
+        scheduler.cancel("a");
+        server.getScheduler().performTicks(2);
+        Assertions.assertEquals(List.of("a", "b", "b", "b"), ran);
+    }
+}
@@ -0,0 +1,69 @@
+package org.braekpo1nt.mctmanager.games.game.footrace;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.braekpo1nt.mctmanager.MyCustomServerMock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.logging.Level;
+
+class FootRaceStandingsTest {
+    
+    private FootRaceStandings standings;
+    private PlayerMock a;
+    private PlayerMock b;
+    private PlayerMock c;
+    
+    @BeforeEach
+    void setup() {
+        ServerMock server = MockBukkit.mock(new MyCustomServerMock());
+        server.getLogger().setLevel(Level.OFF);
+        standings = new FootRaceStandings();
+        a = server.addPlayer("a");
+        b = server.addPlayer("b");
+        c = server.addPlayer("c");
+        standings.add(a);
+        standings.add(b);
+        standings.add(c);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unmock();
+    }
+    
+    private List<Object> order() {
+        return List.of(standings.get(0), standings.get(1), standings.get(2));
+    }
+    
+    @Test
+    void progressOrder() {
+        standings.setProgress(a.getUniqueId(), 1, 2, 10.0);
+        standings.setProgress(b.getUniqueId(), 2, 0, 50.0);
+        standings.setProgress(c.getUniqueId(), 1, 2, 5.0);
+        Assertions.assertTrue(standings.sort());
+        Assertions.assertEquals(List.of(b, c, a), order());
+        Assertions.assertFalse(standings.sort());
+        
+        standings.setProgress(a.getUniqueId(), 1, 3, 20.0);
+        Assertions.assertTrue(standings.sort());
+        Assertions.assertEquals(List.of(b, a, c), order());
+    }
+    
+    @Test
+    void finishedFirst() {
+        standings.setProgress(a.getUniqueId(), 3, 0, 1.0);
+        standings.setFinished(c.getUniqueId(), 0);
+        standings.setFinished(b.getUniqueId(), 1);
+        standings.sort();
+        Assertions.assertEquals(List.of(c, b, a), order());
+        Assertions.assertTrue(standings.isFinished(c.getUniqueId()));
+        Assertions.assertFalse(standings.isFinished(a.getUniqueId()));
+    }
+
+}
@@ -0,0 +1,146 @@
+package org.braekpo1nt.mctmanager.games.gamestate;
+
+import org.braekpo1nt.mctmanager.Main;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+class GameStateJournalTest {
+    
+    @TempDir
+    File configDirectory;
+    GameStateJournal journal;
+    UUID playerA = UUID.randomUUID();
+    UUID playerB = UUID.randomUUID();
+    /**
+     * the epoch of the snapshot the journal's entries belong to
+     */
+    String epoch;
+    
+    @BeforeEach
+    void setup() {
+        journal = new GameStateJournal(configDirectory, Main.GSON);
+        GameState initial = new GameState();
+        journal.replay(initial);
+        epoch = initial.getJournalEpoch();
+    }
+    
+    /**
+     * @return an empty GameState from the same snapshot lineage as the journal's entries
+     */
+    private GameState snapshot() {
+        GameState gameState = new GameState();
+        gameState.setJournalEpoch(epoch);
+        return gameState;
+    }
+    
+    private void appendTeamsAndPlayers() {
+        journal.append(JournalEntry.addTeam("red", "Red", "red"));
+        journal.append(JournalEntry.addTeam("blue", "Blue", "blue"));
+        journal.append(JournalEntry.addPlayer(playerA, "red"));
+        journal.append(JournalEntry.addPlayer(playerB, "blue"));
+    }
+    
+    @Test
+    void replay() {
+        appendTeamsAndPlayers();
+        journal.append(JournalEntry.addPlayersScore(List.of(playerA, playerB), 10));
+        journal.append(JournalEntry.addPlayerScore(playerA, 5));
+        journal.append(JournalEntry.addTeamsScore(List.of("red", "blue"), 20));
+        journal.append(JournalEntry.setTeamScore("blue", 3));
+        journal.close();
+        
+        GameState gameState = snapshot();
+        GameStateJournal reloaded = new GameStateJournal(configDirectory, Main.GSON);
+        Assertions.assertEquals(8, reloaded.replay(gameState));
+        Assertions.assertEquals(15, gameState.getPlayer(playerA).getScore());
+        Assertions.assertEquals(10, gameState.getPlayer(playerB).getScore());
+        Assertions.assertEquals(20, gameState.getTeam("red").getScore());
+        Assertions.assertEquals(3, gameState.getTeam("blue").getScore());
+        Assertions.assertEquals(8, reloaded.getSequence());
+    }
+    
+    @Test
+    void replaySkipsEntriesInSnapshot() {
+        appendTeamsAndPlayers();
+        journal.append(JournalEntry.addPlayerScore(playerA, 5));
+        long snapshotSequence = journal.rotate();
+        journal.append(JournalEntry.addPlayerScore(playerA, 7));
+        journal.close();
+        
+        // the snapshot contains everything up to the rotation
+        GameState snapshot = snapshot();
+        snapshot.addTeam("red", "Red", "red");
+        snapshot.addTeam("blue", "Blue", "blue");
+        snapshot.addPlayer(playerA, "red");
+        snapshot.addPlayer(playerB, "blue");
+        snapshot.getPlayer(playerA).setScore(5);
+        snapshot.setJournalSequence(snapshotSequence);
+        
+        GameStateJournal reloaded = new GameStateJournal(configDirectory, Main.GSON);
+        Assertions.assertEquals(1, reloaded.replay(snapshot));
+        Assertions.assertEquals(12, snapshot.getPlayer(playerA).getScore());
+        Assertions.assertEquals(6, reloaded.getSequence());
+    }
+    
+    @Test
+    void discardThrough() {
+        appendTeamsAndPlayers();
+        long snapshotSequence = journal.rotate();
+        journal.discardThrough(snapshotSequence);
+        journal.close();
+        File[] remaining = configDirectory.listFiles();
+        Assertions.assertNotNull(remaining);
+        Assertions.assertEquals(0, remaining.length);
+    }
+    
+    @Test
+    void tornEntry() throws IOException {
+        appendTeamsAndPlayers();
+        journal.append(JournalEntry.addPlayerScore(playerA, 5));
+        journal.close();
+        try (FileWriter writer = new FileWriter(new File(configDirectory, "gameState.journal"), true)) {
+            writer.write("{\"sequence\":6,\"type\":\"ADD_PLAY");
+        }
+        
+        GameState gameState = snapshot();
+        GameStateJournal reloaded = new GameStateJournal(configDirectory, Main.GSON);
+        Assertions.assertEquals(5, reloaded.replay(gameState));
+        Assertions.assertEquals(5, gameState.getPlayer(playerA).getScore());
+    }
+    
+    @Test
+    void replayDiscardsOtherSnapshotsEntries() {
+        appendTeamsAndPlayers();
+        journal.rotate();
+        journal.append(JournalEntry.addPlayerScore(playerA, 5));
+        journal.close();
+        
+        // e.g. gameState.json was deleted after a crash, so a new GameState was created
+        GameState fresh = new GameState();
+        GameStateJournal reloaded = new GameStateJournal(configDirectory, Main.GSON);
+        Assertions.assertEquals(0, reloaded.replay(fresh));
+        Assertions.assertTrue(fresh.getTeams().isEmpty());
+        Assertions.assertNotNull(fresh.getJournalEpoch());
+        Assertions.assertNotEquals(epoch, fresh.getJournalEpoch());
+        File[] remaining = configDirectory.listFiles();
+        Assertions.assertNotNull(remaining);
+        Assertions.assertEquals(0, remaining.length);
+        
+        // new entries belong to the fresh snapshot
+        reloaded.append(JournalEntry.addTeam("green", "Green", "green"));
+        reloaded.close();
+        GameState next = new GameState();
+        next.setJournalEpoch(fresh.getJournalEpoch());
+        Assertions.assertEquals(1, new GameStateJournal(configDirectory, Main.GSON).replay(next));
+        Assertions.assertTrue(next.containsTeam("green"));
+    }
+    
+}
@@ -2,10 +2,36 @@ package org.braekpo1nt.mctmanager.games.gamestate;
 
 import org.braekpo1nt.mctmanager.Main;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Keeps its journal in a temporary directory, which is deleted on {@link #shutdown()}
+ */
 public class MockGameStateStorageUtil extends GameStateStorageUtil {
     
+    private final File configDirectory;
+    
     public MockGameStateStorageUtil(Main plugin) {
-        super(plugin);
+        this(plugin, createTempDirectory());
+    }
+    
+    private MockGameStateStorageUtil(Main plugin, File configDirectory) {
+        super(plugin, configDirectory);
+        this.configDirectory = configDirectory;
+    }
+    
+    private static File createTempDirectory() {
+        try {
+            return Files.createTempDirectory("mctmanager-gamestate").toFile();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
     
     @Override
@@ -15,4 +41,16 @@ public class MockGameStateStorageUtil extends GameStateStorageUtil {
     
     @Override
     public void saveGameState() {}
-}
\ No newline at end of file
+    
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        try (Stream<Path> paths = Files.walk(configDirectory.toPath())) {
+            paths.sorted(Comparator.reverseOrder())
+                    .map(Path::toFile)
+                    .forEach(File::delete);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.braekpo1nt.mctmanager.games.utils;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.braekpo1nt.mctmanager.MyCustomServerMock;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+
+class ParticipantRegistryTest {
+    
+    private ServerMock server;
+    private ParticipantRegistry registry;
+    private PlayerMock red1;
+    private PlayerMock red2;
+    private PlayerMock blue1;
+    
+    @BeforeEach
+    void setup() {
+        server = MockBukkit.mock(new MyCustomServerMock());
+        server.getLogger().setLevel(Level.OFF);
+        registry = new ParticipantRegistry();
+        red1 = server.addPlayer();
+        red2 = server.addPlayer();
+        blue1 = server.addPlayer();
+        registry.add(red1, "red");
+        registry.add(blue1, "blue");
+        registry.add(red2, "red");
+    }
+    
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unmock();
+    }
+    
+    @Test
+    void membership() {
+        Assertions.assertTrue(registry.contains(red1));
+        Assertions.assertTrue(registry.contains(blue1.getUniqueId()));
+        Assertions.assertFalse(registry.contains(server.addPlayer()));
+        Assertions.assertFalse(registry.contains("red"));
+        Assertions.assertEquals(List.of(red1, blue1, red2), registry);
+    }
+    
+    @Test
+    void teamViews() {
+        List<?> red = registry.getTeam("red");
+        Assertions.assertEquals(List.of(red1, red2), red);
+        Assertions.assertEquals(List.of(blue1), registry.getTeam("blue"));
+        Assertions.assertEquals(List.of(), registry.getTeam("green"));
+        registry.remove(red1);
+        Assertions.assertEquals(List.of(red2), red);
+        Assertions.assertFalse(registry.contains(red1));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> registry.getTeam("red").add(red1));
+    }
+    
+    @Test
+    void addReplacesSameUUID() {
+        registry.add(red1, "blue");
+        Assertions.assertEquals(3, registry.size());
+        Assertions.assertEquals(List.of(red2), registry.getTeam("red"));
+        Assertions.assertEquals(List.of(blue1, red1), registry.getTeam("blue"));
+        Assertions.assertEquals("blue", registry.getTeamId(red1.getUniqueId()));
+    }
+    
+    @Test
+    void clear() {
+        List<?> red = registry.getTeam("red");
+        registry.clear();
+        Assertions.assertTrue(registry.isEmpty());
+        Assertions.assertTrue(red.isEmpty());
+        Assertions.assertFalse(registry.contains(red2.getUniqueId()));
+    }
+    
+    @Test
+    void iteration() {
+        List<Object> visited = new ArrayList<>();
+        registry.forEach(visited::add);
+        Assertions.assertEquals(List.of(red1, blue1, red2), visited);
+        registry.removeIf(participant -> participant.equals(blue1));
+        Assertions.assertEquals(List.of(red1, red2), registry);
+        Assertions.assertNull(registry.getParticipant(blue1.getUniqueId()));
+    }
+    
+    @Test
+    void positionalChanges() {
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> registry.add(0, server.addPlayer()));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> registry.set(0, blue1));
+        List<Player> order = List.of(red2, blue1, red1);
+        registry.sort(Comparator.comparingInt(order::indexOf));
+        Assertions.assertEquals(order, registry);
+        Assertions.assertEquals(List.of(red1, red2), registry.getTeam("red"));
+        Assertions.assertTrue(registry.contains(red1));
+    }
+}
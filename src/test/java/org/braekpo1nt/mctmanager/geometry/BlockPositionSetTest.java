@@ -0,0 +1,64 @@
+package org.braekpo1nt.mctmanager.geometry;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+class BlockPositionSetTest {
+    
+    @Test
+    void packing() {
+        int[][] coordinates = {{0, 0, 0}, {-1, -64, -1}, {29_999_999, 319, -29_999_999}, {-30_000_000, 2047, 123}, {5, -2048, -5}};
+        for (int[] c : coordinates) {
+            long position = BlockPositionSet.pack(c[0], c[1], c[2]);
+            Assertions.assertEquals(c[0], BlockPositionSet.unpackX(position));
+            Assertions.assertEquals(c[1], BlockPositionSet.unpackY(position));
+            Assertions.assertEquals(c[2], BlockPositionSet.unpackZ(position));
+        }
+    }
+    
+    @Test
+    void addAndRemove() {
+        BlockPositionSet set = new BlockPositionSet();
+        long a = BlockPositionSet.pack(1, 2, 3);
+        long b = BlockPositionSet.pack(-1, 2, -3);
+        Assertions.assertTrue(set.add(a));
+        Assertions.assertFalse(set.add(a));
+        Assertions.assertTrue(set.add(b));
+        Assertions.assertEquals(2, set.size());
+        Assertions.assertTrue(set.remove(a));
+        Assertions.assertFalse(set.remove(a));
+        Assertions.assertFalse(set.contains(a));
+        Assertions.assertTrue(set.contains(b));
+        Assertions.assertEquals(b, set.get(0));
+        set.clear();
+        Assertions.assertTrue(set.isEmpty());
+        Assertions.assertFalse(set.contains(b));
+    }
+    
+    @Test
+    void matchesHashSet() {
+        Random random = new Random(42);
+        BlockPositionSet set = new BlockPositionSet();
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            long position = BlockPositionSet.pack(random.nextInt(40) - 20, random.nextInt(8), random.nextInt(40) - 20);
+            switch (random.nextInt(3)) {
+                case 0, 1 -> Assertions.assertEquals(expected.add(position), set.add(position));
+                default -> Assertions.assertEquals(expected.remove(position), set.remove(position));
+            }
+        }
+        Assertions.assertEquals(expected.size(), set.size());
+        for (long position : expected) {
+            Assertions.assertTrue(set.contains(position));
+        }
+        while (!set.isEmpty()) {
+            Assertions.assertTrue(expected.remove(set.removeRandom(random)));
+        }
+        Assertions.assertTrue(expected.isEmpty());
+        Assertions.assertThrows(IllegalStateException.class, () -> set.removeRandom(random));
+    }
+}
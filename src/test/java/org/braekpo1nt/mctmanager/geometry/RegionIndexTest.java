@@ -0,0 +1,49 @@
+package org.braekpo1nt.mctmanager.geometry;
+
+import org.bukkit.util.BoundingBox;
+import org.bukkit.util.Vector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class RegionIndexTest {
+    
+    RegionIndex<String> index;
+    
+    @BeforeEach
+    void setup() {
+        index = new RegionIndex<>();
+        index.add(new BoundingBox(0, 0, 0, 10, 10, 10), "a");
+        index.add(new BoundingBox(5, 0, 5, 20, 10, 20), "b");
+        index.add(new BoundingBox(-40, 60, -40, -30, 70, -30), "c");
+        // large enough to be checked on every query instead of being stored in cells
+        index.add(new BoundingBox(-1000, -64, -1000, 1000, 320, 1000), "world");
+    }
+    
+    @Test
+    void overlapping() {
+        Assertions.assertEquals(List.of("a", "b", "world"), index.getRegions(new Vector(7, 5, 7)));
+    }
+    
+    @Test
+    void single() {
+        Assertions.assertEquals(List.of("b", "world"), index.getRegions(new Vector(15.5, 1, 15.5)));
+        Assertions.assertEquals(List.of("c", "world"), index.getRegions(new Vector(-35, 65, -35)));
+    }
+    
+    @Test
+    void outside() {
+        Assertions.assertEquals(List.of("world"), index.getRegions(new Vector(25, 5, 25)));
+        Assertions.assertEquals(List.of(), index.getRegions(new Vector(5000, 5, 5000)));
+    }
+    
+    @Test
+    void clear() {
+        Assertions.assertEquals(4, index.size());
+        index.clear();
+        Assertions.assertEquals(0, index.size());
+        Assertions.assertEquals(List.of(), index.getRegions(new Vector(7, 5, 7)));
+    }
+}
@@ -0,0 +1,89 @@
+package org.braekpo1nt.mctmanager.hub.leaderboard;
+
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+
+class LeaderboardStandingsTest {
+    
+    LeaderboardStandings standings;
+    UUID alice = UUID.randomUUID();
+    UUID bob = UUID.randomUUID();
+    UUID carol = UUID.randomUUID();
+    UUID dave = UUID.randomUUID();
+    
+    @BeforeEach
+    void setup() {
+        standings = new LeaderboardStandings();
+        standings.put(alice, "Alice", NamedTextColor.RED, 30);
+        standings.put(bob, "bob", NamedTextColor.BLUE, 20);
+        standings.put(carol, "Carol", NamedTextColor.RED, 20);
+        standings.put(dave, "Dave", NamedTextColor.BLUE, 10);
+        standings.clearDirty();
+    }
+    
+    private void assertOrder(UUID... expected) {
+        Assertions.assertEquals(expected.length, standings.size());
+        for (int i = 0; i < expected.length; i++) {
+            Assertions.assertEquals(expected[i], standings.get(i).getUuid());
+        }
+    }
+    
+    @Test
+    void orderedByScoreThenName() {
+        assertOrder(alice, bob, carol, dave);
+    }
+    
+    @Test
+    void moveUp() {
+        Assertions.assertTrue(standings.put(dave, "Dave", NamedTextColor.BLUE, 25));
+        assertOrder(alice, dave, bob, carol);
+        Assertions.assertEquals(1, standings.getDirtyFrom());
+        Assertions.assertEquals(3, standings.getDirtyTo());
+        Assertions.assertFalse(standings.isDirty(0));
+    }
+    
+    @Test
+    void unchangedIsNotDirty() {
+        Assertions.assertFalse(standings.put(bob, "bob", NamedTextColor.BLUE, 20));
+        Assertions.assertFalse(standings.isDirty());
+    }
+    
+    @Test
+    void scoreChangeWithoutMoving() {
+        Assertions.assertTrue(standings.put(alice, "Alice", NamedTextColor.RED, 40));
+        assertOrder(alice, bob, carol, dave);
+        Assertions.assertTrue(standings.isDirty(0));
+        Assertions.assertFalse(standings.isDirty(1));
+    }
+    
+    @Test
+    void remove() {
+        Assertions.assertTrue(standings.remove(bob));
+        assertOrder(alice, carol, dave);
+        Assertions.assertEquals(1, standings.getDirtyFrom());
+        Assertions.assertEquals(3, standings.getDirtyTo());
+    }
+    
+    @Test
+    void retainAll() {
+        standings.retainAll(Set.of(alice, dave));
+        assertOrder(alice, dave);
+        Assertions.assertFalse(standings.contains(bob));
+    }
+    
+    @Test
+    void renderedLineFollowsPlacement() {
+        LeaderboardStandings.Standing standing = standings.get(dave);
+        Assertions.assertNotNull(standing);
+        String fourth = standing.toLine(4);
+        standings.put(dave, "Dave", NamedTextColor.BLUE, 100);
+        Assertions.assertEquals(0, standings.indexOf(standing));
+        Assertions.assertNotEquals(fourth, standing.toLine(1));
+        Assertions.assertTrue(standing.toLine(1).contains("100"));
+    }
+}
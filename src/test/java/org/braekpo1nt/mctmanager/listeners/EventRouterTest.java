@@ -0,0 +1,110 @@
+package org.braekpo1nt.mctmanager.listeners;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.braekpo1nt.mctmanager.Main;
+import org.braekpo1nt.mctmanager.MockMain;
+import org.braekpo1nt.mctmanager.MyCustomServerMock;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerToggleSneakEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+class EventRouterTest {
+    
+    private ServerMock server;
+    private EventRouter router;
+    private final Map<Player, Object> contexts = new HashMap<>();
+    private final List<String> received = new ArrayList<>();
+    
+    private class NamedListener implements Listener {
+        private final String name;
+        
+        private NamedListener(String name) {
+            this.name = name;
+        }
+        
+        @EventHandler
+        public void onSneak(PlayerToggleSneakEvent event) {
+            received.add(name);
+        }
+    }
+    
+    @BeforeEach
+    void setup() {
+        server = MockBukkit.mock(new MyCustomServerMock());
+        server.getLogger().setLevel(Level.OFF);
+        Main plugin = MockBukkit.load(MockMain.class);
+        router = new EventRouter(plugin);
+        router.setContextResolver(contexts::get);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unmock();
+    }
+    
+    private void sneak(Player player) {
+        received.clear();
+        server.getPluginManager().callEvent(new PlayerToggleSneakEvent(player, true));
+    }
+    
+    @Test
+    void routesToPlayerContext() {
+        router.register(EventRouter.GLOBAL, new NamedListener("global"));
+        router.register("a", new NamedListener("a"));
+        router.register("b", new NamedListener("b"));
+        PlayerMock player = server.addPlayer();
+        contexts.put(player, "a");
+        sneak(player);
+        Assertions.assertEquals(List.of("global", "a"), received);
+        contexts.put(player, "c");
+        sneak(player);
+        Assertions.assertEquals(List.of("global"), received);
+    }
+    
+    @Test
+    void noContextReceivesAll() {
+        router.register("a", new NamedListener("a"));
+        router.register(EventRouter.GLOBAL, new NamedListener("global"));
+        router.register("b", new NamedListener("b"));
+        sneak(server.addPlayer());
+        Assertions.assertEquals(List.of("a", "global", "b"), received);
+    }
+    
+    @Test
+    void unregister() {
+        NamedListener a = new NamedListener("a");
+        router.register("a", a);
+        router.register("a", new NamedListener("a2"));
+        router.unregister(a);
+        PlayerMock player = server.addPlayer();
+        contexts.put(player, "a");
+        sneak(player);
+        Assertions.assertEquals(List.of("a2"), received);
+    }
+    
+    @Test
+    void countsCalls() {
+        router.register("a", new NamedListener("a"));
+        PlayerMock player = server.addPlayer();
+        sneak(player);
+        sneak(player);
+        EventRouter.HandlerStats stats = router.getStats().get(0);
+        Assertions.assertEquals("NamedListener#onSneak", stats.name());
+        Assertions.assertEquals(2, stats.calls());
+        router.resetStats();
+        Assertions.assertEquals(0, router.getStats().get(0).calls());
+    }
+}
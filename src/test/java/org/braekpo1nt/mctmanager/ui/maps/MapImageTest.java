@@ -0,0 +1,55 @@
+package org.braekpo1nt.mctmanager.ui.maps;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+class MapImageTest {
+    
+    @TempDir
+    File tempDir;
+    
+    @AfterEach
+    void tearDown() {
+        MapImage.clearCache();
+    }
+    
+    private void writeImage(File file, int size, Color color) throws IOException {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, size, size);
+        graphics.dispose();
+        ImageIO.write(image, "png", file);
+    }
+    
+    @Test
+    void sameFileIsShared() throws IOException {
+        File file = new File(tempDir, "rules.png");
+        writeImage(file, 64, Color.RED);
+        MapImage first = MapImage.fromFile(file);
+        Assertions.assertSame(first, MapImage.fromFile(file));
+    }
+    
+    @Test
+    void changedFileIsReloaded() throws IOException {
+        File file = new File(tempDir, "rules.png");
+        writeImage(file, 64, Color.RED);
+        MapImage first = MapImage.fromFile(file);
+        writeImage(file, 200, Color.BLUE);
+        Assertions.assertTrue(file.setLastModified(file.lastModified() + 2000));
+        Assertions.assertNotSame(first, MapImage.fromFile(file));
+    }
+    
+    @Test
+    void missingFile() {
+        Assertions.assertThrows(IOException.class, () -> MapImage.fromFile(new File(tempDir, "missing.png")));
+    }
+}
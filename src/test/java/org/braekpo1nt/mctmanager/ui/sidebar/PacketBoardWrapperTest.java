@@ -0,0 +1,130 @@
+package org.braekpo1nt.mctmanager.ui.sidebar;
+
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerScoreboardObjective;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class PacketBoardWrapperTest {
+    
+    /**
+     * Records what would be sent, instead of building and sending packets
+     */
+    static class RecordingBoard extends PacketBoardWrapper {
+        
+        record Score(String entryName, int score, Component contents) {
+        }
+        
+        private final List<Score> scores = new ArrayList<>();
+        private final List<String> resets = new ArrayList<>();
+        private final List<Component> titles = new ArrayList<>();
+        
+        @Override
+        protected void sendObjective(@NotNull WrapperPlayServerScoreboardObjective.ObjectiveMode mode, @NotNull Component displayName) {
+            if (mode == WrapperPlayServerScoreboardObjective.ObjectiveMode.UPDATE) {
+                titles.add(displayName);
+            }
+        }
+        
+        @Override
+        protected void sendScore(@NotNull String entryName, int score, @NotNull Component contents) {
+            scores.add(new Score(entryName, score, contents));
+        }
+        
+        @Override
+        protected void sendResetScore(@NotNull String entryName) {
+            resets.add(entryName);
+        }
+        
+        void clearSent() {
+            scores.clear();
+            resets.clear();
+            titles.clear();
+        }
+    }
+    
+    private RecordingBoard board;
+    
+    private static RecordingBoard.Score score(int line, int score, String contents) {
+        return new RecordingBoard.Score(PacketBoardWrapper.getLineName(line), score, Component.text(contents));
+    }
+    
+    @BeforeEach
+    void setup() {
+        board = new RecordingBoard();
+        board.updateLines("a", "b", "c");
+    }
+    
+    @Test
+    void addedLinesAreSentInOrder() {
+        Assertions.assertEquals(List.of(score(0, 2, "a"), score(1, 1, "b"), score(2, 0, "c")), board.scores);
+        Assertions.assertTrue(board.resets.isEmpty());
+    }
+    
+    @Test
+    void onlyChangedLinesAreSent() {
+        board.clearSent();
+        board.updateLines("a", "x", "c");
+        board.updateLine(2, Component.text("c"));
+        Assertions.assertEquals(List.of(score(1, 1, "x")), board.scores);
+        Assertions.assertTrue(board.resets.isEmpty());
+    }
+    
+    @Test
+    void repeatedChangesSendTheLatestContents() {
+        board.clearSent();
+        board.updateLine(0, "x");
+        board.updateLine(0, "y");
+        board.updateLine(0, "z");
+        Assertions.assertEquals(List.of(score(0, 2, "x"), score(0, 2, "y"), score(0, 2, "z")), board.scores);
+    }
+    
+    @Test
+    void growingResendsEveryScore() {
+        board.clearSent();
+        board.updateLine(4, "e");
+        Assertions.assertEquals(5, board.size());
+        Assertions.assertEquals(List.of(
+                score(0, 4, "a"),
+                score(1, 3, "b"),
+                score(2, 2, "c"),
+                new RecordingBoard.Score(PacketBoardWrapper.getLineName(3), 1, Component.empty()),
+                score(4, 0, "e")
+        ), board.scores);
+        Assertions.assertTrue(board.resets.isEmpty());
+    }
+    
+    @Test
+    void shrinkingResetsRemovedLines() {
+        board.clearSent();
+        board.removeLine(1);
+        Assertions.assertEquals(List.of(score(0, 1, "a"), score(1, 0, "c")), board.scores);
+        Assertions.assertEquals(List.of(PacketBoardWrapper.getLineName(2)), board.resets);
+        
+        board.clearSent();
+        board.updateLines(List.of());
+        Assertions.assertEquals(0, board.size());
+        Assertions.assertTrue(board.scores.isEmpty());
+        Assertions.assertEquals(List.of(PacketBoardWrapper.getLineName(0), PacketBoardWrapper.getLineName(1)), board.resets);
+    }
+    
+    @Test
+    void titleChangesAreSent() {
+        board.updateTitle("one");
+        board.updateTitle(Component.text("two"));
+        Assertions.assertEquals(List.of(Component.text("one"), Component.text("two")), board.titles);
+    }
+    
+    @Test
+    void deletedBoardRejectsUpdates() {
+        board.delete();
+        Assertions.assertTrue(board.isDeleted());
+        Assertions.assertThrows(IllegalStateException.class, () -> board.updateLine(0, "x"));
+        Assertions.assertThrows(IllegalStateException.class, () -> board.updateTitle("x"));
+    }
+}
@@ -0,0 +1,86 @@
+package org.braekpo1nt.mctmanager.ui.sidebar;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.braekpo1nt.mctmanager.MyCustomServerMock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Level;
+
+class SidebarUpdateBusTest {
+    
+    private ServerMock server;
+    private SidebarUpdateBus updateBus;
+    private MockSidebar sidebar;
+    private PlayerMock player;
+    
+    @BeforeEach
+    void setup() {
+        server = MockBukkit.mock(new MyCustomServerMock());
+        server.getLogger().setLevel(Level.OFF);
+        updateBus = new SidebarUpdateBus(MockBukkit.createMockPlugin());
+        sidebar = new MockSidebar();
+        sidebar.setUpdateBus(updateBus);
+        player = server.addPlayer("Player1");
+        sidebar.addPlayer(player);
+        sidebar.addLines(new KeyLine("a", "a"), new KeyLine("b", "b"), new KeyLine("c", "c"));
+        server.getScheduler().performOneTick();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unmock();
+    }
+    
+    @Test
+    void addedLinesAreSent() {
+        Assertions.assertEquals(new SidebarUpdateBus.SidebarStats(1, 3, 3, 3), updateBus.getStats());
+        sidebar.assertLine(player.getUniqueId(), "b", "b");
+    }
+    
+    @Test
+    void onlyChangedLinesAreSent() {
+        sidebar.updateLine("a", "x");
+        sidebar.updateLine("b", "y");
+        sidebar.updateLine("b", "z");
+        sidebar.updateLine("c", "c");
+        server.getScheduler().performOneTick();
+        Assertions.assertEquals(2, updateBus.getStats().lastPackets());
+        sidebar.assertLine(player.getUniqueId(), "a", "x");
+        sidebar.assertLine(player.getUniqueId(), "b", "z");
+        sidebar.assertLine(player.getUniqueId(), "c", "c");
+    }
+    
+    @Test
+    void revertedLinesAreNotSent() {
+        sidebar.updateLine(player.getUniqueId(), "a", "x");
+        sidebar.updateLine(player.getUniqueId(), "a", "a");
+        server.getScheduler().performOneTick();
+        Assertions.assertEquals(2, updateBus.getStats().flushes());
+        Assertions.assertEquals(0, updateBus.getStats().lastPackets());
+        sidebar.assertLine(player.getUniqueId(), "a", "a");
+    }
+    
+    @Test
+    void flushesOncePerTick() {
+        sidebar.updateLine("a", "x");
+        sidebar.updateLine("b", "y");
+        server.getScheduler().performOneTick();
+        server.getScheduler().performOneTick();
+        Assertions.assertEquals(2, updateBus.getStats().flushes());
+    }
+    
+    @Test
+    void deletedLinesResizeTheBoard() {
+        sidebar.deleteLine("a");
+        server.getScheduler().performOneTick();
+        // "b" and "c" moved up, and the last line was removed
+        Assertions.assertEquals(3, updateBus.getStats().lastPackets());
+        sidebar.assertLine(player.getUniqueId(), "b", "b");
+        sidebar.assertLine(player.getUniqueId(), "c", "c");
+    }
+}
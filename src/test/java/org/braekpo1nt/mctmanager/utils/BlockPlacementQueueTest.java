@@ -0,0 +1,120 @@
+package org.braekpo1nt.mctmanager.utils;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.MockPlugin;
+import be.seeseemelk.mockbukkit.ServerMock;
+import org.braekpo1nt.mctmanager.MyCustomServerMock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+class BlockPlacementQueueTest {
+    
+    private ServerMock server;
+    private MockPlugin plugin;
+    private BlockPlacementQueue queue;
+    private final List<String> ran = new ArrayList<>();
+    
+    @BeforeEach
+    void setup() {
+        server = MockBukkit.mock(new MyCustomServerMock());
+        server.getLogger().setLevel(Level.OFF);
+        plugin = MockBukkit.createMockPlugin();
+        queue = new BlockPlacementQueue(plugin);
+        // run a single step per tick
+        queue.setTickBudgetMillis(0);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unmock();
+    }
+    
+    private List<Runnable> steps(String name, int count) {
+        List<Runnable> steps = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int step = i;
+            steps.add(() -> ran.add(name + step));
+        }
+        return steps;
+    }
+    
+    @Test
+    void spreadAcrossTicks() {
+        CompletableFuture<Void> future = queue.submit("a", steps("a", 3));
+        Assertions.assertTrue(ran.isEmpty());
+        server.getScheduler().performTicks(2);
+        Assertions.assertEquals(List.of("a0", "a1"), ran);
+        Assertions.assertFalse(future.isDone());
+        server.getScheduler().performOneTick();
+        Assertions.assertTrue(future.isDone());
+        Assertions.assertFalse(queue.isBusy());
+    }
+    
+    @Test
+    void inSubmissionOrder() {
+        CompletableFuture<Void> a = queue.submit("a", steps("a", 2));
+        CompletableFuture<Void> b = queue.submit("b", steps("b", 1));
+        server.getScheduler().performTicks(2);
+        Assertions.assertTrue(a.isDone());
+        Assertions.assertFalse(b.isDone());
+        server.getScheduler().performOneTick();
+        Assertions.assertEquals(List.of("a0", "a1", "b0"), ran);
+        Assertions.assertTrue(b.isDone());
+    }
+    
+    @Test
+    void failingStepIsSkipped() {
+        List<Runnable> steps = new ArrayList<>();
+        steps.add(() -> {
+            throw new IllegalStateException("test");
+        });
+        steps.addAll(steps("a", 1));
+        CompletableFuture<Void> future = queue.submit("a", steps);
+        server.getScheduler().performTicks(2);
+        Assertions.assertEquals(List.of("a0"), ran);
+        Assertions.assertTrue(future.isDone());
+        Assertions.assertFalse(future.isCompletedExceptionally());
+    }
+    
+    @Test
+    void flush() {
+        CompletableFuture<Void> future = queue.submit("a", steps("a", 5));
+        queue.flush();
+        Assertions.assertEquals(5, ran.size());
+        Assertions.assertTrue(future.isDone());
+    }
+    
+    @Test
+    void emptyCompletesImmediately() {
+        Assertions.assertTrue(queue.submit("a", List.of()).isDone());
+    }
+    
+    @Test
+    void runsImmediatelyWhenDisabled() {
+        server.getPluginManager().disablePlugin(plugin);
+        CompletableFuture<Void> future = queue.submit("a", steps("a", 3));
+        Assertions.assertEquals(List.of("a0", "a1", "a2"), ran);
+        Assertions.assertTrue(future.isDone());
+    }
+    
+    @Test
+    void runOrSubmit() {
+        CompletableFuture<Void> immediate = queue.runOrSubmit("a", steps("a", 2));
+        Assertions.assertTrue(immediate.isDone());
+        Assertions.assertEquals(List.of("a0", "a1"), ran);
+        CompletableFuture<Void> queued = queue.submit("b", steps("b", 1));
+        CompletableFuture<Void> behind = queue.runOrSubmit("c", steps("c", 1));
+        Assertions.assertFalse(behind.isDone());
+        server.getScheduler().performTicks(2);
+        Assertions.assertEquals(List.of("a0", "a1", "b0", "c0"), ran);
+        Assertions.assertTrue(queued.isDone());
+        Assertions.assertTrue(behind.isDone());
+    }
+}
@@ -2,6 +2,7 @@ package org.braekpo1nt.mctmanager.utils;
 
 import be.seeseemelk.mockbukkit.MockBukkit;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.WorldCreator;
 import org.bukkit.util.BoundingBox;
 import org.junit.jupiter.api.AfterEach;
@@ -9,6 +10,9 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Map;
+
 class BlockPlacementUtilsTest {
     
     @BeforeEach
@@ -68,4 +72,49 @@ class BlockPlacementUtilsTest {
         });
     }
     
-}
\ No newline at end of file
+    @Test
+    void createCubeStepsPerChunk() {
+        World world = WorldCreator.name("TestWorld").createWorld();
+        // spans 2 chunks in x and 2 chunks in z
+        List<Runnable> steps = BlockPlacementUtils.createCubeSteps(world, new BoundingBox(14, 0, -2, 17, 1, 1), Material.STONE);
+        Assertions.assertEquals(4, steps.size());
+        steps.getFirst().run();
+        Assertions.assertEquals(Material.STONE, world.getBlockAt(14, 0, -2).getType());
+        Assertions.assertNotEquals(Material.STONE, world.getBlockAt(17, 1, 1).getType());
+        steps.forEach(Runnable::run);
+        Assertions.assertEquals(Material.STONE, world.getBlockAt(17, 1, 1).getType());
+    }
+    
+    @Test
+    void createCubeReplaceSteps() {
+        World world = WorldCreator.name("TestWorld").createWorld();
+        world.getBlockAt(0, 1, 0).setType(Material.GLASS);
+        BlockPlacementUtils.createCubeReplaceSteps(world, new BoundingBox(0, 0, 0, 0, 2, 0), Material.GLASS, Material.STONE)
+                .forEach(Runnable::run);
+        Assertions.assertEquals(Material.STONE, world.getBlockAt(0, 1, 0).getType());
+        Assertions.assertNotEquals(Material.STONE, world.getBlockAt(0, 2, 0).getType());
+        Assertions.assertTrue(BlockPlacementUtils.createCubeReplaceSteps(world, new BoundingBox(0, 0, 0, 0, 2, 0), Material.GLASS, Material.GLASS).isEmpty());
+    }
+    
+    @Test
+    void createCubeReplaceStepsMapping() {
+        World world = WorldCreator.name("TestWorld").createWorld();
+        world.getBlockAt(0, 0, 0).setType(Material.RED_CONCRETE_POWDER);
+        world.getBlockAt(0, 1, 0).setType(Material.BLUE_CONCRETE_POWDER);
+        world.getBlockAt(0, 2, 0).setType(Material.GLASS);
+        world.getBlockAt(0, 3, 0).setType(Material.STONE);
+        // a chain of replacements is not followed within the single pass
+        BlockPlacementUtils.createCubeReplaceSteps(world, new BoundingBox(0, 0, 0, 0, 3, 0), Map.of(
+                Material.RED_CONCRETE_POWDER, Material.AIR,
+                Material.BLUE_CONCRETE_POWDER, Material.AIR,
+                Material.GLASS, Material.STONE,
+                Material.STONE, Material.DIRT))
+                .forEach(Runnable::run);
+        Assertions.assertEquals(Material.AIR, world.getBlockAt(0, 0, 0).getType());
+        Assertions.assertEquals(Material.AIR, world.getBlockAt(0, 1, 0).getType());
+        Assertions.assertEquals(Material.STONE, world.getBlockAt(0, 2, 0).getType());
+        Assertions.assertEquals(Material.DIRT, world.getBlockAt(0, 3, 0).getType());
+        Assertions.assertTrue(BlockPlacementUtils.createCubeReplaceSteps(world, new BoundingBox(0, 0, 0, 0, 3, 0), Map.of(Material.GLASS, Material.GLASS)).isEmpty());
+    }
+    
+}
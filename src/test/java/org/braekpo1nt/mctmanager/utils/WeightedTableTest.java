@@ -0,0 +1,46 @@
+package org.braekpo1nt.mctmanager.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+class WeightedTableTest {
+    
+    @Test
+    void singleValue() {
+        WeightedTable<String> table = new WeightedTable<>(Map.of("a", 5));
+        Random random = new Random(1);
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals("a", table.next(random));
+        }
+    }
+    
+    @Test
+    void invalidWeights() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new WeightedTable<>(Collections.<String, Integer>emptyMap()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new WeightedTable<>(Map.of("a", 1, "b", 0)));
+    }
+    
+    @Test
+    void pickedByWeight() {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        weights.put("a", 1);
+        weights.put("b", 3);
+        weights.put("c", 6);
+        WeightedTable<String> table = new WeightedTable<>(weights);
+        Random random = new Random(42);
+        int samples = 100_000;
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < samples; i++) {
+            counts.merge(table.next(random), 1, Integer::sum);
+        }
+        Assertions.assertEquals(0.1, counts.get("a") / (double) samples, 0.01);
+        Assertions.assertEquals(0.3, counts.get("b") / (double) samples, 0.01);
+        Assertions.assertEquals(0.6, counts.get("c") / (double) samples, 0.01);
+    }
+}